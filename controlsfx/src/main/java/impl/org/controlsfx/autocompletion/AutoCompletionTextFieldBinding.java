@@ -127,6 +127,7 @@ public class AutoCompletionTextFieldBinding<T>  extends AutoCompletionBinding<T>
     @Override public void dispose(){
         getCompletionTarget().textProperty().removeListener(textChangeListener);
         getCompletionTarget().focusedProperty().removeListener(focusChangedListener);
+        cancelSuggestionRequest();
     }
 
     /** {@inheritDoc} */
@@ -0,0 +1,419 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package impl.org.controlsfx.autocompletion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javafx.util.Callback;
+
+import org.controlsfx.control.textfield.AutoCompletionBinding.ISuggestionRequest;
+
+/**
+ * A string based suggestion provider meant for large sets of suggestions.
+ * Like the default provider, a suggestion matches when its string contains
+ * the user text, ignoring case, and the suggestions are ordered by their
+ * string.
+ *
+ * <p>Each suggestion is converted to a string and lower-cased only once, when
+ * it is added. Its n-grams (every substring of 1 to 3 characters) are then
+ * indexed, so a request only looks at the suggestions sharing the rarest
+ * trigram of the user text instead of every possible suggestion. With
+ * {@link #setMaximumSuggestions(int)}, only the first suggestions are kept and
+ * sorted.
+ *
+ * <p>Suggestions can be added and removed at any time without rebuilding the
+ * index. Requests do not take any lock and may run while suggestions are
+ * being added or removed.
+ *
+ * @param <T> Type of suggestions
+ */
+public class IndexedSuggestionProvider<T> extends SuggestionProvider<T> {
+
+    /**
+     * The longest n-gram indexed. Longer user texts are answered with the
+     * trigrams they contain.
+     */
+    private static final int GRAM_SIZE = 3;
+
+    /**
+     * How many candidates are examined between two checks of the request
+     * cancellation.
+     */
+    private static final int CANCEL_CHECK_INTERVAL = 1024;
+
+    /**
+     * The number of removed suggestions below which the index is never
+     * compacted.
+     */
+    private static final int COMPACTION_THRESHOLD = 1024;
+
+    private static final Comparator<Entry<?>> ENTRY_ORDER = (e1, e2) -> {
+        int result = e1.text.compareTo(e2.text);
+        return result != 0 ? result : Integer.compare(e1.id, e2.id);
+    };
+
+    private final Callback<T, String> stringConverter;
+    private final Comparator<T> stringComparator;
+    private final Object writeLock = new Object();
+
+    private volatile Index<T> index = new Index<>();
+    private volatile int maximumSuggestions = Integer.MAX_VALUE;
+
+    /**
+     * Create a new IndexedSuggestionProvider based on the toString() method
+     * of the suggestions.
+     */
+    public IndexedSuggestionProvider() {
+        this(null);
+    }
+
+    /**
+     * Create a new IndexedSuggestionProvider
+     * @param stringConverter A stringConverter which converts generic T into
+     * a string, the toString() method is used if null
+     */
+    public IndexedSuggestionProvider(Callback<T, String> stringConverter) {
+        if (stringConverter == null) {
+            // In case no stringConverter was provided, use the default strategy
+            stringConverter = obj -> obj != null ? obj.toString() : ""; //$NON-NLS-1$
+        }
+        this.stringConverter = stringConverter;
+        this.stringComparator = Comparator.comparing(this.stringConverter::call);
+    }
+
+    /**
+     * Sets the maximum number of suggestions returned for a request. Only the
+     * first suggestions in order are kept, which avoids sorting every match.
+     *
+     * @param maximumSuggestions the maximum number of suggestions, must be
+     * positive
+     */
+    public final void setMaximumSuggestions(int maximumSuggestions) {
+        if (maximumSuggestions < 1) {
+            throw new IllegalArgumentException("The maximum number of suggestions must be positive"); //$NON-NLS-1$
+        }
+        this.maximumSuggestions = maximumSuggestions;
+    }
+
+    /**
+     * Gets the maximum number of suggestions returned for a request.
+     *
+     * @return the maximum number of suggestions, {@link Integer#MAX_VALUE} if
+     * not limited
+     */
+    public final int getMaximumSuggestions() {
+        return maximumSuggestions;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void addPossibleSuggestions(Collection<T> newPossible) {
+        synchronized (writeLock) {
+            Index<T> current = index;
+            for (T suggestion : newPossible) {
+                current.add(suggestion, stringConverter.call(suggestion));
+            }
+        }
+    }
+
+    /**
+     * Remove the given possible suggestions from this SuggestionProvider
+     * @param oldPossible
+     */
+    public void removePossibleSuggestions(@SuppressWarnings("unchecked") T... oldPossible) {
+        removePossibleSuggestions(Arrays.asList(oldPossible));
+    }
+
+    /**
+     * Remove the given possible suggestions from this SuggestionProvider
+     * @param oldPossible
+     */
+    public void removePossibleSuggestions(Collection<T> oldPossible) {
+        synchronized (writeLock) {
+            Index<T> current = index;
+            for (T suggestion : oldPossible) {
+                current.remove(suggestion);
+            }
+            // Removed suggestions are only flagged, the index is compacted
+            // once they outnumber the remaining ones.
+            if (current.removedCount > COMPACTION_THRESHOLD
+                    && current.removedCount > current.size / 2) {
+                index = current.compact();
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clearSuggestions() {
+        synchronized (writeLock) {
+            index = new Index<>();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Collection<T> call(final ISuggestionRequest request) {
+        Index<T> current = index;
+        int limit = maximumSuggestions;
+        String userText = request.getUserText();
+        if (userText.isEmpty()) {
+            if (!isShowAllIfEmpty()) {
+                return new ArrayList<>();
+            }
+            int count = current.size;
+            Entry<T>[] entries = current.entries;
+            PriorityQueue<Entry<T>> best = new PriorityQueue<>(Math.min(limit, count) + 1, ENTRY_ORDER.reversed());
+            for (int i = 0; i < count; ++i) {
+                if (i % CANCEL_CHECK_INTERVAL == 0 && request.isCancelled()) {
+                    return new ArrayList<>();
+                }
+                if (!entries[i].removed) {
+                    offer(best, entries[i], limit);
+                }
+            }
+            return sortedValues(best);
+        }
+
+        String query = userText.toLowerCase();
+        Postings candidates = current.candidates(query);
+        if (candidates == null) {
+            return new ArrayList<>();
+        }
+        // The postings of a user text not longer than an n-gram are exact.
+        boolean verify = query.length() > GRAM_SIZE;
+
+        int count = candidates.size;
+        int[] ids = candidates.ids;
+        Entry<T>[] entries = current.entries;
+        PriorityQueue<Entry<T>> best = new PriorityQueue<>(Math.min(limit, count) + 1, ENTRY_ORDER.reversed());
+        for (int i = 0; i < count; ++i) {
+            if (i % CANCEL_CHECK_INTERVAL == 0 && request.isCancelled()) {
+                return new ArrayList<>();
+            }
+            Entry<T> entry = entries[ids[i]];
+            if (entry.removed || (verify && !entry.normalized.contains(query))) {
+                continue;
+            }
+            offer(best, entry, limit);
+        }
+        return sortedValues(best);
+    }
+
+    /**{@inheritDoc}*/
+    @Override
+    protected Comparator<T> getComparator() {
+        return stringComparator;
+    }
+
+    /**{@inheritDoc}*/
+    @Override
+    protected boolean isMatch(T suggestion, ISuggestionRequest request) {
+        String userTextLower = request.getUserText().toLowerCase();
+        String suggestionStr = stringConverter.call(suggestion).toLowerCase();
+        return suggestionStr.contains(userTextLower);
+    }
+
+    /***************************************************************************
+     *                                                                         *
+     * Private implementation                                                  *
+     *                                                                         *
+     **************************************************************************/
+
+    /**
+     * Keeps the entry if it is among the first {@code limit} entries in order.
+     * The head of the queue is the last entry kept.
+     */
+    private static <T> void offer(PriorityQueue<Entry<T>> best, Entry<T> entry, int limit) {
+        if (best.size() < limit) {
+            best.add(entry);
+        } else if (ENTRY_ORDER.compare(entry, best.peek()) < 0) {
+            best.poll();
+            best.add(entry);
+        }
+    }
+
+    private static <T> List<T> sortedValues(PriorityQueue<Entry<T>> best) {
+        List<Entry<T>> sorted = new ArrayList<>(best);
+        Collections.sort(sorted, ENTRY_ORDER);
+        List<T> suggestions = new ArrayList<>(sorted.size());
+        for (Entry<T> entry : sorted) {
+            suggestions.add(entry.value);
+        }
+        return suggestions;
+    }
+
+    /**
+     * Packs the n-gram starting at the given position into a long, with its
+     * length in the highest bits.
+     */
+    private static long gramKey(String text, int from, int length) {
+        long key = length;
+        for (int i = from; i < from + length; ++i) {
+            key = (key << 16) | text.charAt(i);
+        }
+        return key;
+    }
+
+    /**
+     * A possible suggestion with its string computed once.
+     */
+    private static final class Entry<T> {
+        private final T value;
+        private final String text;
+        private final String normalized;
+        private final int id;
+        private volatile boolean removed;
+
+        Entry(T value, String text, int id) {
+            this.value = value;
+            this.text = text;
+            this.normalized = text.toLowerCase();
+            this.id = id;
+        }
+    }
+
+    /**
+     * An append-only list of entry ids. It is only modified under the write
+     * lock, and the ids are published before the size so that a reader
+     * reading the size first always sees valid ids.
+     */
+    private static final class Postings {
+        private volatile int[] ids = new int[4];
+        private volatile int size;
+
+        void add(int id) {
+            int[] current = ids;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+                current[size] = id;
+                ids = current;
+            } else {
+                current[size] = id;
+            }
+            size++;
+        }
+    }
+
+    /**
+     * The possible suggestions and their n-gram index. Entries are never
+     * moved or deleted, a removed entry is only flagged until the whole index
+     * is compacted into a new one.
+     */
+    private static final class Index<T> {
+        private final Map<Long, Postings> postings = new ConcurrentHashMap<>();
+        /**
+         * Live entries by value, only accessed under the write lock.
+         */
+        private final Map<T, List<Entry<T>>> entriesByValue = new HashMap<>();
+        @SuppressWarnings("unchecked")
+        private volatile Entry<T>[] entries = new Entry[16];
+        private volatile int size;
+        private int removedCount;
+
+        void add(T value, String text) {
+            Entry<T> entry = new Entry<>(value, text == null ? "" : text, size); //$NON-NLS-1$
+            Entry<T>[] current = entries;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+                current[size] = entry;
+                entries = current;
+            } else {
+                current[size] = entry;
+            }
+            size++;
+            entriesByValue.computeIfAbsent(value, key -> new ArrayList<>(1)).add(entry);
+
+            String normalized = entry.normalized;
+            Set<Long> grams = new HashSet<>();
+            for (int length = 1; length <= GRAM_SIZE; ++length) {
+                for (int from = 0; from + length <= normalized.length(); ++from) {
+                    grams.add(gramKey(normalized, from, length));
+                }
+            }
+            for (Long gram : grams) {
+                postings.computeIfAbsent(gram, key -> new Postings()).add(entry.id);
+            }
+        }
+
+        void remove(T value) {
+            List<Entry<T>> sameValue = entriesByValue.get(value);
+            if (sameValue == null) {
+                return;
+            }
+            Entry<T> entry = sameValue.remove(sameValue.size() - 1);
+            if (sameValue.isEmpty()) {
+                entriesByValue.remove(value);
+            }
+            entry.removed = true;
+            removedCount++;
+        }
+
+        Index<T> compact() {
+            Index<T> compacted = new Index<>();
+            Entry<T>[] current = entries;
+            for (int i = 0; i < size; ++i) {
+                if (!current[i].removed) {
+                    compacted.add(current[i].value, current[i].text);
+                }
+            }
+            return compacted;
+        }
+
+        /**
+         * Returns the postings containing every entry that may match the
+         * query, or null if none can match.
+         */
+        Postings candidates(String query) {
+            if (query.length() <= GRAM_SIZE) {
+                return postings.get(gramKey(query, 0, query.length()));
+            }
+            Postings rarest = null;
+            for (int from = 0; from + GRAM_SIZE <= query.length(); ++from) {
+                Postings gramPostings = postings.get(gramKey(query, from, GRAM_SIZE));
+                if (gramPostings == null) {
+                    return null;
+                }
+                if (rarest == null || gramPostings.size < rarest.size) {
+                    rarest = gramPostings;
+                }
+            }
+            return rarest;
+        }
+    }
+}
@@ -179,6 +179,22 @@ public abstract class SuggestionProvider<T> implements Callback<ISuggestionReque
         return suggestionProvider;
     }
 
+    /**
+     * Create an indexed suggestion provider, meant for large sets of possible
+     * suggestions, based on the toString() method of the generic objects
+     * using the provided stringConverter
+     * 
+     * @param stringConverter A stringConverter which converts generic T into a string
+     * @param possibleSuggestions All possible suggestions
+     * @return
+     * @see IndexedSuggestionProvider
+     */
+    public static <T> IndexedSuggestionProvider<T> createIndexed(Callback<T, String> stringConverter, Collection<T> possibleSuggestions){
+        IndexedSuggestionProvider<T> suggestionProvider = new IndexedSuggestionProvider<>(stringConverter);
+        suggestionProvider.addPossibleSuggestions(possibleSuggestions);
+        return suggestionProvider;
+    }
+
 
 
     /***************************************************************************
@@ -27,8 +27,11 @@
 package impl.org.controlsfx.skin;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.WeakHashMap;
 
 import javafx.beans.property.BooleanProperty;
@@ -46,6 +49,16 @@ public class DecorationPane extends StackPane {
     // maps from a node to a list of its decoration nodes
     private final Map<Node, List<Node>> nodeDecorationMap = new WeakHashMap<>();
     
+    // the decoration nodes currently in the children list, to avoid scanning it
+    private final Set<Node> decorationNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+    
+    // the removed decoration nodes, hidden but kept in the children list so
+    // that they can be shown again without being added
+    private final Set<Node> hiddenNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+    
+    // the target nodes whose visibility is listened to
+    private final Set<Node> observedNodes = Collections.newSetFromMap(new WeakHashMap<>());
+    
     ChangeListener<Boolean> visibilityListener = new ChangeListener<Boolean>() {
         @Override public void changed(ObservableValue<? extends Boolean> o, Boolean wasVisible, Boolean isVisible) {
             BooleanProperty p = (BooleanProperty)o;
@@ -63,6 +76,8 @@ public class DecorationPane extends StackPane {
         
     public void setRoot(Node root) {
         getChildren().setAll(root);
+        decorationNodes.clear();
+        hiddenNodes.clear();
     }
     
     public void updateDecorationsOnNode(Node targetNode, List<Decoration> added, List<Decoration> removed) {
@@ -80,13 +95,18 @@ public class DecorationPane extends StackPane {
             }
             decorationNodes.add(decorationNode);
             
-            if (!getChildren().contains(decorationNode)) {
+            if (hiddenNodes.remove(decorationNode)) {
+                this.decorationNodes.add(decorationNode);
+                decorationNode.setVisible(true);
+            } else if (this.decorationNodes.add(decorationNode)) {
                 getChildren().add(decorationNode);
                 StackPane.setAlignment(decorationNode, Pos.TOP_LEFT); // TODO support for all positions.
             }
         }
         
-        targetNode.visibleProperty().addListener(visibilityListener);
+        if (observedNodes.add(targetNode)) {
+            targetNode.visibleProperty().addListener(visibilityListener);
+        }
     }
 
     private void removeAllDecorationsOnNode(Node targetNode, List<Decoration> decorations) {
@@ -98,12 +118,20 @@ public class DecorationPane extends StackPane {
         List<Node> decorationNodes = nodeDecorationMap.remove(targetNode);
         if (decorationNodes != null) {
             for (Node decorationNode : decorationNodes) {
-                boolean success = getChildren().remove(decorationNode);
-                if (! success) {
+                if (! this.decorationNodes.remove(decorationNode)) {
                     throw new IllegalStateException("Could not remove decoration " +  //$NON-NLS-1$
                             decorationNode + " from decoration pane children list: " +  //$NON-NLS-1$
                             getChildren());
                 }
+                // hidden rather than removed, which would scan the children
+                decorationNode.setVisible(false);
+                hiddenNodes.add(decorationNode);
+            }
+            // the hidden nodes are dropped in a single pass over the children
+            // once they outnumber the shown ones, so it costs O(1) per node
+            if (hiddenNodes.size() > this.decorationNodes.size() + 16) {
+                getChildren().removeAll(hiddenNodes);
+                hiddenNodes.clear();
             }
         }
         
@@ -108,16 +108,7 @@ public abstract class NotificationBar extends Region {
         getChildren().setAll(pane);
         
         // initialise title area, if one is set
-        String titleStr = getTitle();
-        if (titleStr != null && ! titleStr.isEmpty()) {
-            title = new Label();
-            title.getStyleClass().add("title"); //$NON-NLS-1$
-            title.setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
-            GridPane.setHgrow(title, Priority.ALWAYS);
-
-            title.setText(titleStr);
-            title.opacityProperty().bind(transition);
-        }
+        updateTitle();
         
         // initialise label area
         label = new Label();
@@ -154,12 +145,44 @@ public abstract class NotificationBar extends Region {
         GridPane.setMargin(closeBtn, new Insets(0, 0, 0, 8));
         
         // position the close button in the best place, depending on the height
-        double minHeight = minHeight(-1);
-        GridPane.setValignment(closeBtn, minHeight == MIN_HEIGHT ? VPos.CENTER : VPos.TOP);
+        updateCloseButtonAlignment();
         
         // put it all together
         updatePane();
     }
+    
+    /**
+     * Reads the title, text, graphic and actions again, so that this bar can
+     * show another notification.
+     */
+    public void updateContent() {
+        updateTitle();
+        label.setText(getText());
+        label.setGraphic(getGraphic());
+        updateCloseButtonAlignment();
+        updatePane();
+    }
+    
+    private void updateTitle() {
+        String titleStr = getTitle();
+        if (titleStr != null && ! titleStr.isEmpty()) {
+            if (title == null) {
+                title = new Label();
+                title.getStyleClass().add("title"); //$NON-NLS-1$
+                title.setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+                GridPane.setHgrow(title, Priority.ALWAYS);
+                title.opacityProperty().bind(transition);
+            }
+            title.setText(titleStr);
+        } else {
+            title = null;
+        }
+    }
+    
+    private void updateCloseButtonAlignment() {
+        double minHeight = minHeight(-1);
+        GridPane.setValignment(closeBtn, minHeight == MIN_HEIGHT ? VPos.CENTER : VPos.TOP);
+    }
 
     void updatePane() {
         actionsBar = ActionUtils.createButtonBar(getActions());
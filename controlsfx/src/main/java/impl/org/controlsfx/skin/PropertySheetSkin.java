@@ -31,16 +31,24 @@ import static impl.org.controlsfx.i18n.Localization.localize;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 
 import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
 import javafx.geometry.Insets;
 import javafx.scene.Node;
 import javafx.scene.control.Accordion;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TextField;
 import javafx.scene.control.TitledPane;
@@ -93,6 +101,19 @@ public class PropertySheetSkin extends BehaviorSkinBase<PropertySheet, BehaviorB
     );
     private final TextField searchField = TextFields.createClearableTextField();
     
+    /**
+     * The editor of each item, created once and reused when the content is 
+     * rebuilt, the mode is switched or the rows are scrolled. The editors of
+     * the items removed from the sheet are dropped by the items listener.
+     */
+    private final Map<Item, PropertyEditor<?>> editorCache = new HashMap<>();
+    
+    // virtualized mode
+    private ListView<PropertyRow> propertyList;
+    private final ObservableList<PropertyRow> rows = FXCollections.observableArrayList();
+    private final FilteredList<PropertyRow> visibleRows = new FilteredList<>(rows);
+    private final Set<String> collapsedCategories = new HashSet<>();
+    
     
     /**************************************************************************
      * 
@@ -137,8 +158,14 @@ public class PropertySheetSkin extends BehaviorSkinBase<PropertySheet, BehaviorB
         registerChangeListener(control.modeSwitcherVisibleProperty(), "TOOLBAR-MODE"); //$NON-NLS-1$
         registerChangeListener(control.searchBoxVisibleProperty(), "TOOLBAR-SEARCH"); //$NON-NLS-1$
         registerChangeListener(control.categoryComparatorProperty(), "CATEGORY-COMPARATOR"); //$NON-NLS-1$
+        registerChangeListener(control.virtualizedProperty(), "VIRTUALIZED"); //$NON-NLS-1$
         
-        control.getItems().addListener((ListChangeListener<Item>) change -> refreshProperties());
+        control.getItems().addListener((ListChangeListener<Item>) change -> {
+            while (change.next()) {
+                change.getRemoved().forEach(editorCache::remove);
+            }
+            refreshProperties();
+        });
         
         // initialize properly 
         refreshProperties(); 
@@ -155,8 +182,17 @@ public class PropertySheetSkin extends BehaviorSkinBase<PropertySheet, BehaviorB
     @Override protected void handleControlPropertyChanged(String p) {
         super.handleControlPropertyChanged(p);
         
-        if (p == "MODE" || p == "EDITOR-FACTORY" || p == "FILTER" || p == "CATEGORY-COMPARATOR") { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        if (p == "MODE" || p == "CATEGORY-COMPARATOR" || p == "VIRTUALIZED") { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            refreshProperties();
+        } else if (p == "EDITOR-FACTORY") { //$NON-NLS-1$
+            editorCache.clear();
             refreshProperties();
+        } else if (p == "FILTER") { //$NON-NLS-1$
+            if (getSkinnable().isVirtualized()) {
+                updateRowFilter();
+            } else {
+                refreshProperties();
+            }
         } else if (p == "FILTER-UI") { //$NON-NLS-1$
             getSkinnable().setTitleFilter(searchField.getText());
         } else if (p == "TOOLBAR-MODE") { //$NON-NLS-1$
@@ -186,23 +222,35 @@ public class PropertySheetSkin extends BehaviorSkinBase<PropertySheet, BehaviorB
     }
 
     private void refreshProperties() {
-        scroller.setContent(buildPropertySheetContainer());
+        if (getSkinnable().isVirtualized()) {
+            rows.setAll(buildPropertyRows());
+            updateRowFilter();
+            content.setCenter(getPropertyList());
+        } else {
+            scroller.setContent(buildPropertySheetContainer());
+            content.setCenter(scroller);
+        }
+    }
+    
+    private Map<String, List<Item>> groupByCategory() {
+        Map<String, List<Item>> categoryMap = new TreeMap(getSkinnable().getCategoryComparator());
+        for( Item p: getSkinnable().getItems()) {
+            String category = p.getCategory();
+            List<Item> list = categoryMap.get(category);
+            if ( list == null ) {
+                list = new ArrayList<>();
+                categoryMap.put( category, list);
+            }
+            list.add(p);
+        }
+        return categoryMap;
     }
     
     private Node buildPropertySheetContainer() {
         switch( getSkinnable().modeProperty().get() ) {
             case CATEGORY: {
                 // group by category
-                Map<String, List<Item>> categoryMap = new TreeMap(getSkinnable().getCategoryComparator());
-                for( Item p: getSkinnable().getItems()) {
-                    String category = p.getCategory();
-                    List<Item> list = categoryMap.get(category);
-                    if ( list == null ) {
-                        list = new ArrayList<>();
-                        categoryMap.put( category, list);
-                    }
-                    list.add(p);
-                }
+                Map<String, List<Item>> categoryMap = groupByCategory();
                 
                 // create category-based accordion
                 Accordion accordion = new Accordion();
@@ -225,6 +273,123 @@ public class PropertySheetSkin extends BehaviorSkinBase<PropertySheet, BehaviorB
         }
         
     }
+    
+    /**
+     * Builds the rows of the virtualized mode. They don't hold any node, so 
+     * rebuilding them is cheap.
+     */
+    private List<PropertyRow> buildPropertyRows() {
+        List<PropertyRow> result = new ArrayList<>();
+        switch( getSkinnable().modeProperty().get() ) {
+            case CATEGORY: 
+                for (Map.Entry<String, List<Item>> entry : groupByCategory().entrySet()) {
+                    result.add(new PropertyRow(null, entry.getKey()));
+                    for (Item item : entry.getValue()) {
+                        result.add(new PropertyRow(item, entry.getKey()));
+                    }
+                }
+                break;
+                
+            default: 
+                for (Item item : getSkinnable().getItems()) {
+                    result.add(new PropertyRow(item, null));
+                }
+        }
+        return result;
+    }
+    
+    /**
+     * Hides the rows not matching the title filter, the items of the collapsed
+     * categories and the categories without any matching item.
+     */
+    private void updateRowFilter() {
+        String filter = getFilter();
+        Set<String> matchingCategories = new HashSet<>();
+        for (PropertyRow row : rows) {
+            if (row.item != null && matches(row.item, filter)) {
+                matchingCategories.add(row.category);
+            }
+        }
+        visibleRows.setPredicate(row -> row.item == null ? matchingCategories.contains(row.category) : 
+            ! collapsedCategories.contains(row.category) && matches(row.item, filter));
+    }
+    
+    private void toggleCategory(String category) {
+        if (! collapsedCategories.remove(category)) {
+            collapsedCategories.add(category);
+        }
+        updateRowFilter();
+    }
+    
+    private ListView<PropertyRow> getPropertyList() {
+        if (propertyList == null) {
+            propertyList = new ListView<>(visibleRows);
+            propertyList.getStyleClass().add("property-list"); //$NON-NLS-1$
+            propertyList.setCellFactory(list -> new PropertyRowCell());
+        }
+        return propertyList;
+    }
+    
+    private String getFilter() {
+        String filter = getSkinnable().titleFilter().get();
+        return filter == null? "": filter.trim().toLowerCase(); //$NON-NLS-1$
+    }
+    
+    private static boolean matches(Item item, String filter) {
+        return filter.isEmpty() || item.getName().toLowerCase().indexOf( filter ) >= 0;
+    }
+    
+    /**
+     * Returns the editor node of the given item, reusing its editor if it was
+     * already created.
+     */
+    @SuppressWarnings("unchecked")
+    private Node getEditor(Item item) {
+        @SuppressWarnings("rawtypes")
+        PropertyEditor editor = editorCache.get(item);
+        if (editor == null) {
+            editor = createEditor(item);
+            Node node = editor.getEditor();
+            if (node instanceof Region) {
+                ((Region)node).setMinWidth(MIN_COLUMN_WIDTH);
+                ((Region)node).setMaxWidth(Double.MAX_VALUE);
+            }
+            editorCache.put(item, editor);
+        }
+        editor.setValue(item.getValue());
+        return editor.getEditor();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private PropertyEditor<?> createEditor(Item item) {
+        @SuppressWarnings("rawtypes")
+        PropertyEditor editor = getSkinnable().getPropertyEditorFactory().call(item);
+        if (editor == null) {
+            editor = new AbstractPropertyEditor<Object, TextField>(item, new TextField(), true) {
+                {
+                    getEditor().setEditable(false);
+                    getEditor().setDisable(true);
+                }
+                
+                /**
+                 * {@inheritDoc}
+                 */
+                @Override protected ObservableValue<Object> getObservableValue() {
+                    return (ObservableValue<Object>)(Object)getEditor().textProperty();
+                }
+                
+                /**
+                 * {@inheritDoc}
+                 */
+                @Override public void setValue(Object value) {
+                    getEditor().setText(value == null? "": value.toString()); //$NON-NLS-1$
+                }
+            };
+        } else if (! item.isEditable()) {
+            editor.getEditor().setDisable(true);
+        }
+        return editor;
+    }
 
     
     /**************************************************************************
@@ -274,8 +439,7 @@ public class PropertySheetSkin extends BehaviorSkinBase<PropertySheet, BehaviorB
         public void setItems( List<Item> properties ) {
             getChildren().clear();
             
-            String filter = getSkinnable().titleFilter().get();
-            filter = filter == null? "": filter.trim().toLowerCase(); //$NON-NLS-1$
+            String filter = getFilter();
 
             int row = 0;
             
@@ -284,7 +448,7 @@ public class PropertySheetSkin extends BehaviorSkinBase<PropertySheet, BehaviorB
                 // filter properties
                 String title = item.getName();
                
-                if ( !filter.isEmpty() && title.toLowerCase().indexOf( filter ) < 0) continue;
+                if ( !matches(item, filter)) continue;
                 
                 // setup property label
                 Label label = new Label(title);
@@ -301,10 +465,6 @@ public class PropertySheetSkin extends BehaviorSkinBase<PropertySheet, BehaviorB
                 // setup property editor
                 Node editor = getEditor(item);
                 
-                if (editor instanceof Region) {
-                    ((Region)editor).setMinWidth(MIN_COLUMN_WIDTH);
-                    ((Region)editor).setMaxWidth(Double.MAX_VALUE);
-                }
                 label.setLabelFor(editor);
                 add(editor, 1, row);
                 GridPane.setHgrow(editor, Priority.ALWAYS);
@@ -315,37 +475,74 @@ public class PropertySheetSkin extends BehaviorSkinBase<PropertySheet, BehaviorB
             }
             
         }
+    }
+    
+    
+    /**
+     * A row of the virtualized mode: either an item, or the header of a 
+     * category when the item is null.
+     */
+    private static final class PropertyRow {
+        private final Item item;
+        private final String category;
         
-        @SuppressWarnings("unchecked")
-        private Node getEditor(Item item) {
-            @SuppressWarnings("rawtypes")
-            PropertyEditor editor = getSkinnable().getPropertyEditorFactory().call(item);
-            if (editor == null) {
-                editor = new AbstractPropertyEditor<Object, TextField>(item, new TextField(), true) {
-                    {
-                        getEditor().setEditable(false);
-                        getEditor().setDisable(true);
-                    }
-                    
-                    /**
-                     * {@inheritDoc}
-                     */
-                    @Override protected ObservableValue<Object> getObservableValue() {
-                        return (ObservableValue<Object>)(Object)getEditor().textProperty();
-                    }
-                    
-                    /**
-                     * {@inheritDoc}
-                     */
-                    @Override public void setValue(Object value) {
-                        getEditor().setText(value == null? "": value.toString()); //$NON-NLS-1$
-                    }
-                };
-            } else if (! item.isEditable()) {
-                editor.getEditor().setDisable(true);
+        PropertyRow(Item item, String category) {
+            this.item = item;
+            this.category = category;
+        }
+    }
+    
+    private class PropertyRowCell extends ListCell<PropertyRow> {
+        
+        private final Label label = new Label();
+        private final Tooltip tooltip = new Tooltip();
+        private final HBox box = new HBox();
+        
+        PropertyRowCell() {
+            box.getStyleClass().add("property-row"); //$NON-NLS-1$
+            label.setMinWidth(MIN_COLUMN_WIDTH);
+            label.prefWidthProperty().bind(propertyList.widthProperty().divide(3));
+            
+            setOnMouseClicked(e -> {
+                PropertyRow row = getItem();
+                if (row != null && row.item == null) {
+                    toggleCategory(row.category);
+                }
+            });
+        }
+        
+        @Override protected void updateItem(PropertyRow row, boolean empty) {
+            super.updateItem(row, empty);
+            getStyleClass().remove("category-row"); //$NON-NLS-1$
+            
+            if (empty || row == null) {
+                setText(null);
+                setGraphic(null);
+            } else if (row.item == null) {
+                getStyleClass().add("category-row"); //$NON-NLS-1$
+                setText(row.category);
+                setGraphic(null);
+            } else {
+                Item item = row.item;
+                label.setText(item.getName());
+                
+                // show description as a tooltip
+                String description = item.getDescription();
+                if ( description != null && !description.trim().isEmpty()) {
+                    tooltip.setText(description);
+                    label.setTooltip(tooltip);
+                } else {
+                    label.setTooltip(null);
+                }
+                
+                Node editor = getEditor(item);
+                label.setLabelFor(editor);
+                HBox.setHgrow(editor, Priority.ALWAYS);
+                box.getChildren().setAll(label, editor);
+                
+                setText(null);
+                setGraphic(box);
             }
-            editor.setValue(item.getValue());
-            return editor.getEditor();
         }
     }
 }
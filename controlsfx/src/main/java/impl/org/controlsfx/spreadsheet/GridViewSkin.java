@@ -66,6 +66,7 @@ import javafx.stage.Screen;
 import javafx.util.Callback;
 
 import org.controlsfx.control.spreadsheet.Grid;
+import org.controlsfx.control.spreadsheet.PagedGrid;
 import org.controlsfx.control.spreadsheet.SpreadsheetCell;
 import org.controlsfx.control.spreadsheet.SpreadsheetColumn;
 import org.controlsfx.control.spreadsheet.SpreadsheetView;
@@ -100,6 +101,12 @@ public class GridViewSkin extends TableViewSkinBase<ObservableList<SpreadsheetCe
     // FIXME This should seriously be investigated ..
     private static final double DATE_CELL_MIN_WIDTH = 200 - Screen.getPrimary().getDpi();
 
+    /**
+     * Vertical padding added to the measured height of a row when the
+     * measuring cell has no skin to give its insets.
+     */
+    private static final double MEASURE_PADDING = 5;
+
     static {
         double cell_size = 24.0;
         try {
@@ -143,6 +150,18 @@ public class GridViewSkin extends TableViewSkinBase<ObservableList<SpreadsheetCe
      */
     ObservableMap<Integer, Double> rowHeightMap = FXCollections.observableHashMap();
 
+    /**
+     * Computes and caches the heights needed by the rows to fit their content.
+     */
+    private final RowHeightFitter rowHeightFitter;
+
+    /**
+     * The off-screen cell used to measure the rows, and the factory that
+     * created it.
+     */
+    private CellView measuringCell;
+    private Callback measuringCellFactory;
+
     /** The editor. */
     private GridCellEditor gridCellEditor;
 
@@ -246,6 +265,7 @@ public class GridViewSkin extends TableViewSkinBase<ObservableList<SpreadsheetCe
         
         hBarValue = new BitSet(getItemCount());
         rowToLayout = initRowToLayoutBitSet();
+        rowHeightFitter = new RowHeightFitter(this, handle);
         // Because fixedRow Listener is not reacting first time.
         computeFixedRowHeight();
         
@@ -447,70 +467,98 @@ public class GridViewSkin extends TableViewSkinBase<ObservableList<SpreadsheetCe
 
     /**
      * Will compute for every row the necessary height and fit the line.
-     * This can degrade performance a lot so need to use it wisely. 
-     * But I don't see other solutions right now.
+     * Only the visible rows are measured right away, the others are measured
+     * during the next pulses by the {@link RowHeightFitter}.
      */
     public void resizeRowsToFitContent() {
-        Grid grid = spreadsheetView.getGrid();
-        int maxRows = handle.getView().getGrid().getRowCount();
-        for (int row = 0; row < maxRows; row++) {
-            if (grid.isRowResizable(row)) {
-                resizeRowToFitContent(row);
-            }
-        }
+        rowHeightFitter.fitAllRows(false);
     }
     
     /**
      * Will compute for the row the necessary height and fit the line.
-     * This can degrade performance a lot so need to use it wisely. 
-     * But I don't see other solutions right now.
      * @param modelRow
      */
     public void resizeRowToFitContent(int modelRow) {
-        if(getSkinnable().getColumns().isEmpty()){
+        if (!spreadsheetView.getGrid().isRowResizable(modelRow)) {
             return;
         }
-        final TableColumn<ObservableList<SpreadsheetCell>, ?> col = getSkinnable().getColumns().get(0);
-        List<?> items = itemsProperty().get();
-        if (items == null || items.isEmpty()) {
+        double height = rowHeightFitter.getFittedHeight(modelRow);
+        if (height < 0) {
             return;
         }
-        
-        if (!spreadsheetView.getGrid().isRowResizable(modelRow)) {
-            return;
+        rowHeightMap.put(modelRow, height);
+        Event.fireEvent(spreadsheetView, new SpreadsheetView.RowHeightEvent(modelRow, height));
+
+        rectangleSelection.updateRectangle();
+    }
+    
+    /**
+     * Fit every row to its content and then apply the highest height to every
+     * row. Like {@link #resizeRowsToFitContent() }, the work is spread over
+     * several pulses.
+     */
+    public void resizeRowsToMaximum() {
+        rowHeightFitter.fitAllRows(true);
+    }
+    
+    /**
+     * Prepare the off-screen cell used to measure the rows. It must be
+     * released with {@link #releaseMeasuringCell() } when the measures are
+     * done.
+     *
+     * @return false if no row can be measured.
+     */
+    boolean acquireMeasuringCell() {
+        if (getSkinnable().getColumns().isEmpty()) {
+            return false;
         }
+        List<?> items = itemsProperty().get();
+        if (items == null || items.isEmpty()) {
+            return false;
+        }
+        final TableColumn<ObservableList<SpreadsheetCell>, ?> col = getSkinnable().getColumns().get(0);
         Callback/* <TableColumn<T, ?>, TableCell<T,?>> */ cellFactory = col.getCellFactory();
         if (cellFactory == null) {
-            return;
+            return false;
         }
-
-        CellView cell = (CellView) cellFactory.call(col);
-        if (cell == null) {
-            return;
+        if (measuringCell == null || measuringCellFactory != cellFactory) {
+            measuringCell = (CellView) cellFactory.call(col);
+            measuringCellFactory = cellFactory;
+            if (measuringCell == null) {
+                return false;
+            }
+            // set this property to tell the TableCell we want to know its actual
+            // preferred width, not the width of the associated TableColumnBase
+            measuringCell.getProperties().put("deferToParentPrefWidth", Boolean.TRUE); //$NON-NLS-1$
+            measuringCell.setWrapText(true);
         }
-
-        // set this property to tell the TableCell we want to know its actual
-        // preferred width, not the width of the associated TableColumnBase
-        cell.getProperties().put("deferToParentPrefWidth", Boolean.TRUE); //$NON-NLS-1$
-        
-        // determine cell padding
-        double padding = 5;
-
-        Node n = cell.getSkin() == null ? null : cell.getSkin().getNode();
-        if (n instanceof Region) {
-            Region r = (Region) n;
-            padding = r.snappedTopInset() + r.snappedBottomInset();
+        getChildren().add(measuringCell);
+        return true;
+    }
+    
+    void releaseMeasuringCell() {
+        if (measuringCell != null) {
+            measuringCell.updateIndex(-1);
+            getChildren().remove(measuringCell);
         }
-
-        double maxHeight;
-        maxHeight = 0;
-        getChildren().add(cell);
+    }
+    
+    /**
+     * Compute the height needed by a row in order to display its content. The
+     * measuring cell must have been acquired.
+     *
+     * @param viewRow
+     * @return the height needed by the row.
+     */
+    double measureRowHeight(int viewRow) {
+        CellView cell = measuringCell;
+        double maxHeight = 0;
         int columnSize = getSkinnable().getColumns().size();
         for (int viewColumn = 0; viewColumn < columnSize; ++viewColumn) {
             TableColumn column = getSkinnable().getColumns().get(viewColumn);
             cell.updateTableColumn(column);
             cell.updateTableView(handle.getGridView());
-            cell.updateIndex(modelRow);
+            cell.updateIndex(viewRow);
             SpreadsheetCell spc = cell.getItem();
             double width = column.getWidth();
             if (spc != null && spc.getColumn() == viewColumn && spc.getColumnSpan() > 1) {
@@ -527,43 +575,29 @@ public class GridViewSkin extends TableViewSkinBase<ObservableList<SpreadsheetCe
 
             if (spc != null && spc.getColumn() == viewColumn && 
                     ((cell.getText() != null && !cell.getText().isEmpty()) || cell.getGraphic() != null)) {
-                cell.setWrapText(true);
-
                 cell.impl_processCSS(false);
                 maxHeight = Math.max(maxHeight, cell.prefHeight(width));
             }
         }
-        getChildren().remove(cell);
-        rowHeightMap.put(modelRow, maxHeight + padding);
-        Event.fireEvent(spreadsheetView, new SpreadsheetView.RowHeightEvent(modelRow, maxHeight + padding));
-
-        rectangleSelection.updateRectangle();
-    }
-    
-    public void resizeRowsToMaximum() {
-        //First we resize to fit.
-        resizeRowsToFitContent();
-        
-        Grid grid = spreadsheetView.getGrid();
-        
-        //Then we take the maximum and apply it everywhere.
-        double maxHeight = 0;
-        for(int key:rowHeightMap.keySet()){
-            maxHeight = Math.max(maxHeight, rowHeightMap.get(key));
-        }
-        
-        rowHeightMap.clear();
-        int maxRows = handle.getView().getGrid().getRows().size();
-        for (int modelRow = 0; modelRow < maxRows; modelRow++) {
-            if (grid.isRowResizable(modelRow)) {
-                Event.fireEvent(spreadsheetView, new SpreadsheetView.RowHeightEvent(modelRow, maxHeight));
-                rowHeightMap.put(modelRow, maxHeight);
-            }
+        // determine cell padding
+        double padding = MEASURE_PADDING;
+        Node n = cell.getSkin() == null ? null : cell.getSkin().getNode();
+        if (n instanceof Region) {
+            Region r = (Region) n;
+            padding = r.snappedTopInset() + r.snappedBottomInset();
         }
-        rectangleSelection.updateRectangle();
+        return maxHeight + padding;
     }
     
+    /** {@inheritDoc} */
+    @Override
+    public void dispose() {
+        rowHeightFitter.dispose();
+        super.dispose();
+    }
+
     public void resizeRowsToDefault() {
+        rowHeightFitter.cancel();
         rowHeightMap.clear();
         Grid grid = spreadsheetView.getGrid();
         /**
@@ -989,6 +1023,14 @@ public class GridViewSkin extends TableViewSkinBase<ObservableList<SpreadsheetCe
      */
     private BitSet initRowToLayoutBitSet() {
         int rowCount = getItemCount();
+        if (spreadsheetView.getGrid() instanceof PagedGrid) {
+            //The rows are not all in memory, the spanned rows come from the provider.
+            BitSet bitSet = (BitSet) ((PagedGrid) spreadsheetView.getGrid()).getSpannedRows().clone();
+            for (Integer fixedRow : spreadsheetView.getFixedRows()) {
+                bitSet.set(fixedRow);
+            }
+            return bitSet;
+        }
         BitSet bitSet = new BitSet(rowCount);
         for (int row = 0; row < rowCount; ++row) {
             if (spreadsheetView.getFixedRows().contains(spreadsheetView.getModelRow(row))) {
@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package impl.org.controlsfx.spreadsheet;
+
+import java.util.BitSet;
+
+/**
+ * Translates indexes between a model and its view where some indexes are
+ * hidden. This is used by the {@code SpreadsheetView} for the hidden rows and
+ * columns.
+ *
+ * Both directions are stored in primitive arrays so the lookups are O(1) and
+ * do not allocate. When the hidden indexes change, only the part of the arrays
+ * located after the first modified index is recomputed, so hiding or showing
+ * the last rows of a big grid is cheap. When nothing is hidden, no array is
+ * needed at all.
+ */
+public final class HiddenIndexMap {
+
+    /**
+     * For each model index, its view index. A hidden index is given the view
+     * index of the next visible one.
+     */
+    private int[] modelToView = new int[0];
+    /**
+     * For each view index, its model index.
+     */
+    private int[] viewToModel = new int[0];
+    private final BitSet hidden = new BitSet();
+    private int modelCount = -1;
+    private int viewCount;
+    private int forcedVisible = -1;
+    //True when nothing is hidden, the arrays are then not used.
+    private boolean identity;
+
+    /**
+     * Updates the map with the given hidden indexes.
+     *
+     * @param hiddenIndexes the hidden indexes, this BitSet is copied
+     * @param count the number of indexes in the model
+     * @param forcedVisible an index that must stay visible even if it is
+     * hidden, or -1
+     */
+    public void update(BitSet hiddenIndexes, int count, int forcedVisible) {
+        final int firstHidden = hiddenIndexes.nextSetBit(0);
+        if (firstHidden < 0 || firstHidden >= count) {
+            identity = true;
+            hidden.clear();
+            modelCount = count;
+            viewCount = count;
+            this.forcedVisible = forcedVisible;
+            return;
+        }
+        int start = 0;
+        if (!identity && count == modelCount && forcedVisible == this.forcedVisible) {
+            //Everything before the first modified index is still correct.
+            final BitSet modified = (BitSet) hidden.clone();
+            modified.xor(hiddenIndexes);
+            start = modified.nextSetBit(0);
+            if (start < 0 || start >= count) {
+                return;
+            }
+        } else {
+            if (modelToView.length < count) {
+                modelToView = new int[count];
+                viewToModel = new int[count];
+            }
+            modelCount = count;
+            this.forcedVisible = forcedVisible;
+            identity = false;
+        }
+        hidden.clear();
+        hidden.or(hiddenIndexes);
+
+        int view = start == 0 ? 0 : modelToView[start];
+        for (int model = start; model < count; ++model) {
+            modelToView[model] = view;
+            if (!hidden.get(model) || model == forcedVisible) {
+                viewToModel[view++] = model;
+            }
+        }
+        viewCount = view;
+    }
+
+    /**
+     * @param modelIndex
+     * @return the view index of the given model index, or the given index if
+     * it is not part of the map.
+     */
+    public int getViewIndex(int modelIndex) {
+        if (identity || modelIndex < 0 || modelIndex >= modelCount) {
+            return modelIndex;
+        }
+        return modelToView[modelIndex];
+    }
+
+    /**
+     * @param viewIndex
+     * @return the model index of the given view index, or the given index if
+     * it is not part of the map.
+     */
+    public int getModelIndex(int viewIndex) {
+        if (identity || viewIndex < 0 || viewIndex >= viewCount) {
+            return viewIndex;
+        }
+        return viewToModel[viewIndex];
+    }
+
+    /**
+     * @return the number of visible indexes.
+     */
+    public int getViewCount() {
+        return viewCount;
+    }
+}
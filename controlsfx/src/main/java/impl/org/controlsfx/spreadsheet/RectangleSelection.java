@@ -26,6 +26,7 @@
  */
 package impl.org.controlsfx.spreadsheet;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.TreeSet;
 import javafx.beans.InvalidationListener;
@@ -38,6 +39,8 @@ import javafx.scene.control.TablePosition;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.shape.Rectangle;
 import org.controlsfx.control.spreadsheet.ClipboardCell;
+import org.controlsfx.control.spreadsheet.Grid;
+import org.controlsfx.control.spreadsheet.GridRange;
 import org.controlsfx.control.spreadsheet.SpreadsheetCell;
 import org.controlsfx.control.spreadsheet.SpreadsheetColumn;
 import org.controlsfx.control.spreadsheet.SpreadsheetView;
@@ -63,7 +66,7 @@ public class RectangleSelection extends Rectangle {
         this.selectedCellListener = (Observable observable) -> {
             skin.getHorizontalHeader().clearSelectedColumns();
             skin.verticalHeader.clearSelectedRows();
-            selectionRange.fill(sm.getSelectedCells(), skin.spreadsheetView);
+            selectionRange.fillRanges(sm.getSelectedRanges(), skin.spreadsheetView);
             updateRectangle();
         };
         skin.getVBar().valueProperty().addListener(layoutListener);
@@ -359,6 +362,90 @@ public class RectangleSelection extends Rectangle {
             computeRange();
         }
 
+        /**
+         * Fills this SelectionRange with a list of disjoint ranges. Since the
+         * ranges do not overlap, they form a rectangle only if the cells they
+         * contain fill their bounding box.
+         *
+         * @param ranges
+         * @param spv
+         */
+        public void fillRanges(List<GridRange> ranges, SpreadsheetView spv) {
+            set.clear();
+            range = null;
+            if (ranges.isEmpty()) {
+                return;
+            }
+            int top = Integer.MAX_VALUE;
+            int bottom = Integer.MIN_VALUE;
+            int left = Integer.MAX_VALUE;
+            int right = Integer.MIN_VALUE;
+            long count = 0;
+            for (GridRange gridRange : ranges) {
+                top = Math.min(top, gridRange.getTop());
+                bottom = Math.max(bottom, gridRange.getBottom());
+                left = Math.min(left, gridRange.getLeft());
+                right = Math.max(right, gridRange.getRight());
+                count += gridRange.getCellCount();
+            }
+            final GridRange bounds = new GridRange(top, bottom, left, right);
+            if (count != bounds.getCellCount()) {
+                return;
+            }
+            if (spv != null && !isDisplaySelection(bounds, spv)) {
+                return;
+            }
+            range = bounds;
+        }
+
+        /**
+         * Returns true if every cell of the bounds displays the selection.
+         * Only the cells overriding the display of the grid are checked when
+         * the grid can give them.
+         */
+        private boolean isDisplaySelection(GridRange bounds, SpreadsheetView spv) {
+            final Grid grid = spv.getGrid();
+            final Collection<GridRange> overrides = grid.getCellDisplaySelectionOverrides();
+            if (overrides == null) {
+                //I just check that a selected cell is not against it.
+                for (int row = bounds.getTop(); row <= bounds.getBottom(); ++row) {
+                    for (int column = bounds.getLeft(); column <= bounds.getRight(); ++column) {
+                        if (!grid.isCellDisplaySelection(spv.getModelRow(row), spv.getModelColumn(column))) {
+                            return false;
+                        }
+                    }
+                }
+                return true;
+            }
+            final boolean displaySelection = grid.isDisplaySelection();
+            long count = 0;
+            for (GridRange overridden : overrides) {
+                for (int modelRow = overridden.getTop(); modelRow <= overridden.getBottom(); ++modelRow) {
+                    if (modelRow >= grid.getRowCount() || spv.isRowHidden(modelRow)) {
+                        continue;
+                    }
+                    final int viewRow = spv.getViewRow(modelRow);
+                    if (viewRow < bounds.getTop() || viewRow > bounds.getBottom()) {
+                        continue;
+                    }
+                    for (int modelColumn = overridden.getLeft(); modelColumn <= overridden.getRight(); ++modelColumn) {
+                        if (modelColumn >= grid.getColumnCount() || spv.isColumnHidden(modelColumn)) {
+                            continue;
+                        }
+                        final int viewColumn = spv.getViewColumn(modelColumn);
+                        if (viewColumn >= bounds.getLeft() && viewColumn <= bounds.getRight()) {
+                            if (displaySelection) {
+                                return false;
+                            }
+                            ++count;
+                        }
+                    }
+                }
+            }
+            // without display on the grid, every cell must be overridden
+            return displaySelection || count == bounds.getCellCount();
+        }
+
         /**
          * Fills this ClipBoardRange with a list a {@code ClipboardCell}. The
          * result can be accessed with the {@link #getRange() } method.
@@ -437,35 +524,4 @@ public class RectangleSelection extends Rectangle {
             }
         }
     }
-
-    public static class GridRange {
-
-        private final int top;
-        private final int bottom;
-        private final int left;
-        private final int right;
-
-        public GridRange(int top, int bottom, int left, int right) {
-            this.top = top;
-            this.bottom = bottom;
-            this.left = left;
-            this.right = right;
-        }
-
-        public int getTop() {
-            return top;
-        }
-
-        public int getBottom() {
-            return bottom;
-        }
-
-        public int getLeft() {
-            return left;
-        }
-
-        public int getRight() {
-            return right;
-        }
-    }
 }
@@ -0,0 +1,406 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package impl.org.controlsfx.spreadsheet;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javafx.animation.AnimationTimer;
+import javafx.animation.PauseTransition;
+import javafx.beans.InvalidationListener;
+import javafx.beans.value.ChangeListener;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.event.ActionEvent;
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import javafx.scene.control.TableColumn;
+import javafx.util.Duration;
+import org.controlsfx.control.spreadsheet.Grid;
+import org.controlsfx.control.spreadsheet.GridChange;
+import org.controlsfx.control.spreadsheet.GridChangeBatch;
+import org.controlsfx.control.spreadsheet.GridRange;
+import org.controlsfx.control.spreadsheet.SpreadsheetCell;
+import org.controlsfx.control.spreadsheet.SpreadsheetView;
+
+/**
+ * Computes the heights needed by the rows in order to fit their content.
+ *
+ * Measuring a row is expensive (CSS and layout of a cell for every column) so
+ * the fitted heights are kept in a cache indexed by model row. An entry is
+ * dropped when a cell of its row is modified in the {@link Grid}, and the whole
+ * cache is dropped when a column width changes. Since the widths change
+ * continuously while the user drags a column, a running fitting is only
+ * started again once they have settled.
+ *
+ * When fitting every row, only the rows currently displayed are measured
+ * right away. The others are measured during the following pulses, a few
+ * milliseconds each time, so that the application stays responsive even on
+ * very big grids. When everything is done, a single
+ * {@link SpreadsheetView.RowHeightBatchEvent} is fired for all the rows,
+ * including the visible ones, instead of one
+ * {@link SpreadsheetView.RowHeightEvent} per row.
+ */
+final class RowHeightFitter {
+
+    /***************************************************************************
+     * * Static Fields * *
+     **************************************************************************/
+    /**
+     * Time (in nanoseconds) given to the measurement in each pulse.
+     */
+    private static final long PULSE_BUDGET = 8_000_000L;
+
+    /**
+     * Time the column widths must stay still before a running fitting is
+     * started again.
+     */
+    private static final Duration WIDTH_SETTLE_DELAY = Duration.millis(200);
+
+    /***************************************************************************
+     * * Private Fields * *
+     **************************************************************************/
+    private final GridViewSkin skin;
+    private final SpreadsheetView spreadsheetView;
+    private final ObservableList<TableColumn<ObservableList<SpreadsheetCell>, ?>> columns;
+
+    /**
+     * The fitted height of each model row, NaN when unknown.
+     */
+    private double[] heights = new double[0];
+
+    /**
+     * The fitting of every row currently running, if any.
+     */
+    private FitJob job;
+
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            pulse();
+        }
+    };
+
+    /**
+     * Started again on every column width change, restarts the running
+     * fitting when it finishes.
+     */
+    private final PauseTransition widthSettleDelay = new PauseTransition(WIDTH_SETTLE_DELAY);
+
+    private final EventHandler<GridChange> gridChangeHandler = (GridChange change) -> {
+        invalidate(change.getRow());
+    };
+
+    private final EventHandler<GridChangeBatch> gridChangeBatchHandler = (GridChangeBatch batch) -> {
+        for (GridRange range : batch.getRanges()) {
+            for (int row = range.getTop(); row <= range.getBottom(); ++row) {
+                invalidate(row);
+            }
+        }
+    };
+
+    private final InvalidationListener columnWidthListener = (observable) -> {
+        invalidateAll();
+    };
+
+    private final ChangeListener<Grid> gridListener = (observable, oldGrid, newGrid) -> {
+        cancel();
+        heights = new double[0];
+        if (oldGrid != null) {
+            oldGrid.removeEventHandler(GridChange.GRID_CHANGE_EVENT, gridChangeHandler);
+            oldGrid.removeGridChangeBatchHandler(gridChangeBatchHandler);
+        }
+        if (newGrid != null) {
+            newGrid.addEventHandler(GridChange.GRID_CHANGE_EVENT, gridChangeHandler);
+            newGrid.addGridChangeBatchHandler(gridChangeBatchHandler);
+        }
+    };
+
+    private final ListChangeListener<TableColumn<ObservableList<SpreadsheetCell>, ?>> columnsListener = (change) -> {
+        while (change.next()) {
+            for (TableColumn<ObservableList<SpreadsheetCell>, ?> column : change.getRemoved()) {
+                column.widthProperty().removeListener(columnWidthListener);
+            }
+            for (TableColumn<ObservableList<SpreadsheetCell>, ?> column : change.getAddedSubList()) {
+                column.widthProperty().addListener(columnWidthListener);
+            }
+        }
+        invalidateAll();
+    };
+
+    /***************************************************************************
+     * * Constructor * *
+     **************************************************************************/
+    RowHeightFitter(GridViewSkin skin, SpreadsheetHandle handle) {
+        this.skin = skin;
+        this.spreadsheetView = handle.getView();
+        this.columns = handle.getGridView().getColumns();
+        widthSettleDelay.setOnFinished(this::widthsSettled);
+
+        spreadsheetView.gridProperty().addListener(gridListener);
+        gridListener.changed(spreadsheetView.gridProperty(), null, spreadsheetView.getGrid());
+
+        columns.addListener(columnsListener);
+        for (TableColumn<ObservableList<SpreadsheetCell>, ?> column : columns) {
+            column.widthProperty().addListener(columnWidthListener);
+        }
+    }
+
+    /***************************************************************************
+     * * Package Methods * *
+     **************************************************************************/
+    /**
+     * Returns the height needed by the given row to display its content,
+     * measuring it if it is not cached.
+     *
+     * @param modelRow
+     * @return the fitted height, or -1 if the row cannot be measured.
+     */
+    double getFittedHeight(int modelRow) {
+        if (modelRow < 0 || spreadsheetView.isRowHidden(modelRow) || !skin.acquireMeasuringCell()) {
+            return -1;
+        }
+        try {
+            return getFittedHeight(spreadsheetView.getViewRow(modelRow), modelRow);
+        } finally {
+            skin.releaseMeasuringCell();
+        }
+    }
+
+    /**
+     * Fits every resizable row to its content. The visible rows are resized
+     * immediately, the others during the next pulses.
+     *
+     * @param maximum if true, the highest fitted height is applied to every
+     * resizable row once they have all been measured.
+     */
+    void fitAllRows(boolean maximum) {
+        cancel();
+        int rowCount = skin.getItemCount();
+        if (rowCount == 0 || !skin.acquireMeasuringCell()) {
+            return;
+        }
+        FitJob newJob = new FitJob(rowCount, maximum);
+        Grid grid = spreadsheetView.getGrid();
+        boolean resized = false;
+        try {
+            for (GridRow row : (List<GridRow>) skin.getFlow().getCells()) {
+                int viewRow = row.getIndex();
+                if (viewRow < 0 || viewRow >= rowCount || newJob.visited.get(viewRow)) {
+                    continue;
+                }
+                newJob.visited.set(viewRow);
+                int modelRow = spreadsheetView.getModelRow(viewRow);
+                if (grid.isRowResizable(modelRow)) {
+                    double height = getFittedHeight(viewRow, modelRow);
+                    if (height >= 0) {
+                        newJob.record(modelRow, height);
+                        if (!maximum) {
+                            skin.rowHeightMap.put(modelRow, height);
+                            resized = true;
+                        }
+                    }
+                }
+            }
+        } finally {
+            skin.releaseMeasuringCell();
+        }
+        /**
+         * No RowHeightEvent is fired for the visible rows, they are part of the
+         * final batch. But a fixed row may have been resized right now.
+         */
+        if (resized) {
+            skin.computeFixedRowHeight();
+        }
+        skin.rectangleSelection.updateRectangle();
+
+        job = newJob;
+        timer.start();
+    }
+
+    /**
+     * Stops the fitting currently running. The rows already resized keep
+     * their new height.
+     */
+    void cancel() {
+        job = null;
+        timer.stop();
+        widthSettleDelay.stop();
+    }
+
+    /**
+     * Stops the fitting currently running and removes every listener set on
+     * the {@link SpreadsheetView}, the {@link Grid} and the columns.
+     */
+    void dispose() {
+        cancel();
+        spreadsheetView.gridProperty().removeListener(gridListener);
+        gridListener.changed(spreadsheetView.gridProperty(), spreadsheetView.getGrid(), null);
+        columns.removeListener(columnsListener);
+        for (TableColumn<ObservableList<SpreadsheetCell>, ?> column : columns) {
+            column.widthProperty().removeListener(columnWidthListener);
+        }
+    }
+
+    /***************************************************************************
+     * * Private Methods * *
+     **************************************************************************/
+    private double getFittedHeight(int viewRow, int modelRow) {
+        if (modelRow < heights.length && !Double.isNaN(heights[modelRow])) {
+            return heights[modelRow];
+        }
+        double height = skin.measureRowHeight(viewRow);
+        if (height >= 0) {
+            if (modelRow >= heights.length) {
+                int oldLength = heights.length;
+                heights = Arrays.copyOf(heights, Math.max(modelRow + 1, oldLength * 2));
+                Arrays.fill(heights, oldLength, heights.length, Double.NaN);
+            }
+            heights[modelRow] = height;
+        }
+        return height;
+    }
+
+    private void invalidate(int modelRow) {
+        if (modelRow >= 0 && modelRow < heights.length) {
+            heights[modelRow] = Double.NaN;
+        }
+    }
+
+    private void invalidateAll() {
+        Arrays.fill(heights, Double.NaN);
+        /**
+         * The rows already measured by the running job used the old widths,
+         * so it must start again from the beginning. We hold it until the
+         * widths stop changing.
+         */
+        if (job != null) {
+            timer.stop();
+            widthSettleDelay.playFromStart();
+        }
+    }
+
+    private void widthsSettled(ActionEvent event) {
+        if (job != null) {
+            fitAllRows(job.maximum);
+        }
+    }
+
+    /**
+     * Measures as many rows as the pulse budget allows.
+     */
+    private void pulse() {
+        FitJob currentJob = job;
+        if (currentJob == null) {
+            timer.stop();
+            return;
+        }
+        if (currentJob.rowCount != skin.getItemCount() || !skin.acquireMeasuringCell()) {
+            cancel();
+            return;
+        }
+        Grid grid = spreadsheetView.getGrid();
+        Map<Integer, Double> resized = currentJob.maximum ? null : new HashMap<>();
+        long start = System.nanoTime();
+        try {
+            while (currentJob.next < currentJob.rowCount && System.nanoTime() - start < PULSE_BUDGET) {
+                int viewRow = currentJob.next++;
+                if (currentJob.visited.get(viewRow)) {
+                    continue;
+                }
+                int modelRow = spreadsheetView.getModelRow(viewRow);
+                if (!grid.isRowResizable(modelRow)) {
+                    continue;
+                }
+                double height = getFittedHeight(viewRow, modelRow);
+                if (height >= 0) {
+                    currentJob.record(modelRow, height);
+                    if (resized != null) {
+                        resized.put(modelRow, height);
+                    }
+                }
+            }
+        } finally {
+            skin.releaseMeasuringCell();
+        }
+        if (resized != null) {
+            skin.rowHeightMap.putAll(resized);
+        }
+        if (currentJob.next >= currentJob.rowCount) {
+            cancel();
+            finish(currentJob);
+        }
+    }
+
+    private void finish(FitJob finishedJob) {
+        Map<Integer, Double> batch = finishedJob.heights;
+        if (finishedJob.maximum) {
+            double maxHeight = finishedJob.maxHeight;
+            batch = new HashMap<>(batch.size());
+            Grid grid = spreadsheetView.getGrid();
+            for (int modelRow = 0; modelRow < grid.getRowCount(); ++modelRow) {
+                if (grid.isRowResizable(modelRow)) {
+                    batch.put(modelRow, maxHeight);
+                }
+            }
+            skin.rowHeightMap.clear();
+            skin.rowHeightMap.putAll(batch);
+        }
+        skin.rectangleSelection.updateRectangle();
+        Event.fireEvent(spreadsheetView, new SpreadsheetView.RowHeightBatchEvent(batch));
+    }
+
+    /**
+     * The state of a fitting of every row.
+     */
+    private static final class FitJob {
+
+        private final int rowCount;
+        private final boolean maximum;
+        /**
+         * The view rows already handled, namely the rows visible when the job
+         * was started.
+         */
+        private final BitSet visited;
+        private final Map<Integer, Double> heights = new HashMap<>();
+        private double maxHeight;
+        private int next;
+
+        FitJob(int rowCount, boolean maximum) {
+            this.rowCount = rowCount;
+            this.maximum = maximum;
+            this.visited = new BitSet(rowCount);
+        }
+
+        void record(int modelRow, double height) {
+            heights.put(modelRow, height);
+            maxHeight = Math.max(maxHeight, height);
+        }
+    }
+}
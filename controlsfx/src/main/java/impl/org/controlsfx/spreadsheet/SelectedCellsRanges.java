@@ -0,0 +1,419 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package impl.org.controlsfx.spreadsheet;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.controlsfx.control.spreadsheet.GridRange;
+
+/**
+ * Stores the selected cells of the {@link TableViewSpanSelectionModel} as a
+ * list of disjoint rectangular {@link GridRange}s instead of one position per
+ * cell.
+ *
+ * The ranges list is copy-on-write: every modification replaces it, so a
+ * snapshot taken with {@link #getRanges() } stays valid and can be turned into
+ * a lazily materialized list of positions with {@link #asList(java.util.List) }.
+ * This is what allows to fire a selection change containing the previous
+ * selection without copying millions of positions.
+ *
+ * @param <T> the type of the materialized positions
+ */
+public class SelectedCellsRanges<T> {
+
+    /**
+     * Creates the position exposed for a selected cell.
+     *
+     * @param <T>
+     */
+    @FunctionalInterface
+    public interface PositionFactory<T> {
+
+        T create(int row, int column);
+    }
+
+    private final PositionFactory<T> factory;
+    private RangeList<T> current;
+
+    public SelectedCellsRanges(PositionFactory<T> factory) {
+        this.factory = factory;
+        this.current = new RangeList<>(Collections.<GridRange>emptyList(), factory);
+    }
+
+    /**
+     * @return an unmodifiable snapshot of the disjoint selected ranges.
+     */
+    public List<GridRange> getRanges() {
+        return current.ranges;
+    }
+
+    /**
+     * Returns a lazily materialized list of positions for a snapshot
+     * previously returned by {@link #getRanges() }.
+     *
+     * @param ranges
+     * @return a read-only list of positions
+     */
+    public List<T> asList(List<GridRange> ranges) {
+        return ranges == current.ranges ? current : new RangeList<>(ranges, factory);
+    }
+
+    public int size() {
+        return current.size();
+    }
+
+    public boolean isEmpty() {
+        return current.ranges.isEmpty();
+    }
+
+    public T get(int i) {
+        if (i < 0) {
+            return null;
+        }
+        return current.get(i);
+    }
+
+    public int indexOf(int row, int column) {
+        return current.indexOf(row, column);
+    }
+
+    public boolean isSelected(int row, int column) {
+        if (column < 0) {
+            return current.containsRow(row);
+        }
+        return current.find(row, column) != null;
+    }
+
+    /**
+     * @param range
+     * @return true if at least one cell of the given range is selected.
+     */
+    public boolean intersects(GridRange range) {
+        for (GridRange selected : current.ranges) {
+            if (selected.intersects(range)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds a single cell to the selection.
+     *
+     * @param row
+     * @param column
+     * @return true if the selection has changed
+     */
+    public boolean add(int row, int column) {
+        if (current.find(row, column) != null) {
+            return false;
+        }
+        return add(new GridRange(row, row, column, column));
+    }
+
+    /**
+     * Adds a range to the selection. Existing ranges overlapping it are
+     * clipped so that the stored ranges stay disjoint.
+     *
+     * @param range
+     * @return true if the selection has changed
+     */
+    public boolean add(GridRange range) {
+        final List<GridRange> ranges = current.ranges;
+        for (GridRange selected : ranges) {
+            if (selected.contains(range)) {
+                return false;
+            }
+        }
+        final List<GridRange> newRanges = new ArrayList<>(ranges.size() + 1);
+        for (GridRange selected : ranges) {
+            if (selected.intersects(range)) {
+                subtract(selected, range, newRanges);
+            } else {
+                newRanges.add(selected);
+            }
+        }
+        newRanges.add(range);
+        setRanges(newRanges);
+        return true;
+    }
+
+    /**
+     * Removes a range from the selection.
+     *
+     * @param range
+     * @return true if the selection has changed
+     */
+    public boolean remove(GridRange range) {
+        final List<GridRange> ranges = current.ranges;
+        final List<GridRange> newRanges = new ArrayList<>(ranges.size() + 3);
+        boolean changed = false;
+        for (GridRange selected : ranges) {
+            if (selected.intersects(range)) {
+                subtract(selected, range, newRanges);
+                changed = true;
+            } else {
+                newRanges.add(selected);
+            }
+        }
+        if (changed) {
+            setRanges(newRanges);
+        }
+        return changed;
+    }
+
+    /**
+     * Replaces the whole selection by the given cells. Each key is built with
+     * {@link RectangleSelection.SelectionRange#key(int, int) }. Consecutive
+     * cells are coalesced into row runs, and identical runs on consecutive
+     * rows are merged into a single range.
+     *
+     * @param keys
+     */
+    public void setAll(long[] keys) {
+        final long[] sorted = keys.clone();
+        Arrays.sort(sorted);
+        final List<GridRange> newRanges = new ArrayList<>();
+        // Runs of the previous row, indexed by their columns, waiting to be extended.
+        Map<Long, int[]> previousRuns = new HashMap<>();
+        Map<Long, int[]> currentRuns = new HashMap<>();
+        int currentRow = Integer.MIN_VALUE;
+        int i = 0;
+        while (i < sorted.length) {
+            final int row = (int) (sorted[i] >> 32);
+            final int left = (int) sorted[i];
+            int right = left;
+            ++i;
+            while (i < sorted.length && (int) (sorted[i] >> 32) == row && (int) sorted[i] <= right + 1) {
+                right = Math.max(right, (int) sorted[i]);
+                ++i;
+            }
+            if (row != currentRow) {
+                //The runs not extended on the current row are over.
+                closeRuns(previousRuns, newRanges);
+                if (row != currentRow + 1) {
+                    closeRuns(currentRuns, newRanges);
+                }
+                previousRuns = currentRuns;
+                currentRuns = new HashMap<>();
+                currentRow = row;
+            }
+            final Long runKey = RectangleSelection.SelectionRange.key(left, right);
+            int[] run = previousRuns.remove(runKey);
+            if (run == null) {
+                run = new int[]{row, row, left, right};
+            } else {
+                run[1] = row;
+            }
+            currentRuns.put(runKey, run);
+        }
+        closeRuns(previousRuns, newRanges);
+        closeRuns(currentRuns, newRanges);
+        setRanges(newRanges);
+    }
+
+    public void clear() {
+        if (!current.ranges.isEmpty()) {
+            setRanges(Collections.<GridRange>emptyList());
+        }
+    }
+
+    private void closeRuns(Map<Long, int[]> runs, List<GridRange> newRanges) {
+        for (int[] run : runs.values()) {
+            newRanges.add(new GridRange(run[0], run[1], run[2], run[3]));
+        }
+        runs.clear();
+    }
+
+    private void setRanges(List<GridRange> ranges) {
+        current = new RangeList<>(Collections.unmodifiableList(ranges), factory);
+    }
+
+    /**
+     * Adds to the list the (at most four) pieces of the range that are not
+     * covered by the cut.
+     */
+    private static void subtract(GridRange range, GridRange cut, List<GridRange> result) {
+        if (cut.getTop() > range.getTop()) {
+            result.add(new GridRange(range.getTop(), cut.getTop() - 1, range.getLeft(), range.getRight()));
+        }
+        if (cut.getBottom() < range.getBottom()) {
+            result.add(new GridRange(cut.getBottom() + 1, range.getBottom(), range.getLeft(), range.getRight()));
+        }
+        final int top = Math.max(range.getTop(), cut.getTop());
+        final int bottom = Math.min(range.getBottom(), cut.getBottom());
+        if (cut.getLeft() > range.getLeft()) {
+            result.add(new GridRange(top, bottom, range.getLeft(), cut.getLeft() - 1));
+        }
+        if (cut.getRight() < range.getRight()) {
+            result.add(new GridRange(top, bottom, cut.getRight() + 1, range.getRight()));
+        }
+    }
+
+    /**
+     * An immutable list of positions backed by disjoint ranges. The positions
+     * are enumerated range by range, row by row. The lookup structures are
+     * only computed once a position is requested.
+     */
+    private static final class RangeList<T> extends AbstractList<T> {
+
+        private final List<GridRange> ranges;
+        private final PositionFactory<T> factory;
+        private final int size;
+        /**
+         * Number of cells before each range, in the ranges order.
+         */
+        private int[] offsets;
+        /**
+         * Ranges sorted by their top row, with the maximum bottom row of all
+         * the preceding ranges. This is a flattened interval tree allowing to
+         * find the ranges crossing a row with a binary search.
+         */
+        private int[] sortedIndexes;
+        private int[] tops;
+        private int[] maxBottoms;
+
+        RangeList(List<GridRange> ranges, PositionFactory<T> factory) {
+            this.ranges = ranges;
+            this.factory = factory;
+            long count = 0;
+            for (GridRange range : ranges) {
+                count += range.getCellCount();
+            }
+            this.size = (int) Math.min(count, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            final int[] rangeOffsets = getOffsets();
+            int rangeIndex = Arrays.binarySearch(rangeOffsets, index);
+            if (rangeIndex < 0) {
+                rangeIndex = -rangeIndex - 2;
+            }
+            final GridRange range = ranges.get(rangeIndex);
+            final int local = index - rangeOffsets[rangeIndex];
+            final int width = range.getColumnCount();
+            return factory.create(range.getTop() + local / width, range.getLeft() + local % width);
+        }
+
+        int indexOf(int row, int column) {
+            final int rangeIndex = findIndex(row, column);
+            if (rangeIndex < 0) {
+                return -1;
+            }
+            final GridRange range = ranges.get(rangeIndex);
+            return getOffsets()[rangeIndex] + (row - range.getTop()) * range.getColumnCount() + column - range.getLeft();
+        }
+
+        GridRange find(int row, int column) {
+            final int rangeIndex = findIndex(row, column);
+            return rangeIndex < 0 ? null : ranges.get(rangeIndex);
+        }
+
+        boolean containsRow(int row) {
+            return findIndex(row, -1) >= 0;
+        }
+
+        /**
+         * @param row
+         * @param column the column, or -1 to match any column
+         * @return the index of the range containing the position, or -1
+         */
+        private int findIndex(int row, int column) {
+            if (ranges.isEmpty()) {
+                return -1;
+            }
+            buildIntervals();
+            int i = Arrays.binarySearch(tops, row);
+            if (i < 0) {
+                i = -i - 2;
+            } else {
+                while (i + 1 < tops.length && tops[i + 1] == row) {
+                    ++i;
+                }
+            }
+            for (; i >= 0 && maxBottoms[i] >= row; --i) {
+                final GridRange range = ranges.get(sortedIndexes[i]);
+                if (range.getBottom() >= row
+                        && (column < 0 || (column >= range.getLeft() && column <= range.getRight()))) {
+                    return sortedIndexes[i];
+                }
+            }
+            return -1;
+        }
+
+        private int[] getOffsets() {
+            if (offsets == null) {
+                final int[] result = new int[ranges.size()];
+                long count = 0;
+                for (int i = 0; i < result.length; ++i) {
+                    result[i] = (int) count;
+                    count += ranges.get(i).getCellCount();
+                }
+                offsets = result;
+            }
+            return offsets;
+        }
+
+        private void buildIntervals() {
+            if (tops != null) {
+                return;
+            }
+            final int count = ranges.size();
+            final long[] keys = new long[count];
+            for (int i = 0; i < count; ++i) {
+                keys[i] = (((long) ranges.get(i).getTop()) << 32) | i;
+            }
+            Arrays.sort(keys);
+            sortedIndexes = new int[count];
+            tops = new int[count];
+            maxBottoms = new int[count];
+            int maxBottom = Integer.MIN_VALUE;
+            for (int i = 0; i < count; ++i) {
+                final int rangeIndex = (int) keys[i];
+                final GridRange range = ranges.get(rangeIndex);
+                sortedIndexes[i] = rangeIndex;
+                tops[i] = range.getTop();
+                maxBottom = Math.max(maxBottom, range.getBottom());
+                maxBottoms[i] = maxBottom;
+            }
+        }
+    }
+}
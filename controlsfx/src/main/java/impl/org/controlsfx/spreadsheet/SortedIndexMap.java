@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package impl.org.controlsfx.spreadsheet;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.transformation.SortedList;
+
+/**
+ * Keeps the inverse permutation of a {@link SortedList} so that finding the
+ * sorted index of a source index is O(1) instead of a linear scan.
+ *
+ * A permutation of the {@link SortedList}, which is what a sort or the edit
+ * of a sorted value produces, only updates the permuted part of the map.
+ * Any other change shifts the source indexes, so the map is then recomputed
+ * lazily, the first time it is needed, reusing the array whenever the size
+ * allows it.
+ */
+public final class SortedIndexMap {
+
+    private final SortedList<?> sortedList;
+    private int[] sourceToView = new int[0];
+    private boolean valid = false;
+
+    private final ListChangeListener<Object> sortedListListener = this::sortedListChanged;
+
+    public SortedIndexMap(SortedList<?> sortedList) {
+        this.sortedList = sortedList;
+        sortedList.addListener(sortedListListener);
+    }
+
+    private void sortedListChanged(ListChangeListener.Change<?> c) {
+        while (valid && c.next()) {
+            if (c.wasPermutated()) {
+                for (int i = c.getFrom(); i < c.getTo(); ++i) {
+                    sourceToView[sortedList.getSourceIndex(i)] = i;
+                }
+            } else if (!c.wasUpdated()) {
+                valid = false;
+            }
+        }
+    }
+
+    /**
+     * Stops listening to the {@link SortedList}.
+     */
+    public void dispose() {
+        sortedList.removeListener(sortedListListener);
+    }
+
+    /**
+     * @param sourceIndex an index of the source list of the
+     * {@link SortedList}
+     * @return the index in the {@link SortedList}, or -1 if it is not present.
+     */
+    public int getViewIndex(int sourceIndex) {
+        final int size = sortedList.size();
+        if (sourceIndex < 0 || sourceIndex >= size) {
+            return -1;
+        }
+        if (sortedList.getComparator() == null) {
+            return sourceIndex;
+        }
+        if (!valid) {
+            if (sourceToView.length < size) {
+                sourceToView = new int[size];
+            }
+            for (int i = 0; i < size; ++i) {
+                sourceToView[this.sortedList.getSourceIndex(i)] = i;
+            }
+            valid = true;
+        }
+        return sourceToView[sourceIndex];
+    }
+}
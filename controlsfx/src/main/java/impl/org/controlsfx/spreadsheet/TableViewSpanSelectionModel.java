@@ -26,21 +26,19 @@
  */
 package impl.org.controlsfx.spreadsheet;
 
-import com.sun.javafx.collections.MappingChange;
 import com.sun.javafx.collections.NonIterableChange;
 import com.sun.javafx.scene.control.ReadOnlyUnbackedObservableList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.beans.InvalidationListener;
 import javafx.beans.NamedArg;
 import javafx.beans.Observable;
-import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
-import javafx.collections.WeakListChangeListener;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.event.WeakEventHandler;
@@ -53,6 +51,7 @@ import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseEvent;
 import javafx.util.Duration;
 import javafx.util.Pair;
+import org.controlsfx.control.spreadsheet.GridRange;
 import org.controlsfx.control.spreadsheet.SpreadsheetCell;
 import org.controlsfx.control.spreadsheet.SpreadsheetView;
 
@@ -75,8 +74,9 @@ public class TableViewSpanSelectionModel extends
     private SpreadsheetView spreadsheetView;
     // the only 'proper' internal data structure, selectedItems and
     // selectedIndices
-    // are both 'read-only and unbacked'.
-    private final SelectedCellsMapTemp<TablePosition<ObservableList<SpreadsheetCell>, ?>> selectedCellsMap;
+    // are both 'read-only and unbacked'. The selected cells are stored as
+    // ranges and only materialized into TablePosition when requested.
+    private final SelectedCellsRanges<TablePosition<ObservableList<SpreadsheetCell>, ?>> selectedCellsMap;
 
     // we create a ReadOnlyUnbackedObservableList of selectedCells here so
     // that we can fire custom list change events.
@@ -165,8 +165,6 @@ public class TableViewSpanSelectionModel extends
         mouseEvent = e;
     };
 
-    private final ListChangeListener<TablePosition<ObservableList<SpreadsheetCell>, ?>> listChangeListener = this::handleSelectedCellsListChangeEvent;
-
     /**
      * *********************************************************************
      *
@@ -193,7 +191,8 @@ public class TableViewSpanSelectionModel extends
 
         cellsView.setOnMouseDragged(new WeakEventHandler<>(onMouseDragEventHandler));
 
-        selectedCellsMap = new SelectedCellsMapTemp<>(new WeakListChangeListener<>(listChangeListener));
+        selectedCellsMap = new SelectedCellsRanges<>((row, column)
+                -> new TablePosition<>(getTableView(), row, getTableView().getVisibleLeafColumn(column)));
 
         selectedCellsSeq = new ReadOnlyUnbackedObservableList<TablePosition<ObservableList<SpreadsheetCell>, ?>>() {
             @Override
@@ -205,17 +204,48 @@ public class TableViewSpanSelectionModel extends
             public int size() {
                 return selectedCellsMap.size();
             }
+
+            @Override
+            public int indexOf(Object o) {
+                if (!(o instanceof TablePosition)) {
+                    return -1;
+                }
+                final TablePosition<?, ?> position = (TablePosition<?, ?>) o;
+                return selectedCellsMap.indexOf(position.getRow(), position.getColumn());
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return indexOf(o) != -1;
+            }
         };
     }
 
-    private void handleSelectedCellsListChangeEvent(
-            ListChangeListener.Change<? extends TablePosition<ObservableList<SpreadsheetCell>, ?>> c) {
-        if (makeAtomic) {
+    /**
+     * Notifies the listeners of the selected cells that the selection has
+     * changed. The previous selection is given as a snapshot of ranges, so the
+     * removed cells are only materialized if a listener asks for them.
+     *
+     * @param previousSelection the ranges selected before the modification
+     */
+    private void fireSelectedCellsChange(List<GridRange> previousSelection) {
+        if (makeAtomic || previousSelection == selectedCellsMap.getRanges()
+                || (previousSelection.isEmpty() && selectedCellsMap.isEmpty())) {
             return;
         }
 
-        selectedCellsSeq.callObservers(new MappingChange<>(c, MappingChange.NOOP_MAP, selectedCellsSeq));
-        c.reset();
+        selectedCellsSeq.callObservers(new NonIterableChange.GenericAddRemoveChange<>(0,
+                selectedCellsMap.size(), selectedCellsMap.asList(previousSelection), selectedCellsSeq));
+    }
+
+    /**
+     * Returns the selected cells as a list of disjoint ranges of view
+     * coordinates.
+     *
+     * @return an unmodifiable list of the selected ranges
+     */
+    public List<GridRange> getSelectedRanges() {
+        return selectedCellsMap.getRanges();
     }
 
     /**
@@ -237,6 +267,7 @@ public class TableViewSpanSelectionModel extends
         if (isCellSelectionEnabled() && column == null) {
             return;
         }
+        final List<GridRange> previousSelection = selectedCellsMap.getRanges();
         // Variable we need for algorithm
         TablePosition<ObservableList<SpreadsheetCell>, ?> posFinal = new TablePosition<>(getTableView(), row,
                 column);
@@ -330,12 +361,12 @@ public class TableViewSpanSelectionModel extends
         SpreadsheetCell cell = (SpreadsheetCell) old.getTableColumn().getCellData(old.getRow());
         oldRowSpan = spreadsheetView.getRowSpan(cell, old.getRow());
         oldColSpan = spreadsheetView.getColumnSpan(cell);
-        for (int i = old.getRow(); i < oldRowSpan + old.getRow(); ++i) {
-            for (int j = spreadsheetView.getViewColumn(cell.getColumn()); j < oldColSpan + spreadsheetView.getViewColumn(cell.getColumn()); ++j) {
-                posFinal = new TablePosition<>(getTableView(), i, getTableView().getVisibleLeafColumn(j));
-                selectedCellsMap.add(posFinal);
-            }
+        if (oldRowSpan > 0 && oldColSpan > 0) {
+            final int viewColumn = spreadsheetView.getViewColumn(cell.getColumn());
+            selectedCellsMap.add(new GridRange(old.getRow(), old.getRow() + oldRowSpan - 1,
+                    viewColumn, viewColumn + oldColSpan - 1));
         }
+        fireSelectedCellsChange(previousSelection);
 
         updateScroll(old);
         addSelectedRowsAndColumns(old);
@@ -383,23 +414,13 @@ public class TableViewSpanSelectionModel extends
         if (tp.getRow() < 0 || tp.getColumn() < 0) {
             return;
         }
-        List<TablePosition<ObservableList<SpreadsheetCell>, ?>> selectedCells;
-        if ((selectedCells = isSelectedRange(row, column, tp.getColumn())) != null) {
-            for (TablePosition<ObservableList<SpreadsheetCell>, ?> cell : selectedCells) {
-                selectedCellsMap.remove(cell);
-                removeSelectedRowsAndColumns(cell);
-                focus(cell.getRow());
-            }
-        } else {
-            for (TablePosition<ObservableList<SpreadsheetCell>, ?> pos : getSelectedCells()) {
-                if (pos.equals(tp)) {
-                    selectedCellsMap.remove(pos);
-                    removeSelectedRowsAndColumns(pos);
-                    // give focus to this cell index
-                    focus(row);
-                    return;
-                }
-            }
+        final List<GridRange> previousSelection = selectedCellsMap.getRanges();
+        final GridRange cellRange = getCellRange(row, column);
+        if (selectedCellsMap.remove(cellRange)) {
+            removeSelectedRowsAndColumns(cellRange);
+            // give focus to this cell index
+            focus(row);
+            fireSelectedCellsChange(previousSelection);
         }
     }
 
@@ -412,7 +433,8 @@ public class TableViewSpanSelectionModel extends
      * @param selectedCells
      */
     public void verifySelectedCells(List<Pair<Integer, Integer>> selectedCells) {
-        Set<TablePosition<ObservableList<SpreadsheetCell>, ?>> newList = new HashSet<>();
+        long[] newList = new long[selectedCells.size()];
+        int newListSize = 0;
         clearSelection();
 
         final int itemCount = getItemCount();
@@ -442,12 +464,16 @@ public class TableViewSpanSelectionModel extends
                     for (int j = spreadsheetView.getViewColumn(cell.getColumn()); j < spreadsheetView.getColumnSpan(cell) + spreadsheetView.getViewColumn(cell.getColumn()); ++j) {
                         selectedRows.add(j);
                         pos = new TablePosition<>(getTableView(), i, getTableView().getVisibleLeafColumn(j));
-                        newList.add(pos);
+                        if (newListSize == newList.length) {
+                            newList = Arrays.copyOf(newList, newListSize * 2 + 1);
+                        }
+                        newList[newListSize++] = RectangleSelection.SelectionRange.key(i, j);
                     }
                 }
             }
         }
-        selectedCellsMap.setAll(newList);
+        selectedCellsMap.setAll(Arrays.copyOf(newList, newListSize));
+        fireSelectedCellsChange(Collections.<GridRange>emptyList());
 
         final TablePosition finalPos = pos;
         // Then we update visuals just once
@@ -496,8 +522,7 @@ public class TableViewSpanSelectionModel extends
 
                 @Override
                 public void invalidated(Observable observable) {
-                    handleSelectedCellsListChangeEvent(new NonIterableChange.SimpleAddChange<>(0,
-                            selectedCellsMap.size(), selectedCellsSeq));
+                    fireSelectedCellsChange(Collections.<GridRange>emptyList());
                     getCellsViewSkin().lastRowLayout.removeListener(this);
                 }
             });
@@ -513,9 +538,7 @@ public class TableViewSpanSelectionModel extends
             select(maxRow, maxColumn);
             return;
         }
-        SpreadsheetCell cell;
-
-        makeAtomic = true;
+        final List<GridRange> previousSelection = selectedCellsMap.getRanges();
 
         final int itemCount = getItemCount();
 
@@ -526,83 +549,75 @@ public class TableViewSpanSelectionModel extends
         final int _minColumnIndex = Math.min(minColumnIndex, maxColumnIndex);
         final int _maxColumnIndex = Math.max(minColumnIndex, maxColumnIndex);
 
-        final int _minRow = Math.min(minRow, maxRow);
-        final int _maxRow = Math.max(minRow, maxRow);
-
-        HashSet<Integer> selectedRows = new HashSet<>();
-        HashSet<Integer> selectedColumns = new HashSet<>();
-
-        for (int _row = _minRow; _row <= _maxRow; _row++) {
-            for (int _col = _minColumnIndex; _col <= _maxColumnIndex; _col++) {
-                // begin copy/paste of select(int, column) method (with some
-                // slight modifications)
-                if (_row < 0 || _row >= itemCount) {
-                    continue;
-                }
-
-                final TableColumn<ObservableList<SpreadsheetCell>, ?> column = getTableView().getVisibleLeafColumn(
-                        _col);
+        final int _minRow = Math.max(0, Math.min(minRow, maxRow));
+        final int _maxRow = Math.min(itemCount - 1, Math.max(minRow, maxRow));
 
-                // if I'm in cell selection mode but the column is null, I
-                // don't want
-                // to select the whole row instead...
-                if (column == null) {
-                    continue;
-                }
-
-                TablePosition<ObservableList<SpreadsheetCell>, ?> pos = getVisibleCell(_row, column);
-
-                // We store all the selectedColumn and Rows, we will update
-                // just once at the end
-                cell = (SpreadsheetCell) column.getCellData(pos.getRow());
-                final int rowSpan = spreadsheetView.getRowSpan(cell, pos.getRow());
-                final int currentRow = pos.getRow();
-                for (int i = currentRow; i < rowSpan + currentRow; ++i) {
-                    selectedRows.add(i);
-                    for (int j = spreadsheetView.getViewColumn(cell.getColumn()); j < spreadsheetView.getColumnSpan(cell) + spreadsheetView.getViewColumn(cell.getColumn()); ++j) {
-                        selectedColumns.add(j);
-                        pos = new TablePosition<>(getTableView(), i, getTableView().getVisibleLeafColumn(j));
-                        selectedCellsMap.add(pos);
-                    }
-                }
+        if (_minColumnIndex >= 0 && _minRow <= _maxRow) {
+            final GridRange range = new GridRange(_minRow, _maxRow, _minColumnIndex, _maxColumnIndex);
+            selectedCellsMap.add(range);
+            final GridRange selectedRange = selectSpannedCells(range);
 
-//                makeAtomic = true;
-                // end copy/paste
+            // Then we update visuals just once
+            GridViewSkin skin = getSpreadsheetViewSkin();
+            if (skin != null) {
+                addIndexes(skin.getSelectedRows(), selectedRange.getTop(), selectedRange.getBottom());
+                addIndexes(skin.getSelectedColumns(), selectedRange.getLeft(), selectedRange.getRight());
             }
         }
-        makeAtomic = false;
-
-        // Then we update visuals just once
-        getSpreadsheetViewSkin().getSelectedRows().addAll(selectedRows);
-        getSpreadsheetViewSkin().getSelectedColumns().addAll(selectedColumns);
 
         // fire off events
         setSelectedIndex(maxRow);
         setSelectedItem(getModelItem(maxRow));
-        if (getTableView().getFocusModel() == null) {
-            return;
+        if (getTableView().getFocusModel() != null) {
+            //FIXME Focus is wrong, and endIndex also..
+            getTableView().getFocusModel().focus(maxRow, (TableColumn<ObservableList<SpreadsheetCell>, ?>) maxColumn);
         }
 
-        //FIXME Focus is wrong, and endIndex also..
-        getTableView().getFocusModel().focus(maxRow, (TableColumn<ObservableList<SpreadsheetCell>, ?>) maxColumn);
-
-        /**
-         * If we end up on a spanned cell, there is not reliable way to
-         * determine which is the last index, certainly not the maxRow and
-         * maxColumn. So right now we need to take this extreme measure in order
-         * to be sure that the cells will be highlighted correctly.
-         */
-        final int startChangeIndex = selectedCellsMap.indexOf(new TablePosition<>(getTableView(), minRow,
-                (TableColumn<ObservableList<SpreadsheetCell>, ?>) minColumn));
-        final int endChangeIndex = selectedCellsMap.getSelectedCells().size() - 1;//indexOf(new TablePosition<>(getTableView(), maxRow,
-//                (TableColumn<ObservableList<SpreadsheetCell>, ?>) maxColumn));
+        fireSelectedCellsChange(previousSelection);
+    }
 
-        if (startChangeIndex > -1 && endChangeIndex > -1) {
-            final int startIndex = Math.min(startChangeIndex, endChangeIndex);
-            final int endIndex = Math.max(startChangeIndex, endChangeIndex);
-            handleSelectedCellsListChangeEvent(new NonIterableChange.SimpleAddChange<>(startIndex,
-                    endIndex + 1, selectedCellsSeq));
+    /**
+     * Selects the whole area of the spanning cells that are only partially
+     * covered by the given range. Only a spanning cell crossing the border of
+     * the range can overflow it, so we only need to inspect the border cells
+     * instead of every cell of the range.
+     *
+     * @param range the range that has just been selected
+     * @return the range including all the rows and columns now selected
+     */
+    private GridRange selectSpannedCells(GridRange range) {
+        int top = range.getTop();
+        int bottom = range.getBottom();
+        int left = range.getLeft();
+        int right = range.getRight();
+
+        final int[] modelColumns = new int[range.getColumnCount()];
+        for (int col = range.getLeft(); col <= range.getRight(); ++col) {
+            modelColumns[col - range.getLeft()] = cellsView.getColumns().indexOf(getTableView().getVisibleLeafColumn(col));
+        }
+
+        for (int row = range.getTop(); row <= range.getBottom(); ++row) {
+            final boolean border = row == range.getTop() || row == range.getBottom();
+            // Inside the range, only the first and last columns are on the border.
+            final int step = border ? 1 : Math.max(1, range.getRight() - range.getLeft());
+            for (int col = range.getLeft(); col <= range.getRight(); col += step) {
+                final int modelColumn = modelColumns[col - range.getLeft()];
+                if (modelColumn < 0 || spreadsheetView.getSpanType(row, modelColumn) == SpreadsheetView.SpanType.NORMAL_CELL) {
+                    continue;
+                }
+                final TableColumn<ObservableList<SpreadsheetCell>, ?> column = getTableView().getVisibleLeafColumn(col);
+                final TablePosition<ObservableList<SpreadsheetCell>, ?> pos = getVisibleCell(row, column);
+                final GridRange span = getCellRange(pos.getRow(), column);
+                if (!range.contains(span)) {
+                    selectedCellsMap.add(span);
+                    top = Math.min(top, span.getTop());
+                    bottom = Math.max(bottom, span.getBottom());
+                    left = Math.min(left, span.getLeft());
+                    right = Math.max(right, span.getRight());
+                }
+            }
         }
+        return new GridRange(top, bottom, left, right);
     }
 
     @Override
@@ -611,40 +626,45 @@ public class TableViewSpanSelectionModel extends
             return;
         }
 
+        final List<GridRange> previousSelection = selectedCellsMap.getRanges();
+        makeAtomic = true;
         quietClearSelection();
 
-        List<TablePosition<ObservableList<SpreadsheetCell>, ?>> indices = new ArrayList<>();
-        TableColumn<ObservableList<SpreadsheetCell>, ?> column;
-        TablePosition<ObservableList<SpreadsheetCell>, ?> tp = null;
-
-        for (int col = 0; col < getTableView().getVisibleLeafColumns().size(); col++) {
-            column = getTableView().getVisibleLeafColumns().get(col);
-            for (int row = 0; row < getItemCount(); row++) {
-                tp = new TablePosition<>(getTableView(), row, column);
-                indices.add(tp);
-            }
+        final int columnCount = getTableView().getVisibleLeafColumns().size();
+        final int itemCount = getItemCount();
+        if (columnCount > 0 && itemCount > 0) {
+            selectedCellsMap.add(new GridRange(0, itemCount - 1, 0, columnCount - 1));
         }
-        selectedCellsMap.setAll(indices);
 
         // Then we update visuals just once
-        ArrayList<Integer> selectedColumns = new ArrayList<>();
-        for (int col = 0; col < spreadsheetView.getGrid().getColumnCount(); col++) {
-            selectedColumns.add(col);
-        }
-
-        ArrayList<Integer> selectedRows = new ArrayList<>();
-        for (int row = 0; row < getItemCount(); row++) {
-            selectedRows.add(row);
+        GridViewSkin skin = getSpreadsheetViewSkin();
+        if (skin != null) {
+            addIndexes(skin.getSelectedRows(), 0, itemCount - 1);
+            addIndexes(skin.getSelectedColumns(), 0, spreadsheetView.getGrid().getColumnCount() - 1);
         }
-        getSpreadsheetViewSkin().getSelectedRows().addAll(selectedRows);
-        getSpreadsheetViewSkin().getSelectedColumns().addAll(selectedColumns);
 
-        if (tp != null) {
-            select(tp.getRow(), tp.getTableColumn());
+        if (columnCount > 0 && itemCount > 0) {
+            select(itemCount - 1, getTableView().getVisibleLeafColumn(columnCount - 1));
             //Just like verticalHeader, the focus should be put on the 
             //first cell to ease copy/paste operation.
             getTableView().getFocusModel().focus(0, getTableView().getColumns().get(0));
         }
+        makeAtomic = false;
+        fireSelectedCellsChange(previousSelection);
+    }
+
+    /**
+     * Adds all the indexes between from and to (inclusive) in one call.
+     */
+    private void addIndexes(ObservableList<Integer> list, int from, int to) {
+        if (from > to) {
+            return;
+        }
+        final List<Integer> indexes = new ArrayList<>(to - from + 1);
+        for (int i = from; i <= to; ++i) {
+            indexes.add(i);
+        }
+        list.addAll(indexes);
     }
 
     @Override
@@ -668,35 +688,19 @@ public class TableViewSpanSelectionModel extends
     }
 
     /**
-     * Return the tablePosition of a selected cell inside a spanned cell if any.
+     * Return the area, in view coordinates, covered by the cell at the given
+     * position, including its span.
      *
      * @param row
      * @param column
-     * @param col
      * @return
      */
-    public List<TablePosition<ObservableList<SpreadsheetCell>, ?>> isSelectedRange(int row,
-            TableColumn<ObservableList<SpreadsheetCell>, ?> column, int col) {
-
-        if (col < 0 || row < 0) {
-            return null;
-        }
-
+    private GridRange getCellRange(int row, TableColumn<ObservableList<SpreadsheetCell>, ?> column) {
         final SpreadsheetCell cell = (SpreadsheetCell) column.getCellData(row);
 
-        final int infRow = row;
-        final int supRow = infRow + spreadsheetView.getRowSpan(cell, row);
-
         final int infCol = spreadsheetView.getViewColumn(cell.getColumn());
-        final int supCol = infCol + spreadsheetView.getColumnSpan(cell);
-        List<TablePosition<ObservableList<SpreadsheetCell>, ?>> selectedCells = new ArrayList<>();
-        for (final TablePosition<ObservableList<SpreadsheetCell>, ?> tp : getSelectedCells()) {
-            if (tp.getRow() >= infRow && tp.getRow() < supRow && tp.getColumn() >= infCol
-                    && tp.getColumn() < supCol) {
-                selectedCells.add(tp);
-            }
-        }
-        return selectedCells.isEmpty() ? null : selectedCells;
+        return new GridRange(row, row + Math.max(1, spreadsheetView.getRowSpan(cell, row)) - 1,
+                infCol, infCol + Math.max(1, spreadsheetView.getColumnSpan(cell)) - 1);
     }
 
     /**
@@ -720,15 +724,16 @@ public class TableViewSpanSelectionModel extends
         }
     }
 
-    private void removeSelectedRowsAndColumns(TablePosition<?, ?> pos) {
-        final SpreadsheetCell cell = (SpreadsheetCell) pos.getTableColumn().getCellData(pos.getRow());
-        final int rowSpan = spreadsheetView.getRowSpan(cell, pos.getRow());
-//        final int filteredRow = spreadsheetView.getFilteredRow(cell.getRow());
-        for (int i = pos.getRow(); i < rowSpan + pos.getRow(); ++i) {
-            getSpreadsheetViewSkin().getSelectedRows().remove(Integer.valueOf(i));
-            for (int j = spreadsheetView.getViewColumn(cell.getColumn()); j < spreadsheetView.getColumnSpan(cell) + spreadsheetView.getViewColumn(cell.getColumn()); ++j) {
-                getSpreadsheetViewSkin().getSelectedColumns().remove(Integer.valueOf(j));
-            }
+    private void removeSelectedRowsAndColumns(GridRange range) {
+        GridViewSkin skin = getSpreadsheetViewSkin();
+        if (skin == null) {
+            return;
+        }
+        for (int i = range.getTop(); i <= range.getBottom(); ++i) {
+            skin.getSelectedRows().remove(Integer.valueOf(i));
+        }
+        for (int j = range.getLeft(); j <= range.getRight(); ++j) {
+            skin.getSelectedColumns().remove(Integer.valueOf(j));
         }
     }
 
@@ -745,10 +750,9 @@ public class TableViewSpanSelectionModel extends
          * return; }
          */
         makeAtomic = true;
-        // firstly we make a copy of the selection, so that we can send out
+        // firstly we keep the current ranges, so that we can send out
         // the correct details in the selection change event
-        List<TablePosition<ObservableList<SpreadsheetCell>, ?>> previousSelection = new ArrayList<>(
-                selectedCellsMap.getSelectedCells());
+        final List<GridRange> previousSelection = selectedCellsMap.getRanges();
 
         // then clear the current selection
         clearSelection();
@@ -760,15 +764,7 @@ public class TableViewSpanSelectionModel extends
 
         // fire off a single add/remove/replace notification (rather than
         // individual remove and add notifications) - see RT-33324
-        if (old != null && old.getColumn() >= 0) {
-            TableColumn<ObservableList<SpreadsheetCell>, ?> columnFinal = getTableView().getVisibleLeafColumn(
-                    old.getColumn());
-            int changeIndex = selectedCellsSeq.indexOf(new TablePosition<>(getTableView(), old.getRow(),
-                    columnFinal));
-            NonIterableChange.GenericAddRemoveChange<TablePosition<ObservableList<SpreadsheetCell>, ?>> change = new NonIterableChange.GenericAddRemoveChange<>(
-                    changeIndex, changeIndex + 1, previousSelection, selectedCellsSeq);
-            handleSelectedCellsListChangeEvent(change);
-        }
+        fireSelectedCellsChange(previousSelection);
     }
 
     /**
@@ -838,7 +834,9 @@ public class TableViewSpanSelectionModel extends
             setSelectedItem(getModelItem(-1));
             focus(-1);
         }
+        final List<GridRange> previousSelection = selectedCellsMap.getRanges();
         quietClearSelection();
+        fireSelectedCellsChange(previousSelection);
     }
 
     private void quietClearSelection() {
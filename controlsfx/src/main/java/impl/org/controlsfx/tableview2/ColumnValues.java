@@ -0,0 +1,247 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package impl.org.controlsfx.tableview2;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.WeakListChangeListener;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableColumnBase;
+import javafx.scene.control.TableView;
+
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The distinct non null values of a column, over the items of its table, in
+ * the order they first appear.
+ *
+ * <p>There is one instance per column, shared by all the filter controls of
+ * the column. The values are computed the first time they are requested, then
+ * kept up to date from the changes of the items list: each value is counted,
+ * and only the rows added, removed or updated are read. The values are only
+ * copied into the returned list when it is requested after a change.
+ *
+ * <p>Rows appended at the end of the list keep the counts in the order of the
+ * values. Any other change may move the first appearance of a value, so the
+ * order is then restored from the rows, using the value kept for each row
+ * instead of reading its cell again.
+ *
+ * @param <S> The type of the objects contained within the TableView items list
+ * @param <T> The type of the content in all cells in the column
+ */
+public final class ColumnValues<S, T> {
+
+    private static final Object COLUMN_VALUES_KEY = new Object();
+
+    /**
+     * Returns the values of the given column.
+     */
+    @SuppressWarnings("unchecked")
+    public static <S, T> ColumnValues<S, T> of(TableColumnBase<S, T> column) {
+        return (ColumnValues<S, T>) column.getProperties()
+                .computeIfAbsent(COLUMN_VALUES_KEY, key -> new ColumnValues<>(column));
+    }
+
+    private final TableColumnBase<S, T> column;
+    private final ObservableList<T> values = FXCollections.observableArrayList();
+    private final ObservableList<T> unmodifiableValues = FXCollections.unmodifiableObservableList(values);
+    private final Map<T, int[]> counts = new LinkedHashMap<>();
+    private final IdentityHashMap<S, RowValue<T>> rowValues = new IdentityHashMap<>();
+
+    private ObservableList<S> items;
+    // true when the counts have values added or removed since the last copy
+    private boolean valuesChanged;
+    // true when the counts may no longer be in the order of the rows
+    private boolean orderChanged;
+
+    private final ListChangeListener<S> itemsListener = this::itemsChanged;
+    private final WeakListChangeListener<S> weakItemsListener = new WeakListChangeListener<>(itemsListener);
+
+    private ColumnValues(TableColumnBase<S, T> column) {
+        this.column = column;
+    }
+
+    /**
+     * Returns the distinct values of the column, which are computed the first
+     * time and then follow the changes of the items of the table.
+     *
+     * @return an unmodifiable list of the values
+     */
+    public ObservableList<T> getValues() {
+        ObservableList<S> tableItems = getTableItems();
+        if (tableItems != items) {
+            if (items != null) {
+                items.removeListener(weakItemsListener);
+            }
+            items = tableItems;
+            rebuild();
+            if (items != null) {
+                items.addListener(weakItemsListener);
+            }
+        }
+        if (orderChanged) {
+            orderChanged = false;
+            reorder();
+            valuesChanged = true;
+        }
+        if (valuesChanged) {
+            valuesChanged = false;
+            values.setAll(counts.keySet());
+        }
+        return unmodifiableValues;
+    }
+
+    private void itemsChanged(ListChangeListener.Change<? extends S> c) {
+        while (c.next()) {
+            if (c.wasPermutated()) {
+                orderChanged = true;
+            } else if (c.wasUpdated()) {
+                for (int i = c.getFrom(); i < c.getTo(); i++) {
+                    S row = c.getList().get(i);
+                    T oldValue = getRowValue(row);
+                    removeRow(row);
+                    addRow(row);
+                    if (! Objects.equals(oldValue, getRowValue(row))) {
+                        orderChanged = true;
+                    }
+                }
+            } else {
+                if (c.wasRemoved() || c.getTo() != c.getList().size()) {
+                    orderChanged = true;
+                }
+                c.getRemoved().forEach(this::removeRow);
+                c.getAddedSubList().forEach(this::addRow);
+            }
+        }
+    }
+
+    private ObservableList<S> getTableItems() {
+        if (column instanceof TableColumn) {
+            TableView<S> tableView = ((TableColumn<S, T>) column).getTableView();
+            return tableView == null ? null : tableView.getItems();
+        }
+        return null;
+    }
+
+    private void rebuild() {
+        counts.clear();
+        rowValues.clear();
+        valuesChanged = true;
+        orderChanged = false;
+        if (items != null) {
+            items.forEach(this::addRow);
+        }
+    }
+
+    /**
+     * Puts the counts back in the order in which the values first appear in
+     * the rows.
+     */
+    private void reorder() {
+        Map<T, int[]> ordered = new LinkedHashMap<>();
+        for (S row : items) {
+            T value = getRowValue(row);
+            if (value != null && ! ordered.containsKey(value)) {
+                ordered.put(value, counts.get(value));
+            }
+        }
+        counts.clear();
+        counts.putAll(ordered);
+    }
+
+    private T getRowValue(S row) {
+        RowValue<T> rowValue = rowValues.get(row);
+        return rowValue == null ? null : rowValue.value;
+    }
+
+    private void addRow(S row) {
+        T value = column.getCellData(row);
+        RowValue<T> rowValue = rowValues.get(row);
+        if (rowValue == null) {
+            rowValues.put(row, new RowValue<>(value));
+        } else {
+            // the same row is more than once in the list
+            if (! Objects.equals(rowValue.value, value)) {
+                for (int i = 0; i < rowValue.count; i++) {
+                    decrement(rowValue.value);
+                    increment(value);
+                }
+                rowValue.value = value;
+            }
+            rowValue.count++;
+        }
+        increment(value);
+    }
+
+    private void removeRow(S row) {
+        RowValue<T> rowValue = rowValues.get(row);
+        if (rowValue == null) {
+            return;
+        }
+        if (--rowValue.count == 0) {
+            rowValues.remove(row);
+        }
+        decrement(rowValue.value);
+    }
+
+    private void increment(T value) {
+        if (value == null) {
+            return;
+        }
+        int[] count = counts.get(value);
+        if (count == null) {
+            counts.put(value, new int[] { 1 });
+            valuesChanged = true;
+        } else {
+            count[0]++;
+        }
+    }
+
+    private void decrement(T value) {
+        if (value == null) {
+            return;
+        }
+        int[] count = counts.get(value);
+        if (count != null && --count[0] == 0) {
+            counts.remove(value);
+            valuesChanged = true;
+        }
+    }
+
+    private static final class RowValue<T> {
+        private T value;
+        private int count = 1;
+
+        RowValue(T value) {
+            this.value = value;
+        }
+    }
+}
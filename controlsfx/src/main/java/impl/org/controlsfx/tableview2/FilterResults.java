@@ -0,0 +1,203 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package impl.org.controlsfx.tableview2;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.WeakListChangeListener;
+import javafx.scene.control.TableColumnBase;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Keeps, for each row of the backing list of a
+ * {@link org.controlsfx.control.tableview2.FilteredTableView}, whether it
+ * passed or failed the predicate of each filtered column.
+ *
+ * <p>Each column with a predicate is given a slot, a bit in the per row
+ * {@code long} values. When the predicate of a column changes, only its slot
+ * is cleared: a row failing another column stays hidden without being tested
+ * again, and a row passing the other columns is only tested against the
+ * column which changed.
+ *
+ * <p>The results of a row are dropped when the backing list reports it as
+ * updated, or when its tracked cell value changes. Since the filtered list may
+ * have tested an updated row before its results were dropped, the given
+ * callback is then run to filter again. Anything else the results cannot know
+ * about, so a filtering that is not caused by a predicate or a cell change
+ * must {@link #clear() clear} them.
+ *
+ * @param <S> The type of the objects contained within the backing list
+ */
+public final class FilterResults<S> {
+
+    private static final int SLOTS = Long.SIZE;
+
+    private final ObservableList<S> backingList;
+    private final Runnable onRowsUpdated;
+    /**
+     * For each row, the columns already tested, then the columns passed.
+     */
+    private final IdentityHashMap<S, long[]> rows = new IdentityHashMap<>();
+
+    private final TableColumnBase<?, ?>[] slotColumns = new TableColumnBase<?, ?>[SLOTS];
+    private final Predicate<?>[] slotPredicates = new Predicate<?>[SLOTS];
+    private final int[] slotGenerations = new int[SLOTS];
+    private int resetCount;
+
+    private final ListChangeListener<S> backingListListener = this::backingListChanged;
+
+    /**
+     * @param backingList the list whose rows are filtered
+     * @param onRowsUpdated run when the backing list reports updated rows
+     */
+    public FilterResults(ObservableList<S> backingList, Runnable onRowsUpdated) {
+        this.backingList = backingList;
+        this.onRowsUpdated = onRowsUpdated;
+        backingList.addListener(new WeakListChangeListener<>(backingListListener));
+    }
+
+    public ObservableList<S> getBackingList() {
+        return backingList;
+    }
+
+    /**
+     * Returns true if no result is kept yet.
+     */
+    boolean isEmpty() {
+        return rows.isEmpty();
+    }
+
+    /**
+     * Gives a slot to the column for the given predicate. The results kept in
+     * the slot remain valid as long as the column keeps the same predicate.
+     *
+     * @param inUse the columns which must keep their slot
+     * @return the slot, or -1 if all the slots are in use
+     */
+    int assignSlot(TableColumnBase<?, ?> column, Predicate<?> predicate, Collection<?> inUse) {
+        int free = -1;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            if (slotColumns[slot] == column) {
+                if (slotPredicates[slot] != predicate) {
+                    reset(slot, column, predicate);
+                }
+                return slot;
+            }
+            if (free < 0 && (slotColumns[slot] == null || ! inUse.contains(slotColumns[slot]))) {
+                free = slot;
+            }
+        }
+        if (free >= 0) {
+            reset(free, column, predicate);
+        }
+        return free;
+    }
+
+    /**
+     * Returns how many times a slot has been given to another column or
+     * predicate so far.
+     */
+    public int getResetCount() {
+        return resetCount;
+    }
+
+    /**
+     * Forgets the results of every row.
+     */
+    public void clear() {
+        rows.clear();
+    }
+
+    /**
+     * Returns the generation of the slot, which changes every time the slot
+     * is given to another column or predicate.
+     */
+    int getGeneration(int slot) {
+        return slotGenerations[slot];
+    }
+
+    /**
+     * Returns the results of the row, created empty if needed: the first
+     * element holds the bits of the tested columns, the second one the bits
+     * of the passed columns.
+     */
+    long[] getResults(S row) {
+        long[] results = rows.get(row);
+        if (results == null) {
+            results = new long[2];
+            rows.put(row, results);
+        }
+        return results;
+    }
+
+    /**
+     * Forgets the result of the row for the given column, typically after its
+     * cell value changed.
+     */
+    public void invalidate(S row, TableColumnBase<?, ?> column) {
+        long[] results = rows.get(row);
+        if (results == null) {
+            return;
+        }
+        for (int slot = 0; slot < SLOTS; slot++) {
+            if (slotColumns[slot] == column) {
+                results[0] &= ~(1L << slot);
+                results[1] &= ~(1L << slot);
+                return;
+            }
+        }
+    }
+
+    private void backingListChanged(ListChangeListener.Change<? extends S> lc) {
+        while (lc.next()) {
+            if (lc.wasUpdated()) {
+                for (int i = lc.getFrom(); i < lc.getTo(); i++) {
+                    rows.remove(lc.getList().get(i));
+                }
+                onRowsUpdated.run();
+            }
+            if (lc.wasRemoved()) {
+                lc.getRemoved().forEach(rows::remove);
+            }
+        }
+    }
+
+    private void reset(int slot, TableColumnBase<?, ?> column, Predicate<?> predicate) {
+        slotColumns[slot] = column;
+        slotPredicates[slot] = predicate;
+        slotGenerations[slot]++;
+        resetCount++;
+        long mask = ~(1L << slot);
+        for (long[] results : rows.values()) {
+            results[0] &= mask;
+            results[1] &= mask;
+        }
+    }
+}
@@ -29,49 +29,126 @@ package impl.org.controlsfx.tableview2;
 import javafx.scene.control.TableColumnBase;
 import org.controlsfx.control.tableview2.FilteredTableColumn;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Predicate;
 
 /**
  * Predicate implementation for {@link org.controlsfx.control.tableview2.FilteredTableView }
  * that is used when the {@link org.controlsfx.control.tableview2.FilteredTableView#filter() } 
  * method is called.
+ * 
+ * <p>The filterable columns with a predicate are collected once, when the
+ * predicate is created. The columns are then tested in the order that rejects
+ * rows the soonest, measured while filtering, and the verdict of each column
+ * predicate is remembered per cell value.
+ *
+ * <p>When {@link FilterResults} are given, the result of each row for each
+ * column is kept there, so that only the columns whose predicate changed are
+ * tested again, and only for the rows which do not already fail another
+ * column.
+ *
+ * <p>The cell values are read and the column predicates are called on the
+ * calling thread, one column at a time, stopping at the first column that
+ * rejects the row.
  *
  * @param <S> the type of the input to the predicate
  * @param <T> The type of the content in all cells in the related FilteredTableColumn
  */
 public class FilteredColumnPredicate<S, T> implements Predicate<S> {
 
+    /**
+     * Number of rows tested between two reorderings of the column tests.
+     */
+    private static final int REORDER_INTERVAL = 1_024;
+
     private final List<? extends TableColumnBase> columns;
+    private final FilterResults<S> results;
+    private final ColumnTest<S, ?>[] tests;
+    private int evaluations;
 
     public FilteredColumnPredicate(TableColumnBase<S,T>... columns) {
         this(Arrays.asList(columns));
     }
 
     public FilteredColumnPredicate(List<? extends TableColumnBase> columns) {
-        this.columns = Collections.unmodifiableList(columns);
+        this(columns, null);
     }
 
-    /** {@inheritDoc} */
-    @Override public boolean test(S s) {
-        for (TableColumnBase<S,T> tc : columns) {
+    /**
+     * Creates a predicate for the given columns.
+     *
+     * @param columns the columns to filter, only the filterable
+     * {@link FilteredTableColumn FilteredTableColumns} with a predicate are used
+     * @param results the results kept for the rows of the backing list which
+     * is about to be filtered, or null
+     */
+    public FilteredColumnPredicate(List<? extends TableColumnBase> columns, FilterResults<S> results) {
+        this.columns = Collections.unmodifiableList(columns);
+        this.results = results;
+
+        List<FilteredTableColumn<S, T>> filteredColumns = new ArrayList<>();
+        for (TableColumnBase<S,T> tc : this.columns) {
             if (tc instanceof FilteredTableColumn) {
                 FilteredTableColumn<S, T> ftc = (FilteredTableColumn) tc;
-                if (ftc.getPredicate() == null || ! ftc.isFilterable()) {
-                    continue;
+                if (ftc.getPredicate() != null && ftc.isFilterable()) {
+                    filteredColumns.add(ftc);
                 }
-                T value = tc.getCellData(s);
-                boolean result = doFilter(ftc, value);
+            }
+        }
+        tests = new ColumnTest[filteredColumns.size()];
+        for (int i = 0; i < tests.length; i++) {
+            FilteredTableColumn<S, T> ftc = filteredColumns.get(i);
+            int slot = results == null ? -1 : results.assignSlot(ftc, ftc.getPredicate(), filteredColumns);
+            int generation = slot < 0 ? 0 : results.getGeneration(slot);
+            tests[i] = new ColumnTest<>(ftc, ftc.getPredicate(), slot, generation);
+        }
+    }
 
-                // this is an and operation: bails with the first column that fails
-                if (! result) {
-                    return false;
+    /** {@inheritDoc} */
+    @Override public boolean test(S s) {
+        long keptColumns = getKeptColumns();
+        long[] rowResults = null;
+        if (keptColumns != 0) {
+            rowResults = results.getResults(s);
+            if ((rowResults[0] & ~rowResults[1] & keptColumns) != 0) {
+                // already known to fail one of the columns
+                return false;
+            }
+        }
+
+        // this is an and operation: bails with the first column that fails
+        boolean result = true;
+        for (ColumnTest<S, ?> columnTest : tests) {
+            long mask = columnTest.mask & keptColumns;
+            if (mask != 0 && (rowResults[0] & mask) != 0) {
+                // already known to pass this column
+                continue;
+            }
+            boolean passed = columnTest.test(s);
+            if (mask != 0) {
+                rowResults[0] |= mask;
+                if (passed) {
+                    rowResults[1] |= mask;
                 }
             }
+            if (! passed) {
+                result = false;
+                break;
+            }
         }
-        return true;
+        if (++evaluations % REORDER_INTERVAL == 0) {
+            Arrays.sort(tests, ColumnTest.BY_EFFICIENCY);
+        }
+        return result;
     }
 
     /** {@inheritDoc} */
@@ -96,14 +173,110 @@ public class FilteredColumnPredicate<S, T> implements Predicate<S> {
         return true;
     }
 
-    private boolean doFilter(final FilteredTableColumn<S, T> filter, final T value) {
-        Predicate<? super T> p = filter.getPredicate();
-        return p == null || p.test(value);
-    }
-    
     /** {@inheritDoc} */
     @Override public String toString() {
         return "FilteredColumnsPredicate [ columns: " + columns + "] ";
     }
 
+    /**
+     * Returns the bits of the columns whose results are kept and still valid.
+     */
+    private long getKeptColumns() {
+        long kept = 0;
+        if (results != null) {
+            for (ColumnTest<S, ?> columnTest : tests) {
+                if (columnTest.slot >= 0 && results.getGeneration(columnTest.slot) == columnTest.generation) {
+                    kept |= columnTest.mask;
+                }
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * The predicate of one column, with the statistics used to order the
+     * columns and the verdicts of the cell values already tested.
+     */
+    private static final class ColumnTest<S, T> {
+
+        /**
+         * The columns rejecting the most rows for the least time come first.
+         */
+        static final Comparator<ColumnTest<?, ?>> BY_EFFICIENCY =
+                Comparator.comparingDouble((ColumnTest<?, ?> test) -> test.getEfficiency()).reversed();
+
+        private static final int MAX_MEMOIZED_VALUES = 10_000;
+        // one test out of SAMPLING_MASK + 1 is timed
+        private static final int SAMPLING_MASK = 15;
+
+        private final TableColumnBase<S, T> column;
+        private final Predicate<? super T> predicate;
+        private final Map<T, Boolean> verdicts = new HashMap<>();
+        // the slot of the column in the kept results, if any
+        private final int slot;
+        private final int generation;
+        private final long mask;
+
+        private long tested;
+        private long rejected;
+        private long sampledNanos;
+        private long sampled;
+
+        ColumnTest(TableColumnBase<S, T> column, Predicate<? super T> predicate, int slot, int generation) {
+            this.column = column;
+            this.predicate = predicate;
+            this.slot = slot;
+            this.generation = generation;
+            this.mask = slot < 0 ? 0 : 1L << slot;
+        }
+
+        boolean test(S item) {
+            boolean timed = (tested++ & SAMPLING_MASK) == 0;
+            long start = timed ? System.nanoTime() : 0;
+
+            T value = column.getCellData(item);
+            boolean result;
+            if (isImmutable(value)) {
+                Boolean verdict = verdicts.get(value);
+                if (verdict == null) {
+                    verdict = predicate.test(value);
+                    if (verdicts.size() < MAX_MEMOIZED_VALUES) {
+                        verdicts.put(value, verdict);
+                    }
+                }
+                result = verdict;
+            } else {
+                result = predicate.test(value);
+            }
+
+            if (timed) {
+                sampledNanos += System.nanoTime() - start;
+                sampled++;
+            }
+            if (! result) {
+                rejected++;
+            }
+            return result;
+        }
+
+        private double getEfficiency() {
+            if (tested == 0) {
+                return 0;
+            }
+            double rejectionRate = (double) rejected / tested;
+            double cost = sampled == 0 ? 1 : 1 + (double) sampledNanos / sampled;
+            return rejectionRate / cost;
+        }
+
+        /**
+         * Only the verdicts of values which cannot change are remembered.
+         */
+        private static boolean isImmutable(Object value) {
+            return value instanceof String || value instanceof Integer || value instanceof Long
+                    || value instanceof Double || value instanceof Float || value instanceof Short
+                    || value instanceof Byte || value instanceof BigDecimal || value instanceof BigInteger
+                    || value instanceof Boolean || value instanceof Character || value instanceof Enum
+                    || value instanceof TemporalAccessor;
+        }
+    }
 }
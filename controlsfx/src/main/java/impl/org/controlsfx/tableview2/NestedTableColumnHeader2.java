@@ -155,7 +155,7 @@ public class NestedTableColumnHeader2 extends NestedTableColumnHeader {
         // at the origin and it doesn't make sense allowing resizing the row 
         // header or the first column from the left side
         getChildren().removeIf(r -> (r instanceof Rectangle) && 
-                (r.getLayoutX() < 1 || (tableView.getParent() instanceof RowHeader)));
+                r.getLayoutX() < 1);
     }
     
     /**
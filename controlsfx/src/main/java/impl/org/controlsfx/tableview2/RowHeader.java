@@ -26,24 +26,41 @@
  */
 package impl.org.controlsfx.tableview2;
 
-
-import static impl.org.controlsfx.tableview2.SortUtils.SortEndedEvent.SORT_ENDED_EVENT;
-import static impl.org.controlsfx.tableview2.SortUtils.SortStartedEvent.SORT_STARTED_EVENT;
-import java.util.stream.Collectors;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
 import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
 import javafx.beans.binding.Bindings;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ReadOnlyDoubleProperty;
 import javafx.beans.property.SimpleDoubleProperty;
-import javafx.beans.property.SimpleStringProperty;
-import javafx.beans.value.ChangeListener;
 import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.WeakListChangeListener;
+import javafx.css.PseudoClass;
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.IndexedCell;
 import javafx.scene.control.Label;
 import javafx.scene.control.ScrollBar;
-import javafx.scene.control.SortEvent;
+import javafx.scene.control.SelectionMode;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TableView.TableViewSelectionModel;
+import javafx.scene.input.ContextMenuEvent;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.StackPane;
 import javafx.scene.shape.Rectangle;
+import javafx.util.Callback;
 import org.controlsfx.control.tableview2.FilteredTableColumn;
 import org.controlsfx.control.tableview2.FilteredTableView;
 import org.controlsfx.control.tableview2.TableColumn2;
@@ -53,10 +70,20 @@ import org.controlsfx.control.tableview2.TableView2;
  * Display the row header on the left of the cells (view), where the user can
  * display any content via {@link TableView2#getRowHeader() }.
  * 
+ * The row header is a strip of cells, created by the cell factory of the row
+ * header column, that follows the rows laid out by the VirtualFlow of the
+ * {@link TableView2}. Only the rows on screen have a cell, and the cells are
+ * kept in a pool and reused while scrolling. A header cell taller than its
+ * row makes the row grow, and the south node of the row header column is 
+ * shown in the corner next to the south header.
+ * 
  * @param <S> The type of the objects contained within the TableView2 items list.
  */
 public class RowHeader<S> extends StackPane {
 
+    private static final PseudoClass FIXED = PseudoClass.getPseudoClass("fixed"); //$NON-NLS-1$
+    private static final String TABLE_ROW_KEY = "TableRow"; //$NON-NLS-1$
+    
     /**
      * *************************************************************************
      * * Private Fields * *
@@ -64,10 +91,14 @@ public class RowHeader<S> extends StackPane {
      */
     private final TableView2<S> tableView;
     private TableView2Skin<S> skin;
-    private TableView2Skin<S> innerSkin;
     private double tableColumnHeaderHeight;
     
-    private final TableView2<S> innerTableView;
+    /**
+     * The row header column needs a TableView, so that its cells and its cell
+     * value factory can reach the items. This one is never shown.
+     */
+    private final ColumnOwner<S> columnOwner;
+    private TableColumn2<S, String> defaultColumn;
     
     /**
      * This represents the RowHeader width. It's the total amount of space
@@ -77,12 +108,32 @@ public class RowHeader<S> extends StackPane {
     private final DoubleProperty innerRowHeaderWidth = new SimpleDoubleProperty();
     private Rectangle clip; // Ensure that children do not go out of bounds
 
-    // used for column resizing
-
-    private ListChangeListener<Integer> tableSelectionListener;
-    private ListChangeListener<Integer> rowHeaderSelectionListener;
+    private final StackPane columnHeader;
+    private final Label columnHeaderLabel;
+    private final StackPane southHeader;
+    private TableColumn2<S, ?> southColumn;
+    private final Label hbarLabel;
     
-    private boolean sorting;
+    /**
+     * The pool of cells, created for {@link #cellsColumn}. A cell with an
+     * index is showing that row, the others are hidden.
+     */
+    private final List<TableCell<S, ?>> cells = new ArrayList<>();
+    private TableColumn<S, ?> cellsColumn;
+    private Callback<?, ?> cellsFactory;
+    private double cellsHeaderHeight = -1;
+    
+    /**
+     * The rows with at least a selected cell, from 
+     * {@link TableView2Skin#getSelectedRows() }.
+     */
+    private final BitSet selectedRows = new BitSet();
+    
+    /**
+     * When the items change, a cell keeping its index may need to show 
+     * another value.
+     */
+    private boolean itemsChanged;
 
     /**
      * ****************************************************************
@@ -94,19 +145,24 @@ public class RowHeader<S> extends StackPane {
     public RowHeader(TableView2<S> tableView) {
         this.tableView = tableView;
         getStyleClass().add("row-header"); //$NON-NLS-1$
-        if (tableView instanceof FilteredTableView) {
-            innerTableView = new FilteredTableView<>();
-        } else {
-            innerTableView = new TableView2<>();
-        }
-        innerTableView.setColumnFixingEnabled(false);
-        innerTableView.setRowHeaderVisible(false);
-        innerTableView.setEditable(false);
-        innerTableView.setPlaceholder(new Label());
-
-        // TODO: Enable sorting the RowHeader when a sorting criterium is
-        // defined for the tableView
-        innerTableView.setSortPolicy(t -> false);
+        
+        columnOwner = new ColumnOwner<>(this);
+        columnOwner.setEditable(false);
+        columnOwner.setSelectionModel(null);
+        columnOwner.setFocusModel(null);
+        
+        columnHeaderLabel = new Label();
+        columnHeader = new StackPane(columnHeaderLabel);
+        columnHeader.getStyleClass().setAll("column-header"); //$NON-NLS-1$
+        columnHeader.setManaged(false);
+        
+        southHeader = new StackPane();
+        southHeader.getStyleClass().setAll("column-header", "south-header"); //$NON-NLS-1$ //$NON-NLS-2$
+        southHeader.setManaged(false);
+        
+        hbarLabel = new Label();
+        hbarLabel.getStyleClass().setAll("hbar"); //$NON-NLS-1$
+        hbarLabel.setManaged(false);
     }
 
     /**
@@ -143,116 +199,47 @@ public class RowHeader<S> extends StackPane {
         // We desactivate and activate the rowHeader upon request
         tableView.rowHeaderVisibleProperty().addListener(layout);
         tableView.getFixedRows().addListener(layout);
+        tableView.rowFixingEnabledProperty().addListener(layout);
         tableView.rowHeaderWidthProperty().addListener(layout);
+        tableView.fixedCellSizeProperty().addListener(layout);
         tableView.heightProperty().addListener(layout);
         skin.getHBar().visibleProperty().addListener(layout);
-
-        // add refresh listeners
-        tableView.fixedCellSizeProperty().addListener((Observable o) -> {
-            innerTableView.refresh();
-            innerTableView.requestLayout();
-        });
-        tableView.rowFixingEnabledProperty().addListener((Observable o) -> {
-            innerTableView.setRowFixingEnabled(tableView.isRowFixingEnabled());
-            innerTableView.refresh();
-            innerTableView.requestLayout();
-        });
+        skin.rowHeightMap.addListener(layout);
+        skin.getSouthHeader().heightProperty().addListener(layout);
+        tableView.southHeaderBlendedProperty().addListener((Observable o) -> updateSouthHeaderStyle());
+        updateSouthHeaderStyle();
         
         // install tableColumn
         tableView.getVisibleLeafColumns().addListener((Observable o) -> {
-            if (tableView.getVisibleLeafColumns().isEmpty() != innerTableView.getColumns().isEmpty()) {
+            if (tableView.getVisibleLeafColumns().isEmpty() != columnOwner.getColumns().isEmpty()) {
                 setContent();
             }
         });
         tableView.rowHeaderProperty().addListener((Observable o) -> setContent());
         setContent();
         
-        // sync items between tableViews
-        innerTableView.itemsProperty().bind(tableView.itemsProperty());
-        
-        // sync fixed rows
-        innerTableView.getFixedRows().setAll(tableView.getFixedRows().stream().collect(Collectors.toList()));
-        tableView.getFixedRows().addListener((Observable o) -> {
-            innerTableView.getFixedRows().setAll(tableView.getFixedRows().stream().collect(Collectors.toList()));
-        });
-        
-        // sync scrolling between tableViews
-        innerTableView.skinProperty().addListener(new InvalidationListener() {
-            @Override
-            public void invalidated(Observable observable) {
-                innerSkin = (TableView2Skin<S>) innerTableView.getSkin();
-                setScrollbars();
-                innerTableView.skinProperty().removeListener(this);
+        // the cells of the row header column reach the items of the tableView
+        columnOwner.itemsProperty().bind(tableView.itemsProperty());
+        tableView.itemsProperty().addListener((obs, ov, nv) -> {
+            if (ov != null) {
+                ov.removeListener(weakItemsListener);
             }
-        });
-        
-        // sync selection between two selection models
-        innerTableView.getSelectionModel().selectionModeProperty().bind(tableView.getSelectionModel().selectionModeProperty());
-        rowHeaderSelectionListener = (ListChangeListener.Change<? extends Integer> c) -> {
-            skin.getSelectedRows().removeListener(tableSelectionListener);
-            while (c.next()) {
-                c.getRemoved().forEach(i -> {
-                        if (tableView.getSelectionModel().isCellSelectionEnabled()) {
-                            tableView.getVisibleLeafColumns().forEach(col -> tableView.getSelectionModel().clearSelection(i, col));
-                        } else {
-                            tableView.getSelectionModel().clearSelection(i);
-                        }
-                    });
-                c.getAddedSubList().forEach(i -> tableView.getSelectionModel().select(i));
-            }
-            skin.getSelectedRows().addListener(tableSelectionListener);
-        };
-        tableSelectionListener = (ListChangeListener.Change<? extends Integer> c) -> {
-            innerTableView.getSelectionModel().getSelectedIndices().removeListener(rowHeaderSelectionListener);
-            while (c.next()) {
-                c.getRemoved().forEach(i -> innerTableView.getSelectionModel().clearSelection(i));
-                c.getAddedSubList().forEach(i -> innerTableView.getSelectionModel().select(i));
-            }
-            if (! sorting) {
-                innerTableView.getSelectionModel().getSelectedIndices().addListener(rowHeaderSelectionListener);
-            }
-        };
-        
-        final ChangeListener<Boolean> focusListener = (obs, ov, nv) -> {
-            if (! tableView.isFocused() && ! innerTableView.isFocused()) {
-                tableView.setStyle("-fx-selection-bar-non-focused: lightgrey;");
-                innerTableView.setStyle("-fx-selection-bar-non-focused: lightgrey;");
-            } else {
-                innerTableView.setStyle("-fx-selection-bar-non-focused: -fx-accent;");
-                tableView.setStyle("-fx-selection-bar-non-focused: -fx-accent;");
-            }
-        };
-        innerTableView.getSelectionModel().getSelectedIndices().addListener(rowHeaderSelectionListener);
-        skin.getSelectedRows().addListener(tableSelectionListener);
-        
-        // When sorting, the external TableView fires add/remove selection events. 
-        // These change the innerTableView selected rows. To avoid firing new 
-        // events back to the TableView, we have to remove rowHeaderSelectionListener 
-        // while sorting.
-        tableView.addEventHandler(SortEvent.ANY, e -> {
-            if (e != null && SORT_STARTED_EVENT.equals(e.getEventType())) {
-                sorting = true;
-                innerTableView.getSelectionModel().getSelectedIndices().removeListener(rowHeaderSelectionListener);
-            } else if (e != null && SORT_ENDED_EVENT.equals(e.getEventType())) {
-                sorting = false;
-                if (innerSkin != null) {
-                    innerSkin.getFlow().rebuildFixedCells();
-                }
-                innerTableView.getSelectionModel().clearSelection();
-                if (innerTableView.getItems() != null) {
-                    skin.getSelectedRows().forEach(i -> innerTableView.getSelectionModel().select(i));
-                }
-                innerTableView.getSelectionModel().getSelectedIndices().addListener(rowHeaderSelectionListener);
+            if (nv != null) {
+                nv.addListener(weakItemsListener);
             }
+            itemsChanged = true;
+            requestLayout();
         });
+        if (tableView.getItems() != null) {
+            tableView.getItems().addListener(weakItemsListener);
+        }
         
-        //sync south blend
-        innerTableView.southHeaderBlendedProperty().bind(tableView.southHeaderBlendedProperty());
-
-        // keep focus on both tableViews
-        tableView.focusedProperty().addListener(focusListener);
-        innerTableView.focusedProperty().addListener(focusListener);
-        
+        // highlight the rows with selected cells
+        skin.getSelectedRows().addListener((Observable o) -> {
+            selectedRows.clear();
+            skin.getSelectedRows().forEach(selectedRows::set);
+            requestLayout();
+        });
     }
 
     public double getRowHeaderWidth() {
@@ -275,58 +262,251 @@ public class RowHeader<S> extends StackPane {
         return tableView;
     }
     
+    /**
+     * Returns the {@link TableView2} displaying the row header column of the 
+     * given TableView, if that TableView only holds a row header column, or
+     * null otherwise.
+     * 
+     * @param tableView the TableView of a column
+     * @return the TableView2 showing the column as its row header, or null
+     */
+    public static TableView2<?> getParentTableView(TableView<?> tableView) {
+        if (tableView instanceof ColumnOwner) {
+            return ((ColumnOwner<?>) tableView).rowHeader.getParentTableView();
+        }
+        return null;
+    }
+    
     /** {@inheritDoc} */
     @Override protected void layoutChildren() {
-        if (tableView.isRowHeaderVisible()) {
+        if (tableView.isRowHeaderVisible() && skin != null) {
             double x = snappedLeftInset();
-            innerRowHeaderWidth.setValue(tableView.getRowHeaderWidth());
+            final double width = tableView.getRowHeaderWidth();
+            innerRowHeaderWidth.setValue(width);
             if (getChildren().isEmpty()) {
-                getChildren().setAll(innerTableView);
+                getChildren().setAll(columnHeader, southHeader, hbarLabel);
             }
             
-            if (innerSkin != null) {
-                TableHeaderRow2 tableHeaderRow2 = innerSkin.getTableHeaderRow2();
-                tableHeaderRow2.setPrefHeight(tableColumnHeaderHeight);
-            }
+            final double headerHeight = skin.isColumnHeaderVisible() ? tableColumnHeaderHeight : 0;
+            final double southHeight = headerHeight > 0 ? snapSize(skin.getSouthHeader().getHeight()) : 0;
+            layoutCells(x, width, headerHeight);
+            
+            // Column header on top (z-order) of the cells, with the south 
+            // header below it, next to the south header of the table
+            columnHeader.setVisible(headerHeight > 0);
+            columnHeader.resizeRelocate(x, snappedTopInset(), width, headerHeight - southHeight);
+            columnHeader.toFront();
+            southHeader.setVisible(southHeight > 0);
+            southHeader.resizeRelocate(x, snappedTopInset() + headerHeight - southHeight, width, southHeight);
+            southHeader.toFront();
+            
             final ScrollBar hBar = skin.getHBar();
             double hBarHeight = hBar.isVisible() && tableView.getItems() != null && ! tableView.getItems().isEmpty() ? 
                     snapSize(hBar.getHeight()) : 0;
-            innerTableView.resizeRelocate(x, 0, innerRowHeaderWidth.get(), tableView.getHeight() - hBarHeight - 
-                    tableView.snappedTopInset() - tableView.snappedBottomInset());
-            if (! innerTableView.getColumns().isEmpty()) {
-                innerTableView.getColumns().get(0).setPrefWidth(innerRowHeaderWidth.get());
-            }
-            
-            Label label;
-            if (getChildren().size() == 1) {
-                label = new Label("");
-                label.getStyleClass().setAll("hbar");
-                getChildren().add(label);
-            } else {
-                label = (Label) getChildren().get(1);
-            }
-
-            label.resizeRelocate(snappedLeftInset(), getHeight() - snappedBottomInset() - hBarHeight, 
-                    innerRowHeaderWidth.get(), hBarHeight);
+            hbarLabel.setVisible(hBarHeight > 0);
+            hbarLabel.resizeRelocate(x, getHeight() - snappedBottomInset() - hBarHeight, width, hBarHeight);
+            hbarLabel.toFront();
         } else {
             getChildren().clear();
+            cells.forEach(cell -> cell.updateIndex(-1));
+            cells.clear();
+            cellsColumn = null;
             innerRowHeaderWidth.setValue(0);
         }
     }
+    
+    /**
+     * Gives a cell to each row laid out by the VirtualFlow. A cell already 
+     * showing the index of a row is kept for it, so that scrolling only 
+     * updates the cells of the rows entering the view.
+     */
+    private void layoutCells(double x, double width, double headerHeight) {
+        final TableColumn<S, ?> column = columnOwner.getColumns().isEmpty() ? null : columnOwner.getColumns().get(0);
+        if (column != cellsColumn || (column != null && column.getCellFactory() != cellsFactory)) {
+            getChildren().removeAll(cells);
+            cells.forEach(cell -> cell.updateIndex(-1));
+            cells.clear();
+            cellsColumn = column;
+            cellsFactory = column == null ? null : column.getCellFactory();
+        }
+        if (headerHeight != cellsHeaderHeight) {
+            cellsHeaderHeight = headerHeight;
+            cells.forEach(cell -> cell.getProperties().remove(TABLE_ROW_KEY));
+        }
+        if (itemsChanged) {
+            itemsChanged = false;
+            cells.forEach(cell -> cell.updateIndex(-1));
+        }
+        
+        final List<TableRow2<S>> rows = getVisibleRows(column);
+        
+        final Map<Integer, TableCell<S, ?>> cellsByIndex = new HashMap<>();
+        final Deque<TableCell<S, ?>> freeCells = new ArrayDeque<>();
+        for (TableCell<S, ?> cell : cells) {
+            if (cell.getIndex() < 0 || cellsByIndex.putIfAbsent(cell.getIndex(), cell) != null) {
+                freeCells.add(cell);
+            }
+        }
+        final List<TableRow2<S>> newRows = new ArrayList<>();
+        for (TableRow2<S> row : rows) {
+            TableCell<S, ?> cell = cellsByIndex.remove(row.getIndex());
+            if (cell == null) {
+                newRows.add(row);
+            } else {
+                layoutCell(cell, row, x, width, headerHeight);
+            }
+        }
+        
+        freeCells.addAll(cellsByIndex.values());
+        for (TableRow2<S> row : newRows) {
+            TableCell<S, ?> cell = freeCells.isEmpty() ? createCell(column) : freeCells.poll();
+            cell.setVisible(true);
+            cell.updateIndex(row.getIndex());
+            layoutCell(cell, row, x, width, headerHeight);
+        }
+        for (TableCell<S, ?> cell : freeCells) {
+            cell.setVisible(false);
+            cell.layoutYProperty().unbind();
+            cell.getProperties().remove(TABLE_ROW_KEY);
+            if (cell.getIndex() >= 0) {
+                cell.updateIndex(-1);
+            }
+        }
+        
+        // cells of fixed rows on top (z-order) of the others
+        for (TableRow2<S> row : rows) {
+            if (isFixed(row)) {
+                TableCell<S, ?> cell = cellFor(row.getIndex());
+                if (cell != null) {
+                    cell.toFront();
+                }
+            }
+        }
+    }
+    
+    private List<TableRow2<S>> getVisibleRows(TableColumn<S, ?> column) {
+        final List<TableRow2<S>> rows = new ArrayList<>();
+        if (column == null) {
+            return rows;
+        }
+        final int itemCount = skin.getItemCount();
+        final TableView2VirtualFlow<?> flow = skin.getFlow();
+        final BitSet indices = new BitSet();
+        for (IndexedCell<?> cell : flow.getCells()) {
+            addVisibleRow(rows, indices, cell, itemCount);
+        }
+        for (IndexedCell<?> cell : flow.getFixedCells()) {
+            addVisibleRow(rows, indices, cell, itemCount);
+        }
+        return rows;
+    }
+    
+    private void addVisibleRow(List<TableRow2<S>> rows, BitSet indices, IndexedCell<?> cell, int itemCount) {
+        final int index = cell.getIndex();
+        if (cell.isVisible() && index >= 0 && index < itemCount && ! indices.get(index)) {
+            indices.set(index);
+            rows.add((TableRow2<S>) cell);
+        }
+    }
+    
+    private void layoutCell(TableCell<S, ?> cell, TableRow2<S> row, double x, double width, double headerHeight) {
+        final int index = row.getIndex();
+        cell.updateSelected(selectedRows.get(index));
+        cell.pseudoClassStateChanged(FIXED, isFixed(row));
+        if (tableView.getFixedCellSize() <= 0 && ! cell.isEditing()) {
+            // as in TableRow2Skin, a taller cell makes its row grow
+            final double cellHeight = cell.prefHeight(width) + cell.snappedTopInset() + cell.snappedBottomInset();
+            if (cellHeight > skin.getRowHeight(index)) {
+                skin.rowHeightMap.put(index, cellHeight);
+            }
+        }
+        cell.resize(width, row.getHeight());
+        cell.setLayoutX(x);
+        if (cell.getProperties().get(TABLE_ROW_KEY) != row) {
+            cell.getProperties().put(TABLE_ROW_KEY, row);
+            cell.layoutYProperty().bind(row.layoutYProperty().add(headerHeight).add(row.verticalShift));
+        }
+    }
+    
+    private TableCell<S, ?> cellFor(int index) {
+        for (TableCell<S, ?> cell : cells) {
+            if (cell.getIndex() == index) {
+                return cell;
+            }
+        }
+        return null;
+    }
+    
+    private boolean isFixed(TableRow2<S> row) {
+        return Boolean.TRUE.equals(row.getProperties().get("fixed")); //$NON-NLS-1$
+    }
+    
+    private TableCell<S, ?> createCell(TableColumn<S, ?> column) {
+        Callback cellFactory = column.getCellFactory();
+        if (cellFactory == null) {
+            cellFactory = TableColumn.DEFAULT_CELL_FACTORY;
+        }
+        TableCell<S, ?> cell = (TableCell<S, ?>) cellFactory.call(column);
+        if (! cell.getStyleClass().contains("tableview2-cell")) { //$NON-NLS-1$
+            cell.getStyleClass().add("tableview2-cell"); //$NON-NLS-1$
+        }
+        cell.updateTableView(columnOwner);
+        cell.updateTableColumn((TableColumn) column);
+        cell.setManaged(false);
+        cell.setOnMousePressed(cellMousePressed);
+        cell.setOnContextMenuRequested(cellContextMenuRequested);
+        cells.add(cell);
+        getChildren().add(cell);
+        // the skin of the cell gives its preferred height
+        cell.applyCss();
+        return cell;
+    }
 
     private void setContent() {
-        innerTableView.getColumns().clear();
-        if (tableView.getVisibleLeafColumns().isEmpty()) {
-            return;
+        columnOwner.getColumns().clear();
+        columnHeaderLabel.textProperty().unbind();
+        columnHeaderLabel.graphicProperty().unbind();
+        if (southColumn != null) {
+            southColumn.southNodeProperty().removeListener(southNodeListener);
+            southColumn = null;
+        }
+        if (! tableView.getVisibleLeafColumns().isEmpty()) {
+            TableColumn<S, ?> column = tableView.getRowHeader() != null ? 
+                    tableView.getRowHeader() : getDefaultTableColumn();
+            columnOwner.getColumns().add(column);
+            columnHeaderLabel.textProperty().bind(column.textProperty());
+            columnHeaderLabel.graphicProperty().bind(column.graphicProperty());
+            if (column instanceof TableColumn2) {
+                southColumn = (TableColumn2<S, ?>) column;
+                southColumn.southNodeProperty().addListener(southNodeListener);
+            }
         }
-        if (tableView.getRowHeader() != null) {
-            innerTableView.getColumns().add(tableView.getRowHeader());
+        updateSouthNode();
+        requestLayout();
+    }
+    
+    private void updateSouthNode() {
+        final Node southNode = southColumn == null ? null : southColumn.getSouthNode();
+        if (southNode != null) {
+            southHeader.getChildren().setAll(southNode);
         } else {
-            innerTableView.getColumns().add(getDefaultTableColumn());
+            southHeader.getChildren().clear();
+        }
+    }
+    
+    private void updateSouthHeaderStyle() {
+        final String style = SouthTableHeaderRow.SOUTH_HEADER_STYLE;
+        if (tableView.isSouthHeaderBlended() && ! southHeader.getStyleClass().contains(style)) {
+            southHeader.getStyleClass().add(style);
+        } else if (! tableView.isSouthHeaderBlended()) {
+            southHeader.getStyleClass().remove(style);
         }
     }
     
     private TableColumn2<S, String> getDefaultTableColumn() {
+        if (defaultColumn != null) {
+            return defaultColumn;
+        }
         TableColumn2<S, String> column;
         if (tableView instanceof FilteredTableView) {
             column = new FilteredTableColumn<>();
@@ -341,19 +521,57 @@ public class RowHeader<S> extends StackPane {
         }
         
         column.setSortable(false);
-        column.setCellValueFactory(p -> new SimpleStringProperty(String.valueOf(p.getTableView().getItems().indexOf(p.getValue()) + 1)));
+        // the row number is the index of the cell, there is no need to look
+        // for the item in the list
+        column.setCellFactory(p -> new TableCell<S, String>() {
+            @Override protected void updateItem(String item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty ? null : String.valueOf(getIndex() + 1));
+            }
+        });
+        defaultColumn = column;
         return column;
     }
-
-    private void setScrollbars() {
-        ScrollBar scrollBarParent = skin.getVBar();
-        ScrollBar scrollBar = innerSkin.getVBar();
-        scrollBar.setMin(scrollBarParent.getMin());
-        scrollBar.setMax(scrollBarParent.getMax());
-        scrollBar.valueProperty().bindBidirectional(scrollBarParent.valueProperty());
+    
+    /**
+     * If a header is clicked, we select the whole row. If Control key or
+     * Shift key is pressed, we must not deselect the previous selection but
+     * just act like the TableViewBehavior would.
+     *
+     * @param row
+     * @param event
+     */
+    private void headerClicked(int row, MouseEvent event) {
+        final TableViewSelectionModel<S> sm = tableView.getSelectionModel();
+        if (sm == null) {
+            return;
+        }
+        final boolean multiple = sm.getSelectionMode() == SelectionMode.MULTIPLE;
+        final int focusedRow = tableView.getFocusModel() == null ? -1 : tableView.getFocusModel().getFocusedIndex();
         
-        // If adjustPixels is called in one tableView, sync the other one
-        innerSkin.getFlow().adjustedPixelsProperty().bindBidirectional(skin.getFlow().adjustedPixelsProperty());
+        if (event.isShortcutDown() && multiple) {
+            if (selectedRows.get(row)) {
+                clearSelection(sm, row);
+            } else {
+                sm.select(row);
+            }
+        } else if (event.isShiftDown() && multiple && focusedRow >= 0 && focusedRow < skin.getItemCount()) {
+            sm.clearSelection();
+            sm.selectRange(Math.min(row, focusedRow), Math.max(row, focusedRow) + 1);
+            //We want to let the focus on the focused row.
+            tableView.getFocusModel().focus(focusedRow);
+        } else {
+            sm.clearSelection();
+            sm.select(row);
+        }
+    }
+    
+    private void clearSelection(TableViewSelectionModel<S> sm, int row) {
+        if (sm.isCellSelectionEnabled()) {
+            tableView.getVisibleLeafColumns().forEach(col -> sm.clearSelection(row, col));
+        } else {
+            sm.clearSelection(row);
+        }
     }
     
     /**
@@ -362,4 +580,49 @@ public class RowHeader<S> extends StackPane {
      * ************************************************************************
      */
     private final InvalidationListener layout = (Observable o) -> requestLayout();
+    
+    private final InvalidationListener southNodeListener = (Observable o) -> updateSouthNode();
+    
+    private final ListChangeListener<S> itemsListener = c -> {
+        itemsChanged = true;
+        requestLayout();
+    };
+    private final WeakListChangeListener<S> weakItemsListener = new WeakListChangeListener<>(itemsListener);
+    
+    private final EventHandler<MouseEvent> cellMousePressed = this::onCellMousePressed;
+    
+    private final EventHandler<ContextMenuEvent> cellContextMenuRequested = this::onCellContextMenuRequested;
+    
+    private void onCellMousePressed(MouseEvent event) {
+        final int row = ((TableCell<?, ?>) event.getSource()).getIndex();
+        if (event.getButton() == MouseButton.PRIMARY && row >= 0 && row < skin.getItemCount()) {
+            tableView.requestFocus();
+            headerClicked(row, event);
+        }
+    }
+    
+    private void onCellContextMenuRequested(ContextMenuEvent event) {
+        final int row = ((TableCell<?, ?>) event.getSource()).getIndex();
+        final BiFunction<Integer, S, ContextMenu> cmFactory = tableView.getRowHeaderContextMenuFactory();
+        final ObservableList<S> items = tableView.getItems();
+        if (items != null && cmFactory != null && row >= 0 && row < items.size()) {
+            ContextMenu contextMenu = cmFactory.apply(row, items.get(row));
+            if (contextMenu != null) {
+                contextMenu.show(tableView.getScene().getWindow(), event.getScreenX(), event.getScreenY());
+            }
+        }
+        event.consume();
+    }
+    
+    /**
+     * The TableView holding the row header column. It is neither skinned nor
+     * added to the scene graph.
+     */
+    private static final class ColumnOwner<S> extends TableView<S> {
+        private final RowHeader<S> rowHeader;
+
+        ColumnOwner(RowHeader<S> rowHeader) {
+            this.rowHeader = rowHeader;
+        }
+    }
 }
@@ -46,7 +46,6 @@ public class SouthTableHeaderRow extends Region {
     private final TableView2<?> control;
     private ObservableList<SouthTableColumnHeader> southColumnHeaders;
 
-    private SouthTableHeaderRow parentSouthHeader;
     
     public SouthTableHeaderRow(TableView2Skin<?> skin) {
         this.skin = skin;
@@ -62,10 +61,6 @@ public class SouthTableHeaderRow extends Region {
         skin.getColumns().addListener(weakTableColumnsListener);
         control.southHeaderBlendedProperty().addListener(weakSouthHeaderBlendedListener);
         updateSouthHeaderRowStyle();
-        
-        if (control.getParent() != null && control.getParent() instanceof RowHeader) {
-            parentSouthHeader = ((TableView2Skin) ((RowHeader) control.getParent()).getParentTableView().getSkin()).getSouthHeader();
-        }
     }
 
     /***************************************************************************
@@ -176,14 +171,6 @@ public class SouthTableHeaderRow extends Region {
                 .map(f -> f.prefHeight(-1))
                 .max(Double::compare)
                 .orElse(0d);
-        if (parentSouthHeader != null) {
-            final double parentHeight = parentSouthHeader.getHeight();
-            if (parentHeight == 0d) {
-                height = 0;
-            } else {
-                height = Math.max(height, parentHeight);
-            }
-        }
         return height + snappedTopInset() + snappedBottomInset();
     }
     
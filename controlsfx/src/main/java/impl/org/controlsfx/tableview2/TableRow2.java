@@ -65,20 +65,14 @@ public class TableRow2<S> extends TableRow<S> {
     /***************************************************************************
      * * Constructor * *
      **************************************************************************/
-    TableView2<S> parentTableView = null;
     /**
      * @param tableView the {@link TableView2}
      */
     public TableRow2(TableView2<S> tableView) {
         super();
         this.tableView = tableView;
-        
-        
-        if (tableView.getParent() != null && tableView.getParent() instanceof RowHeader) {
-            parentTableView = ((RowHeader) tableView.getParent()).getParentTableView();
-        }
 
-        skin = (TableView2Skin<S>) (parentTableView != null ? parentTableView : tableView).getSkin();
+        skin = (TableView2Skin<S>) tableView.getSkin();
         
         /**
          *  FIXME Bug? When re-using the row, it should re-compute the prefHeight and not
@@ -37,11 +37,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.function.BiFunction;
 import javafx.collections.ObservableList;
 import javafx.css.PseudoClass;
 import javafx.scene.Node;
-import javafx.scene.control.ContextMenu;
 import javafx.scene.control.TableCell;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableColumnBase;
@@ -57,7 +55,6 @@ public class TableRow2Skin<S> extends CellSkinBase<TableRow<S>, CellBehaviorBase
     private static final PseudoClass LEFT_CELL = PseudoClass.getPseudoClass("left");
     private static final PseudoClass RIGHT_CELL = PseudoClass.getPseudoClass("right");
     private static final PseudoClass SINGLE_CELL = PseudoClass.getPseudoClass("single");
-    private static final PseudoClass FIXED_CELL = PseudoClass.getPseudoClass("fixed");
             
     private final TableView2<S> tableView;
     private final TableView2Skin<S> skin;
@@ -66,8 +63,6 @@ public class TableRow2Skin<S> extends CellSkinBase<TableRow<S>, CellBehaviorBase
 
     private final List<TableCell<S, ?>> cells = new ArrayList<>();
     
-    private final TableView2<S> parentTableView;
-    
     public TableRow2Skin(TableView2<S> tableView, TableRow<S> tableRow) {
         super(tableRow, new TableRowBehavior<>(tableRow));
         this.tableView = tableView;
@@ -77,13 +72,7 @@ public class TableRow2Skin<S> extends CellSkinBase<TableRow<S>, CellBehaviorBase
         registerChangeListener(tableRow.itemProperty(), "ITEM");
         registerChangeListener(tableRow.indexProperty(), "INDEX");
         
-        if (tableView.getParent() != null && tableView.getParent() instanceof RowHeader) {
-            parentTableView = ((RowHeader) tableView.getParent()).getParentTableView();
-            this.skin = (TableView2Skin<S>) parentTableView.getSkin();
-        } else {
-            parentTableView = null;
-            this.skin = (TableView2Skin<S>) tableView.getSkin();
-        }
+        this.skin = (TableView2Skin<S>) tableView.getSkin();
     }
 
     /** {@inheritDoc} */
@@ -170,7 +159,7 @@ public class TableRow2Skin<S> extends CellSkinBase<TableRow<S>, CellBehaviorBase
 
         // determine the width of the visible portion of the table
         double headerWidth = tableView.getWidth();
-        final double hbarValue = parentTableView != null ? 0 : skin.getHBar().getValue();
+        final double hbarValue = skin.getHBar().getValue();
 
         /**
          * FOR FIXED ROWS
@@ -340,12 +329,6 @@ public class TableRow2Skin<S> extends CellSkinBase<TableRow<S>, CellBehaviorBase
                 if (!tableCell.isEditing()) {
                     //We have the problem when we are just one pixel short in height..
                     double tempHeight = tableCell.prefHeight(width) + tableCell.snappedTopInset() + tableCell.snappedBottomInset();
-                    if (parentTableView != null) {
-                        // for the row header take the height from the max tempHeight from the parent TableRow
-                        if (control.getIndex() < skin.getItemCount()) {
-                            tempHeight = skin.rowHeightMap.getOrDefault(control.getIndex(), tempHeight);
-                        }
-                    }
             
                     if (tempHeight > customHeight) {
                         rowHeightChange = true;
@@ -361,11 +344,7 @@ public class TableRow2Skin<S> extends CellSkinBase<TableRow<S>, CellBehaviorBase
                             cell.resize(cell.getWidth(), cell.getHeight() + (tempHeight - customHeight));
                         }
                         customHeight = tempHeight;
-                        if (parentTableView != null) {
-                            ((TableView2Skin<S>) tableView.getSkin()).getFlow().layoutChildren();
-                        } else {
-                            ((TableView2Skin<S>) skin).getFlow().layoutChildren();
-                        }
+                        ((TableView2Skin<S>) skin).getFlow().layoutChildren();
                     }
                 }
 
@@ -436,7 +415,7 @@ public class TableRow2Skin<S> extends CellSkinBase<TableRow<S>, CellBehaviorBase
         final int paneBorderInset = 1; // selection border inset in pane
         final boolean paneBorderVisible = paneWidth > paneBorderInset;
         final boolean singleColumn = columns.size() == 1;
-        if (fixedRow && paneWidth >= 0 && parentTableView == null) {
+        if (fixedRow && paneWidth >= 0) {
             // If there are fixed rows, we add a pane to the row, as an empty cell 
             // that can be styled as the others fixed cells. 
             // As the real fixed cells, this pane will be on top of the other 
@@ -457,10 +436,6 @@ public class TableRow2Skin<S> extends CellSkinBase<TableRow<S>, CellBehaviorBase
             // pane will provide it in case of fixed rows.
             lastCell.pseudoClassStateChanged(RIGHT_CELL, ! singleColumn && ! paneBorderVisible);
             lastCell.pseudoClassStateChanged(SINGLE_CELL, singleColumn && ! paneBorderVisible);
-         
-            if (parentTableView != null) {
-                lastCell.pseudoClassStateChanged(FIXED_CELL, fixedRow && control.getIndex() < skin.getItemCount());
-            }
         }
         
         skin.fixedColumnWidth = fixedColumnWidth;
@@ -634,16 +609,6 @@ public class TableRow2Skin<S> extends CellSkinBase<TableRow<S>, CellBehaviorBase
             cell.updateTableColumn(tableColumn);
             cell.updateTableView(tableColumn.getTableView());
             cell.updateTableRow(getSkinnable());
-        
-            if (parentTableView != null) {
-                cell.setOnContextMenuRequested(e -> {
-                    BiFunction<Integer, S, ContextMenu> cmFactory = parentTableView.getRowHeaderContextMenuFactory();
-                    if (tableView.getItems() != null && cmFactory != null) {
-                        ContextMenu contextMenu = cmFactory.apply(getSkinnable().getIndex(), getSkinnable().getItem());
-                        contextMenu.show(tableView.getScene().getWindow(), e.getScreenX(), e.getScreenY());
-                    } 
-                });
-            }
         }
         
         cell.pseudoClassStateChanged(LEFT_CELL, false);
@@ -711,17 +676,11 @@ public class TableRow2Skin<S> extends CellSkinBase<TableRow<S>, CellBehaviorBase
 
     /** {@inheritDoc} */
     @Override protected double computePrefHeight(double width, double topInset, double rightInset, double bottomInset, double leftInset) {
-        if (parentTableView != null) {
-            return skin.getRow(getSkinnable().getIndex()).getPrefHeight();
-        }
         return getSkinnable().getPrefHeight();
     }
 
     /** {@inheritDoc} */
     @Override protected double computeMinHeight(double width, double topInset, double rightInset, double bottomInset, double leftInset) {
-        if (parentTableView != null) {
-            return skin.getRow(getSkinnable().getIndex()).getPrefHeight();
-        }
         return getSkinnable().getPrefHeight();
     }
 
@@ -138,7 +138,6 @@ public class TableView2Skin<S> extends TableViewSkinBase<S,S,TableView<S>,TableV
     ObservableMap<Integer, Double> rowHeightMap = FXCollections.observableHashMap();
 
     protected TableView2<S> tableView;
-    private final TableView2<S> parentTableView;
     protected RowHeader<S> rowHeader;
     
     /**
@@ -215,12 +214,6 @@ public class TableView2Skin<S> extends TableViewSkinBase<S,S,TableView<S>,TableV
         super.init(tableView);
         
         this.tableView = tableView;
-        
-        if (tableView.getParent() != null && tableView.getParent() instanceof RowHeader) {
-            parentTableView = ((RowHeader) tableView.getParent()).getParentTableView();
-        } else {
-            parentTableView = null;
-        }
 
         //Bind the row factory, useful to handle the row freezing and row height. 
         // It prevents from setting a different row factory, unless developer  
@@ -533,21 +526,14 @@ public class TableView2Skin<S> extends TableViewSkinBase<S,S,TableView<S>,TableV
      * * PRIVATE/PROTECTED METHOD * *
      **************************************************************************/
     protected final void init() {
-        if (parentTableView == null) {
-            rowHeader = new RowHeader<>(tableView);
-            getChildren().add(rowHeader);
-            rowHeader.init(this, (TableHeaderRow2) getTableHeaderRow());
-        }        
+        rowHeader = new RowHeader<>(tableView);
+        getChildren().add(rowHeader);
+        rowHeader.init(this, (TableHeaderRow2) getTableHeaderRow());
         
         getFlow().getVerticalBar().valueProperty().addListener(vbarValueListener);
         ((TableHeaderRow2) getTableHeaderRow()).init();
         getFlow().init();
         
-        if (parentTableView != null) {
-            // Don't add listeners to inner table
-            return;
-        }
-        
         tableView.addEventHandler(KeyEvent.KEY_PRESSED, new WeakEventHandler<>(keyPressedEventHandler));
         tableView.addEventFilter(MouseEvent.MOUSE_PRESSED, new WeakEventHandler<>(mousePressedEventHandler));
 
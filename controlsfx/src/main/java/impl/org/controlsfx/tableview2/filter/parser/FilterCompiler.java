@@ -0,0 +1,343 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package impl.org.controlsfx.tableview2.filter.parser;
+
+import impl.org.controlsfx.tableview2.filter.parser.aggregate.AggregatorsParser;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static impl.org.controlsfx.i18n.Localization.asKey;
+import static impl.org.controlsfx.i18n.Localization.localize;
+
+/**
+ * Compiles the text of a filter into a {@link Predicate}.
+ *
+ * <p>The text is a list of conditions joined by the aggregators of
+ * {@link AggregatorsParser}, where {@code AND} binds tighter than {@code OR},
+ * and which can be grouped with parentheses:
+ * <pre>
+ *     (begins with "a" OR begins with "b") AND ends with "z"
+ * </pre>
+ * The text is tokenized once, the tokens are parsed into a tree of
+ * conditions, and each condition is compiled by
+ * {@link #compileCondition(String, int)}. The result of the last compiled
+ * texts is kept, so that parsing and validating the same text again does not
+ * compile it again.
+ *
+ * @param <T> Type of the input of the compiled predicates
+ */
+public abstract class FilterCompiler<T> {
+
+    private static final int CACHE_SIZE = 64;
+
+    private final Map<String, Result<T>> cache = new LinkedHashMap<String, Result<T>>(16, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(Map.Entry<String, Result<T>> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Compiles a single condition, without any aggregator or parenthesis.
+     *
+     * @param text the condition, trimmed
+     * @param position the position of the condition in the whole text
+     * @return the predicate, or null if the condition does not filter anything
+     * @throws CompileException if the condition is not valid
+     */
+    protected abstract Predicate<T> compileCondition(String text, int position) throws CompileException;
+
+    /**
+     * Returns the result of the compilation of the text, compiled only if it
+     * was not compiled recently.
+     */
+    public Result<T> compile(String text) {
+        Result<T> result = cache.get(text);
+        if (result == null) {
+            result = doCompile(text);
+            cache.put(text, result);
+        }
+        return result;
+    }
+
+    /**
+     * Forgets the compiled texts, to be called when something changing the
+     * compilation of the conditions changes.
+     */
+    public void clearCache() {
+        cache.clear();
+    }
+
+    private Result<T> doCompile(String text) {
+        try {
+            Tokenizer tokenizer = new Tokenizer(text);
+            Node<T> node = parseOr(tokenizer);
+            if (tokenizer.peek() != null) {
+                Token token = tokenizer.peek();
+                throw new CompileException(localize(asKey("parser.text.error.parenthesis")), token.position);
+            }
+            return new Result<>(node.toPredicate(), "");
+        } catch (CompileException e) {
+            String message = MessageFormat.format(localize(asKey("parser.text.error.position")),
+                    e.getMessage(), e.getPosition() + 1);
+            return new Result<>(null, message);
+        }
+    }
+
+    private Node<T> parseOr(Tokenizer tokenizer) throws CompileException {
+        Node<T> node = parseAnd(tokenizer);
+        while (tokenizer.peek() != null && tokenizer.peek().aggregator == AggregatorsParser.OR) {
+            tokenizer.next();
+            node = new Aggregation<>(AggregatorsParser.OR, node, parseAnd(tokenizer));
+        }
+        return node;
+    }
+
+    private Node<T> parseAnd(Tokenizer tokenizer) throws CompileException {
+        Node<T> node = parsePrimary(tokenizer);
+        while (tokenizer.peek() != null && tokenizer.peek().aggregator == AggregatorsParser.AND) {
+            tokenizer.next();
+            node = new Aggregation<>(AggregatorsParser.AND, node, parsePrimary(tokenizer));
+        }
+        return node;
+    }
+
+    private Node<T> parsePrimary(Tokenizer tokenizer) throws CompileException {
+        Token token = tokenizer.next();
+        if (token == null) {
+            throw new CompileException(localize(asKey("parser.text.error.start.operator")), tokenizer.text.length());
+        }
+        switch (token.type) {
+            case OPEN:
+                Node<T> node = parseOr(tokenizer);
+                Token close = tokenizer.next();
+                if (close == null || close.type != TokenType.CLOSE) {
+                    throw new CompileException(localize(asKey("parser.text.error.parenthesis")), token.position);
+                }
+                return node;
+            case CONDITION:
+                return new Condition<>(compileCondition(token.text, token.position));
+            default:
+                throw new CompileException(localize(asKey("parser.text.error.start.operator")), token.position);
+        }
+    }
+
+    /**
+     * The outcome of a compilation: a predicate, which can be null when the
+     * text does not filter anything, or an error message.
+     */
+    public static final class Result<T> {
+
+        private final Predicate<T> predicate;
+        private final String errorMessage;
+
+        Result(Predicate<T> predicate, String errorMessage) {
+            this.predicate = predicate;
+            this.errorMessage = errorMessage;
+        }
+
+        public Predicate<T> getPredicate() {
+            return predicate;
+        }
+
+        public String getErrorMessage() {
+            return errorMessage;
+        }
+
+        public boolean isValid() {
+            return errorMessage.isEmpty();
+        }
+    }
+
+    /**
+     * An error found while compiling, at a given position of the text.
+     */
+    public static final class CompileException extends Exception {
+
+        private final int position;
+
+        public CompileException(String message, int position) {
+            super(message);
+            this.position = position;
+        }
+
+        public int getPosition() {
+            return position;
+        }
+    }
+
+    /***************************************************************************
+     * Syntax tree
+     **************************************************************************/
+
+    private interface Node<T> {
+        Predicate<T> toPredicate();
+    }
+
+    private static final class Condition<T> implements Node<T> {
+        private final Predicate<T> predicate;
+
+        Condition(Predicate<T> predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override public Predicate<T> toPredicate() {
+            return predicate;
+        }
+    }
+
+    private static final class Aggregation<T> implements Node<T> {
+        private final AggregatorsParser aggregator;
+        private final Node<T> lhs;
+        private final Node<T> rhs;
+
+        Aggregation(AggregatorsParser aggregator, Node<T> lhs, Node<T> rhs) {
+            this.aggregator = aggregator;
+            this.lhs = lhs;
+            this.rhs = rhs;
+        }
+
+        @Override public Predicate<T> toPredicate() {
+            Predicate<T> left = lhs.toPredicate();
+            Predicate<T> right = rhs.toPredicate();
+            if (left == null || right == null) {
+                // as for a single condition, nothing to filter
+                return null;
+            }
+            return aggregator == AggregatorsParser.AND ? left.and(right) : left.or(right);
+        }
+    }
+
+    /***************************************************************************
+     * Tokenizer
+     **************************************************************************/
+
+    private enum TokenType { OPEN, CLOSE, AGGREGATOR, CONDITION }
+
+    private static final class Token {
+        private final TokenType type;
+        private final String text;
+        private final int position;
+        private final AggregatorsParser aggregator;
+
+        Token(TokenType type, String text, int position, AggregatorsParser aggregator) {
+            this.type = type;
+            this.text = text;
+            this.position = position;
+            this.aggregator = aggregator;
+        }
+    }
+
+    /**
+     * Splits the text into parentheses, aggregators and conditions. Nothing
+     * between double quotes is taken for a parenthesis or an aggregator.
+     */
+    private static final class Tokenizer {
+
+        private final String text;
+        private final List<Token> tokens = new ArrayList<>();
+        private int index;
+
+        Tokenizer(String text) {
+            this.text = text;
+            tokenize();
+        }
+
+        Token peek() {
+            return index < tokens.size() ? tokens.get(index) : null;
+        }
+
+        Token next() {
+            return index < tokens.size() ? tokens.get(index++) : null;
+        }
+
+        private void tokenize() {
+            int depth = 0;
+            int position = 0;
+            int conditionStart = -1;
+            boolean quoted = false;
+            while (position < text.length()) {
+                char c = text.charAt(position);
+                if (quoted) {
+                    quoted = c != '"';
+                    position++;
+                    continue;
+                }
+                AggregatorsParser aggregator = aggregatorAt(position);
+                if (aggregator != null) {
+                    endCondition(conditionStart, position);
+                    conditionStart = -1;
+                    tokens.add(new Token(TokenType.AGGREGATOR, aggregator.get(), position, aggregator));
+                    position = Math.min(position + aggregator.get().length(), text.length());
+                } else if (c == '(' && conditionStart < 0) {
+                    depth++;
+                    tokens.add(new Token(TokenType.OPEN, "(", position, null));
+                    position++;
+                } else if (c == ')' && depth > 0) {
+                    depth--;
+                    endCondition(conditionStart, position);
+                    conditionStart = -1;
+                    tokens.add(new Token(TokenType.CLOSE, ")", position, null));
+                    position++;
+                } else {
+                    if (conditionStart < 0 && ! Character.isWhitespace(c)) {
+                        conditionStart = position;
+                    }
+                    quoted = c == '"';
+                    position++;
+                }
+            }
+            endCondition(conditionStart, text.length());
+        }
+
+        private AggregatorsParser aggregatorAt(int position) {
+            for (AggregatorsParser aggregator : AggregatorsParser.values()) {
+                String type = aggregator.get();
+                if (text.startsWith(type, position)) {
+                    return aggregator;
+                }
+                // an aggregator ending the text, with nothing to aggregate after it
+                String lastType = type.substring(0, type.length() - 1);
+                if (text.startsWith(lastType, position)
+                        && text.substring(position + lastType.length()).trim().isEmpty()) {
+                    return aggregator;
+                }
+            }
+            return null;
+        }
+
+        private void endCondition(int start, int end) {
+            if (start >= 0) {
+                tokens.add(new Token(TokenType.CONDITION, text.substring(start, end).trim(), start, null));
+            }
+        }
+    }
+}
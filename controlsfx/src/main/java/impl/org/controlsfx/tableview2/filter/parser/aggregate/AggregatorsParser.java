@@ -41,28 +41,32 @@ public enum AggregatorsParser implements Aggregator {
     AND ("text.and") {
         @Override
         public <T> Predicate<T> aggregate(String lhs, String rhs, Parser<T> parser) {
-            if (parser.isValid(lhs) && parser.isValid(rhs)) {
-                final Predicate<T> parsedLhs = parser.parse(lhs);
-                final Predicate<T> parsedRhs = parser.parse(rhs);
-                if (parsedLhs != null && parsedRhs != null) {
-                    return parsedLhs.and(parsedRhs);
-                }
+            // parse each side once, a parser is valid when it has no error
+            final Predicate<T> parsedLhs = parser.parse(lhs);
+            if (parsedLhs == null || !isEmpty(parser.getErrorMessage())) {
+                return null;
             }
-            return null;
+            final Predicate<T> parsedRhs = parser.parse(rhs);
+            if (parsedRhs == null || !isEmpty(parser.getErrorMessage())) {
+                return null;
+            }
+            return parsedLhs.and(parsedRhs);
         }
     },
 
     OR ("text.or") {
         @Override
         public <T> Predicate<T> aggregate(String lhs, String rhs, Parser<T> parser) {
-            if (parser.isValid(lhs) && parser.isValid(rhs)) {
-                final Predicate<T> parsedLhs = parser.parse(lhs);
-                final Predicate<T> parsedRhs = parser.parse(rhs);
-                if (parsedLhs != null && parsedRhs != null) {
-                    return parsedLhs.or(parsedRhs);
-                }
+            // parse each side once, a parser is valid when it has no error
+            final Predicate<T> parsedLhs = parser.parse(lhs);
+            if (parsedLhs == null || !isEmpty(parser.getErrorMessage())) {
+                return null;
+            }
+            final Predicate<T> parsedRhs = parser.parse(rhs);
+            if (parsedRhs == null || !isEmpty(parser.getErrorMessage())) {
+                return null;
             }
-            return null;
+            return parsedLhs.or(parsedRhs);
         }
     };
 
@@ -123,6 +127,10 @@ public enum AggregatorsParser implements Aggregator {
         }
     }
     
+    private static boolean isEmpty(String errorMessage) {
+        return errorMessage == null || errorMessage.isEmpty();
+    }
+
     private static String i18nString(String key) {
         return localize(asKey("parser.text.operator." + key));
     }
@@ -26,14 +26,16 @@
  */
 package impl.org.controlsfx.tableview2.filter.parser.number;
 
+import impl.org.controlsfx.tableview2.filter.parser.FilterCompiler;
+import impl.org.controlsfx.tableview2.filter.parser.FilterCompiler.CompileException;
 import impl.org.controlsfx.tableview2.filter.parser.Operation;
 import impl.org.controlsfx.tableview2.filter.parser.aggregate.AggregatorsParser;
 import org.controlsfx.control.tableview2.filter.parser.Parser;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -42,31 +44,33 @@ import static impl.org.controlsfx.i18n.Localization.localize;
 
 public class NumberParser<T extends Number> implements Parser<T> {
 
+    private static final Pattern NUMBER = Pattern.compile("-?\\d+(\\.\\d+)?");
+
     private String errorString = "";
 
-    @Override
-    public Predicate<T> parse(String text) {
-        errorString = "";
-        Predicate<T> aggregation = aggregate(text);
-        if (aggregation == null) {
-            Optional<NumberOperation> optionalOperation = Stream.of(NumberOperation.values())
-                    .filter(opr -> text.startsWith(opr.get()))
-                    .filter(opr -> text.length() > opr.length())
-                    .findFirst();
-            if (optionalOperation.isPresent()) {
-                NumberOperation operation = optionalOperation.get();
-                String numText = trim(text, operation.length());
-                if (!isNumeric(numText)) {
-                    errorString = localize(asKey("parser.text.error.number.input"));
-                    return null;
+    private final FilterCompiler<T> compiler = new FilterCompiler<T>() {
+        @Override
+        @SuppressWarnings("unchecked")
+        protected Predicate<T> compileCondition(String text, int position) throws CompileException {
+            for (NumberOperation operation : NumberOperation.values()) {
+                if (text.startsWith(operation.get()) && text.length() > operation.length()) {
+                    String numText = trim(text, operation.length());
+                    if (!isNumeric(numText)) {
+                        throw new CompileException(localize(asKey("parser.text.error.number.input")),
+                                position + text.indexOf(numText, operation.length()));
+                    }
+                    return (Predicate<T>) operation.operate(convert(numText));
                 }
-                return (Predicate<T>) operation.operate(convert(numText));
-            } else {
-                errorString = localize(asKey("parser.text.error.start.operator"));
-                return null;
             }
+            throw new CompileException(localize(asKey("parser.text.error.start.operator")), position);
         }
-        return aggregation;
+    };
+
+    @Override
+    public Predicate<T> parse(String text) {
+        FilterCompiler.Result<T> result = compiler.compile(text);
+        errorString = result.getErrorMessage();
+        return result.getPredicate();
     }
 
     @Override
@@ -98,7 +102,7 @@ public class NumberParser<T extends Number> implements Parser<T> {
     }
 
     private boolean isNumeric(String str) {
-        return !str.isEmpty() && str.matches("-?\\d+(\\.\\d+)?");
+        return !str.isEmpty() && NUMBER.matcher(str).matches();
     }
 
     private String trim(String text, int startIndex) {
@@ -114,37 +118,43 @@ public class NumberParser<T extends Number> implements Parser<T> {
         EQUALS("text.equals", "symbol.equals") {
             @Override
             public Predicate<Number> operate(Number num) {
-                return t -> t != null && t.doubleValue() == num.doubleValue();
+                final double value = num.doubleValue();
+                return t -> t != null && t.doubleValue() == value;
             }
         },
         NOT_EQUALS("text.notequals", "symbol.notequals") {
             @Override
             public Predicate<Number> operate(Number num) {
-                return t -> t != null && t.doubleValue() != num.doubleValue();
+                final double value = num.doubleValue();
+                return t -> t != null && t.doubleValue() != value;
             }
         },
         GREATER_THAN_EQUALS("text.greaterthanequals", "symbol.greaterthanequals") {
             @Override
             public Predicate<Number> operate(Number num) {
-                return t -> t != null && t.doubleValue() >= num.doubleValue();
+                final double value = num.doubleValue();
+                return t -> t != null && t.doubleValue() >= value;
             }
         },
         GREATER_THAN("text.greaterthan", "symbol.greaterthan") {
             @Override
             public Predicate<Number> operate(Number num) {
-                return t -> t != null && t.doubleValue() > num.doubleValue();
+                final double value = num.doubleValue();
+                return t -> t != null && t.doubleValue() > value;
             }
         },
         LESS_THAN_EQUALS("text.lessthanequals", "symbol.lessthanequals") {
             @Override
             public Predicate<Number> operate(Number num) {
-                return t -> t != null && t.doubleValue() <= num.doubleValue();
+                final double value = num.doubleValue();
+                return t -> t != null && t.doubleValue() <= value;
             }
         },
         LESS_THAN("text.lessthan", "symbol.lessthan") {
             @Override
             public Predicate<Number> operate(Number num) {
-                return t -> t != null && t.doubleValue() < num.doubleValue();
+                final double value = num.doubleValue();
+                return t -> t != null && t.doubleValue() < value;
             }
         };
 
@@ -26,6 +26,8 @@
  */
 package impl.org.controlsfx.tableview2.filter.parser.string;
 
+import impl.org.controlsfx.tableview2.filter.parser.FilterCompiler;
+import impl.org.controlsfx.tableview2.filter.parser.FilterCompiler.CompileException;
 import impl.org.controlsfx.tableview2.filter.parser.Operation;
 import impl.org.controlsfx.tableview2.filter.parser.aggregate.AggregatorsParser;
 import javafx.util.StringConverter;
@@ -33,7 +35,6 @@ import org.controlsfx.control.tableview2.filter.parser.Parser;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -49,6 +50,20 @@ public class StringParser<T> implements Parser<T> {
     private final List<Operation<T, String>> operations = Arrays.asList(
             new BeginsWith(), new EndsWith(), new Contains(), new EqualsTo(), new NotEqualsTo());
 
+    private final FilterCompiler<T> compiler = new FilterCompiler<T>() {
+        @Override
+        protected Predicate<T> compileCondition(String text, int position) throws CompileException {
+            for (Operation<T, String> opr : operations) {
+                if (text.startsWith(opr.get()) && text.length() > opr.length()) {
+                    String trimText = trim(text, opr.length(), position);
+                    if (trimText.isEmpty()) return null;
+                    return opr.operate(trimText);
+                }
+            }
+            throw new CompileException(localize(asKey("parser.text.error.start.operator")), position);
+        }
+    };
+
     public StringParser() {}
 
     public StringParser(boolean caseSensitive) {
@@ -65,7 +80,10 @@ public class StringParser<T> implements Parser<T> {
     }
 
     public void setConverter(StringConverter<T> converter) {
-        this.converter = converter;
+        if (this.converter != converter) {
+            this.converter = converter;
+            compiler.clearCache();
+        }
     }
 
     public boolean isCaseSensitive() {
@@ -73,29 +91,17 @@ public class StringParser<T> implements Parser<T> {
     }
 
     public void setCaseSensitive(boolean caseSensitive) {
-        this.caseSensitive = caseSensitive;
+        if (this.caseSensitive != caseSensitive) {
+            this.caseSensitive = caseSensitive;
+            compiler.clearCache();
+        }
     }
 
     @Override
     public Predicate<T> parse(String text) {
-        errorString = "";
-        Predicate<T> aggregation = aggregate(text);
-        if (aggregation == null) {
-            Optional<Operation<T, String>> optionalOperation = operations.stream()
-                    .filter(opr -> text.startsWith(opr.get()))
-                    .filter(opr -> text.length() > opr.length())
-                    .findFirst();
-            if (optionalOperation.isPresent()) {
-                Operation<T, String> opr = optionalOperation.get();
-                String trimText = trim(text, opr.length());
-                if (trimText.isEmpty()) return null;
-                return opr.operate(trimText);
-            } else {
-                errorString = localize(asKey("parser.text.error.start.operator"));
-                return null;
-            }
-        }
-        return aggregation;
+        FilterCompiler.Result<T> result = compiler.compile(text);
+        errorString = result.getErrorMessage();
+        return result.getPredicate();
     }
 
     @Override
@@ -109,12 +115,13 @@ public class StringParser<T> implements Parser<T> {
         return errorString;
     }
 
-    private String trim(String text, int typeLength) {
+    private String trim(String text, int typeLength, int position) throws CompileException {
         String trimmedText = text.substring(typeLength, text.length()).trim();
+        int operandPosition = position + text.indexOf(trimmedText, typeLength);
         if (!trimmedText.startsWith("\"")) {
-            errorString = trimmedText + " " + localize(asKey("parser.text.error.string.start"));
+            throw new CompileException(trimmedText + " " + localize(asKey("parser.text.error.string.start")), operandPosition);
         } else if (!trimmedText.endsWith("\"")) {
-            errorString = trimmedText.substring(1) + " " + localize(asKey("parser.text.error.string.end"));
+            throw new CompileException(trimmedText.substring(1) + " " + localize(asKey("parser.text.error.string.end")), operandPosition);
         } else if (trimmedText.length() > 2) {
             return trimmedText.substring(1, trimmedText.length() - 1);
         }
@@ -139,140 +146,119 @@ public class StringParser<T> implements Parser<T> {
     }
 
     private String casedString(String string) {
-        return caseSensitive ? string : string.toUpperCase();
+        return cased(string, caseSensitive);
     }
 
-    class BeginsWith implements Operation<T, String> {
+    /**
+     * Base of the string operations, with the localized operator and symbols
+     * looked up once.
+     */
+    private abstract class StringOperation implements Operation<T, String> {
+
+        private final String opr;
+        private final String sensitiveSymbol;
+        private final String insensitiveSymbol;
+
+        StringOperation(String type) {
+            this.opr = i18nString("text." + type);
+            this.sensitiveSymbol = i18nString("symbol." + type + ".sensitive");
+            this.insensitiveSymbol = i18nString("symbol." + type + ".insensitive");
+        }
 
         @Override
         public String get() {
-            return i18nString("text.beginswith");
+            return opr;
         }
 
         @Override
         public int length() {
-            return get().length();
+            return opr.length();
         }
 
         @Override
         public Predicate<T> operate(String text) {
-            if (converter != null) {
-                return t -> t != null && casedString(converter.toString(t)).startsWith(casedString(text));
+            // the operand and the case sensitivity are fixed for the predicate
+            final boolean sensitive = caseSensitive;
+            final String operand = casedString(text);
+            final StringConverter<T> stringConverter = converter;
+            if (stringConverter != null) {
+                return t -> t != null && test(cased(stringConverter.toString(t), sensitive), operand);
             }
-            return t -> casedString(String.valueOf(t)).startsWith(casedString(text));
+            return t -> test(cased(String.valueOf(t), sensitive), operand);
         }
 
         @Override
         public String getSymbol() {
-            return i18nString("symbol.beginswith." + (caseSensitive ? "sensitive" : "insensitive"));
+            return caseSensitive ? sensitiveSymbol : insensitiveSymbol;
         }
-        
+
+        abstract boolean test(String value, String operand);
     }
 
-    class EndsWith implements Operation<T, String> {
+    class BeginsWith extends StringOperation {
 
-        @Override
-        public String get() {
-            return i18nString("text.endswith");
-        }
-
-        @Override
-        public int length() {
-            return get().length();
+        BeginsWith() {
+            super("beginswith");
         }
 
         @Override
-        public Predicate<T> operate(String text) {
-            if (converter != null) {
-                return t -> t != null && casedString(converter.toString(t)).endsWith(casedString(text));
-            }
-            return t -> casedString(String.valueOf(t)).endsWith(casedString(text));
-        }
-        
-        @Override
-        public String getSymbol() {
-            return i18nString("symbol.endswith." + (caseSensitive ? "sensitive" : "insensitive"));
+        boolean test(String value, String operand) {
+            return value.startsWith(operand);
         }
     }
 
-    class Contains implements Operation<T, String> {
+    class EndsWith extends StringOperation {
 
-        @Override
-        public String get() {
-            return i18nString("text.contains");
+        EndsWith() {
+            super("endswith");
         }
 
         @Override
-        public int length() {
-            return get().length();
-        }
-
-        @Override
-        public Predicate<T> operate(String text) {
-            if (converter != null) {
-                return t -> t != null && casedString(converter.toString(t)).contains(casedString(text));
-            }
-            return t -> casedString(String.valueOf(t)).contains(casedString(text));
-        }
-        
-        @Override
-        public String getSymbol() {
-            return i18nString("symbol.contains." + (caseSensitive ? "sensitive" : "insensitive"));
+        boolean test(String value, String operand) {
+            return value.endsWith(operand);
         }
     }
-    
-    class EqualsTo implements Operation<T, String> {
 
-        @Override
-        public String get() {
-            return i18nString("text.equalsto");
-        }
+    class Contains extends StringOperation {
 
-        @Override
-        public int length() {
-            return get().length();
+        Contains() {
+            super("contains");
         }
 
         @Override
-        public Predicate<T> operate(String text) {
-            if (converter != null) {
-                return t -> t != null && casedString(converter.toString(t)).equals(casedString(text));
-            }
-            return t -> casedString(String.valueOf(t)).equals(casedString(text));
-        }
-        
-        @Override
-        public String getSymbol() {
-            return i18nString("symbol.equalsto." + (caseSensitive ? "sensitive" : "insensitive"));
+        boolean test(String value, String operand) {
+            return value.contains(operand);
         }
     }
     
-    class NotEqualsTo implements Operation<T, String> {
+    class EqualsTo extends StringOperation {
 
-        @Override
-        public String get() {
-            return i18nString("text.notequalsto");
+        EqualsTo() {
+            super("equalsto");
         }
 
         @Override
-        public int length() {
-            return get().length();
+        boolean test(String value, String operand) {
+            return value.equals(operand);
         }
+    }
+    
+    class NotEqualsTo extends StringOperation {
 
-        @Override
-        public Predicate<T> operate(String text) {
-            if (converter != null) {
-                return t -> t != null && ! casedString(converter.toString(t)).equals(casedString(text));
-            }
-            return t -> ! casedString(String.valueOf(t)).equals(casedString(text));
+        NotEqualsTo() {
+            super("notequalsto");
         }
-        
+
         @Override
-        public String getSymbol() {
-            return i18nString("symbol.notequalsto." + (caseSensitive ? "sensitive" : "insensitive"));
+        boolean test(String value, String operand) {
+            return ! value.equals(operand);
         }
     }
     
+    private static String cased(String string, boolean caseSensitive) {
+        return caseSensitive ? string : string.toUpperCase();
+    }
+
     private static String i18nString(String key) {
         return localize(asKey("parser.text.operator." + key));
     }
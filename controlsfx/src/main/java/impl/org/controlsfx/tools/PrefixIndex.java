@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package impl.org.controlsfx.tools;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.WeakListChangeListener;
+import javafx.util.StringConverter;
+
+/**
+ * Finds the first item of an {@link ObservableList} whose text starts with a
+ * given prefix, ignoring case, without scanning the list.
+ *
+ * <p>The texts of the items are upper cased once and sorted, so that the items
+ * matching a prefix are found by binary search. Among them, the one coming
+ * first in the list is given by a segment tree over their positions in the
+ * list. Any change of the list makes the index rebuilt on the next lookup.
+ */
+// not public API
+final class PrefixIndex<T> {
+
+    private static final Comparator<Entry> KEY_ORDER = Comparator.comparing(entry -> entry.key);
+
+    private final ObservableList<T> items;
+    private final StringConverter<T> converter;
+
+    private String[] keys = new String[0];
+    /**
+     * Segment tree of the smallest position in the list, built over the
+     * entries in key order. The leaves start at {@code keys.length}.
+     */
+    private int[] positions = new int[0];
+    private boolean dirty = true;
+
+    private final ListChangeListener<T> itemsListener = c -> dirty = true;
+
+    /**
+     * Creates an index of the given items.
+     *
+     * @param items the items to index
+     * @param converter gives the text of the items, {@link Object#toString()}
+     * is used when null
+     */
+    PrefixIndex(ObservableList<T> items, StringConverter<T> converter) {
+        this.items = items;
+        this.converter = converter;
+        items.addListener(new WeakListChangeListener<>(itemsListener));
+    }
+
+    /**
+     * Returns true if this index was created for the given items and
+     * converter.
+     */
+    boolean isFor(ObservableList<?> items, StringConverter<?> converter) {
+        return this.items == items && this.converter == converter;
+    }
+
+    /**
+     * Returns the first item in the list whose text starts with the given
+     * prefix, ignoring case.
+     */
+    Optional<T> lookup(String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return Optional.empty();
+        }
+        if (dirty) {
+            rebuild();
+        }
+        String key = prefix.toUpperCase(Locale.ROOT);
+        int from = lowerBound(key);
+        int to = upperBound(key, from);
+        int position = minPosition(from, to);
+        return position < 0 ? Optional.empty() : Optional.of(items.get(position));
+    }
+
+    private void rebuild() {
+        List<Entry> entries = new ArrayList<>(items.size());
+        for (int position = 0; position < items.size(); position++) {
+            T item = items.get(position);
+            if (item == null) {
+                continue;
+            }
+            String text = converter == null ? item.toString() : converter.toString(item);
+            if (text != null && ! text.isEmpty()) {
+                entries.add(new Entry(text.toUpperCase(Locale.ROOT), position));
+            }
+        }
+        entries.sort(KEY_ORDER);
+
+        int size = entries.size();
+        keys = new String[size];
+        positions = new int[2 * size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = entries.get(i).key;
+            positions[size + i] = entries.get(i).position;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            positions[i] = Math.min(positions[2 * i], positions[2 * i + 1]);
+        }
+        dirty = false;
+    }
+
+    /**
+     * Returns the index of the first key which is not before the prefix. Since
+     * several items may have the same key, a plain binary search could land on
+     * any of them.
+     */
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle].compareTo(prefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the first key, after {@code from}, which does not
+     * start with the prefix.
+     */
+    private int upperBound(String prefix, int from) {
+        int low = from;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle].startsWith(prefix)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the smallest list position of the entries between {@code from}
+     * (inclusive) and {@code to} (exclusive), or -1 if the range is empty.
+     */
+    private int minPosition(int from, int to) {
+        int result = Integer.MAX_VALUE;
+        for (int low = from + keys.length, high = to + keys.length; low < high; low >>= 1, high >>= 1) {
+            if ((low & 1) == 1) {
+                result = Math.min(result, positions[low++]);
+            }
+            if ((high & 1) == 1) {
+                result = Math.min(result, positions[--high]);
+            }
+        }
+        return result == Integer.MAX_VALUE ? -1 : result;
+    }
+
+    private static final class Entry {
+        final String key;
+        final int position;
+
+        Entry(String key, int position) {
+            this.key = key;
+            this.position = position;
+        }
+    }
+}
@@ -27,18 +27,14 @@
 package impl.org.controlsfx.tools;
 
 import com.sun.javafx.scene.control.skin.ComboBoxListViewSkin;
-import java.util.Locale;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 
 import org.controlsfx.control.PrefixSelectionChoiceBox;
 import org.controlsfx.control.PrefixSelectionComboBox;
 
+import javafx.animation.PauseTransition;
+import javafx.collections.ObservableList;
 import javafx.event.EventHandler;
 import javafx.scene.control.ChoiceBox;
 import javafx.scene.control.ComboBox;
@@ -46,6 +42,8 @@ import javafx.scene.control.Control;
 import javafx.scene.control.ListView;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
+import javafx.util.Duration;
+import javafx.util.StringConverter;
 
 /**
  * <p>This utility class can be used to customize a {@link ChoiceBox} or
@@ -107,6 +105,7 @@ public class PrefixSelectionCustomizer {
     
     private static final String SELECTION_PREFIX_STRING = "selectionPrefixString";
     private static final Object SELECTION_PREFIX_TASK = "selectionPrefixTask";
+    private static final Object SELECTION_PREFIX_INDEX = "selectionPrefixIndex";
 
     public static final BiFunction<ComboBox, String, Optional> DEFAULT_LOOKUP_COMBOBOX = 
             (comboBox, selection) -> {
@@ -114,16 +113,7 @@ public class PrefixSelectionCustomizer {
                     return Optional.empty();
                 }
                 
-                return comboBox.getItems().stream()
-                        .filter(Objects::nonNull)
-                        .filter(item -> {
-                            String s = comboBox.getConverter() == null ? item.toString() : comboBox.getConverter().toString(item);
-                            if (s != null && ! s.isEmpty()) {
-                                return s.toUpperCase(Locale.ROOT).startsWith(selection.toUpperCase(Locale.ROOT));
-                            }
-                            return false;
-                        })
-                        .findFirst();
+                return lookup(comboBox, comboBox.getItems(), comboBox.getConverter(), selection);
     };
     
     public static final BiFunction<ChoiceBox, String, Optional> DEFAULT_LOOKUP_CHOICEBOX = 
@@ -132,20 +122,27 @@ public class PrefixSelectionCustomizer {
                     return Optional.empty();
                 }
                 
-                return choiceBox.getItems().stream()
-                        .filter(Objects::nonNull)
-                        .filter(item -> {
-                            String s = choiceBox.getConverter() == null ? item.toString() : choiceBox.getConverter().toString(item);
-                            if (s != null && ! s.isEmpty()) {
-                                return s.toUpperCase(Locale.ROOT).startsWith(selection.toUpperCase(Locale.ROOT));
-                            }
-                            return false;
-                        })
-                        .findFirst();
+                return lookup(choiceBox, choiceBox.getItems(), choiceBox.getConverter(), selection);
     };
 
+    /**
+     * Looks up the first item matching the selection in an index of the items,
+     * kept in the properties of the control and rebuilt when the items or the
+     * converter change.
+     */
+    private static Optional lookup(Control control, ObservableList items, StringConverter converter, String selection) {
+        if (items == null) {
+            return Optional.empty();
+        }
+        PrefixIndex index = (PrefixIndex) control.getProperties().get(SELECTION_PREFIX_INDEX);
+        if (index == null || ! index.isFor(items, converter)) {
+            index = new PrefixIndex(items, converter);
+            control.getProperties().put(SELECTION_PREFIX_INDEX, index);
+        }
+        return index.lookup(selection);
+    }
+
     private static EventHandler<KeyEvent> handler = new EventHandler<KeyEvent>() {
-        private ScheduledExecutorService executorService = null;
         private PrefixSelectionComboBox prefixSelectionComboBox;
         private int typingDelay;
         private Object result;
@@ -203,29 +200,19 @@ public class PrefixSelectionCustomizer {
                 DEFAULT_LOOKUP_CHOICEBOX.apply((ChoiceBox) control, selectionPrefixString).ifPresent(t -> result = t);
             }
             
-            ScheduledFuture<?> task = (ScheduledFuture<?>) control.getProperties().get(SELECTION_PREFIX_TASK);
-            if (task != null) {
-                task.cancel(false);
+            // the typed prefix is forgotten once the user stops typing
+            PauseTransition task = (PauseTransition) control.getProperties().get(SELECTION_PREFIX_TASK);
+            if (task == null) {
+                task = new PauseTransition();
+                task.setOnFinished(e -> control.getProperties().put(SELECTION_PREFIX_STRING, ""));
+                control.getProperties().put(SELECTION_PREFIX_TASK, task);
             }
-            task = getExecutorService().schedule(
-                    () -> control.getProperties().put(SELECTION_PREFIX_STRING, ""), typingDelay, TimeUnit.MILLISECONDS); 
-            control.getProperties().put(SELECTION_PREFIX_TASK, task);
+            task.setDuration(Duration.millis(typingDelay));
+            task.playFromStart();
 
             return (T) result;
         }
 
-        private ScheduledExecutorService getExecutorService() {
-            if (executorService == null) {
-                executorService = Executors.newScheduledThreadPool(1,
-                        runnabble -> {
-                            Thread result = new Thread(runnabble);
-                            result.setDaemon(true);
-                            return result;
-                        });
-            }
-            return executorService;
-        }
-        
         private String processInput(String initialText, String letter) {
             if (initialText == null) {
                 initialText = "";
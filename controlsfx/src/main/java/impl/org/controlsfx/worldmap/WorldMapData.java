@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package impl.org.controlsfx.worldmap;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.StringTokenizer;
+import java.util.concurrent.CompletableFuture;
+
+import org.controlsfx.control.WorldMapView;
+
+/**
+ * The SVG paths of the countries, shared by all the {@link WorldMapViewSkin}
+ * using the default data set. The data set is read and split once per
+ * process, on a background thread started when this class is loaded.
+ */
+// not public API
+final class WorldMapData {
+
+    private static final CompletableFuture<Map<WorldMapView.Country, List<String>>> DEFAULT_PATHS =
+            CompletableFuture.supplyAsync(() -> parse(loadDefault()), runnable -> {
+                Thread thread = new Thread(runnable, "WorldMapView data loader");
+                thread.setDaemon(true);
+                thread.start();
+            });
+
+    private WorldMapData() {
+    }
+
+    /**
+     * Returns the paths of the default data set, completed once it has been
+     * loaded.
+     */
+    static CompletableFuture<Map<WorldMapView.Country, List<String>>> getDefaultPaths() {
+        return DEFAULT_PATHS;
+    }
+
+    /**
+     * Reads the properties file of the default data set.
+     */
+    static Properties loadDefault() {
+        Properties mapData = new Properties();
+        try (InputStream in = WorldMapView.class.getResourceAsStream("worldmap-small.properties")) {
+            mapData.load(in);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return mapData;
+    }
+
+    /**
+     * Splits the path data of each country into its SVG paths.
+     *
+     * @param mapData the path data, see {@link WorldMapViewSkin#loadData()}
+     * @return an unmodifiable map of the paths of each country
+     */
+    static Map<WorldMapView.Country, List<String>> parse(Properties mapData) {
+        Map<WorldMapView.Country, List<String>> countryPathMap = new EnumMap<>(WorldMapView.Country.class);
+        for (WorldMapView.Country country : WorldMapView.Country.values()) {
+            String countryData = (String) mapData.get(country.name());
+            if (countryData == null) {
+                System.out.println("Missing SVG path for country " + country.getLocale().getDisplayCountry() + " (" + country + ")");
+            } else {
+                StringTokenizer st = new StringTokenizer(countryData, ";");
+                List<String> paths = new ArrayList<>();
+                while (st.hasMoreTokens()) {
+                    paths.add(st.nextToken());
+                }
+                countryPathMap.put(country, Collections.unmodifiableList(paths));
+            }
+        }
+        return Collections.unmodifiableMap(countryPathMap);
+    }
+}
@@ -26,6 +26,7 @@
  */
 package impl.org.controlsfx.worldmap;
 
+import javafx.application.Platform;
 import javafx.beans.Observable;
 import javafx.collections.*;
 import javafx.css.PseudoClass;
@@ -44,8 +45,8 @@ import javafx.scene.shape.Rectangle;
 import javafx.util.Callback;
 import org.controlsfx.control.WorldMapView;
 
-import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 public class WorldMapViewSkin extends SkinBase<WorldMapView> {
 
@@ -59,8 +60,10 @@ public class WorldMapViewSkin extends SkinBase<WorldMapView> {
     private static double MAP_OFFSET_X = -PREFERRED_WIDTH * 0.0285;
     private static double MAP_OFFSET_Y = PREFERRED_HEIGHT * 0.195;
 
-    private final Map<WorldMapView.Country, List<? extends String>> countryPathMap = new HashMap<>();
+    private Map<WorldMapView.Country, List<String>> countryPathMap = Collections.emptyMap();
     private final Map<WorldMapView.Country, List<? extends WorldMapView.CountryView>> countryViewMap = new HashMap<>();
+    // the factory which created the views of countryViewMap
+    private Callback<WorldMapView.Country, WorldMapView.CountryView> countryViewFactory;
 
     private Pane countryPane;
     private Group group;
@@ -104,19 +107,22 @@ public class WorldMapViewSkin extends SkinBase<WorldMapView> {
 
         view.zoomFactorProperty().addListener(it -> view.requestLayout());
 
-        Properties mapData = loadData();
-        for (WorldMapView.Country country : WorldMapView.Country.values()) {
-            String countryData = (String) mapData.get(country.name());
-            if (countryData == null) {
-                System.out.println("Missing SVG path for country " + country.getLocale().getDisplayCountry() + " (" + country + ")");
+        if (isDefaultData()) {
+            // the default data set is shared, it may still be loading
+            CompletableFuture<Map<WorldMapView.Country, List<String>>> defaultPaths = WorldMapData.getDefaultPaths();
+            if (defaultPaths.isDone()) {
+                countryPathMap = defaultPaths.join();
             } else {
-                StringTokenizer st = new StringTokenizer(countryData, ";");
-                List<String> paths = new ArrayList<>();
-                while (st.hasMoreTokens()) {
-                    paths.add(st.nextToken());
-                }
-                countryPathMap.put(country, paths);
+                defaultPaths.thenAccept(paths -> Platform.runLater(() -> {
+                    if (getSkinnable() != null) {
+                        countryPathMap = paths;
+                        countryViewMap.clear();
+                        buildView();
+                    }
+                }));
             }
+        } else {
+            countryPathMap = WorldMapData.parse(loadData());
         }
 
         buildView();
@@ -205,7 +211,23 @@ public class WorldMapViewSkin extends SkinBase<WorldMapView> {
         view.setClip(clip);
 
         view.countryViewFactoryProperty().addListener(it -> buildView());
-        view.locationViewFactoryProperty().addListener(it -> buildView());
+        view.locationViewFactoryProperty().addListener(it -> rebuildLocations());
+    }
+
+    /**
+     * Returns true if {@link #loadData()} is not overridden, in which case
+     * the data set shared by all the skins is used.
+     */
+    private boolean isDefaultData() {
+        for (Class<?> type = getClass(); type != WorldMapViewSkin.class; type = type.getSuperclass()) {
+            try {
+                type.getDeclaredMethod("loadData");
+                return false;
+            } catch (NoSuchMethodException e) {
+                // keep looking in the super class
+            }
+        }
+        return true;
     }
 
     private double dragX;
@@ -230,10 +252,10 @@ public class WorldMapViewSkin extends SkinBase<WorldMapView> {
         while (change.next()) {
             if (change.wasAdded()) {
                 change.getAddedSubList().forEach(
-                        country -> countryViewMap.get(country).forEach(path -> path.pseudoClassStateChanged(SELECTED_PSEUDO_CLASS, true)));
+                        country -> countryViewMap.getOrDefault(country, Collections.emptyList()).forEach(path -> path.pseudoClassStateChanged(SELECTED_PSEUDO_CLASS, true)));
             } else if (change.wasRemoved()) {
                 change.getRemoved().forEach(
-                        country -> countryViewMap.get(country).forEach(path -> path.pseudoClassStateChanged(SELECTED_PSEUDO_CLASS, false)));
+                        country -> countryViewMap.getOrDefault(country, Collections.emptyList()).forEach(path -> path.pseudoClassStateChanged(SELECTED_PSEUDO_CLASS, false)));
             }
         }
     };
@@ -281,6 +303,20 @@ public class WorldMapViewSkin extends SkinBase<WorldMapView> {
         locationMap.remove(location);
     }
 
+    /**
+     * Creates the views of the locations again, the countries are left
+     * untouched.
+     */
+    private void rebuildLocations() {
+        for (WorldMapView.Location location : new ArrayList<>(locationMap.keySet())) {
+            removeLocation(location);
+            addLocation(location);
+            if (getSkinnable().getSelectedLocations().contains(location)) {
+                locationMap.get(location).pseudoClassStateChanged(SELECTED_PSEUDO_CLASS, true);
+            }
+        }
+    }
+
     private void buildView() {
         group.getChildren().clear();
         locationsGroup.getChildren().clear();
@@ -295,10 +331,20 @@ public class WorldMapViewSkin extends SkinBase<WorldMapView> {
         }
 
         Callback<WorldMapView.Country, WorldMapView.CountryView> factory = getSkinnable().getCountryViewFactory();
+        if (factory != countryViewFactory) {
+            countryViewMap.clear();
+            countryViewFactory = factory;
+        }
         for (WorldMapView.Country country : WorldMapView.Country.values()) {
             if (getSkinnable().getCountries().isEmpty() || getSkinnable().getCountries().contains(country)) {
+                List<? extends WorldMapView.CountryView> builtViews = countryViewMap.get(country);
+                if (builtViews != null) {
+                    // the views made by the same factory are reused
+                    group.getChildren().addAll(builtViews);
+                    continue;
+                }
                 List<WorldMapView.CountryView> countryViews = new ArrayList<>();
-                for (String svgPath : countryPathMap.get(country)) {
+                for (String svgPath : countryPathMap.getOrDefault(country, Collections.emptyList())) {
                     WorldMapView.CountryView view = factory.call(country);
                     if (view != null) {
                         view.setContent(svgPath);
@@ -355,17 +401,12 @@ public class WorldMapViewSkin extends SkinBase<WorldMapView> {
      *     AF=M646.88,356.9L649.74,358.2L651.85,357.74L652.44,356.1 ....
      *     ......
      * </pre>
+     * Unless this method is overridden, the default data set is read only once, in the background,
+     * and shared by all the skins.
      *
      * @return the properties file storing the SVG path data for each country
      */
     protected Properties loadData() {
-        Properties mapData = new Properties();
-        try {
-            mapData.load(WorldMapView.class.getResourceAsStream("worldmap-small.properties"));
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
-        return mapData;
+        return WorldMapData.loadDefault();
     }
 }
\ No newline at end of file
@@ -26,7 +26,10 @@
  */
 package org.controlsfx.control;
 
-import java.util.BitSet;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import javafx.beans.InvalidationListener;
@@ -51,7 +54,18 @@ abstract class CheckBitSetModelBase<T> implements IndexedCheckModel<T> {
 
     private final Map<T, BooleanProperty> itemBooleanMap;
     
-    private final BitSet checkedIndices;
+    /**
+     * Gives the index of an item without scanning the items, for all the
+     * item-based methods.
+     */
+    private final ItemIndex<T> itemIndex;
+    
+    /**
+     * The checked indices. Thanks to its rank and select support, accessing
+     * the i-th checked index or the position of a checked index in
+     * checkedIndicesList does not need to walk through the bits.
+     */
+    private final RankSelectBitSet checkedIndices;
     private final ReadOnlyUnbackedObservableList<Integer> checkedIndicesList;
     private final ReadOnlyUnbackedObservableList<T> checkedItemsList;
     
@@ -63,22 +77,24 @@ abstract class CheckBitSetModelBase<T> implements IndexedCheckModel<T> {
      *                                                                     *
      **********************************************************************/
 
-    CheckBitSetModelBase(final Map<T, BooleanProperty> itemBooleanMap) {
+    /**
+     * @param items the items that can be checked
+     * @param itemBooleanMap the checked state of each item, shared with the
+     * control
+     * @param identity true if items are looked up by identity, false if they
+     * are looked up with their equals method. The itemBooleanMap of the
+     * control must use the same semantics
+     */
+    CheckBitSetModelBase(final ObservableList<T> items, final Map<T, BooleanProperty> itemBooleanMap, boolean identity) {
         this.itemBooleanMap = itemBooleanMap;
+        this.itemIndex = new ItemIndex<>(items, identity);
         
-        this.checkedIndices = new BitSet();
+        this.checkedIndices = new RankSelectBitSet();
         
         this.checkedIndicesList = new ReadOnlyUnbackedObservableList<Integer>() {
             @Override public Integer get(int index) {
                 if (index < 0 || index >= getItemCount()) return -1;
-
-                for (int pos = 0, val = checkedIndices.nextSetBit(0);
-                    val >= 0 || pos == index;
-                    pos++, val = checkedIndices.nextSetBit(val+1)) {
-                        if (pos == index) return val;
-                }
-
-                return -1;
+                return checkedIndices.select(index);
             }
 
             @Override public int size() {
@@ -86,15 +102,21 @@ abstract class CheckBitSetModelBase<T> implements IndexedCheckModel<T> {
             }
 
             @Override public boolean contains(Object o) {
-                if (o instanceof Number) {
-                    Number n = (Number) o;
-                    int index = n.intValue();
+                return indexOf(o) >= 0;
+            }
 
-                    return index >= 0 && index < checkedIndices.length() &&
-                            checkedIndices.get(index);
+            @Override public int indexOf(Object o) {
+                if (o instanceof Number) {
+                    int index = ((Number) o).intValue();
+                    if (checkedIndices.get(index)) {
+                        return checkedIndices.rank(index);
+                    }
                 }
+                return -1;
+            }
 
-                return false;
+            @Override public int lastIndexOf(Object o) {
+                return indexOf(o);
             }
         };
         
@@ -167,8 +189,14 @@ abstract class CheckBitSetModelBase<T> implements IndexedCheckModel<T> {
     @Override
     public abstract int getItemCount();
     
+    /**
+     * Returns the index of the first occurrence of the given item, in
+     * constant time.
+     */
     @Override
-    public abstract int getItemIndex(T item);
+    public int getItemIndex(T item) {
+        return itemIndex.indexOf(item);
+    }
     
     BooleanProperty getItemBooleanProperty(T item) {
         return itemBooleanMap.get(item);
@@ -200,17 +228,29 @@ abstract class CheckBitSetModelBase<T> implements IndexedCheckModel<T> {
     /** {@inheritDoc} */
     @Override
     public void checkAll() {
-        for (int i = 0; i < getItemCount(); i++) {
-            check(i);
+        final int itemCount = getItemCount();
+        int[] newlyChecked = new int[itemCount];
+        int count = 0;
+        for (int index = 0; index < itemCount; index++) {
+            if (checkedIndices.set(index)) {
+                newlyChecked[count++] = index;
+            }
         }
+        fireAddedIndices(newlyChecked, count);
     }
 
     /** {@inheritDoc} */
     @Override
     public void checkIndices(int... indices) {
-        for (int i = 0; i < indices.length; i++) {
-            check(indices[i]);
+        int[] newlyChecked = new int[indices.length];
+        int count = 0;
+        for (int index : indices) {
+            if (index >= 0 && index < getItemCount() && checkedIndices.set(index)) {
+                newlyChecked[count++] = index;
+            }
         }
+        Arrays.sort(newlyChecked, 0, count);
+        fireAddedIndices(newlyChecked, count);
     }
     
     /** {@inheritDoc} */
@@ -222,19 +262,32 @@ abstract class CheckBitSetModelBase<T> implements IndexedCheckModel<T> {
     /** {@inheritDoc} */
     @Override
     public void clearChecks() {
-        for( int index = 0; index < checkedIndices.length(); index++) {
-            clearCheck(index);
-        }
+        if (checkedIndices.isEmpty()) return;
+        // The removed indices are read from a copy of the bits when needed,
+        // instead of being boxed one by one.
+        final RankSelectBitSet removedIndices = checkedIndices.copy();
+        List<Integer> removed = new AbstractList<Integer>() {
+            @Override public Integer get(int index) {
+                if (index < 0 || index >= size()) {
+                    throw new IndexOutOfBoundsException(String.valueOf(index));
+                }
+                return removedIndices.select(index);
+            }
+
+            @Override public int size() {
+                return removedIndices.cardinality();
+            }
+        };
+        checkedIndices.clear();
+        checkedIndicesList.callObservers(new CoalescedChange<>(checkedIndicesList,
+                new int[] { 0 }, new int[] { 0 }, Collections.singletonList(removed)));
     }
 
     /** {@inheritDoc} */
     @Override
     public void clearCheck(int index) {
         if (index < 0 || index >= getItemCount()) return;
-        checkedIndices.clear(index);
-        
-        final int changeIndex = checkedIndicesList.indexOf(index);
-        checkedIndicesList.callObservers(new NonIterableChange.SimpleRemovedChange<>(changeIndex, changeIndex, index, checkedIndicesList));
+        uncheckIndex(index);
     }
     
     /** {@inheritDoc} */
@@ -276,9 +329,7 @@ abstract class CheckBitSetModelBase<T> implements IndexedCheckModel<T> {
     @Override
     public void check(int index) {
         if (index < 0 || index >= getItemCount()) return;
-        checkedIndices.set(index);
-        final int changeIndex = checkedIndicesList.indexOf(index);
-        checkedIndicesList.callObservers(new NonIterableChange.SimpleAddChange<>(changeIndex, changeIndex+1, checkedIndicesList));
+        checkIndex(index);
     }
 
     /** {@inheritDoc} */
@@ -294,6 +345,54 @@ abstract class CheckBitSetModelBase<T> implements IndexedCheckModel<T> {
      *                                                                     *
      **********************************************************************/
     
+    /**
+     * Checks the given index, notifying the observers only if it was not
+     * already checked.
+     */
+    private void checkIndex(int index) {
+        if (checkedIndices.set(index)) {
+            final int changeIndex = checkedIndices.rank(index);
+            checkedIndicesList.callObservers(new NonIterableChange.SimpleAddChange<>(changeIndex, changeIndex+1, checkedIndicesList));
+        }
+    }
+
+    /**
+     * Unchecks the given index, notifying the observers only if it was
+     * checked.
+     */
+    private void uncheckIndex(int index) {
+        if (checkedIndices.get(index)) {
+            final int changeIndex = checkedIndices.rank(index);
+            checkedIndices.clear(index);
+            checkedIndicesList.callObservers(new NonIterableChange.SimpleRemovedChange<>(changeIndex, changeIndex, index, checkedIndicesList));
+        }
+    }
+
+    /**
+     * Notifies the observers, in one change, that the given sorted indices
+     * have been checked. Indices which end up next to each other in
+     * checkedIndicesList are reported as a single range.
+     */
+    private void fireAddedIndices(int[] indices, int count) {
+        if (count == 0) return;
+        int[] from = new int[count];
+        int[] to = new int[count];
+        int ranges = 0;
+        for (int i = 0; i < count; i++) {
+            final int position = checkedIndices.rank(indices[i]);
+            if (ranges > 0 && to[ranges - 1] == position) {
+                to[ranges - 1]++;
+            } else {
+                from[ranges] = position;
+                to[ranges] = position + 1;
+                ranges++;
+            }
+        }
+        checkedIndicesList.callObservers(new CoalescedChange<>(checkedIndicesList,
+                Arrays.copyOf(from, ranges), Arrays.copyOf(to, ranges),
+                Collections.nCopies(ranges, Collections.<Integer>emptyList())));
+    }
+
     protected void updateMap() {
         // reset the map
         itemBooleanMap.clear();
@@ -310,16 +409,68 @@ abstract class CheckBitSetModelBase<T> implements IndexedCheckModel<T> {
             booleanProperty.addListener(new InvalidationListener() {
                 @Override public void invalidated(Observable o) {
                     if (booleanProperty.get()) {
-                        checkedIndices.set(index);
-                        final int changeIndex = checkedIndicesList.indexOf(index);
-                        checkedIndicesList.callObservers(new NonIterableChange.SimpleAddChange<>(changeIndex, changeIndex+1, checkedIndicesList));                            
+                        checkIndex(index);
                     } else {
-                        final int changeIndex = checkedIndicesList.indexOf(index);
-                        checkedIndices.clear(index);
-                        checkedIndicesList.callObservers(new NonIterableChange.SimpleRemovedChange<>(changeIndex, changeIndex, index, checkedIndicesList));
+                        uncheckIndex(index);
                     }
                 }
             });
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * A change made of several sub-changes, so that a bulk operation notifies
+     * the observers only once.
+     */
+    private static final class CoalescedChange<E> extends ListChangeListener.Change<E> {
+        private final int[] from;
+        private final int[] to;
+        private final List<List<E>> removed;
+        private int cursor = -1;
+
+        CoalescedChange(ObservableList<E> list, int[] from, int[] to, List<List<E>> removed) {
+            super(list);
+            this.from = from;
+            this.to = to;
+            this.removed = removed;
+        }
+
+        @Override public boolean next() {
+            if (cursor + 1 < from.length) {
+                cursor++;
+                return true;
+            }
+            return false;
+        }
+
+        @Override public void reset() {
+            cursor = -1;
+        }
+
+        @Override public int getFrom() {
+            checkState();
+            return from[cursor];
+        }
+
+        @Override public int getTo() {
+            checkState();
+            return to[cursor];
+        }
+
+        @Override public List<E> getRemoved() {
+            checkState();
+            return removed.get(cursor);
+        }
+
+        @Override protected int[] getPermutation() {
+            checkState();
+            return new int[0];
+        }
+
+        private void checkState() {
+            if (cursor == -1) {
+                throw new IllegalStateException("Invalid Change state: next() must be called before inspecting the Change."); //$NON-NLS-1$
+            }
+        }
+    }
+}
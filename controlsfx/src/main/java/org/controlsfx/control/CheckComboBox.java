@@ -29,6 +29,7 @@ package org.controlsfx.control;
 import impl.org.controlsfx.skin.CheckComboBoxSkin;
 
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
 import javafx.beans.property.BooleanProperty;
@@ -103,6 +104,7 @@ public class CheckComboBox<T> extends ControlsFXControl {
     
     private final ObservableList<T> items;
     private final Map<T, BooleanProperty> itemBooleanMap;
+    private final boolean checkByIdentity;
     private CheckComboBoxSkin<T> checkComboBoxSkin;
 
 
@@ -126,11 +128,26 @@ public class CheckComboBox<T> extends ControlsFXControl {
      * @param items The items to display within the CheckComboBox.
      */
     public CheckComboBox(final ObservableList<T> items) {
+        this(items, false);
+    }
+    
+    /**
+     * Creates a new CheckComboBox instance with the given items available as
+     * choices. The items are checked and looked up either with their
+     * {@code equals} method, or by identity. The latter allows several equal
+     * items to be checked independently.
+     * 
+     * @param items The items to display within the CheckComboBox.
+     * @param checkByIdentity true to look the items up by identity, false to
+     *      use their {@code equals} method
+     */
+    public CheckComboBox(final ObservableList<T> items, boolean checkByIdentity) {
         final int initialSize = items == null ? 32 : items.size();
         
-        this.itemBooleanMap = new HashMap<>(initialSize);
+        this.checkByIdentity = checkByIdentity;
+        this.itemBooleanMap = checkByIdentity ? new IdentityHashMap<>(initialSize) : new HashMap<>(initialSize);
         this.items = items == null ? FXCollections.observableArrayList() : items;
-        setCheckModel(new CheckComboBoxBitSetCheckModel<>(this.items, itemBooleanMap));
+        setCheckModel(new CheckComboBoxBitSetCheckModel<>(this.items, itemBooleanMap, checkByIdentity));
     }
 
     
@@ -165,6 +182,14 @@ public class CheckComboBox<T> extends ControlsFXControl {
         return itemBooleanMap.get(item);
     }
     
+    /**
+     * Returns true if the items are checked and looked up by identity, false
+     * if their {@code equals} method is used.
+     */
+    public final boolean isCheckByIdentity() {
+        return checkByIdentity;
+    }
+    
     
     
     /**************************************************************************
@@ -359,8 +384,8 @@ public class CheckComboBox<T> extends ControlsFXControl {
          *                                                                     *
          **********************************************************************/
         
-        CheckComboBoxBitSetCheckModel(final ObservableList<T> items, final Map<T, BooleanProperty> itemBooleanMap) {
-            super(itemBooleanMap);
+        CheckComboBoxBitSetCheckModel(final ObservableList<T> items, final Map<T, BooleanProperty> itemBooleanMap, boolean identity) {
+            super(items, itemBooleanMap, identity);
             
             this.items = items;
             this.items.addListener((ListChangeListener<T>) c -> updateMap());
@@ -383,9 +408,5 @@ public class CheckComboBox<T> extends ControlsFXControl {
         @Override public int getItemCount() {
             return items.size();
         }
-        
-        @Override public int getItemIndex(T item) {
-            return items.indexOf(item);
-        }
     }
 }
@@ -27,6 +27,7 @@
 package org.controlsfx.control;
 
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
 import javafx.beans.property.BooleanProperty;
@@ -89,6 +90,7 @@ public class CheckListView<T> extends ListView<T> {
      **************************************************************************/
     
     private final Map<T, BooleanProperty> itemBooleanMap;
+    private final boolean checkByIdentity;
     
 
     
@@ -112,12 +114,27 @@ public class CheckListView<T> extends ListView<T> {
      * @param items The items to display within the CheckListView.
      */
     public CheckListView(ObservableList<T> items) {
+        this(items, false);
+    }
+    
+    /**
+     * Creates a new CheckListView instance with the given items available as
+     * choices. The items are checked and looked up either with their
+     * {@code equals} method, or by identity. The latter allows several equal
+     * items to be checked independently.
+     * 
+     * @param items The items to display within the CheckListView.
+     * @param checkByIdentity true to look the items up by identity, false to
+     *      use their {@code equals} method
+     */
+    public CheckListView(ObservableList<T> items, boolean checkByIdentity) {
         super(items);
-        this.itemBooleanMap = new HashMap<>();
+        this.checkByIdentity = checkByIdentity;
+        this.itemBooleanMap = checkByIdentity ? new IdentityHashMap<>() : new HashMap<>();
         
-        setCheckModel(new CheckListViewBitSetCheckModel<>(getItems(), itemBooleanMap));
+        setCheckModel(new CheckListViewBitSetCheckModel<>(getItems(), itemBooleanMap, checkByIdentity));
         itemsProperty().addListener(ov -> {
-            setCheckModel(new CheckListViewBitSetCheckModel<>(getItems(), itemBooleanMap));
+            setCheckModel(new CheckListViewBitSetCheckModel<>(getItems(), itemBooleanMap, checkByIdentity));
         });
         
         setCellFactory(listView -> {
@@ -172,6 +189,14 @@ public class CheckListView<T> extends ListView<T> {
         return itemBooleanMap.get(item);
     }
     
+    /**
+     * Returns true if the items are checked and looked up by identity, false
+     * if their {@code equals} method is used.
+     */
+    public final boolean isCheckByIdentity() {
+        return checkByIdentity;
+    }
+    
     
     
     /**************************************************************************
@@ -248,8 +273,8 @@ public class CheckListView<T> extends ListView<T> {
          *                                                                     *
          **********************************************************************/
         
-        CheckListViewBitSetCheckModel(final ObservableList<T> items, final Map<T, BooleanProperty> itemBooleanMap) {
-            super(itemBooleanMap);
+        CheckListViewBitSetCheckModel(final ObservableList<T> items, final Map<T, BooleanProperty> itemBooleanMap, boolean identity) {
+            super(items, itemBooleanMap, identity);
             
             this.items = items;
             this.items.addListener((ListChangeListener<T>) c -> updateMap());
@@ -272,9 +297,5 @@ public class CheckListView<T> extends ListView<T> {
         @Override public int getItemCount() {
             return items.size();
         }
-        
-        @Override public int getItemIndex(T item) {
-            return items.indexOf(item);
-        }
     }
 }
@@ -27,13 +27,20 @@
 package org.controlsfx.control;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
 
+import javafx.application.Platform;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.scene.control.CheckBox;
 import javafx.scene.control.CheckBoxTreeItem;
@@ -41,6 +48,9 @@ import javafx.scene.control.TreeItem;
 import javafx.scene.control.TreeView;
 import javafx.scene.control.cell.CheckBoxTreeCell;
 
+import com.sun.javafx.collections.MappingChange;
+import com.sun.javafx.scene.control.ReadOnlyUnbackedObservableList;
+
 /**
  * A simple UI control that makes it possible to select zero or more items within
  * a TreeView without the need to set a custom cell factory or manually create
@@ -212,7 +222,36 @@ public class CheckTreeView<T> extends TreeView<T> {
         private final CheckTreeView<T> treeView;
         private final TreeItem<T> root;
         
-        private ObservableList<TreeItem<T>> checkedItems = FXCollections.observableArrayList();
+        /**
+         * The checked items, compared by identity. This is the reference for
+         * isChecked, the list below only gives them an order.
+         */
+        private final Set<TreeItem<T>> checkedSet = newIdentitySet();
+        
+        /**
+         * The checked items in the order they were checked. It lags behind
+         * checkedSet while a batch is running, and is brought up to date in
+         * one go with the pending changes.
+         */
+        private final ObservableList<TreeItem<T>> checkedItems = FXCollections.observableArrayList();
+        private final ReadOnlyUnbackedObservableList<TreeItem<T>> checkedItemsList;
+        
+        /**
+         * The items checked during the batch, compared by identity, with the
+         * sequence number giving the order they were checked in.
+         */
+        private final Map<TreeItem<T>, Long> pendingAdded = new IdentityHashMap<>();
+        private final Set<TreeItem<T>> pendingRemoved = newIdentitySet();
+        private long checkSequence;
+        
+        /**
+         * Greater than zero while the model is checking or unchecking items
+         * itself, in which case the events cascaded by the CheckBoxTreeItems
+         * are only recorded and published at the end.
+         */
+        private int batchDepth = 0;
+        private boolean flushScheduled = false;
+        private boolean flushing = false;
         
         
         
@@ -225,25 +264,44 @@ public class CheckTreeView<T> extends TreeView<T> {
         CheckTreeViewCheckModel(final CheckTreeView<T> treeView) {
             this.treeView = treeView;
             this.root = treeView.getRoot();
+            
+            this.checkedItemsList = new ReadOnlyUnbackedObservableList<TreeItem<T>>() {
+                @Override public TreeItem<T> get(int i) {
+                    flush();
+                    return checkedItems.get(i);
+                }
+
+                @Override public int size() {
+                    flush();
+                    return checkedItems.size();
+                }
+            };
+            
+            final MappingChange.Map<TreeItem<T>, TreeItem<T>> map = f -> f;
+            checkedItems.addListener((ListChangeListener<TreeItem<T>>) c -> 
+                checkedItemsList.callObservers(new MappingChange<>(c, map, checkedItemsList)));
+            
             this.root.addEventHandler(CheckBoxTreeItem.<T>checkBoxSelectionChangedEvent(), e -> {
                 CheckBoxTreeItem<T> treeItem = e.getTreeItem();
                 
                 if (treeItem.isSelected()) { // && ! treeItem.isIndeterminate()) {
-                    check(treeItem);
+                    markChecked(treeItem);
                 } else { 
-                    clearCheck(treeItem);
+                    markUnchecked(treeItem);
+                }
+                
+                // A click on a CheckBoxTreeItem sends one event per item of
+                // its subtree, the last one being the clicked item itself,
+                // so they are published together once the cascade is over.
+                if (batchDepth == 0) {
+                    scheduleFlush();
                 }
             });
             
             // we should reset the check model and then update the checked items
-            // based on the currently checked items in the tree view
-            clearChecks();
-            for (int i = 0; i < treeView.getExpandedItemCount(); i++) {
-                CheckBoxTreeItem<T> treeItem = (CheckBoxTreeItem<T>) treeView.getTreeItem(i);
-                if (treeItem.isSelected() && ! treeItem.isIndeterminate()) {
-                    check(treeItem);
-                }
-            }
+            // based on the currently checked items in the tree
+            collectCheckedItems(root);
+            flush();
         }
         
         
@@ -259,43 +317,60 @@ public class CheckTreeView<T> extends TreeView<T> {
         }
 
 
-        // TODO make read-only
         @Override public ObservableList<TreeItem<T>> getCheckedItems() {
-            return checkedItems;
+            return checkedItemsList;
         }
 
         @Override public void checkAll() {
-            iterateOverTree(this::check);
+            beginBatch();
+            try {
+                iterateOverTree(this::check);
+            } finally {
+                endBatch();
+            }
         }
 
         @Override public void clearCheck(TreeItem<T> item) {
-            if (item instanceof CheckBoxTreeItem) {
-                ((CheckBoxTreeItem<T>)item).setSelected(false);
+            beginBatch();
+            try {
+                if (item instanceof CheckBoxTreeItem) {
+                    ((CheckBoxTreeItem<T>)item).setSelected(false);
+                }
+                markUnchecked(item);
+            } finally {
+                endBatch();
             }
-            checkedItems.remove(item);
         }
 
         @Override public void clearChecks() {
-            List<TreeItem<T>> items = new ArrayList<>(checkedItems);
-            for(TreeItem<T> item : items){
-                clearCheck(item);
+            beginBatch();
+            try {
+                List<TreeItem<T>> items = new ArrayList<>(checkedSet);
+                for(TreeItem<T> item : items){
+                    clearCheck(item);
+                }
+            } finally {
+                endBatch();
             }
         }
 
         @Override public boolean isEmpty() {
-            return checkedItems.isEmpty();
+            return checkedSet.isEmpty();
         }
 
         @Override public boolean isChecked(TreeItem<T> item) {
-            return checkedItems.contains(item);
+            return checkedSet.contains(item);
         }
 
         @Override public void check(TreeItem<T> item) {
-            if (item instanceof CheckBoxTreeItem) {
-                ((CheckBoxTreeItem<T>)item).setSelected(true);
-            }
-            if (!checkedItems.contains(item)) {
-                checkedItems.add(item);
+            beginBatch();
+            try {
+                if (item instanceof CheckBoxTreeItem) {
+                    ((CheckBoxTreeItem<T>)item).setSelected(true);
+                }
+                markChecked(item);
+            } finally {
+                endBatch();
             }
         }
 
@@ -315,6 +390,97 @@ public class CheckTreeView<T> extends TreeView<T> {
          *                                                                     *
          **********************************************************************/
         
+        private static <E> Set<E> newIdentitySet() {
+            return Collections.newSetFromMap(new IdentityHashMap<>());
+        }
+        
+        private void markChecked(TreeItem<T> item) {
+            if (checkedSet.add(item) && ! pendingRemoved.remove(item)) {
+                pendingAdded.put(item, checkSequence++);
+            }
+        }
+        
+        private void markUnchecked(TreeItem<T> item) {
+            if (checkedSet.remove(item) && pendingAdded.remove(item) == null) {
+                pendingRemoved.add(item);
+            }
+        }
+        
+        private void beginBatch() {
+            batchDepth++;
+        }
+        
+        private void endBatch() {
+            if (--batchDepth == 0) {
+                flush();
+            }
+        }
+        
+        private void scheduleFlush() {
+            if (! Platform.isFxApplicationThread()) {
+                flush();
+            } else if (! flushScheduled) {
+                flushScheduled = true;
+                Platform.runLater(this::flush);
+            }
+        }
+        
+        /**
+         * Publishes the pending changes, with at most one removal and one
+         * addition. A listener checking or unchecking items meanwhile does
+         * not flush again, its changes are published afterwards by the
+         * running flush.
+         */
+        private void flush() {
+            flushScheduled = false;
+            if (flushing) return;
+            flushing = true;
+            try {
+                while (! pendingRemoved.isEmpty() || ! pendingAdded.isEmpty()) {
+                    // both sets are emptied before any listener is called
+                    Set<TreeItem<T>> removed = newIdentitySet();
+                    removed.addAll(pendingRemoved);
+                    pendingRemoved.clear();
+                    List<TreeItem<T>> added = new ArrayList<>(pendingAdded.keySet());
+                    added.sort(Comparator.comparing(pendingAdded::get));
+                    pendingAdded.clear();
+                    
+                    if (! removed.isEmpty()) {
+                        checkedItems.removeAll(removed);
+                    }
+                    if (! added.isEmpty()) {
+                        checkedItems.addAll(added);
+                    }
+                }
+            } finally {
+                flushing = false;
+            }
+        }
+        
+        /**
+         * Records the checked items found under the given node. A collapsed
+         * subtree is only visited when its root says something below it is
+         * checked, so that lazily populated children are not loaded for
+         * nothing.
+         */
+        private void collectCheckedItems(TreeItem<T> node) {
+            if (node == null) return;
+            boolean visitChildren = node.isExpanded();
+            if (node instanceof CheckBoxTreeItem) {
+                CheckBoxTreeItem<T> treeItem = (CheckBoxTreeItem<T>) node;
+                if (treeItem.isSelected() && ! treeItem.isIndeterminate()) {
+                    markChecked(treeItem);
+                }
+                visitChildren |= treeItem.isSelected() || treeItem.isIndeterminate() 
+                        || treeItem.isIndependent();
+            }
+            if (visitChildren && ! node.isLeaf()) {
+                for (TreeItem<T> child : node.getChildren()) {
+                    collectCheckedItems(child);
+                }
+            }
+        }
+        
         private void iterateOverTree(Consumer<TreeItem<T>> consumer) {
             processNode(consumer, root);
         }
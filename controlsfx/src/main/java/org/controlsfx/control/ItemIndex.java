@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.controlsfx.control;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+/**
+ * Maps the items of an {@link ObservableList} to their index, answering
+ * {@link #indexOf(Object)} in constant time instead of scanning the list.
+ * Items are compared either with {@link Object#equals(Object)}, like
+ * {@link java.util.List#indexOf(Object)}, or by identity.
+ *
+ * <p>The map follows the list changes: items appended at the end are simply
+ * added to it, any other change makes it rebuilt on the next lookup.
+ */
+// not public API
+final class ItemIndex<T> {
+
+    private final ObservableList<T> items;
+    private final Map<T, Integer> indices;
+    private boolean dirty = true;
+
+    private final ListChangeListener<T> itemsListener = this::itemsChanged;
+
+    /**
+     * Creates an index following the given items.
+     *
+     * @param items the items to index
+     * @param identity true to compare the items by identity, false to use
+     * {@link Object#equals(Object)}
+     */
+    ItemIndex(ObservableList<T> items, boolean identity) {
+        this.items = items;
+        this.indices = identity ? new IdentityHashMap<>() : new HashMap<>();
+        items.addListener(itemsListener);
+    }
+
+    /**
+     * Returns the index of the first occurrence of the given item, or -1 if
+     * the item is not in the list.
+     */
+    int indexOf(Object item) {
+        if (dirty) {
+            rebuild();
+        }
+        Integer index = indices.get(item);
+        return index == null ? -1 : index;
+    }
+
+    private void itemsChanged(ListChangeListener.Change<? extends T> c) {
+        if (dirty) {
+            return;
+        }
+        while (c.next()) {
+            if (c.wasAdded() && !c.wasRemoved() && !c.wasPermutated() && !c.wasUpdated()
+                    && c.getTo() == c.getList().size()) {
+                for (int index = c.getFrom(); index < c.getTo(); index++) {
+                    indices.putIfAbsent(c.getList().get(index), index);
+                }
+            } else {
+                invalidate();
+                return;
+            }
+        }
+    }
+
+    private void invalidate() {
+        dirty = true;
+        indices.clear();
+    }
+
+    private void rebuild() {
+        indices.clear();
+        // going backward so that the first occurrence of an item wins
+        for (int index = items.size() - 1; index >= 0; index--) {
+            indices.put(items.get(index), index);
+        }
+        dirty = false;
+    }
+}
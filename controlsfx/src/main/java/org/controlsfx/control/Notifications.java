@@ -28,19 +28,22 @@ package org.controlsfx.control;
 
 import impl.org.controlsfx.skin.NotificationBar;
 
-import java.lang.ref.WeakReference;
 import java.text.MessageFormat;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
+import javafx.animation.Animation;
+import javafx.animation.Interpolator;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
-import javafx.animation.ParallelTransition;
 import javafx.animation.Timeline;
-import javafx.animation.Transition;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -49,7 +52,9 @@ import javafx.geometry.Pos;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.Node;
 import javafx.scene.Scene;
+import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.layout.Pane;
 import javafx.stage.Popup;
 import javafx.stage.PopupWindow;
 import javafx.stage.Screen;
@@ -265,7 +270,7 @@ public class Notifications {
      * built-in 'warning' graphic.
      */
     public void showWarning() {
-        graphic(new ImageView(Notifications.class.getResource("/org/controlsfx/dialog/dialog-warning.png").toExternalForm())); //$NON-NLS-1$
+        graphic(new ImageView(Images.WARNING));
         show();
     }
 
@@ -274,7 +279,7 @@ public class Notifications {
      * built-in 'information' graphic.
      */
     public void showInformation() {
-        graphic(new ImageView(Notifications.class.getResource("/org/controlsfx/dialog/dialog-information.png").toExternalForm())); //$NON-NLS-1$
+        graphic(new ImageView(Images.INFORMATION));
         show();
     }
 
@@ -283,7 +288,7 @@ public class Notifications {
      * built-in 'error' graphic.
      */
     public void showError() {
-        graphic(new ImageView(Notifications.class.getResource("/org/controlsfx/dialog/dialog-error.png").toExternalForm())); //$NON-NLS-1$
+        graphic(new ImageView(Images.ERROR));
         show();
     }
 
@@ -292,7 +297,7 @@ public class Notifications {
      * built-in 'confirm' graphic.
      */
     public void showConfirm() {
-        graphic(new ImageView(Notifications.class.getResource("/org/controlsfx/dialog/dialog-confirm.png").toExternalForm())); //$NON-NLS-1$
+        graphic(new ImageView(Images.CONFIRM));
         show();
     }
 
@@ -308,395 +313,560 @@ public class Notifications {
      **************************************************************************/
 
     // not public so no need for JavaDoc
-    private static final class NotificationPopupHandler {
+    static final class NotificationPopupHandler {
 
         private static final NotificationPopupHandler INSTANCE = new NotificationPopupHandler();
 
-        private double startX;
-        private double startY;
-        private double screenWidth;
-        private double screenHeight;
+        /**
+         * Minimum delay between two notifications shown at the same place,
+         * notifications arriving faster are queued.
+         */
+        private static final Duration SHOW_INTERVAL = Duration.millis(100);
+
+        /**
+         * Maximum number of queued notifications per place. When a burst
+         * exceeds it, the oldest ones are collapsed into a single notification.
+         */
+        static final int MAX_QUEUED = 10;
+
+        /**
+         * Maximum number of notification bars kept for reuse.
+         */
+        private static final int MAX_POOLED_BARS = 16;
 
         static final NotificationPopupHandler getInstance() {
             return INSTANCE;
         }
 
-        private final Map<Pos, List<Popup>> popupsMap = new HashMap<>();
+        /**
+         * One layer per owner (a window or a screen) and position.
+         */
+        private final Map<List<Object>, NotificationLayer> layers = new HashMap<>();
+        private final Deque<PooledNotificationBar> barPool = new ArrayDeque<>();
         private final double padding = 15;
 
-        // for animating in the notifications
-        private ParallelTransition parallelTransition = new ParallelTransition();
-
-        private boolean isShowing = false;
-
         public void show(Notifications notification) {
-            Window window;
-            if (notification.owner == null) {
-                /*
-                 * If the owner is not set, we work with the whole screen.
-                 */
-                Rectangle2D screenBounds = notification.screen.getVisualBounds();
-                startX = screenBounds.getMinX();
-                startY = screenBounds.getMinY();
-                screenWidth = screenBounds.getWidth();
-                screenHeight = screenBounds.getHeight();
-
-                window = Utils.getWindow(null);
-            } else {
-                /*
-                 * If the owner is set, we will make the notifications popup
-                 * inside its window.
-                 */
-                startX = notification.owner.getX();
-                startY = notification.owner.getY();
-                screenWidth = notification.owner.getWidth();
-                screenHeight = notification.owner.getHeight();
-                window = notification.owner;
-            }
-            show(window, notification);
-        }
-
-        private void show(Window owner, final Notifications notification) {
-            // Stylesheets which are added to the scene of a popup aren't
-            // considered for styling. For this reason, we need to find the next
-            // window in the hierarchy which isn't a popup.
-            Window ownerWindow = owner;
-            while (ownerWindow instanceof PopupWindow) {
-                ownerWindow = ((PopupWindow) ownerWindow).getOwnerWindow();
-            }
-            // need to install our CSS
-            Scene ownerScene = ownerWindow == null ? null : ownerWindow.getScene();
-            if (ownerScene != null) {
-                String stylesheetUrl = Notifications.class.getResource("notificationpopup.css").toExternalForm(); //$NON-NLS-1$
-                if (!ownerScene.getStylesheets().contains(stylesheetUrl)) {
-                    // The stylesheet needs to be added at the beginning so that
-                    // the styling can be adjusted with custom stylesheets.
-                    ownerScene.getStylesheets().add(0, stylesheetUrl);
-                }
+            Object owner = notification.owner == null ? notification.screen : notification.owner;
+            List<Object> key = Arrays.asList(owner, notification.position);
+            NotificationLayer layer = layers.get(key);
+            if (layer == null) {
+                layer = new NotificationLayer(notification.position);
+                layers.put(key, layer);
             }
+            layer.enqueue(notification);
+        }
 
-            final Popup popup = new Popup();
-            popup.setAutoFix(false);
+        /**
+         * Returns the layer of the given owner and position, or null if
+         * nothing is shown nor waiting there.
+         */
+        NotificationLayer getLayer(Object owner, Pos pos) {
+            return layers.get(Arrays.asList(owner, pos));
+        }
 
-            final Pos p = notification.position;
+        int getPooledBarCount() {
+            return barPool.size();
+        }
 
-            final Notifications notificationToShow;
-            final List<Popup> popups = popupsMap.get(p);
-            if (notification.threshold > 0 && popups != null && popups.size() >= notification.threshold) {
-                for (Popup popupElement : popups) {
-                    popupElement.hide();
-                }
+        private PooledNotificationBar obtainBar() {
+            PooledNotificationBar bar = barPool.poll();
+            return bar == null ? new PooledNotificationBar() : bar;
+        }
 
-                final Notifications thresholdNotification = notification.thresholdNotification;
-                if (thresholdNotification.text == null || thresholdNotification.text.isEmpty()) {
-                    thresholdNotification.text = MessageFormat.format(getString("notifications.threshold.text"), popups.size());
-                }
-                notificationToShow = thresholdNotification;
-            } else {
-                notificationToShow = notification;
+        private void releaseBar(PooledNotificationBar bar) {
+            bar.reset();
+            if (barPool.size() < MAX_POOLED_BARS) {
+                barPool.push(bar);
             }
+        }
 
-            final NotificationBar notificationBar = new NotificationBar() {
-                @Override
-                public String getTitle() {
-                    return notificationToShow.title;
-                }
+        private boolean isShowFromTop(Pos p) {
+            switch (p) {
+                case TOP_LEFT:
+                case TOP_CENTER:
+                case TOP_RIGHT:
+                    return true;
+                default:
+                    return false;
+            }
+        }
 
-                @Override
-                public String getText() {
-                    return notificationToShow.text;
+        /**
+         * All the notifications shown at a given position of a window or a
+         * screen, stacked in a single popup. The bars are laid out by the
+         * layer: when one of them grows or shrinks, only the bars placed
+         * after it move.
+         */
+        final class NotificationLayer {
+
+            private final Pos pos;
+            private final boolean showFromTop;
+            private final Popup popup = new Popup();
+            // the oldest bar first
+            private final List<PooledNotificationBar> bars = new ArrayList<>();
+            private final Pane content = new Pane() {
+                @Override protected void layoutChildren() {
+                    layoutBars();
                 }
 
-                @Override
-                public Node getGraphic() {
-                    return notificationToShow.graphic;
+                @Override protected double computePrefWidth(double height) {
+                    return getStackWidth();
                 }
 
-                @Override
-                public ObservableList<Action> getActions() {
-                    return notificationToShow.actions;
+                @Override protected double computePrefHeight(double width) {
+                    return getStackHeight(getStackWidth());
                 }
+            };
 
-                @Override
-                public boolean isShowing() {
-                    return isShowing;
-                }
+            private double startX;
+            private double startY;
+            private double screenWidth;
+            private double screenHeight;
+
+            private final Deque<Notifications> queue = new ArrayDeque<>();
+            private int collapsedCount;
+            private Notifications lastCollapsed;
+            private Timeline queueTimeline;
+            private boolean trimScheduled;
+
+            NotificationLayer(Pos pos) {
+                this.pos = pos;
+                this.showFromTop = isShowFromTop(pos);
+                popup.setAutoFix(false);
+                popup.getContent().add(content);
+            }
 
-                @Override
-                protected double computeMinWidth(double height) {
-                    String text = getText();
-                    Node graphic = getGraphic();
-                    if ((text == null || text.isEmpty()) && (graphic != null)) {
-                        return graphic.minWidth(height);
-                    }
-                    return 400;
+            /**
+             * Shows the notification right away, unless another one was shown
+             * less than {@link #SHOW_INTERVAL} ago, in which case it waits in
+             * the queue.
+             */
+            void enqueue(Notifications notification) {
+                if (queueTimeline == null) {
+                    queueTimeline = new Timeline(new KeyFrame(SHOW_INTERVAL, e -> showNext()));
+                    queueTimeline.setCycleCount(Animation.INDEFINITE);
+                    queueTimeline.play();
+                    show(notification);
+                    return;
                 }
-
-                @Override
-                protected double computeMinHeight(double width) {
-                    String text = getText();
-                    Node graphic = getGraphic();
-                    if ((text == null || text.isEmpty()) && (graphic != null)) {
-                        return graphic.minHeight(width);
-                    }
-                    return 100;
+                queue.addLast(notification);
+                if (queue.size() > MAX_QUEUED) {
+                    lastCollapsed = queue.removeFirst();
+                    collapsedCount++;
                 }
+            }
 
-                @Override
-                public boolean isShowFromTop() {
-                    return NotificationPopupHandler.this.isShowFromTop(notificationToShow.position);
+            void showNext() {
+                if (collapsedCount > 0) {
+                    // the notifications dropped from the queue are summed up
+                    Notifications summary = Notifications.create()
+                            .text(MessageFormat.format(getString("notifications.threshold.text"), collapsedCount)) //$NON-NLS-1$
+                            .position(lastCollapsed.position)
+                            .hideAfter(lastCollapsed.hideAfterDuration);
+                    summary.owner = lastCollapsed.owner;
+                    summary.screen = lastCollapsed.screen;
+                    summary.styleClass.addAll(lastCollapsed.styleClass);
+                    collapsedCount = 0;
+                    lastCollapsed = null;
+                    show(summary);
+                } else if (! queue.isEmpty()) {
+                    show(queue.removeFirst());
+                } else {
+                    queueTimeline.stop();
+                    queueTimeline = null;
+                    disposeIfIdle();
                 }
+            }
 
-                @Override
-                public void hide() {
-                    isShowing = false;
-
-                    // this would slide the notification bar out of view,
-                    // but I prefer the fade out below
-                    // doHide();
+            private void show(Notifications notification) {
+                Window window = updateBounds(notification);
+                installStylesheet(window);
 
-                    // animate out the popup by fading it
-                    createHideTimeline(popup, this, p, Duration.ZERO).play();
-                }
-
-                @Override
-                public boolean isCloseButtonVisible() {
-                    return !notificationToShow.hideCloseButton;
+                Notifications notificationToShow = notification;
+                String text = notification.text;
+                if (notification.threshold > 0 && bars.size() >= notification.threshold) {
+                    text = notification.thresholdNotification.text;
+                    if (text == null || text.isEmpty()) {
+                        text = MessageFormat.format(getString("notifications.threshold.text"), bars.size()); //$NON-NLS-1$
+                    }
+                    for (PooledNotificationBar bar : new ArrayList<>(bars)) {
+                        remove(bar);
+                    }
+                    notificationToShow = notification.thresholdNotification;
                 }
 
-                @Override
-                public double getContainerHeight() {
-                    return startY + screenHeight;
-                }
+                final PooledNotificationBar bar = obtainBar();
+                bar.attach(this, notificationToShow, text);
+                bars.add(bar);
+                content.getChildren().add(bar);
 
-                @Override
-                public void relocateInParent(double x, double y) {
-                    // this allows for us to slide the notification upwards
-                    switch (p) {
-                        case BOTTOM_LEFT:
-                        case BOTTOM_CENTER:
-                        case BOTTOM_RIGHT:
-                            popup.setAnchorY(y - padding);
-                            break;
-                        default:
-                            // no-op
-                            break;
-                    }
+                if (! popup.isShowing()) {
+                    popup.show(window, 0, 0);
                 }
-            };
+                content.requestLayout();
 
-            notificationBar.getStyleClass().addAll(notificationToShow.styleClass);
+                bar.showing = true;
+                bar.doShow();
 
-            notificationBar.setOnMouseClicked(e -> {
-                if (notificationToShow.onAction != null) {
-                    ActionEvent actionEvent = new ActionEvent(notificationBar, notificationBar);
-                    notificationToShow.onAction.handle(actionEvent);
+                // begin a timeline to get rid of the notification
+                bar.hideTimeline = createHideTimeline(bar, notification.hideAfterDuration);
+                bar.hideTimeline.play();
+            }
 
-                    // animate out the popup
-                    createHideTimeline(popup, notificationBar, p, Duration.ZERO).play();
+            /**
+             * Fades the bar out, then collapses it so that the bars after it
+             * slide into its place.
+             */
+            void dismiss(PooledNotificationBar bar, Duration delay) {
+                if (bar.hideTimeline != null) {
+                    bar.hideTimeline.stop();
                 }
-            });
-
-            popup.getContent().add(notificationBar);
-            popup.show(owner, 0, 0);
+                bar.hideTimeline = createHideTimeline(bar, delay);
+                bar.hideTimeline.play();
+            }
 
-            // determine location for the popup
-            double anchorX = 0, anchorY = 0;
-            final double barWidth = notificationBar.getWidth();
-            final double barHeight = notificationBar.getHeight();
+            private Timeline createHideTimeline(PooledNotificationBar bar, Duration startDelay) {
+                KeyValue fadeOutBegin = new KeyValue(bar.opacityProperty(), 1.0);
+                KeyValue fadeOutEnd = new KeyValue(bar.opacityProperty(), 0.0);
+                KeyValue collapseBegin = new KeyValue(bar.transition, 1.0);
+                KeyValue collapseEnd = new KeyValue(bar.transition, 0.0, Interpolator.EASE_IN);
 
-            // get anchorX
-            switch (p) {
-                case TOP_LEFT:
-                case CENTER_LEFT:
-                case BOTTOM_LEFT:
-                    anchorX = padding + startX;
-                    break;
+                KeyFrame kfBegin = new KeyFrame(Duration.ZERO, fadeOutBegin);
+                KeyFrame kfFaded = new KeyFrame(Duration.millis(500), fadeOutEnd, collapseBegin);
+                KeyFrame kfEnd = new KeyFrame(Duration.millis(850), collapseEnd);
 
-                case TOP_CENTER:
-                case CENTER:
-                case BOTTOM_CENTER:
-                    anchorX = startX + (screenWidth / 2.0) - barWidth / 2.0 - padding / 2.0;
-                    break;
+                Timeline timeline = new Timeline(kfBegin, kfFaded, kfEnd);
+                timeline.setDelay(startDelay);
+                timeline.setOnFinished(e -> remove(bar));
 
-                default:
-                case TOP_RIGHT:
-                case CENTER_RIGHT:
-                case BOTTOM_RIGHT:
-                    anchorX = startX + screenWidth - barWidth - padding;
-                    break;
+                return timeline;
             }
 
-            // get anchorY
-            switch (p) {
-                case TOP_LEFT:
-                case TOP_CENTER:
-                case TOP_RIGHT:
-                    anchorY = padding + startY;
-                    break;
-
-                case CENTER_LEFT:
-                case CENTER:
-                case CENTER_RIGHT:
-                    anchorY = startY + (screenHeight / 2.0) - barHeight / 2.0 - padding / 2.0;
-                    break;
-
-                default:
-                case BOTTOM_LEFT:
-                case BOTTOM_CENTER:
-                case BOTTOM_RIGHT:
-                    anchorY = startY + screenHeight - barHeight - padding;
-                    break;
+            void remove(PooledNotificationBar bar) {
+                if (bar.layer != this) {
+                    return;
+                }
+                if (bar.hideTimeline != null) {
+                    bar.hideTimeline.stop();
+                }
+                bars.remove(bar);
+                content.getChildren().remove(bar);
+                releaseBar(bar);
+                disposeIfIdle();
             }
 
-            popup.setAnchorX(anchorX);
-            popup.setAnchorY(anchorY);
-
-            isShowing = true;
-            notificationBar.doShow();
+            /**
+             * Returns the bars shown, the oldest first.
+             */
+            List<PooledNotificationBar> getBars() {
+                return Collections.unmodifiableList(bars);
+            }
 
-            addPopupToMap(p, popup);
+            int getQueuedCount() {
+                return queue.size();
+            }
 
-            // begin a timeline to get rid of the popup
-            Timeline timeline = createHideTimeline(popup, notificationBar, p, notification.hideAfterDuration);
-            timeline.play();
-        }
+            Popup getPopup() {
+                return popup;
+            }
 
-        private void hide(Popup popup, Pos p) {
-            popup.hide();
-            removePopupFromMap(p, popup);
-        }
+            /**
+             * Forgets the layer once nothing is shown nor waiting, so that it
+             * does not hold on its owner window.
+             */
+            private void disposeIfIdle() {
+                if (bars.isEmpty()) {
+                    popup.hide();
+                    if (queueTimeline == null) {
+                        layers.values().remove(this);
+                    }
+                }
+            }
 
-        private Timeline createHideTimeline(final Popup popup, NotificationBar bar, final Pos p, Duration startDelay) {
-            KeyValue fadeOutBegin = new KeyValue(bar.opacityProperty(), 1.0);
-            KeyValue fadeOutEnd = new KeyValue(bar.opacityProperty(), 0.0);
+            private Window updateBounds(Notifications notification) {
+                if (notification.owner == null) {
+                    /*
+                     * If the owner is not set, we work with the whole screen.
+                     */
+                    Rectangle2D screenBounds = notification.screen.getVisualBounds();
+                    startX = screenBounds.getMinX();
+                    startY = screenBounds.getMinY();
+                    screenWidth = screenBounds.getWidth();
+                    screenHeight = screenBounds.getHeight();
+
+                    return popup.isShowing() ? popup.getOwnerWindow() : Utils.getWindow(null);
+                } else {
+                    /*
+                     * If the owner is set, we will make the notifications popup
+                     * inside its window.
+                     */
+                    startX = notification.owner.getX();
+                    startY = notification.owner.getY();
+                    screenWidth = notification.owner.getWidth();
+                    screenHeight = notification.owner.getHeight();
+                    return notification.owner;
+                }
+            }
 
-            KeyFrame kfBegin = new KeyFrame(Duration.ZERO, fadeOutBegin);
-            KeyFrame kfEnd = new KeyFrame(Duration.millis(500), fadeOutEnd);
+            private void installStylesheet(Window owner) {
+                // Stylesheets which are added to the scene of a popup aren't
+                // considered for styling. For this reason, we need to find the next
+                // window in the hierarchy which isn't a popup.
+                Window ownerWindow = owner;
+                while (ownerWindow instanceof PopupWindow) {
+                    ownerWindow = ((PopupWindow) ownerWindow).getOwnerWindow();
+                }
+                // need to install our CSS
+                Scene ownerScene = ownerWindow == null ? null : ownerWindow.getScene();
+                if (ownerScene != null) {
+                    String stylesheetUrl = Notifications.class.getResource("notificationpopup.css").toExternalForm(); //$NON-NLS-1$
+                    if (!ownerScene.getStylesheets().contains(stylesheetUrl)) {
+                        // The stylesheet needs to be added at the beginning so that
+                        // the styling can be adjusted with custom stylesheets.
+                        ownerScene.getStylesheets().add(0, stylesheetUrl);
+                    }
+                }
+            }
 
-            Timeline timeline = new Timeline(kfBegin, kfEnd);
-            timeline.setDelay(startDelay);
-            timeline.setOnFinished(e -> hide(popup, p));
+            private double getStackWidth() {
+                double width = 0;
+                for (PooledNotificationBar bar : bars) {
+                    width = Math.max(width, bar.prefWidth(-1));
+                }
+                return width;
+            }
 
-            return timeline;
-        }
+            private double getStackHeight(double width) {
+                double height = 0;
+                for (PooledNotificationBar bar : bars) {
+                    height += bar.prefHeight(width);
+                }
+                return height;
+            }
 
-        private void addPopupToMap(Pos p, Popup popup) {
-            List<Popup> popups;
-            if (!popupsMap.containsKey(p)) {
-                popups = new LinkedList<>();
-                popupsMap.put(p, popups);
-            } else {
-                popups = popupsMap.get(p);
+            private void layoutBars() {
+                final double width = getStackWidth();
+                double y = 0;
+                // the newest bar is the closest to the edge of the screen
+                for (int i = 0; i < bars.size(); i++) {
+                    PooledNotificationBar bar = bars.get(showFromTop ? bars.size() - 1 - i : i);
+                    double height = bar.prefHeight(width);
+                    bar.resizeRelocate(0, y, width, height);
+                    y += height;
+                }
+                updateAnchor(width, y);
+
+                if (y > screenHeight - 2 * padding && bars.size() > 1 && ! trimScheduled) {
+                    // no room left, the oldest notification makes way
+                    trimScheduled = true;
+                    Platform.runLater(() -> {
+                        trimScheduled = false;
+                        if (bars.size() > 1) {
+                            remove(bars.get(0));
+                        }
+                    });
+                }
             }
 
-            doAnimation(p, popup);
+            private void updateAnchor(double width, double height) {
+                double anchorX, anchorY;
+
+                // get anchorX
+                switch (pos) {
+                    case TOP_LEFT:
+                    case CENTER_LEFT:
+                    case BOTTOM_LEFT:
+                        anchorX = padding + startX;
+                        break;
+
+                    case TOP_CENTER:
+                    case CENTER:
+                    case BOTTOM_CENTER:
+                        anchorX = startX + (screenWidth / 2.0) - width / 2.0 - padding / 2.0;
+                        break;
+
+                    default:
+                    case TOP_RIGHT:
+                    case CENTER_RIGHT:
+                    case BOTTOM_RIGHT:
+                        anchorX = startX + screenWidth - width - padding;
+                        break;
+                }
 
-            // add the popup to the list so it is kept in memory and can be
-            // accessed later on
-            popups.add(popup);
-        }
+                // get anchorY
+                switch (pos) {
+                    case TOP_LEFT:
+                    case TOP_CENTER:
+                    case TOP_RIGHT:
+                        anchorY = padding + startY;
+                        break;
+
+                    case CENTER_LEFT:
+                    case CENTER:
+                    case CENTER_RIGHT:
+                        anchorY = startY + (screenHeight / 2.0) - height / 2.0 - padding / 2.0;
+                        break;
+
+                    default:
+                    case BOTTOM_LEFT:
+                    case BOTTOM_CENTER:
+                    case BOTTOM_RIGHT:
+                        anchorY = startY + screenHeight - height - padding;
+                        break;
+                }
 
-        private void removePopupFromMap(Pos p, Popup popup) {
-            if (popupsMap.containsKey(p)) {
-                List<Popup> popups = popupsMap.get(p);
-                popups.remove(popup);
+                if (popup.getAnchorX() != anchorX) {
+                    popup.setAnchorX(anchorX);
+                }
+                if (popup.getAnchorY() != anchorY) {
+                    popup.setAnchorY(anchorY);
+                }
             }
         }
 
-        private void doAnimation(Pos p, Popup changedPopup) {
-            List<Popup> popups = popupsMap.get(p);
-            if (popups == null) {
-                return;
+        /**
+         * A notification bar which can be attached to a new notification once
+         * the previous one is gone.
+         */
+        static final class PooledNotificationBar extends NotificationBar {
+
+            private static final ObservableList<Action> NO_ACTIONS = FXCollections.emptyObservableList();
+
+            private NotificationLayer layer;
+            private Notifications notification;
+            private String text;
+            private boolean showing;
+            private Timeline hideTimeline;
+
+            void attach(NotificationLayer layer, Notifications notification, String text) {
+                this.layer = layer;
+                this.notification = notification;
+                this.text = text;
+                getStyleClass().setAll("notification-bar"); //$NON-NLS-1$
+                getStyleClass().addAll(notification.styleClass);
+                setOnMouseClicked(e -> {
+                    if (notification.onAction != null) {
+                        ActionEvent actionEvent = new ActionEvent(this, this);
+                        notification.onAction.handle(actionEvent);
+
+                        // animate out the notification
+                        layer.dismiss(this, Duration.ZERO);
+                    }
+                });
+                updateContent();
             }
 
-            final double newPopupHeight = changedPopup.getContent().get(0).getBoundsInParent().getHeight();
+            void reset() {
+                layer = null;
+                notification = null;
+                text = null;
+                showing = false;
+                hideTimeline = null;
+                setOnMouseClicked(null);
+                setOpacity(1);
+                transition.set(0);
+                setVisible(false);
+                updateContent();
+            }
 
-            parallelTransition.stop();
-            parallelTransition.getChildren().clear();
+            @Override
+            public String getTitle() {
+                return notification == null ? null : notification.title;
+            }
 
-            final boolean isShowFromTop = isShowFromTop(p);
+            @Override
+            public String getText() {
+                return text;
+            }
 
-            // animate all other popups in the list upwards so that the new one
-            // is in the 'new' area.
-            // firstly, we need to determine the target positions for all popups
-            double sum = 0;
-            double targetAnchors[] = new double[popups.size()];
-            for (int i = popups.size() - 1; i >= 0; i--) {
-                Popup _popup = popups.get(i);
+            @Override
+            public Node getGraphic() {
+                return notification == null ? null : notification.graphic;
+            }
 
-                final double popupHeight = _popup.getContent().get(0).getBoundsInParent().getHeight();
+            @Override
+            public ObservableList<Action> getActions() {
+                return notification == null ? NO_ACTIONS : notification.actions;
+            }
 
-                if (isShowFromTop) {
-                    if (i == popups.size() - 1) {
-                        sum = startY + newPopupHeight + padding;
-                    } else {
-                        sum += popupHeight;
-                    }
-                    targetAnchors[i] = sum;
-                } else {
-                    if (i == popups.size() - 1) {
-                        sum = changedPopup.getAnchorY() - popupHeight;
-                    } else {
-                        sum -= popupHeight;
-                    }
+            @Override
+            public boolean isShowing() {
+                return showing;
+            }
 
-                    targetAnchors[i] = sum;
+            @Override
+            protected double computeMinWidth(double height) {
+                String text = getText();
+                Node graphic = getGraphic();
+                if ((text == null || text.isEmpty()) && (graphic != null)) {
+                    return graphic.minWidth(height);
                 }
+                return 400;
             }
 
-            // then we set up animations for each popup to animate towards the
-            // target
-            for (int i = popups.size() - 1; i >= 0; i--) {
-                final Popup _popup = popups.get(i);
-                final double anchorYTarget = targetAnchors[i];
-                if (anchorYTarget < 0) {
-                    _popup.hide();
+            @Override
+            protected double computeMinHeight(double width) {
+                String text = getText();
+                Node graphic = getGraphic();
+                if ((text == null || text.isEmpty()) && (graphic != null)) {
+                    return graphic.minHeight(width);
                 }
-                final double oldAnchorY = _popup.getAnchorY();
-                final double distance = anchorYTarget - oldAnchorY;
-
-                Transition t = new CustomTransition(_popup, oldAnchorY, distance);
-                t.setCycleCount(1);
-                parallelTransition.getChildren().add(t);
+                return 100;
             }
-            parallelTransition.play();
-        }
 
-        private boolean isShowFromTop(Pos p) {
-            switch (p) {
-                case TOP_LEFT:
-                case TOP_CENTER:
-                case TOP_RIGHT:
-                    return true;
-                default:
-                    return false;
+            @Override
+            public boolean isShowFromTop() {
+                return layer != null && layer.showFromTop;
             }
-        }
 
-        class CustomTransition extends Transition {
+            @Override
+            public void hide() {
+                showing = false;
 
-            private WeakReference<Popup> popupWeakReference;
-            private double oldAnchorY;
-            private double distance;
+                // animate out the notification by fading it
+                if (layer != null) {
+                    layer.dismiss(this, Duration.ZERO);
+                }
+            }
 
-            CustomTransition(Popup popup, double oldAnchorY, double distance) {
-                popupWeakReference = new WeakReference<>(popup);
-                this.oldAnchorY = oldAnchorY;
-                this.distance = distance;
-                setCycleDuration(Duration.millis(350.0));
+            @Override
+            public boolean isCloseButtonVisible() {
+                return notification == null || !notification.hideCloseButton;
             }
 
             @Override
-            protected void interpolate(double frac) {
-                Popup popup = popupWeakReference.get();
-                if (popup != null) {
-                    double newAnchorY = oldAnchorY + distance * frac;
-                    popup.setAnchorY(newAnchorY);
+            public void requestContainerLayout() {
+                super.requestContainerLayout();
+                // the height of the bar follows its transition, the bars
+                // after it have to move
+                if (layer != null) {
+                    layer.content.requestLayout();
                 }
             }
 
+            @Override
+            public double getContainerHeight() {
+                return getHeight();
+            }
+
+            @Override
+            public void relocateInParent(double x, double y) {
+                // the layer positions the bars
+            }
         }
     }
-}
 
+    /**
+     * The images of the built-in graphics, loaded once.
+     */
+    private static final class Images {
+        static final Image WARNING = load("/org/controlsfx/dialog/dialog-warning.png"); //$NON-NLS-1$
+        static final Image INFORMATION = load("/org/controlsfx/dialog/dialog-information.png"); //$NON-NLS-1$
+        static final Image ERROR = load("/org/controlsfx/dialog/dialog-error.png"); //$NON-NLS-1$
+        static final Image CONFIRM = load("/org/controlsfx/dialog/dialog-confirm.png"); //$NON-NLS-1$
+
+        private static Image load(String path) {
+            return new Image(Notifications.class.getResource(path).toExternalForm());
+        }
+    }
+}
@@ -473,6 +473,41 @@ public class PropertySheet extends ControlsFXControl {
     }
     
     
+    // --- virtualized
+    private final SimpleBooleanProperty virtualized = 
+            new SimpleBooleanProperty(this, "virtualized", false); //$NON-NLS-1$
+    
+    /**
+     * This property represents whether the properties are shown in a 
+     * virtualized list, where only the visible rows hold a label and an editor,
+     * instead of a grid holding all of them. Filtering then only hides rows, 
+     * and in the {@link Mode#CATEGORY category mode} the categories are shown 
+     * as headers which can be clicked to collapse or expand them. This is 
+     * recommended for large numbers of properties. By default this is false.
+     * @return A SimpleBooleanProperty.
+     */
+    public final SimpleBooleanProperty virtualizedProperty() {
+        return virtualized;
+    }
+    
+    /**
+     * @see #virtualizedProperty()
+     * @return whether the properties are shown in a virtualized list.
+     */
+    public final boolean isVirtualized() {
+        return virtualized.get();
+    }
+    
+    /**
+     * Sets whether the properties are shown in a virtualized list.
+     * @param value 
+     * @see #virtualizedProperty()
+     */
+    public final void setVirtualized( boolean value ) {
+        virtualized.set(value);
+    }
+    
+    
     /***************************************************************************
      *                                                                         *
      * Stylesheet Handling                                                     *
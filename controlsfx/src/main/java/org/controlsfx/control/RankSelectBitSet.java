@@ -0,0 +1,202 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.controlsfx.control;
+
+import java.util.Arrays;
+
+/**
+ * A growable bit set which, on top of the usual operations, answers in
+ * O(log n) how many bits are set before a given index (rank) and which index
+ * holds the k-th set bit (select). The count of set bits of each 64 bits word
+ * is kept in a Fenwick tree.
+ */
+// not public API
+final class RankSelectBitSet {
+
+    private long[] words = new long[1];
+    /**
+     * Fenwick tree over the bit counts of the words, 1-based.
+     */
+    private int[] tree = new int[2];
+    private int cardinality;
+
+    /**
+     * Returns true if the bit at the given index is set.
+     */
+    boolean get(int index) {
+        int word = index >> 6;
+        return index >= 0 && word < words.length && (words[word] & (1L << index)) != 0;
+    }
+
+    /**
+     * Sets the bit at the given index.
+     *
+     * @return true if the bit was not already set.
+     */
+    boolean set(int index) {
+        int word = index >> 6;
+        ensureCapacity(word + 1);
+        long mask = 1L << index;
+        if ((words[word] & mask) != 0) {
+            return false;
+        }
+        words[word] |= mask;
+        update(word, 1);
+        return true;
+    }
+
+    /**
+     * Clears the bit at the given index.
+     *
+     * @return true if the bit was set.
+     */
+    boolean clear(int index) {
+        if (!get(index)) {
+            return false;
+        }
+        int word = index >> 6;
+        words[word] &= ~(1L << index);
+        update(word, -1);
+        return true;
+    }
+
+    /**
+     * Clears every bit.
+     */
+    void clear() {
+        Arrays.fill(words, 0);
+        Arrays.fill(tree, 0);
+        cardinality = 0;
+    }
+
+    /**
+     * Returns an independent copy of this bit set.
+     */
+    RankSelectBitSet copy() {
+        RankSelectBitSet copy = new RankSelectBitSet();
+        copy.words = words.clone();
+        copy.tree = tree.clone();
+        copy.cardinality = cardinality;
+        return copy;
+    }
+
+    /**
+     * Returns the number of bits set.
+     */
+    int cardinality() {
+        return cardinality;
+    }
+
+    boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    /**
+     * Returns the number of bits set strictly before the given index.
+     */
+    int rank(int index) {
+        if (index <= 0) {
+            return 0;
+        }
+        int word = index >> 6;
+        if (word >= words.length) {
+            return cardinality;
+        }
+        int count = 0;
+        for (int i = word; i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count + Long.bitCount(words[word] & ((1L << index) - 1));
+    }
+
+    /**
+     * Returns the index of the k-th bit set (starting from 0), or -1 if less
+     * than k + 1 bits are set.
+     */
+    int select(int k) {
+        if (k < 0 || k >= cardinality) {
+            return -1;
+        }
+        int position = 0;
+        int remaining = k;
+        for (int step = Integer.highestOneBit(words.length); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= words.length && tree[next] <= remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+        long word = words[position];
+        for (int i = 0; i < remaining; ++i) {
+            word &= word - 1;
+        }
+        return (position << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Returns the index of the first bit set at or after the given index, or
+     * -1 if there is none.
+     */
+    int nextSetBit(int fromIndex) {
+        int word = fromIndex >> 6;
+        if (word >= words.length) {
+            return -1;
+        }
+        long bits = words[word] & (-1L << fromIndex);
+        while (true) {
+            if (bits != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word == words.length) {
+                return -1;
+            }
+            bits = words[word];
+        }
+    }
+
+    private void update(int word, int delta) {
+        cardinality += delta;
+        for (int i = word + 1; i <= words.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private void ensureCapacity(int wordCount) {
+        if (wordCount <= words.length) {
+            return;
+        }
+        words = Arrays.copyOf(words, Math.max(wordCount, words.length * 2));
+        tree = new int[words.length + 1];
+        for (int i = 1; i <= words.length; ++i) {
+            tree[i] += Long.bitCount(words[i - 1]);
+            int parent = i + (i & -i);
+            if (parent <= words.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+}
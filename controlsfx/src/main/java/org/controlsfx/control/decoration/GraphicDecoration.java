@@ -28,8 +28,9 @@ package org.controlsfx.control.decoration;
 
 import impl.org.controlsfx.ImplUtils;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import javafx.application.Platform;
 import javafx.beans.value.ChangeListener;
 import javafx.geometry.Bounds;
 import javafx.geometry.Pos;
@@ -49,15 +50,12 @@ import javafx.scene.image.ImageView;
  */
 public class GraphicDecoration extends Decoration {
 
+    private static final String TARGET_LAYOUT_PROPERTY_KEY = "$org.controlsfx.decoration.graphicLayout$"; //$NON-NLS-1$
+
     private final Node decorationNode;
     private final Pos pos;
     private final double xOffset;
     private final double yOffset;
-    /**
-     * Because {@link #decorationNode} is unmanaged, we need this listener
-     * to detect when its Parent lays out so that we can lay out {@code decorationNode}.
-     */
-    private final ChangeListener<Boolean> targetNeedsLayoutListener;
 
     /**
      * Constructs a new GraphicDecoration with the given decoration node to be 
@@ -106,30 +104,38 @@ public class GraphicDecoration extends Decoration {
         this.pos = position;
         this.xOffset = xOffset;
         this.yOffset = yOffset;
-        targetNeedsLayoutListener = ( __, ___, ____ ) ->
-                Optional.ofNullable( decorationNode.getParent() ).ifPresent( this::layoutGraphic );
     }
     
     /** {@inheritDoc} */
     @Override public Node applyDecoration(Node targetNode) {
         List<Node> targetNodeChildren = ImplUtils.getChildren((Parent)targetNode, true);
         layoutGraphic(targetNode);
-        if (!targetNodeChildren.contains(decorationNode)) {
+        if (decorationNode.getParent() != targetNode) {
             targetNodeChildren.add(decorationNode);
         }
-        ((Parent) targetNode).needsLayoutProperty().removeListener(targetNeedsLayoutListener); // In case already added.
-        ((Parent) targetNode).needsLayoutProperty().addListener(targetNeedsLayoutListener);
+        TargetLayout.get((Parent) targetNode, true).add(this);
         return null;
     }
     
     /** {@inheritDoc} */
     @Override public void removeDecoration(Node targetNode) {
-        List<Node> targetNodeChildren = ImplUtils.getChildren((Parent)targetNode, true);
-        
-        if (targetNodeChildren.contains(decorationNode)) {
-            targetNodeChildren.remove(decorationNode);
+        if (decorationNode.getParent() == targetNode) {
+            ImplUtils.getChildren((Parent)targetNode, true).remove(decorationNode);
+        }
+        TargetLayout targetLayout = TargetLayout.get((Parent) targetNode, false);
+        if (targetLayout != null) {
+            targetLayout.remove(this);
         }
-        ((Parent) targetNode).needsLayoutProperty().removeListener(targetNeedsLayoutListener);
+    }
+    
+    /**
+     * Returns true if the size of the decoration node no longer matches its
+     * preferred size.
+     */
+    private boolean isGraphicResized() {
+        final Bounds bounds = decorationNode.getLayoutBounds();
+        return bounds.getWidth() != decorationNode.prefWidth(-1) 
+                || bounds.getHeight() != decorationNode.prefHeight(-1);
     }
 
     private void layoutGraphic(Node targetNode) {
@@ -186,4 +192,94 @@ public class GraphicDecoration extends Decoration {
         decorationNode.setLayoutX(x + xOffset);
         decorationNode.setLayoutY(y + yOffset);
     }
+    
+    /**
+     * Lays out all the graphic decorations of a target node. Because the
+     * decoration nodes are unmanaged, a single listener detects when the
+     * target has been laid out and marks it dirty. All the dirty targets are
+     * then laid out together, once per pulse, and the decorations are only
+     * moved when the bounds of the target changed since the last time, or
+     * when their own size changed.
+     */
+    private static final class TargetLayout {
+        
+        // the targets laid out since the last pass, only used on the FX thread
+        private static final List<TargetLayout> DIRTY_TARGETS = new ArrayList<>();
+        
+        private final Parent target;
+        private final List<GraphicDecoration> decorations = new ArrayList<>();
+        private final ChangeListener<Boolean> needsLayoutListener;
+        private Bounds lastBounds;
+        private double lastBaselineOffset;
+        private boolean dirty;
+        
+        static TargetLayout get(Parent target, boolean createIfAbsent) {
+            TargetLayout targetLayout = (TargetLayout) target.getProperties().get(TARGET_LAYOUT_PROPERTY_KEY);
+            if (targetLayout == null && createIfAbsent) {
+                targetLayout = new TargetLayout(target);
+                target.getProperties().put(TARGET_LAYOUT_PROPERTY_KEY, targetLayout);
+            }
+            return targetLayout;
+        }
+        
+        private TargetLayout(Parent target) {
+            this.target = target;
+            // the target is laid out once it no longer needs layout
+            needsLayoutListener = (o, oldValue, needsLayout) -> {
+                if (! needsLayout) {
+                    markDirty();
+                }
+            };
+            target.needsLayoutProperty().addListener(needsLayoutListener);
+        }
+        
+        void add(GraphicDecoration decoration) {
+            if (! decorations.contains(decoration)) {
+                decorations.add(decoration);
+            }
+        }
+        
+        void remove(GraphicDecoration decoration) {
+            decorations.remove(decoration);
+            if (decorations.isEmpty()) {
+                target.needsLayoutProperty().removeListener(needsLayoutListener);
+                target.getProperties().remove(TARGET_LAYOUT_PROPERTY_KEY);
+            }
+        }
+        
+        private void markDirty() {
+            if (dirty) {
+                return;
+            }
+            dirty = true;
+            if (DIRTY_TARGETS.isEmpty()) {
+                Platform.runLater(TargetLayout::layoutDirtyTargets);
+            }
+            DIRTY_TARGETS.add(this);
+        }
+        
+        private static void layoutDirtyTargets() {
+            final List<TargetLayout> targets = new ArrayList<>(DIRTY_TARGETS);
+            DIRTY_TARGETS.clear();
+            for (TargetLayout targetLayout : targets) {
+                targetLayout.dirty = false;
+                targetLayout.layoutDecorations();
+            }
+        }
+        
+        private void layoutDecorations() {
+            final Bounds bounds = target.getLayoutBounds();
+            final double baselineOffset = target.getBaselineOffset();
+            final boolean targetChanged = ! bounds.equals(lastBounds) 
+                    || Double.compare(baselineOffset, lastBaselineOffset) != 0;
+            lastBounds = bounds;
+            lastBaselineOffset = baselineOffset;
+            
+            for (GraphicDecoration decoration : decorations) {
+                if (targetChanged || decoration.isGraphicResized()) {
+                    decoration.layoutGraphic(target);
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,334 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.controlsfx.control.spreadsheet;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import javafx.scene.input.Clipboard;
+
+/**
+ * This class holds the values of a rectangular area when we do a copy in the
+ * {@link SpreadsheetView}. The values are stored column by column, which is
+ * much more compact than one {@link ClipboardCell} per cell. The selection
+ * copied does not need to be a rectangle: only the cells really copied are
+ * marked as present.
+ *
+ * It is internally used by the {@link SpreadsheetView} but developers may want
+ * to retrieve the content of the {@link Clipboard} or to build one from
+ * tab-separated text with {@link #fromText(java.lang.String) }.
+ *
+ * @see SpreadsheetView#copyClipboard()
+ * @see SpreadsheetView#pasteClipboard()
+ */
+public class ClipboardGrid implements Serializable {
+
+    private static final long serialVersionUID = 3385473719683367155L;
+
+    private final int top;
+    private final int left;
+    private final int rowCount;
+    private final int columnCount;
+    private final Object[][] columns;
+    private final BitSet[] cells;
+
+    /**
+     * Constructs an empty ClipboardGrid covering the given area.
+     *
+     * @param top the first row of the area
+     * @param left the first column of the area
+     * @param rowCount the number of rows of the area
+     * @param columnCount the number of columns of the area
+     */
+    public ClipboardGrid(int top, int left, int rowCount, int columnCount) {
+        this.top = top;
+        this.left = left;
+        this.rowCount = rowCount;
+        this.columnCount = columnCount;
+        this.columns = new Object[columnCount][];
+        this.cells = new BitSet[columnCount];
+    }
+
+    /**
+     * Constructs a ClipboardGrid from a collection of {@link ClipboardCell}.
+     *
+     * @param clipboardCells the cells to put in this ClipboardGrid
+     * @return a ClipboardGrid containing the given cells
+     */
+    public static ClipboardGrid fromClipboardCells(Collection<ClipboardCell> clipboardCells) {
+        int minRow = Integer.MAX_VALUE;
+        int maxRow = Integer.MIN_VALUE;
+        int minColumn = Integer.MAX_VALUE;
+        int maxColumn = Integer.MIN_VALUE;
+        for (ClipboardCell cell : clipboardCells) {
+            minRow = Math.min(minRow, cell.getRow());
+            maxRow = Math.max(maxRow, cell.getRow());
+            minColumn = Math.min(minColumn, cell.getColumn());
+            maxColumn = Math.max(maxColumn, cell.getColumn());
+        }
+        if (clipboardCells.isEmpty()) {
+            return new ClipboardGrid(0, 0, 0, 0);
+        }
+        final ClipboardGrid grid = new ClipboardGrid(minRow, minColumn, maxRow - minRow + 1, maxColumn - minColumn + 1);
+        for (ClipboardCell cell : clipboardCells) {
+            grid.setValue(cell.getRow(), cell.getColumn(), cell.getValue());
+        }
+        return grid;
+    }
+
+    /**
+     * Constructs a ClipboardGrid from tab-separated text, as put in the
+     * {@link Clipboard} by spreadsheet applications like Excel. Rows are
+     * separated by line breaks, and cells by tabulations. A cell can be quoted
+     * in order to contain tabulations or line breaks, a quote being escaped by
+     * another quote. All the values are {@code String} starting at the
+     * position (0, 0).
+     *
+     * @param text the tab-separated text
+     * @return a ClipboardGrid containing the text values
+     */
+    public static ClipboardGrid fromText(String text) {
+        final List<List<String>> rows = new ArrayList<>();
+        List<String> row = new ArrayList<>();
+        final StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        boolean cellStart = true;
+        final int length = text.length();
+        for (int i = 0; i < length; ++i) {
+            final char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < length && text.charAt(i + 1) == '"') {
+                        value.append('"');
+                        ++i;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"' && cellStart) {
+                quoted = true;
+                cellStart = false;
+            } else if (c == '\t') {
+                row.add(value.toString());
+                value.setLength(0);
+                cellStart = true;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < length && text.charAt(i + 1) == '\n') {
+                    ++i;
+                }
+                row.add(value.toString());
+                value.setLength(0);
+                rows.add(row);
+                row = new ArrayList<>();
+                cellStart = true;
+            } else {
+                value.append(c);
+                cellStart = false;
+            }
+        }
+        //The last line break is optional.
+        if (!cellStart || value.length() > 0 || !row.isEmpty()) {
+            row.add(value.toString());
+            rows.add(row);
+        }
+
+        int columnCount = 0;
+        for (List<String> values : rows) {
+            columnCount = Math.max(columnCount, values.size());
+        }
+        final ClipboardGrid grid = new ClipboardGrid(0, 0, rows.size(), columnCount);
+        for (int r = 0; r < rows.size(); ++r) {
+            final List<String> values = rows.get(r);
+            for (int c = 0; c < values.size(); ++c) {
+                grid.setValue(r, c, values.get(c));
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Appends the given text as a tab-separated cell, quoting it if needed.
+     *
+     * @param builder
+     * @param text
+     */
+    static void appendText(StringBuilder builder, String text) {
+        if (text == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; ++i) {
+            final char c = text.charAt(i);
+            quote = c == '\t' || c == '\n' || c == '\r' || (c == '"' && i == 0);
+        }
+        if (!quote) {
+            builder.append(text);
+            return;
+        }
+        builder.append('"');
+        for (int i = 0; i < text.length(); ++i) {
+            final char c = text.charAt(i);
+            if (c == '"') {
+                builder.append('"');
+            }
+            builder.append(c);
+        }
+        builder.append('"');
+    }
+
+    /**
+     * Returns the first row of this ClipboardGrid.
+     *
+     * @return the first row of this ClipboardGrid
+     */
+    public int getTop() {
+        return top;
+    }
+
+    /**
+     * Returns the first column of this ClipboardGrid.
+     *
+     * @return the first column of this ClipboardGrid
+     */
+    public int getLeft() {
+        return left;
+    }
+
+    /**
+     * Returns the number of rows covered by this ClipboardGrid.
+     *
+     * @return the number of rows covered by this ClipboardGrid
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the number of columns covered by this ClipboardGrid.
+     *
+     * @return the number of columns covered by this ClipboardGrid
+     */
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    /**
+     * Returns the number of cells really copied in this ClipboardGrid.
+     *
+     * @return the number of cells really copied
+     */
+    public long getCellCount() {
+        long count = 0;
+        for (BitSet column : cells) {
+            if (column != null) {
+                count += column.cardinality();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns true if every cell of the area has been copied.
+     *
+     * @return true if every cell of the area has been copied
+     */
+    public boolean isRectangle() {
+        return getCellCount() == (long) rowCount * columnCount;
+    }
+
+    /**
+     * Returns true if the cell at the given position has been copied.
+     *
+     * @param row the row of the cell
+     * @param column the column of the cell
+     * @return true if the cell at the given position has been copied
+     */
+    public boolean contains(int row, int column) {
+        if (!isInside(row, column)) {
+            return false;
+        }
+        final BitSet rows = cells[column - left];
+        return rows != null && rows.get(row - top);
+    }
+
+    /**
+     * Returns the value of the cell at the given position, or null if it has
+     * not been copied.
+     *
+     * @param row the row of the cell
+     * @param column the column of the cell
+     * @return the value of the cell at the given position
+     */
+    public Object getValue(int row, int column) {
+        if (!contains(row, column)) {
+            return null;
+        }
+        final Object[] values = columns[column - left];
+        return values == null || row - top >= values.length ? null : values[row - top];
+    }
+
+    /**
+     * Sets the value of the cell at the given position, which is then
+     * considered as copied.
+     *
+     * The value must be serializable.
+     *
+     * @param row the row of the cell
+     * @param column the column of the cell
+     * @param value the value of the cell
+     */
+    public void setValue(int row, int column, Object value) {
+        if (!isInside(row, column)) {
+            throw new IndexOutOfBoundsException("Position (" + row + ", " + column + ") is outside of the ClipboardGrid"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        }
+        BitSet rows = cells[column - left];
+        if (rows == null) {
+            rows = new BitSet();
+            cells[column - left] = rows;
+        }
+        rows.set(row - top);
+        if (value != null) {
+            Object[] values = columns[column - left];
+            //The values array only grows as far as needed.
+            if (values == null || row - top >= values.length) {
+                final int length = Math.min(rowCount, Math.max(row - top + 1, values == null ? 16 : values.length * 2));
+                values = values == null ? new Object[length] : Arrays.copyOf(values, length);
+                columns[column - left] = values;
+            }
+            values[row - top] = value;
+        }
+    }
+
+    private boolean isInside(int row, int column) {
+        return row >= top && row < top + rowCount && column >= left && column < left + columnCount;
+    }
+}
@@ -0,0 +1,188 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.controlsfx.control.spreadsheet;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Holds the values of the {@link CompactSpreadsheetCell} of a {@link Grid}
+ * column by column. Columns of {@link SpreadsheetCellType#DOUBLE} and
+ * {@link SpreadsheetCellType#INTEGER} types are stored in primitive arrays,
+ * {@code String} columns in {@code String} arrays. If a value that does not
+ * fit the storage of its column is given, the column falls back to an
+ * {@code Object} array.
+ */
+final class CompactCellStore {
+
+    private final int rowCount;
+    private final SpreadsheetCellType<?>[] types;
+    private final Column[] columns;
+
+    CompactCellStore(int rowCount, List<SpreadsheetCellType<?>> columnTypes) {
+        this.rowCount = rowCount;
+        types = columnTypes.toArray(new SpreadsheetCellType<?>[columnTypes.size()]);
+        columns = new Column[types.length];
+        for (int column = 0; column < types.length; ++column) {
+            final SpreadsheetCellType<?> type = types[column];
+            if (type instanceof SpreadsheetCellType.DoubleType) {
+                columns[column] = new DoubleColumn(rowCount);
+            } else if (type instanceof SpreadsheetCellType.IntegerType) {
+                columns[column] = new IntegerColumn(rowCount);
+            } else if (type instanceof SpreadsheetCellType.StringType || type instanceof SpreadsheetCellType.ListType) {
+                columns[column] = new StringColumn(rowCount);
+            } else {
+                columns[column] = new ObjectColumn(rowCount);
+            }
+        }
+    }
+
+    SpreadsheetCellType<?> getType(int column) {
+        return types[column];
+    }
+
+    Object get(int row, int column) {
+        return columns[column].get(row);
+    }
+
+    void set(int row, int column, Object value) {
+        if (!columns[column].set(row, value)) {
+            final Column previous = columns[column];
+            final ObjectColumn objectColumn = new ObjectColumn(rowCount);
+            for (int i = 0; i < rowCount; ++i) {
+                objectColumn.set(i, previous.get(i));
+            }
+            objectColumn.set(row, value);
+            columns[column] = objectColumn;
+        }
+    }
+
+    private static abstract class Column {
+
+        abstract Object get(int row);
+
+        /**
+         * @return false if the value cannot be stored in this column.
+         */
+        abstract boolean set(int row, Object value);
+    }
+
+    private static final class DoubleColumn extends Column {
+        private final double[] values;
+        private final BitSet present = new BitSet();
+
+        DoubleColumn(int rowCount) {
+            values = new double[rowCount];
+        }
+
+        @Override
+        Object get(int row) {
+            return present.get(row) ? values[row] : null;
+        }
+
+        @Override
+        boolean set(int row, Object value) {
+            if (value == null) {
+                present.clear(row);
+            } else if (value instanceof Double) {
+                values[row] = (Double) value;
+                present.set(row);
+            } else {
+                return false;
+            }
+            return true;
+        }
+    }
+
+    private static final class IntegerColumn extends Column {
+        private final int[] values;
+        private final BitSet present = new BitSet();
+
+        IntegerColumn(int rowCount) {
+            values = new int[rowCount];
+        }
+
+        @Override
+        Object get(int row) {
+            return present.get(row) ? values[row] : null;
+        }
+
+        @Override
+        boolean set(int row, Object value) {
+            if (value == null) {
+                present.clear(row);
+            } else if (value instanceof Integer) {
+                values[row] = (Integer) value;
+                present.set(row);
+            } else {
+                return false;
+            }
+            return true;
+        }
+    }
+
+    private static final class StringColumn extends Column {
+        private final String[] values;
+
+        StringColumn(int rowCount) {
+            values = new String[rowCount];
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        boolean set(int row, Object value) {
+            if (value != null && !(value instanceof String)) {
+                return false;
+            }
+            values[row] = (String) value;
+            return true;
+        }
+    }
+
+    private static final class ObjectColumn extends Column {
+        private final Object[] values;
+
+        ObjectColumn(int rowCount) {
+            values = new Object[rowCount];
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        boolean set(int row, Object value) {
+            values[row] = value;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,549 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.controlsfx.control.spreadsheet;
+
+import com.sun.javafx.event.EventHandlerManager;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableSet;
+import javafx.event.Event;
+import javafx.event.EventDispatchChain;
+import javafx.event.EventHandler;
+import javafx.event.EventTarget;
+import javafx.event.EventType;
+import javafx.scene.Node;
+import javafx.scene.control.MenuItem;
+
+/**
+ * A memory-efficient {@link SpreadsheetCell} created by
+ * {@link GridBase#createCompactGrid(int, java.util.List) }.
+ *
+ * Unlike {@link SpreadsheetCellBase}, this cell does not hold its value: all
+ * the values of the {@link Grid} are stored column by column, in primitive
+ * arrays when possible. The properties, the style classes and the event
+ * handlers are only created when they are first requested, which usually
+ * happens only for the cells displayed on screen. Apart from that, this cell
+ * behaves like a {@link SpreadsheetCellBase}.
+ *
+ * @see GridBase#createCompactGrid(int, java.util.List)
+ */
+public final class CompactSpreadsheetCell implements SpreadsheetCell, EventTarget {
+
+    /***************************************************************************
+     * 
+     * Private Fields
+     * 
+     **************************************************************************/
+
+    private static final int EDITABLE_BIT_POSITION = 4;
+    private static final int WRAP_BIT_POSITION = 5;
+    private static final int POPUP_BIT_POSITION = 6;
+    private static final String DEFAULT_STYLE_CLASS = "spreadsheet-cell"; //$NON-NLS-1$
+
+    private final CompactCellStore store;
+    private final int row;
+    private final int column;
+    private int rowSpan = 1;
+    private int columnSpan = 1;
+    //Same bits as in SpreadsheetCellBase, editable by default.
+    private int propertyContainer = 1 << EDITABLE_BIT_POSITION;
+    private Extras extras;
+
+    /***************************************************************************
+     * 
+     * Constructor
+     * 
+     **************************************************************************/
+
+    CompactSpreadsheetCell(CompactCellStore store, int row, int column) {
+        this.store = store;
+        this.row = row;
+        this.column = column;
+    }
+
+    /***************************************************************************
+     * 
+     * Public Methods
+     * 
+     **************************************************************************/
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean match(Object value) {
+        return getCellType().match(value, getOptionsForEditor());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setItem(Object value) {
+        if (!isEditable()) {
+            return;
+        }
+        if (extras != null && extras.item != null) {
+            extras.item.set(value);
+        } else {
+            store.set(row, column, value);
+            updateText();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Object getItem() {
+        return store.get(row, column);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ObjectProperty<Object> itemProperty() {
+        final Extras currentExtras = getExtras();
+        if (currentExtras.item == null) {
+            currentExtras.item = new SimpleObjectProperty<Object>(this, "item", getItem()) { //$NON-NLS-1$
+                @Override
+                protected void invalidated() {
+                    store.set(row, column, get());
+                    updateText();
+                }
+            };
+        }
+        return currentExtras.item;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isEditable() {
+        return isSet(EDITABLE_BIT_POSITION);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setEditable(boolean editable) {
+        if (setMask(editable, EDITABLE_BIT_POSITION)) {
+            fireEvent(EDITABLE_EVENT_TYPE);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isWrapText() {
+        return isSet(WRAP_BIT_POSITION);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setWrapText(boolean wrapText) {
+        if (setMask(wrapText, WRAP_BIT_POSITION)) {
+            fireEvent(WRAP_EVENT_TYPE);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Object> getOptionsForEditor() {
+        return Collections.emptyList();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasPopup() {
+        return isSet(POPUP_BIT_POSITION);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setHasPopup(boolean value) {
+        setMask(value, POPUP_BIT_POSITION);
+        //We want to refresh the cell.
+        fireEvent(CORNER_EVENT_TYPE);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<MenuItem> getPopupItems() {
+        final Extras currentExtras = getExtras();
+        if (currentExtras.actionsList == null) {
+            currentExtras.actionsList = new ArrayList<>();
+        }
+        return currentExtras.actionsList;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setStyle(String style) {
+        if (style != null || (extras != null && extras.style != null)) {
+            styleProperty().set(style);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getStyle() {
+        return extras == null || extras.style == null ? null : extras.style.get();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public StringProperty styleProperty() {
+        final Extras currentExtras = getExtras();
+        if (currentExtras.style == null) {
+            currentExtras.style = new SimpleStringProperty();
+        }
+        return currentExtras.style;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void activateCorner(CornerPosition position) {
+        if (setMask(true, getCornerBitNumber(position))) {
+            fireEvent(CORNER_EVENT_TYPE);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void deactivateCorner(CornerPosition position) {
+        if (setMask(false, getCornerBitNumber(position))) {
+            fireEvent(CORNER_EVENT_TYPE);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isCornerActivated(CornerPosition position) {
+        return isSet(getCornerBitNumber(position));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public StringProperty formatProperty() {
+        final Extras currentExtras = getExtras();
+        if (currentExtras.format == null) {
+            currentExtras.format = new SimpleStringProperty(""); //$NON-NLS-1$
+            currentExtras.format.addListener((observable, oldValue, newValue) -> updateText());
+        }
+        return currentExtras.format;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getFormat() {
+        return extras == null || extras.format == null ? "" : extras.format.get(); //$NON-NLS-1$
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setFormat(String format) {
+        if (!Objects.equals(format, getFormat())) {
+            formatProperty().set(format);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReadOnlyStringProperty textProperty() {
+        final Extras currentExtras = getExtras();
+        if (currentExtras.text == null) {
+            currentExtras.text = new SimpleStringProperty(computeText());
+        }
+        return currentExtras.text;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getText() {
+        return extras == null || extras.text == null ? computeText() : extras.text.get();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SpreadsheetCellType getCellType() {
+        return store.getType(column);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRow() {
+        return row;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumn() {
+        return column;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowSpan() {
+        return rowSpan;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setRowSpan(int rowSpan) {
+        this.rowSpan = rowSpan;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnSpan() {
+        return columnSpan;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setColumnSpan(int columnSpan) {
+        this.columnSpan = columnSpan;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ObservableSet<String> getStyleClass() {
+        final Extras currentExtras = getExtras();
+        if (currentExtras.styleClass == null) {
+            currentExtras.styleClass = FXCollections.observableSet(DEFAULT_STYLE_CLASS);
+        }
+        return currentExtras.styleClass;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ObjectProperty<Node> graphicProperty() {
+        final Extras currentExtras = getExtras();
+        if (currentExtras.graphic == null) {
+            currentExtras.graphic = new SimpleObjectProperty<>();
+        }
+        return currentExtras.graphic;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setGraphic(Node graphic) {
+        if (graphic != null || (extras != null && extras.graphic != null)) {
+            graphicProperty().set(graphic);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Node getGraphic() {
+        return extras == null || extras.graphic == null ? null : extras.graphic.get();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Optional<String> getTooltip() {
+        return Optional.ofNullable(extras == null ? null : extras.tooltip);
+    }
+
+    /**
+     * Set a new tooltip for this cell.
+     * @param tooltip 
+     */
+    public void setTooltip(String tooltip) {
+        if (tooltip != null || extras != null) {
+            getExtras().tooltip = tooltip;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void addEventHandler(EventType<Event> eventType, EventHandler<Event> eventHandler) {
+        final Extras currentExtras = getExtras();
+        if (currentExtras.eventHandlerManager == null) {
+            currentExtras.eventHandlerManager = new EventHandlerManager(this);
+        }
+        currentExtras.eventHandlerManager.addEventHandler(eventType, eventHandler);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void removeEventHandler(EventType<Event> eventType, EventHandler<Event> eventHandler) {
+        if (extras != null && extras.eventHandlerManager != null) {
+            extras.eventHandlerManager.removeEventHandler(eventType, eventHandler);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public EventDispatchChain buildEventDispatchChain(EventDispatchChain tail) {
+        return extras == null || extras.eventHandlerManager == null ? tail : tail.append(extras.eventHandlerManager);
+    }
+
+    /***************************************************************************
+     * 
+     * Overridden Methods
+     * 
+     **************************************************************************/
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "cell[" + row + "][" + column + "]" + rowSpan + "-" + columnSpan; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof SpreadsheetCell)) {
+            return false;
+        }
+
+        final SpreadsheetCell otherCell = (SpreadsheetCell) obj;
+        final Set<String> otherStyleClass = otherCell instanceof CompactSpreadsheetCell
+                ? ((CompactSpreadsheetCell) otherCell).styleClasses() : otherCell.getStyleClass();
+        return otherCell.getRow() == row && otherCell.getColumn() == column
+                && Objects.equals(otherCell.getText(), getText())
+                && rowSpan == otherCell.getRowSpan()
+                && columnSpan == otherCell.getColumnSpan()
+                && Objects.equals(styleClasses(), otherStyleClass);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + column;
+        result = prime * result + row;
+        result = prime * result + rowSpan;
+        result = prime * result + columnSpan;
+        result = prime * result + Objects.hashCode(getText());
+        result = prime * result + Objects.hashCode(styleClasses());
+        return result;
+    }
+
+    /***************************************************************************
+     * 
+     * Private Implementation
+     * 
+     **************************************************************************/
+
+    private Extras getExtras() {
+        if (extras == null) {
+            extras = new Extras();
+        }
+        return extras;
+    }
+
+    /**
+     * Return the style classes without creating them.
+     */
+    private Set<String> styleClasses() {
+        return extras == null || extras.styleClass == null
+                ? Collections.singleton(DEFAULT_STYLE_CLASS) : extras.styleClass;
+    }
+
+    /**
+     * Only update the text property if someone has requested it, otherwise
+     * the text is computed on demand.
+     */
+    private void updateText() {
+        if (extras != null && extras.text != null) {
+            extras.text.set(computeText());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private String computeText() {
+        final Object item = getItem();
+        if (item == null) {
+            return ""; //$NON-NLS-1$
+        }
+        final SpreadsheetCellType type = getCellType();
+        final String format = getFormat();
+        return "".equals(format) ? type.toString(item) : type.toString(item, format); //$NON-NLS-1$
+    }
+
+    /**
+     * Events are only fired if someone is listening.
+     */
+    private void fireEvent(EventType<Event> eventType) {
+        if (extras != null && extras.eventHandlerManager != null) {
+            Event.fireEvent(this, new Event(eventType));
+        }
+    }
+
+    private int getCornerBitNumber(CornerPosition position) {
+        switch (position) {
+            case TOP_LEFT:
+                return 0;
+
+            case TOP_RIGHT:
+                return 1;
+
+            case BOTTOM_RIGHT:
+                return 2;
+
+            case BOTTOM_LEFT:
+            default:
+                return 3;
+        }
+    }
+
+    private boolean setMask(boolean flag, int position) {
+        int oldCorner = propertyContainer;
+        if (flag) {
+            propertyContainer |= (1 << position);
+        } else {
+            propertyContainer &= ~(1 << position);
+        }
+        return propertyContainer != oldCorner;
+    }
+
+    private boolean isSet(int position) {
+        return (propertyContainer & (1 << position)) != 0;
+    }
+
+    /**
+     * Everything that is only created when first requested.
+     */
+    private static final class Extras {
+        private ObjectProperty<Object> item;
+        private StringProperty text;
+        private StringProperty format;
+        private StringProperty style;
+        private ObjectProperty<Node> graphic;
+        private ObservableSet<String> styleClass;
+        private EventHandlerManager eventHandlerManager;
+        private List<MenuItem> actionsList;
+        private String tooltip;
+    }
+}
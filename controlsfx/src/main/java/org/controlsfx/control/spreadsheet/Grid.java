@@ -114,6 +114,57 @@ public interface Grid {
      * @param value the value to set to the {@code SpreadsheetCell}
      */
     public void setCellValue(int row, int column, Object value);
+
+    /**
+     * Changes all the values of the given range at once. The value
+     * {@code values[i][j]} is given to the cell situated at
+     * {@code range.getTop() + i} and {@code range.getLeft() + j}. The values
+     * are applied within a bulk update, see {@link #beginUpdate() }.
+     *
+     * @param range the area of the {@code Grid} to modify
+     * @param values the values to set, row by row
+     * @throws IllegalArgumentException if the dimensions of the values do not
+     * match the range
+     */
+    public default void setCellValues(GridRange range, Object[][] values) {
+        if (values.length != range.getRowCount()) {
+            throw new IllegalArgumentException("The values do not match the number of rows of the range"); //$NON-NLS-1$
+        }
+        beginUpdate();
+        try {
+            for (int i = 0; i < values.length; ++i) {
+                if (values[i].length != range.getColumnCount()) {
+                    throw new IllegalArgumentException("The values do not match the number of columns of the range"); //$NON-NLS-1$
+                }
+                for (int j = 0; j < values[i].length; ++j) {
+                    setCellValue(range.getTop() + i, range.getLeft() + j, values[i][j]);
+                }
+            }
+        } finally {
+            endUpdate();
+        }
+    }
+
+    /**
+     * Starts a bulk update. Until the matching call to {@link #endUpdate() },
+     * the values changed with {@link #setCellValue(int, int, java.lang.Object) }
+     * do not fire any {@link GridChange} event. Instead a single
+     * {@link GridChangeBatch} is fired at the end of the update. Bulk updates
+     * can be nested.
+     *
+     * The default implementation does nothing.
+     */
+    public default void beginUpdate() {
+    }
+
+    /**
+     * Ends a bulk update started with {@link #beginUpdate() }. This method
+     * must be called in a {@code finally} block.
+     *
+     * The default implementation does nothing.
+     */
+    public default void endUpdate() {
+    }
     
     /**
      * Returns the height of a row. {@link #AUTOFIT } can be returned in order
@@ -231,6 +282,29 @@ public interface Grid {
      * @return {@code true} if the given cell will display a selection rectangle
      */
     public boolean isCellDisplaySelection(int row, int column);
+
+    /**
+     * Returns the cells whose display of the selection differs from
+     * {@link #isDisplaySelection() } because of a call to
+     * {@link #setCellDisplaySelection(int, int, boolean) }. This allows
+     * checking a large area without calling
+     * {@link #isCellDisplaySelection(int, int) } on each of its cells.
+     *
+     * <p>The cells are given in model coordinates, as disjoint
+     * {@code GridRange}s made only of overriding cells. Adjacent cells may be
+     * merged into one range, for example the consecutive cells of a row, so
+     * the caller must not expect one range per cell.
+     *
+     * <p>The default implementation returns {@code null}, meaning that each
+     * cell must be checked.
+     *
+     * @return the disjoint ranges of the cells overriding
+     * {@link #isDisplaySelection() }, or {@code null} if they are not known
+     */
+    public default Collection<GridRange> getCellDisplaySelectionOverrides() {
+        return null;
+    }
+
     /**
      * Registers an event handler to this Grid. The Grid class allows 
      * registration of listeners which will be notified as a {@link SpreadsheetCell}'s value 
@@ -255,4 +329,30 @@ public interface Grid {
      * @throws NullPointerException if the event type or handler is null
      */
     public <E extends GridChange> void removeEventHandler(EventType<E> eventType, EventHandler<E> eventHandler);
+
+    /**
+     * Registers a handler which will be notified with a
+     * {@link GridChangeBatch} as several {@link SpreadsheetCell}'s values have
+     * changed, at the end of a bulk update (see {@link #beginUpdate() }).
+     *
+     * The default implementation does nothing, as the default bulk update
+     * does not gather any change.
+     *
+     * @param eventHandler the handler to register
+     * @throws NullPointerException if the handler is null
+     */
+    public default void addGridChangeBatchHandler(EventHandler<GridChangeBatch> eventHandler) {
+    }
+
+    /**
+     * Unregisters a handler previously registered with
+     * {@link #addGridChangeBatchHandler(javafx.event.EventHandler) }.
+     *
+     * The default implementation does nothing.
+     *
+     * @param eventHandler the handler to unregister
+     * @throws NullPointerException if the handler is null
+     */
+    public default void removeGridChangeBatchHandler(EventHandler<GridChangeBatch> eventHandler) {
+    }
 }
\ No newline at end of file
@@ -28,11 +28,16 @@ package org.controlsfx.control.spreadsheet;
 
 import com.sun.javafx.event.EventHandlerManager;
 import static impl.org.controlsfx.spreadsheet.RectangleSelection.SelectionRange.key;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeSet;
+import javafx.application.Platform;
 import javafx.beans.Observable;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
@@ -146,6 +151,50 @@ import javafx.util.Callback;
  * 
  * </pre>
  *
+ * <h3>Big grids</h3>
+ *
+ * Every {@link SpreadsheetCellBase} holds its own properties, which becomes
+ * expensive for grids of millions of cells. In that case, you can use
+ * {@link #createCompactGrid(int, java.util.List) } which fills the grid with
+ * {@link CompactSpreadsheetCell}. The values are then stored column by column,
+ * and the properties of each cell are only created when needed.
+ *
+ * <pre>
+ * GridBase grid = GridBase.createCompactGrid(2000000,
+ *         Arrays.asList(SpreadsheetCellType.STRING, SpreadsheetCellType.DOUBLE, SpreadsheetCellType.INTEGER));
+ * grid.setCellValue(0, 1, 42.0);
+ * </pre>
+ *
+ * <h3>Bulk updates</h3>
+ *
+ * Firing one {@link GridChange} per cell can be costly when many values are
+ * modified, for example when pasting a big area or when receiving a lot of
+ * updates. In that case, you can use {@link #setCellValues(GridRange, Object[][])
+ * } or surround your modifications with {@link #beginUpdate() } and
+ * {@link #endUpdate() }. No {@link GridChange} is fired during the update, but
+ * a single {@link GridChangeBatch} is fired at the end with every change and
+ * the changed ranges.
+ * <br>
+ * The batches are received with
+ * {@link #addGridChangeBatchHandler(javafx.event.EventHandler) }. As long as
+ * such a handler is registered, the values changed one by one outside of a
+ * bulk update are also gathered into one {@link GridChangeBatch} per pulse,
+ * fired on the JavaFX Application Thread. So listeners only needing to know
+ * that something has changed can simply listen to the batches. The paste and
+ * the deletion done by the {@link SpreadsheetView} are not bulk updates, so
+ * they still fire one {@link GridChange} per modified cell.
+ *
+ * <pre>
+ * grid.beginUpdate();
+ * try {
+ *     for (Tick tick : ticks) {
+ *         grid.setCellValue(tick.getRow(), tick.getColumn(), tick.getPrice());
+ *     }
+ * } finally {
+ *     grid.endUpdate();
+ * }
+ * </pre>
+ *
  * <h3>Display selection</h3>
  *
  * By default, the SpreadsheetView will display a black rectangle around your
@@ -187,6 +236,10 @@ public class GridBase implements Grid, EventTarget {
     private final TreeSet<Long> displaySelectionCells = new TreeSet<>();
     private final TreeSet<Long> noDisplaySelectionCells = new TreeSet<>();
     private final BooleanProperty displaySelection = new SimpleBooleanProperty(true);
+    private final PendingChanges pendingChanges = new PendingChanges();
+    private final List<EventHandler<GridChangeBatch>> batchHandlers = new ArrayList<>();
+    private int updateCount;
+    private volatile boolean flushScheduled;
 
     /***************************************************************************
      * 
@@ -215,6 +268,34 @@ public class GridBase implements Grid, EventTarget {
         resizableRow.set(0, rowCount, true);
     }
 
+    /**
+     * Creates a {@code GridBase} filled with {@link CompactSpreadsheetCell}.
+     * Each column has the type given in {@code columnTypes}, and all the values
+     * are null. The values are stored column by column, in primitive arrays
+     * for the {@link SpreadsheetCellType#DOUBLE} and
+     * {@link SpreadsheetCellType#INTEGER} columns. This is the preferred way to
+     * build very big grids.
+     *
+     * @param rowCount the number of rows
+     * @param columnTypes the type of each column
+     * @return a {@code GridBase} filled with {@link CompactSpreadsheetCell}
+     */
+    public static GridBase createCompactGrid(int rowCount, List<SpreadsheetCellType<?>> columnTypes) {
+        final int columnCount = columnTypes.size();
+        final GridBase grid = new GridBase(rowCount, columnCount);
+        final CompactCellStore store = new CompactCellStore(rowCount, columnTypes);
+        final List<ObservableList<SpreadsheetCell>> rows = new ArrayList<>(rowCount);
+        final SpreadsheetCell[] cells = new SpreadsheetCell[columnCount];
+        for (int row = 0; row < rowCount; ++row) {
+            for (int column = 0; column < columnCount; ++column) {
+                cells[column] = new CompactSpreadsheetCell(store, row, column);
+            }
+            rows.add(FXCollections.observableArrayList(cells));
+        }
+        grid.setRows(rows);
+        return grid;
+    }
+
     /***************************************************************************
      * 
      * Public Methods (Inherited from Grid)
@@ -236,12 +317,37 @@ public class GridBase implements Grid, EventTarget {
             Object convertedValue = cell.getCellType().convertValue(value);
             cell.setItem(convertedValue);
             if (!java.util.Objects.equals(previousItem, cell.getItem())) {
-                GridChange cellChange = new GridChange(cell.getRow(), cell.getColumn(), previousItem, convertedValue);
-                Event.fireEvent(this, cellChange);
+                if (updateCount > 0) {
+                    pendingChanges.add(cell.getRow(), cell.getColumn(), previousItem, convertedValue);
+                } else {
+                    GridChange cellChange = new GridChange(cell.getRow(), cell.getColumn(), previousItem, convertedValue);
+                    Event.fireEvent(this, cellChange);
+                    if (!batchHandlers.isEmpty()) {
+                        pendingChanges.add(cell.getRow(), cell.getColumn(), previousItem, convertedValue);
+                        scheduleFlush();
+                    }
+                }
             }
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void beginUpdate() {
+        ++updateCount;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void endUpdate() {
+        if (updateCount == 0) {
+            throw new IllegalStateException("endUpdate called without a matching beginUpdate"); //$NON-NLS-1$
+        }
+        if (--updateCount == 0) {
+            flushChanges();
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public int getRowCount() {
@@ -421,6 +527,58 @@ public class GridBase implements Grid, EventTarget {
         }
         return isDisplaySelection();
     }
+
+    /** {@inheritDoc} */
+    @Override
+    public Collection<GridRange> getCellDisplaySelectionOverrides() {
+        final TreeSet<Long> overrides = isDisplaySelection() ? noDisplaySelectionCells : displaySelectionCells;
+        final List<GridRange> ranges = new ArrayList<>();
+        // the ranges which may still grow down, by their columns
+        final Map<Long, int[]> openRanges = new HashMap<>();
+        // the cells are sorted by row then column, consecutive ones are merged
+        int row = -1;
+        int left = -1;
+        int right = -1;
+        for (Long key : overrides) {
+            final int keyRow = (int) (key >> 32);
+            final int keyColumn = (int) (key & 0xffFFffFF);
+            if (keyRow == row && keyColumn == right + 1) {
+                right = keyColumn;
+                continue;
+            }
+            if (row >= 0) {
+                addOverrideRun(row, left, right, openRanges, ranges);
+            }
+            row = keyRow;
+            left = keyColumn;
+            right = keyColumn;
+        }
+        if (row >= 0) {
+            addOverrideRun(row, left, right, openRanges, ranges);
+        }
+        for (int[] range : openRanges.values()) {
+            ranges.add(new GridRange(range[0], range[1], range[2], range[3]));
+        }
+        ranges.sort(Comparator.comparingInt(GridRange::getTop).thenComparingInt(GridRange::getLeft));
+        return ranges;
+    }
+
+    /**
+     * Adds the cells of the row from left to right, extending the range right
+     * above them when it covers the same columns.
+     */
+    private static void addOverrideRun(int row, int left, int right, Map<Long, int[]> openRanges, List<GridRange> ranges) {
+        final Long columns = key(left, right);
+        final int[] range = openRanges.get(columns);
+        if (range != null && range[1] == row - 1) {
+            range[1] = row;
+            return;
+        }
+        if (range != null) {
+            ranges.add(new GridRange(range[0], range[1], range[2], range[3]));
+        }
+        openRanges.put(columns, new int[] { row, row, left, right });
+    }
     
     /** {@inheritDoc} */
     @Override
@@ -434,6 +592,20 @@ public class GridBase implements Grid, EventTarget {
         eventHandlerManager.removeEventHandler(eventType, eventHandler);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void addGridChangeBatchHandler(EventHandler<GridChangeBatch> eventHandler) {
+        eventHandlerManager.addEventHandler(GridChangeBatch.GRID_CHANGE_BATCH_EVENT, eventHandler);
+        batchHandlers.add(eventHandler);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void removeGridChangeBatchHandler(EventHandler<GridChangeBatch> eventHandler) {
+        eventHandlerManager.removeEventHandler(GridChangeBatch.GRID_CHANGE_BATCH_EVENT, eventHandler);
+        batchHandlers.remove(eventHandler);
+    }
+
     /** {@inheritDoc} */
     @Override
     public EventDispatchChain buildEventDispatchChain(EventDispatchChain tail) {
@@ -446,6 +618,34 @@ public class GridBase implements Grid, EventTarget {
      * 
      **************************************************************************/
 
+    /**
+     * The values changed one by one are gathered until the next pulse, even
+     * when they are changed from another thread. The flag is cleared before
+     * the changes are taken, so a change added meanwhile schedules a new
+     * flush.
+     */
+    private void scheduleFlush() {
+        if (flushScheduled) {
+            return;
+        }
+        flushScheduled = true;
+        Platform.runLater(() -> {
+            flushScheduled = false;
+            if (updateCount == 0) {
+                flushChanges();
+            }
+        });
+    }
+
+    /**
+     * Fires a {@link GridChangeBatch} with all the pending changes, if any.
+     */
+    private void flushChanges() {
+        if (!pendingChanges.isEmpty()) {
+            Event.fireEvent(this, pendingChanges.toBatch());
+        }
+    }
+
     /**
      * Set a new rowCount for the grid.
      * 
@@ -464,6 +664,51 @@ public class GridBase implements Grid, EventTarget {
         this.columnCount = columnCount;
     }
 
+    /**
+     * The changes not yet notified with a {@link GridChangeBatch}, stored in
+     * primitive arrays. The changes can be added from another thread than the
+     * one firing the batch.
+     */
+    private static final class PendingChanges {
+        private int[] rows = new int[16];
+        private int[] columns = new int[16];
+        private Object[] oldValues = new Object[16];
+        private Object[] newValues = new Object[16];
+        private int size;
+
+        synchronized void add(int row, int column, Object oldValue, Object newValue) {
+            if (size == rows.length) {
+                final int length = size * 2;
+                rows = Arrays.copyOf(rows, length);
+                columns = Arrays.copyOf(columns, length);
+                oldValues = Arrays.copyOf(oldValues, length);
+                newValues = Arrays.copyOf(newValues, length);
+            }
+            rows[size] = row;
+            columns[size] = column;
+            oldValues[size] = oldValue;
+            newValues[size] = newValue;
+            ++size;
+        }
+
+        synchronized boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Hands the arrays over to a new batch and starts again from scratch.
+         */
+        synchronized GridChangeBatch toBatch() {
+            final GridChangeBatch batch = new GridChangeBatch(rows, columns, oldValues, newValues, size);
+            rows = new int[16];
+            columns = new int[16];
+            oldValues = new Object[16];
+            newValues = new Object[16];
+            size = 0;
+            return batch;
+        }
+    }
+
     /**
      * This class serves as a bridge between row height Callback needed by the
      * GridBase and a Map&lt;Integer,Double&gt; that one could have (each Integer
@@ -0,0 +1,192 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.controlsfx.control.spreadsheet;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import javafx.event.Event;
+import javafx.event.EventType;
+
+/**
+ * This class represents several changes happening in a {@link Grid} at once.
+ * It is fired when a bulk update ends (see {@link Grid#beginUpdate() }), and
+ * by {@link GridBase} once per pulse for all the values changed one by one
+ * with {@link Grid#setCellValue(int, int, java.lang.Object) }.
+ *
+ * Listeners that only need to know that something has changed should be
+ * registered with {@link Grid#addGridChangeBatchHandler(javafx.event.EventHandler) }
+ * rather than listen to every {@link GridChange#GRID_CHANGE_EVENT}.
+ * Note that no {@link GridChange#GRID_CHANGE_EVENT} is fired for the values
+ * changed during a bulk update, they are only available with
+ * {@link #getChanges() }.
+ *
+ * @see Grid
+ * @see GridChange
+ */
+public class GridChangeBatch extends Event implements Serializable {
+
+    /**
+     * This is the event used by {@link GridChangeBatch}.
+     */
+    public static final EventType<GridChangeBatch> GRID_CHANGE_BATCH_EVENT
+            = new EventType<>(Event.ANY, "GridChangeBatch" + UUID.randomUUID().toString()); //$NON-NLS-1$
+
+    private static final long serialVersionUID = -4321406335725580216L;
+    private final int[] rows;
+    private final int[] columns;
+    private final Object[] oldValues;
+    private final Object[] newValues;
+    private final int size;
+    private transient List<GridRange> ranges;
+
+    /**
+     * Constructor of a GridChangeBatch. The changes are given in the order
+     * they happened, and the arrays are not copied.
+     *
+     * @param rows the row index of each change
+     * @param columns the column index of each change
+     * @param oldValues the previous value of each change
+     * @param newValues the current value of each change
+     * @param size the number of changes
+     */
+    public GridChangeBatch(int[] rows, int[] columns, Object[] oldValues, Object[] newValues, int size) {
+        super(GRID_CHANGE_BATCH_EVENT);
+        this.rows = rows;
+        this.columns = columns;
+        this.oldValues = oldValues;
+        this.newValues = newValues;
+        this.size = size;
+    }
+
+    /**
+     * Returns the number of cell changes contained in this batch.
+     *
+     * @return the number of cell changes contained in this batch
+     */
+    public int getChangeCount() {
+        return size;
+    }
+
+    /**
+     * Returns every cell change of this batch, in the order they happened.
+     * The {@link GridChange} are created on demand.
+     *
+     * @return every cell change of this batch
+     */
+    public List<GridChange> getChanges() {
+        return new AbstractList<GridChange>() {
+            @Override
+            public GridChange get(int index) {
+                if (index < 0 || index >= size) {
+                    throw new IndexOutOfBoundsException();
+                }
+                return new GridChange(rows[index], columns[index], oldValues[index], newValues[index]);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Returns the areas of the {@link Grid} that have changed, adjacent cells
+     * being coalesced into rectangles.
+     *
+     * @return the areas of the {@link Grid} that have changed
+     */
+    public List<GridRange> getRanges() {
+        if (ranges == null) {
+            ranges = Collections.unmodifiableList(computeRanges());
+        }
+        return ranges;
+    }
+
+    /**
+     * Coalesces consecutive changed cells into row runs, and identical runs
+     * on consecutive rows into a single range.
+     */
+    private List<GridRange> computeRanges() {
+        final long[] keys = new long[size];
+        for (int i = 0; i < size; ++i) {
+            keys[i] = (((long) rows[i]) << 32) | columns[i];
+        }
+        Arrays.sort(keys);
+        final List<GridRange> result = new ArrayList<>();
+        // Runs of the previous row, indexed by their columns, waiting to be extended.
+        Map<Long, int[]> previousRuns = new HashMap<>();
+        Map<Long, int[]> currentRuns = new HashMap<>();
+        int currentRow = Integer.MIN_VALUE;
+        int i = 0;
+        while (i < keys.length) {
+            final int row = (int) (keys[i] >> 32);
+            final int left = (int) keys[i];
+            int right = left;
+            ++i;
+            while (i < keys.length && (int) (keys[i] >> 32) == row && (int) keys[i] <= right + 1) {
+                right = Math.max(right, (int) keys[i]);
+                ++i;
+            }
+            if (row != currentRow) {
+                //The runs not extended on the current row are over.
+                closeRuns(previousRuns, result);
+                if (row != currentRow + 1) {
+                    closeRuns(currentRuns, result);
+                }
+                previousRuns = currentRuns;
+                currentRuns = new HashMap<>();
+                currentRow = row;
+            }
+            final Long runKey = (((long) left) << 32) | right;
+            int[] run = previousRuns.remove(runKey);
+            if (run == null) {
+                run = new int[]{row, row, left, right};
+            } else {
+                run[1] = row;
+            }
+            currentRuns.put(runKey, run);
+        }
+        closeRuns(previousRuns, result);
+        closeRuns(currentRuns, result);
+        return result;
+    }
+
+    private static void closeRuns(Map<Long, int[]> runs, List<GridRange> result) {
+        for (int[] run : runs.values()) {
+            result.add(new GridRange(run[0], run[1], run[2], run[3]));
+        }
+        runs.clear();
+    }
+}
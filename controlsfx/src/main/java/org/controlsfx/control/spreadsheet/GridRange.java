@@ -0,0 +1,187 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.controlsfx.control.spreadsheet;
+
+import java.io.Serializable;
+
+/**
+ * An immutable rectangular area of a {@link Grid}, delimited by its top and
+ * bottom rows and its left and right columns. All bounds are inclusive.
+ *
+ * @see SpreadsheetViewSelectionModel#getSelectedRanges()
+ */
+public final class GridRange implements Serializable {
+
+    private static final long serialVersionUID = 5279478427395093311L;
+
+    private final int top;
+    private final int bottom;
+    private final int left;
+    private final int right;
+
+    /**
+     * Creates a GridRange. The bounds are swapped if needed so that top is
+     * always lower or equal to bottom, and left lower or equal to right.
+     *
+     * @param top the first row of the range
+     * @param bottom the last row of the range
+     * @param left the first column of the range
+     * @param right the last column of the range
+     */
+    public GridRange(int top, int bottom, int left, int right) {
+        this.top = Math.min(top, bottom);
+        this.bottom = Math.max(top, bottom);
+        this.left = Math.min(left, right);
+        this.right = Math.max(left, right);
+    }
+
+    /**
+     * Returns the first row of this range.
+     *
+     * @return the first row of this range
+     */
+    public int getTop() {
+        return top;
+    }
+
+    /**
+     * Returns the last row of this range.
+     *
+     * @return the last row of this range
+     */
+    public int getBottom() {
+        return bottom;
+    }
+
+    /**
+     * Returns the first column of this range.
+     *
+     * @return the first column of this range
+     */
+    public int getLeft() {
+        return left;
+    }
+
+    /**
+     * Returns the last column of this range.
+     *
+     * @return the last column of this range
+     */
+    public int getRight() {
+        return right;
+    }
+
+    /**
+     * Returns the number of rows covered by this range.
+     *
+     * @return the number of rows covered by this range
+     */
+    public int getRowCount() {
+        return bottom - top + 1;
+    }
+
+    /**
+     * Returns the number of columns covered by this range.
+     *
+     * @return the number of columns covered by this range
+     */
+    public int getColumnCount() {
+        return right - left + 1;
+    }
+
+    /**
+     * Returns the number of cells covered by this range.
+     *
+     * @return the number of cells covered by this range
+     */
+    public long getCellCount() {
+        return (long) getRowCount() * getColumnCount();
+    }
+
+    /**
+     * Returns true if the given position is inside this range.
+     *
+     * @param row the row to test
+     * @param column the column to test
+     * @return true if the given position is inside this range
+     */
+    public boolean contains(int row, int column) {
+        return row >= top && row <= bottom && column >= left && column <= right;
+    }
+
+    /**
+     * Returns true if the given range is entirely inside this range.
+     *
+     * @param range the range to test
+     * @return true if the given range is entirely inside this range
+     */
+    public boolean contains(GridRange range) {
+        return range.top >= top && range.bottom <= bottom
+                && range.left >= left && range.right <= right;
+    }
+
+    /**
+     * Returns true if this range and the given range have at least one cell
+     * in common.
+     *
+     * @param range the range to test
+     * @return true if both ranges overlap
+     */
+    public boolean intersects(GridRange range) {
+        return range.top <= bottom && range.bottom >= top
+                && range.left <= right && range.right >= left;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof GridRange)) {
+            return false;
+        }
+        final GridRange other = (GridRange) obj;
+        return top == other.top && bottom == other.bottom
+                && left == other.left && right == other.right;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 31 * hash + top;
+        hash = 31 * hash + bottom;
+        hash = 31 * hash + left;
+        hash = 31 * hash + right;
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "GridRange[top=" + top + ", bottom=" + bottom //$NON-NLS-1$ //$NON-NLS-2$
+                + ", left=" + left + ", right=" + right + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+}
@@ -0,0 +1,477 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.controlsfx.control.spreadsheet;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableListBase;
+
+/**
+ * A {@link Grid} whose rows are loaded on demand, page by page, from a
+ * {@link PageProvider}. This is useful to display result sets of millions of
+ * rows that live in a local store.
+ *
+ * <p>
+ * Only the pages containing the rows actually displayed by the
+ * {@link SpreadsheetView} are fetched. They are kept in a LRU cache whose size
+ * can be configured, and the pages around the displayed ones are fetched in
+ * advance on a background thread so that scrolling stays smooth. The row
+ * count, and the rows containing a row span, are given by the provider
+ * instead of being computed by scanning all the rows.
+ *
+ * <p>
+ * Because the rows are not all in memory, the {@link SpreadsheetView} cannot
+ * sort or hide the rows of a PagedGrid, this must be done by the provider.
+ * The {@link #spanRow(int, int, int) } and {@link #spanColumn(int, int, int) }
+ * methods are not supported either: the spans are given by the cells the
+ * provider creates.
+ *
+ * <h3>Code Sample</h3>
+ * <pre>
+ * PagedGrid grid = new PagedGrid(new PagedGrid.PageProvider() {
+ *     public int getRowCount() {
+ *         return store.size();
+ *     }
+ *
+ *     public int getColumnCount() {
+ *         return 5;
+ *     }
+ *
+ *     public List&lt;ObservableList&lt;SpreadsheetCell&gt;&gt; fetchRows(int start, int count) {
+ *         return store.readRows(start, count);
+ *     }
+ * });
+ * SpreadsheetView spv = new SpreadsheetView(grid);
+ * </pre>
+ *
+ * @see GridBase
+ */
+public class PagedGrid extends GridBase {
+
+    private static final Logger LOGGER = Logger.getLogger(PagedGrid.class.getName());
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int DEFAULT_MAXIMUM_PAGES = 50;
+
+    /**
+     * Pages are prefetched on a single background thread shared by all the
+     * PagedGrid.
+     */
+    private static ExecutorService prefetchExecutor;
+
+    private final PageProvider provider;
+    private final int pageSize;
+    private final int maximumPages;
+    private final PagedRows pagedRows;
+    private int rowCount;
+    private BitSet spannedRows;
+
+    /**
+     * Creates a {@code PagedGrid} with pages of 100 rows, keeping at most 50
+     * pages in memory.
+     *
+     * @param provider the provider of the rows
+     */
+    public PagedGrid(PageProvider provider) {
+        this(provider, DEFAULT_PAGE_SIZE, DEFAULT_MAXIMUM_PAGES);
+    }
+
+    /**
+     * Creates a {@code PagedGrid}. The cache must be able to hold more rows
+     * than what is displayed on screen.
+     *
+     * @param provider the provider of the rows
+     * @param pageSize the number of rows fetched at once
+     * @param maximumPages the maximum number of pages kept in memory
+     */
+    public PagedGrid(PageProvider provider, int pageSize, int maximumPages) {
+        super(provider.getRowCount(), provider.getColumnCount());
+        if (pageSize <= 0 || maximumPages <= 2) {
+            throw new IllegalArgumentException("The page size must be positive and at least 3 pages must be kept"); //$NON-NLS-1$
+        }
+        this.provider = provider;
+        this.pageSize = pageSize;
+        this.maximumPages = maximumPages;
+        this.rowCount = provider.getRowCount();
+        pagedRows = new PagedRows();
+    }
+
+    /***************************************************************************
+     * 
+     * Public Methods
+     * 
+     **************************************************************************/
+
+    /**
+     * Returns a list that fetches the rows from the {@link PageProvider} when
+     * they are requested. This list cannot be modified.
+     *
+     * @return a list fetching the rows on demand
+     */
+    @Override
+    public ObservableList<ObservableList<SpreadsheetCell>> getRows() {
+        return pagedRows;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The new value is also given to the {@link PageProvider} so that it is
+     * not lost when the page is evicted from the cache.
+     */
+    @Override
+    public void setCellValue(int modelRow, int column, Object value) {
+        super.setCellValue(modelRow, column, value);
+        if (modelRow < getRowCount() && column < getColumnCount() && !isLocked()) {
+            final SpreadsheetCell cell = getRows().get(modelRow).get(column);
+            provider.commitValue(cell.getRow(), cell.getColumn(), cell.getItem());
+        }
+    }
+
+    /**
+     * Returns the rows containing at least one cell spanning on several rows,
+     * as given by the {@link PageProvider}.
+     *
+     * @return the rows containing a row span
+     */
+    public BitSet getSpannedRows() {
+        if (spannedRows == null) {
+            spannedRows = provider.getSpannedRows();
+        }
+        return spannedRows;
+    }
+
+    /**
+     * Drops all the cached pages and asks the {@link PageProvider} again for
+     * the row count and the spanned rows. The listeners of {@link #getRows() }
+     * are notified that every row has been replaced, so that the displayed
+     * rows are fetched again. If the row count has changed, the
+     * {@code PagedGrid} must also be given again to the
+     * {@link SpreadsheetView} with {@link SpreadsheetView#setGrid(org.controlsfx.control.spreadsheet.Grid)
+     * } so that its hidden rows and row heights are resized.
+     *
+     * This method must be called on the JavaFX thread.
+     */
+    public void refresh() {
+        final int previousRowCount = rowCount;
+        rowCount = provider.getRowCount();
+        spannedRows = null;
+        pagedRows.clearCache();
+        pagedRows.fireReplaced(previousRowCount);
+    }
+
+    /**
+     * This method is not supported, the spans are given by the
+     * {@link PageProvider}.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void spanRow(int count, int rowIndex, int colIndex) {
+        throw new UnsupportedOperationException("The spans of a PagedGrid are given by its PageProvider"); //$NON-NLS-1$
+    }
+
+    /**
+     * This method is not supported, the spans are given by the
+     * {@link PageProvider}.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void spanColumn(int count, int rowIndex, int colIndex) {
+        throw new UnsupportedOperationException("The spans of a PagedGrid are given by its PageProvider"); //$NON-NLS-1$
+    }
+
+    /**
+     * This method is not supported, the rows are given by the
+     * {@link PageProvider}.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void setRows(Collection<ObservableList<SpreadsheetCell>> rows) {
+        throw new UnsupportedOperationException("The rows of a PagedGrid are given by its PageProvider"); //$NON-NLS-1$
+    }
+
+    /***************************************************************************
+     * 
+     * Private implementation
+     * 
+     **************************************************************************/
+
+    private static synchronized ExecutorService getPrefetchExecutor() {
+        if (prefetchExecutor == null) {
+            prefetchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "PagedGrid prefetch"); //$NON-NLS-1$
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return prefetchExecutor;
+    }
+
+    /**
+     * The list of rows given to the SpreadsheetView. The pages are only
+     * accessed on the JavaFX thread, the prefetched pages are handed over
+     * with {@link Platform#runLater(java.lang.Runnable) }.
+     */
+    private final class PagedRows extends ObservableListBase<ObservableList<SpreadsheetCell>> {
+
+        private final LinkedHashMap<Integer, List<ObservableList<SpreadsheetCell>>> pages
+                = new LinkedHashMap<Integer, List<ObservableList<SpreadsheetCell>>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<ObservableList<SpreadsheetCell>>> eldest) {
+                return size() > maximumPages;
+            }
+        };
+        private final Map<Integer, FutureTask<List<ObservableList<SpreadsheetCell>>>> pendingPages = new HashMap<>();
+        /**
+         * The pages accessed since the last prefetch, which are the pages
+         * displayed by the SpreadsheetView.
+         */
+        private final BitSet accessedPages = new BitSet();
+        private int lastAccessedPage = -1;
+        private boolean prefetchScheduled;
+
+        @Override
+        public ObservableList<SpreadsheetCell> get(int index) {
+            if (index < 0 || index >= rowCount) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + rowCount); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            final int page = index / pageSize;
+            List<ObservableList<SpreadsheetCell>> rows = pages.get(page);
+            if (rows == null) {
+                rows = loadPage(page);
+            }
+            accessedPages.set(page);
+            if (!prefetchScheduled && Platform.isFxApplicationThread()) {
+                prefetchScheduled = true;
+                Platform.runLater(this::prefetchAroundAccessedPages);
+            }
+            return rows.get(index - page * pageSize);
+        }
+
+        @Override
+        public int size() {
+            return rowCount;
+        }
+
+        void clearCache() {
+            pages.clear();
+            for (Future<?> future : pendingPages.values()) {
+                future.cancel(false);
+            }
+            pendingPages.clear();
+            accessedPages.clear();
+            lastAccessedPage = -1;
+        }
+
+        /**
+         * Notifies that all the rows have been replaced. The previous rows are
+         * not available anymore, so they are given as nulls.
+         */
+        void fireReplaced(int previousRowCount) {
+            if (previousRowCount == 0 && rowCount == 0) {
+                return;
+            }
+            beginChange();
+            nextReplace(0, rowCount, Collections.<ObservableList<SpreadsheetCell>>nCopies(previousRowCount, null));
+            endChange();
+        }
+
+        /**
+         * Fetch the page right now. If it is waiting to be prefetched, the
+         * prefetch task is run here, or waited for if it is already running.
+         */
+        private List<ObservableList<SpreadsheetCell>> loadPage(int page) {
+            List<ObservableList<SpreadsheetCell>> rows = null;
+            final FutureTask<List<ObservableList<SpreadsheetCell>>> task = pendingPages.remove(page);
+            if (task != null) {
+                try {
+                    //Does nothing if the task is already running or done.
+                    task.run();
+                    rows = task.get();
+                } catch (InterruptedException | ExecutionException ex) {
+                    LOGGER.log(Level.WARNING, "Unable to prefetch the page " + page, ex); //$NON-NLS-1$
+                }
+            }
+            if (rows == null) {
+                rows = fetchPage(page);
+            }
+            pages.put(page, rows);
+            return rows;
+        }
+
+        private List<ObservableList<SpreadsheetCell>> fetchPage(int page) {
+            final int start = page * pageSize;
+            final int count = Math.min(pageSize, rowCount - start);
+            final List<ObservableList<SpreadsheetCell>> rows = provider.fetchRows(start, count);
+            if (rows.size() != count) {
+                throw new IllegalStateException("The PageProvider returned " + rows.size() //$NON-NLS-1$
+                        + " rows instead of " + count + " starting at row " + start); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            return rows;
+        }
+
+        /**
+         * Prefetches the pages around the pages accessed during the last
+         * pulse. As many pages as displayed are prefetched on each side, and
+         * twice as many in the scrolling direction, without exceeding what the
+         * cache can hold.
+         */
+        private void prefetchAroundAccessedPages() {
+            prefetchScheduled = false;
+            if (accessedPages.isEmpty()) {
+                return;
+            }
+            final int displayedPages = accessedPages.cardinality();
+            final int margin = Math.min(displayedPages, (maximumPages - displayedPages) / 3);
+            final int lastPage = accessedPages.length() - 1;
+            int before = margin;
+            int after = margin;
+            if (lastAccessedPage >= 0 && lastPage > lastAccessedPage) {
+                after += margin;
+            } else if (lastAccessedPage >= 0 && lastPage < lastAccessedPage) {
+                before += margin;
+            }
+            lastAccessedPage = lastPage;
+            for (int page = accessedPages.nextSetBit(0); page >= 0; page = accessedPages.nextSetBit(page + 1)) {
+                //The closest pages are queued first.
+                for (int distance = 1; distance <= Math.max(before, after); ++distance) {
+                    if (distance <= after) {
+                        prefetch(page + distance);
+                    }
+                    if (distance <= before) {
+                        prefetch(page - distance);
+                    }
+                }
+            }
+            accessedPages.clear();
+        }
+
+        private void prefetch(int page) {
+            if (page < 0 || page * pageSize >= rowCount || pages.containsKey(page) || pendingPages.containsKey(page)) {
+                return;
+            }
+            final FutureTask<List<ObservableList<SpreadsheetCell>>> task = new FutureTask<>(() -> fetchPage(page));
+            pendingPages.put(page, task);
+            getPrefetchExecutor().execute(() -> {
+                task.run();
+                Platform.runLater(() -> {
+                    //The page may have been loaded or dropped in the meantime.
+                    if (pendingPages.get(page) == task) {
+                        pendingPages.remove(page);
+                        try {
+                            pages.put(page, task.get());
+                        } catch (InterruptedException | ExecutionException ex) {
+                            LOGGER.log(Level.WARNING, "Unable to prefetch the page " + page, ex); //$NON-NLS-1$
+                        }
+                    }
+                });
+            });
+        }
+    }
+
+    /**
+     * Provides the rows of a {@link PagedGrid}.
+     *
+     * {@link #fetchRows(int, int) } may be called on a background thread when
+     * pages are prefetched.
+     */
+    public interface PageProvider {
+
+        /**
+         * Returns the total number of rows.
+         *
+         * @return the total number of rows
+         */
+        public int getRowCount();
+
+        /**
+         * Returns the number of columns.
+         *
+         * @return the number of columns
+         */
+        public int getColumnCount();
+
+        /**
+         * Returns {@code count} rows starting at the row {@code start}. Each
+         * row must contain {@link #getColumnCount() } cells, and each
+         * {@link SpreadsheetCell#getRow() } must be its index in the whole
+         * grid. Just like in {@link GridBase}, a span is materialized by the
+         * same cell instance repeated over the covered area, so a page should
+         * not cut a row span.
+         *
+         * @param start the index of the first row
+         * @param count the number of rows to return
+         * @return the requested rows
+         */
+        public List<ObservableList<SpreadsheetCell>> fetchRows(int start, int count);
+
+        /**
+         * Returns the rows containing at least one cell spanning on several
+         * rows. By default no row contains a row span.
+         *
+         * @return the rows containing a row span
+         */
+        public default BitSet getSpannedRows() {
+            return new BitSet();
+        }
+
+        /**
+         * Called when the value of a cell has been modified with
+         * {@link Grid#setCellValue(int, int, java.lang.Object) } so that the
+         * provider can store it. By default nothing is done, and the value
+         * is lost when the page is evicted from the cache.
+         *
+         * @param row the row of the modified cell
+         * @param column the column of the modified cell
+         * @param value the new value
+         */
+        public default void commitValue(int row, int column, Object value) {
+        }
+    }
+}
@@ -32,8 +32,9 @@ import impl.org.controlsfx.spreadsheet.CellView;
 import impl.org.controlsfx.spreadsheet.FocusModelListener;
 import impl.org.controlsfx.spreadsheet.GridViewBehavior;
 import impl.org.controlsfx.spreadsheet.GridViewSkin;
-import impl.org.controlsfx.spreadsheet.RectangleSelection.GridRange;
+import impl.org.controlsfx.spreadsheet.HiddenIndexMap;
 import impl.org.controlsfx.spreadsheet.RectangleSelection.SelectionRange;
+import impl.org.controlsfx.spreadsheet.SortedIndexMap;
 import impl.org.controlsfx.spreadsheet.SpreadsheetGridView;
 import impl.org.controlsfx.spreadsheet.SpreadsheetHandle;
 import impl.org.controlsfx.spreadsheet.TableViewSpanSelectionModel;
@@ -41,15 +42,15 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
@@ -362,6 +363,10 @@ public class SpreadsheetView extends Control{
      * Default width of the VerticalHeader.
      */
     private static final double DEFAULT_ROW_HEADER_WIDTH = 30.0;
+    /**
+     * Maximum number of cells pasted in one pulse.
+     */
+    private static final int PASTE_CHUNK_SIZE = 5000;
     /***************************************************************************
      * * Private Fields * *
      **************************************************************************/
@@ -369,6 +374,7 @@ public class SpreadsheetView extends Control{
     private final SpreadsheetGridView cellsView;// The main cell container.
     private SimpleObjectProperty<Grid> gridProperty = new SimpleObjectProperty<>();
     private DataFormat fmt;
+    private PasteOperation pasteOperation;
     
     private final ObservableList<Integer> fixedRows = FXCollections.observableArrayList();
     private final ObservableList<SpreadsheetColumn> fixedColumns = FXCollections.observableArrayList();
@@ -415,11 +421,16 @@ public class SpreadsheetView extends Control{
     //Used to get a row index directly from the ObservableList in filteredList.
     private IdentityHashMap<ObservableList<SpreadsheetCell>, Integer> identityMap;
     private final ObjectProperty<BitSet> hiddenColumnsProperty = new SimpleObjectProperty<>();
-    private HashMap<Integer, Integer> rowMap;
-    private HashMap<Integer, Integer> columnMap = new HashMap<>();
+    //Translate the model indexes to the view indexes, considering the hidden ones.
+    private final HiddenIndexMap rowMap = new HiddenIndexMap();
+    private final HiddenIndexMap columnMap = new HiddenIndexMap();
     private Integer filteredRow;
     private FilteredList<ObservableList<SpreadsheetCell>> filteredList;
     private SortedList<ObservableList<SpreadsheetCell>> sortedList;
+    //Kept across the grids, the comparator of each SortedList is bound to it.
+    private final ObjectProperty<Comparator<? super ObservableList<SpreadsheetCell>>> comparatorProperty = new SimpleObjectProperty<>(this, "comparator"); //$NON-NLS-1$
+    //Used to find the sorted index of a filtered index.
+    private SortedIndexMap sortedMap;
 
     /**
      * Since the default with applied to TableColumn is 80. If a user sets a
@@ -506,6 +517,16 @@ public class SpreadsheetView extends Control{
                 getCellsViewSkin().computeFixedRowHeight();
             }
         });
+        addEventHandler(RowHeightBatchEvent.ROW_HEIGHT_BATCH_CHANGE, (RowHeightBatchEvent event) -> {
+            if (getCellsViewSkin() != null) {
+                for (Integer fixedRow : getFixedRows()) {
+                    if (event.getHeights().containsKey(fixedRow)) {
+                        getCellsViewSkin().computeFixedRowHeight();
+                        break;
+                    }
+                }
+            }
+        });
         hiddenRowsProperty.addListener(new InvalidationListener() {
             @Override
             public void invalidated(Observable observable) {
@@ -657,9 +678,16 @@ public class SpreadsheetView extends Control{
      * Give a complete new BitSet of the hidden rows. The BitSet MUST have the
      * size of {@link Grid#getRowCount() }.
      *
+     * The rows of a {@link PagedGrid} cannot be hidden.
+     *
      * @param hiddenRows
+     * @throws UnsupportedOperationException if some rows are hidden while the
+     * grid is a {@link PagedGrid}
      */
     public void setHiddenRows(BitSet hiddenRows) {
+        if (getGrid() instanceof PagedGrid && !hiddenRows.isEmpty()) {
+            throw new UnsupportedOperationException("The rows of a PagedGrid cannot be hidden"); //$NON-NLS-1$
+        }
         BitSet bitSet = new BitSet(hiddenRows.size());
         bitSet.or(hiddenRows);
         
@@ -772,6 +800,11 @@ public class SpreadsheetView extends Control{
     }
 
     private void computeRowMap() {
+        if (filteredList == null) {
+            //The rows of a PagedGrid cannot be hidden.
+            rowMap.update(new BitSet(), getGrid().getRowCount(), -1);
+            return;
+        }
         if (getHiddenRows().isEmpty()) {
             filteredList.setPredicate(null);
         } else {
@@ -783,40 +816,23 @@ public class SpreadsheetView extends Control{
                 }
             });
         }
-        final int rowCount = getGrid().getRowCount();
-        rowMap = new HashMap<>(rowCount);
-        int visibleRow = 0;
-        for (int i = 0; i < rowCount; ++i) {
-            if (!getHiddenRows().get(i)) {
-                rowMap.put(i, visibleRow++);
-            } else {
-                rowMap.put(i, visibleRow);
-            }
-        }
+        /**
+         * The FilteredList keeps the filtered row even if hidden, so the row
+         * map must do the same in order to stay consistent.
+         */
+        rowMap.update(getHiddenRows(), getGrid().getRowCount(), getFilteredRow());
     }
 
     private void computeColumnMap() {
-        int columnCount = getGrid().getColumnCount();
-        columnMap = new HashMap<>(columnCount);
+        columnMap.update(getHiddenColumns(), getGrid().getColumnCount(), -1);
 
         //Toggling visibility can cause NotOnFxThread Exception.
         CellView.getValue(() -> {
             //Column count can have changed..
             final int columnSize = getColumns().size();
             int totalColumn = getGrid().getColumnCount();
-            int visibleColumn = 0;
-            for (int i = 0; i < totalColumn; ++i) {
-                if (!getHiddenColumns().get(i)) {
-                    if (i < columnSize) {
-                        getColumns().get(i).column.setVisible(true);
-                    }
-                    columnMap.put(i, visibleColumn++);
-                } else {
-                    if (i < columnSize) {
-                        getColumns().get(i).column.setVisible(false);
-                    }
-                    columnMap.put(i, visibleColumn);
-                }
+            for (int i = 0; i < totalColumn && i < columnSize; ++i) {
+                getColumns().get(i).column.setVisible(!getHiddenColumns().get(i));
             }
         });
     }
@@ -861,11 +877,7 @@ public class SpreadsheetView extends Control{
      * @return the index used in the SpreadsheetView.
      */
     public int getFilteredRow(int modelRow) {
-        try {
-            return rowMap.get(modelRow);
-        } catch (NullPointerException ex) {
-            return modelRow;
-        }
+        return rowMap.getViewIndex(modelRow);
     }
 
     /**
@@ -876,11 +888,7 @@ public class SpreadsheetView extends Control{
      * @return an index based on the visible columns in the SpreadsheetView.
      */
     public int getViewColumn(int modelColumn) {
-        try {
-            return columnMap.get(modelColumn);
-        } catch (NullPointerException ex) {
-            return modelColumn;
-        }
+        return columnMap.getViewIndex(modelColumn);
     }
 
     /**
@@ -893,18 +901,16 @@ public class SpreadsheetView extends Control{
      * SpreadsheetView.
      */
     public int getModelColumn(int viewColumn) {
-        try {
-            return cellsView.getColumns().indexOf(cellsView.getVisibleLeafColumn(viewColumn));
-        } catch (NullPointerException ex) {
-            return viewColumn;
+        if (viewColumn < 0 || viewColumn >= columnMap.getViewCount()) {
+            return -1;
         }
+        return columnMap.getModelIndex(viewColumn);
     }
 
     /**
      * Given the row of a {@code SpreadsheetCell}, returns the actual row as displayed
-     * in the {@code SpreadsheetView}. Beware as it can be a time-consuming operation.
-     * Also, calling this method on a row that it hidden will return incoherent
-     * information.
+     * in the {@code SpreadsheetView}. Calling this method on a row that it
+     * hidden will return incoherent information.
      *
      * @param modelRow the row retrieved in {@link SpreadsheetCell#getRow() }
      * @return the ViewRow if possible, -1 or another row if the row is hidden.
@@ -920,14 +926,7 @@ public class SpreadsheetView extends Control{
     }
 
     private int getViewIndex(int sourceIndex) {
-        //FIXME Will be improved in JDK9 with https://bugs.openjdk.java.net/browse/JDK-8139848
-        int max = sortedList.size();
-        for (int i = 0; i < max; i++) {
-            if (sortedList.getSourceIndex(i) == sourceIndex) {
-                return i;
-            }
-        }
-        return -1;
+        return sortedMap.getViewIndex(sourceIndex);
     }
     
     /**
@@ -938,14 +937,10 @@ public class SpreadsheetView extends Control{
      * @return a {@link Grid} index it is related to.
      */
     public int getModelRow(int viewRow) {
-        if (viewRow < 0 || viewRow >= sortedList.size()) {
-            return viewRow;
-        }
-        try {
-            return getFilteredSourceIndex(sortedList.getSourceIndex(viewRow));
-        } catch (NullPointerException | IndexOutOfBoundsException ex) {
+        if (sortedList == null || viewRow < 0 || viewRow >= sortedList.size()) {
             return viewRow;
         }
+        return getFilteredSourceIndex(sortedList.getSourceIndex(viewRow));
     }
 
     /**
@@ -960,14 +955,10 @@ public class SpreadsheetView extends Control{
      * @return the model row
      */
     public int getFilteredSourceIndex(int viewRow) {
-        if (viewRow < 0 || viewRow >= filteredList.size()) {
-            return viewRow;
-        }
-        try {
-            return filteredList.getSourceIndex(viewRow);
-        } catch (NullPointerException | IndexOutOfBoundsException ex) {
+        if (filteredList == null || viewRow < 0 || viewRow >= filteredList.size()) {
             return viewRow;
         }
+        return filteredList.getSourceIndex(viewRow);
     }
 
     /**
@@ -990,8 +981,8 @@ public class SpreadsheetView extends Control{
         int rowSpan = 0;
         do {
             ++rowSpan;
-        } while (++index < sortedList.size() && cell.getColumn() < getGrid().getColumnCount()
-                && sortedList.get(index).get(cell.getColumn()) == cell);
+        } while (++index < getItems().size() && cell.getColumn() < getGrid().getColumnCount()
+                && getItems().get(index).get(cell.getColumn()) == cell);
 
         return rowSpan;
     }
@@ -1015,7 +1006,7 @@ public class SpreadsheetView extends Control{
         do {
             ++rowSpan;
         } while (--index >= 0 && cell.getColumn() < getGrid().getColumnCount()
-                && sortedList.get(index).get(cell.getColumn()) == cell);
+                && getItems().get(index).get(cell.getColumn()) == cell);
         return rowSpan;
     }
 
@@ -1126,34 +1117,41 @@ public class SpreadsheetView extends Control{
     
     /**
      * Return the comparator used in the {@link SortedList} for the
-     * SpreadsheetView.
+     * SpreadsheetView. It is always null for a {@link PagedGrid}.
      *
      * @return the comparator used in the {@link SortedList} for the
      * SpreadsheetView.
      */
     public Comparator getComparator() {
-        return sortedList == null ? null : sortedList.getComparator();
+        return sortedList == null ? null : comparatorProperty.get();
     }
 
     /**
      * Return an ObjectProperty wrapping the comparator used in the
-     * SpreadsheetView.
+     * SpreadsheetView. The same property is kept when the {@link Grid}
+     * changes. The rows of a {@link PagedGrid} cannot be sorted, so its value
+     * is ignored as long as such a grid is displayed.
      *
      * @return an ObjectProperty wrapping the comparator used in the
      * SpreadsheetView.
      */
     public ObjectProperty<Comparator<? super ObservableList<SpreadsheetCell>>> comparatorProperty() {
-        return sortedList.comparatorProperty();
+        return comparatorProperty;
     }
 
     /**
      * Sets a new Comparator for the SpreadsheetView in order to sort the rows.
      *
      * @param comparator the comparator that will sort the rows.
+     * @throws UnsupportedOperationException if the comparator is not null
+     * while the grid is a {@link PagedGrid}
      */
     public void setComparator(Comparator<ObservableList<SpreadsheetCell>> comparator) {
-        sortedList.setComparator(comparator);
-        computeRowMap();
+        if (getGrid() instanceof PagedGrid && comparator != null) {
+            throw new UnsupportedOperationException("The rows of a PagedGrid cannot be sorted"); //$NON-NLS-1$
+        }
+        //The row map only depends on the hidden rows, the sorted map is updated by itself.
+        comparatorProperty.set(comparator);
         requestLayout();
     }
     /**
@@ -1170,10 +1168,31 @@ public class SpreadsheetView extends Control{
         }
         // Reactivate that after
 //        verifyGrid(grid);
-        filteredList = new FilteredList<>(grid.getRows());
-        sortedList = new SortedList<>(filteredList);
+        if (sortedMap != null) {
+            sortedMap.dispose();
+            sortedList.comparatorProperty().unbind();
+        }
+        //Like the hidden rows, the sort is not kept for the new grid.
+        if (!comparatorProperty.isBound()) {
+            comparatorProperty.set(null);
+        }
+        if (grid instanceof PagedGrid) {
+            /**
+             * The rows are fetched on demand, so they must not be copied into
+             * a FilteredList and a SortedList. Such a grid cannot be sorted
+             * and its rows cannot be hidden.
+             */
+            filteredList = null;
+            sortedList = null;
+            sortedMap = null;
+        } else {
+            filteredList = new FilteredList<>(grid.getRows());
+            sortedList = new SortedList<>(filteredList);
+            sortedList.comparatorProperty().bind(comparatorProperty);
+            sortedMap = new SortedIndexMap(sortedList);
+        }
         gridProperty.set(grid);
-        setHiddenRows(new BitSet(filteredList.getSource().size()));
+        setHiddenRows(new BitSet(grid.getRowCount()));
         setHiddenColumns(new BitSet(grid.getColumnCount()));
         initRowFix(grid);
 
@@ -1220,7 +1239,7 @@ public class SpreadsheetView extends Control{
 //            final ObservableList<ObservableList<SpreadsheetCell>> observableRows = FXCollections
 //                    .observableArrayList(grid.getRows());
 //            cellsView.getItems().clear();
-            cellsView.setItems(sortedList);
+            cellsView.setItems(sortedList == null ? grid.getRows() : sortedList);
             computeRowMap();
 
             final int columnCount = grid.getColumnCount();
@@ -1655,7 +1674,10 @@ public class SpreadsheetView extends Control{
     /**
      * This method will compute the best height for each line. That is to say
      * a height where each content of each cell could be fully visible.\n
-     * Use this method wisely because it can degrade performance on great grid.
+     * The visible rows are resized right away while the others are resized
+     * little by little during the next pulses. A {@link RowHeightBatchEvent}
+     * is fired once every row has been resized. The computed heights are
+     * cached until the content of the row or the width of a column changes.
      */
     public void resizeRowsToFitContent() {
         if (getCellsViewSkin() != null) {
@@ -1666,8 +1688,9 @@ public class SpreadsheetView extends Control{
     /**
      * This method will first apply {@link #resizeRowsToFitContent() } and then
      * take the highest height and apply it to every row.\n
-     * Just as {@link #resizeRowsToFitContent() }, this method can be degrading
-     * your performance on great grid.
+     * Just as {@link #resizeRowsToFitContent() }, the rows are measured during
+     * several pulses, so the highest height is applied once they have all been
+     * measured, followed by a {@link RowHeightBatchEvent}.
      */
     public void resizeRowsToMaximum(){
         if (getCellsViewSkin() != null) {
@@ -1887,48 +1910,108 @@ public class SpreadsheetView extends Control{
     /**
      * Put the current selection into the ClipBoard. This can be overridden by
      * developers for custom behavior.
+     *
+     * The values are stored column by column in a {@link ClipboardGrid}, and
+     * the text of the cells is also put as tab-separated text so that it can
+     * be pasted in other applications.
      */
     public void copyClipboard() {
         checkFormat();
 
-        final ArrayList<ClipboardCell> list = new ArrayList<>();
-        final ObservableList<TablePosition> posList = getSelectionModel().getSelectedCells();
-
-        Set<SpreadsheetCell> treatedCells = new HashSet<>();
-        for (final TablePosition<?, ?> p : posList) {
-            SpreadsheetCell cell = getGrid().getRows().get(getModelRow(p.getRow())).get(getModelColumn(p.getColumn()));
-            if (!treatedCells.contains(cell)) {
-                treatedCells.add(cell);
-
-                /**
-                 * We need to add every cell contained in a span otherwise the
-                 * rectangles computed when pasting will be wrong.
-                 */
-                for (int row = 0; row < getRowSpan(cell, p.getRow()); ++row) {
-                    for (int col = 0; col < getColumnSpan(cell); ++col) {
-                        try {
-                            new ObjectOutputStream(new ByteArrayOutputStream()).writeObject(cell.getItem());
-                            list.add(new ClipboardCell(p.getRow() + row, p.getColumn() + col, cell.getItem() == null ? null : cell.getItem()));
-                        } catch (IOException exception) {
-                            list.add(new ClipboardCell(p.getRow() + row, p.getColumn() + col, cell.getItem() == null ? null : cell.getItem().toString()));
-                        }
-                    }
+        final List<GridRange> ranges = getSelectionModel().getSelectedRanges();
+        int top = Integer.MAX_VALUE, bottom = -1, left = Integer.MAX_VALUE, right = -1;
+        for (GridRange range : ranges) {
+            top = Math.min(top, range.getTop());
+            bottom = Math.max(bottom, range.getBottom());
+            left = Math.min(left, range.getLeft());
+            right = Math.max(right, range.getRight());
+        }
+        final ClipboardGrid clipboardGrid = ranges.isEmpty() ? new ClipboardGrid(0, 0, 0, 0)
+                : new ClipboardGrid(top, left, bottom - top + 1, right - left + 1);
+
+        /**
+         * Every cell contained in a span is selected, so every one of them is
+         * added otherwise the rectangles computed when pasting will be wrong.
+         * We only test once per class whether the values can be serialized.
+         */
+        final Map<Class<?>, Boolean> serializableClasses = new HashMap<>();
+        for (GridRange range : ranges) {
+            for (int row = range.getTop(); row <= range.getBottom(); ++row) {
+                final ObservableList<SpreadsheetCell> cells = getGrid().getRows().get(getModelRow(row));
+                for (int column = range.getLeft(); column <= range.getRight(); ++column) {
+                    final Object item = cells.get(getModelColumn(column)).getItem();
+                    clipboardGrid.setValue(row, column, item == null || isSerializable(item, serializableClasses) ? item : item.toString());
+                }
+            }
+        }
+
+        final StringBuilder text = new StringBuilder();
+        for (int row = top; row <= bottom; ++row) {
+            final ObservableList<SpreadsheetCell> cells = getGrid().getRows().get(getModelRow(row));
+            for (int column = left; column <= right; ++column) {
+                if (column != left) {
+                    text.append('\t');
+                }
+                if (clipboardGrid.contains(row, column)) {
+                    ClipboardGrid.appendText(text, cells.get(getModelColumn(column)).getText());
                 }
             }
+            text.append('\n');
         }
+
         final ClipboardContent content = new ClipboardContent();
-        content.put(fmt, list);
-        Clipboard.getSystemClipboard().setContent(content);
+        content.put(fmt, clipboardGrid);
+        content.putString(text.toString());
+        try {
+            Clipboard.getSystemClipboard().setContent(content);
+        } catch (IllegalArgumentException ex) {
+            /**
+             * A serializable value may still hold something that cannot be
+             * serialized, in which case only the text is copied.
+             */
+            final ClipboardContent textContent = new ClipboardContent();
+            textContent.putString(text.toString());
+            Clipboard.getSystemClipboard().setContent(textContent);
+        }
+    }
+
+    /**
+     * Return true if the given value can be serialized. The result is cached
+     * by class in the given map.
+     *
+     * @param value
+     * @param serializableClasses
+     * @return true if the given value can be serialized
+     */
+    private static boolean isSerializable(Object value, Map<Class<?>, Boolean> serializableClasses) {
+        Boolean serializable = serializableClasses.get(value.getClass());
+        if (serializable == null) {
+            try {
+                new ObjectOutputStream(new ByteArrayOutputStream()).writeObject(value);
+                serializable = true;
+            } catch (IOException exception) {
+                serializable = false;
+            }
+            serializableClasses.put(value.getClass(), serializable);
+        }
+        return serializable;
     }
 
     /**
      * Paste one value from the clipboard over the whole selection.
-     * @param change 
+     * @param value 
      */
-    private void pasteOneValue(ClipboardCell change) {
-        for (TablePosition position : getSelectionModel().getSelectedCells()) {
-            tryPasteCell(getModelRow(position.getRow()), getModelColumn(position.getColumn()), change.getValue());
+    private void pasteOneValue(Object value) {
+        final PasteOperation operation = new PasteOperation();
+        for (GridRange range : getSelectionModel().getSelectedRanges()) {
+            for (int row = range.getTop(); row <= range.getBottom(); ++row) {
+                final int modelRow = getModelRow(row);
+                for (int column = range.getLeft(); column <= range.getRight(); ++column) {
+                    operation.add(modelRow, getModelColumn(column), value);
+                }
+            }
         }
+        operation.start();
     }
 
     /**
@@ -1956,57 +2039,62 @@ public class SpreadsheetView extends Control{
      * of the number of columns of the source, then we can paste.
      *
      * Same goes if we invert the rows and columns.
-     * @param list
+     * @param clipboardGrid
      */
-    private void pasteMixedValues(ArrayList<ClipboardCell> list) {
-        SelectionRange sourceSelectionRange = new SelectionRange();
-        sourceSelectionRange.fillClipboardRange(list);
-
+    private void pasteMixedValues(ClipboardGrid clipboardGrid) {
         //It means we have a rectangle.
-        if (sourceSelectionRange.getRange() != null) {
+        if (clipboardGrid.isRectangle()) {
             SelectionRange targetSelectionRange = new SelectionRange();
-            targetSelectionRange.fill(cellsView.getSelectionModel().getSelectedCells());
+            targetSelectionRange.fillRanges(getSelectionModel().getSelectedRanges(), null);
             if (targetSelectionRange.getRange() != null) {
                 //If both selection are rectangle
-                GridRange sourceRange = sourceSelectionRange.getRange();
                 GridRange targetRange = targetSelectionRange.getRange();
-                int sourceRowGap = sourceRange.getBottom() - sourceRange.getTop() + 1;
-                int targetRowGap = targetRange.getBottom() - targetRange.getTop() + 1;
+                int sourceRowGap = clipboardGrid.getRowCount();
+                int targetRowGap = targetRange.getRowCount();
 
-                int sourceColumnGap = sourceRange.getRight() - sourceRange.getLeft() + 1;
-                int targetColumnGap = targetRange.getRight() - targetRange.getLeft() + 1;
+                int sourceColumnGap = clipboardGrid.getColumnCount();
+                int targetColumnGap = targetRange.getColumnCount();
 
-                final int offsetRow = targetRange.getTop() - sourceRange.getTop();
-                final int offsetCol = targetRange.getLeft() - sourceRange.getLeft();
+                final int offsetRow = targetRange.getTop() - clipboardGrid.getTop();
+                final int offsetCol = targetRange.getLeft() - clipboardGrid.getLeft();
+                final int rowCount = getGrid().getRowCount();
+                final int columnCount = getGrid().getColumnCount();
+                final PasteOperation operation = new PasteOperation();
 
                 //If the numbers of rows are the same and the targetColumnGap is a multiple of sourceColumnGap
                 if ((sourceRowGap == targetRowGap || targetRowGap == 1) && (targetColumnGap % sourceColumnGap) == 0) {
-                    for (final ClipboardCell change : list) {
-                        int row = getModelRow(change.getRow() + offsetRow);
-                        int column = change.getColumn() + offsetCol;
-                        do {
-                            int modelColumn = getModelColumn(column);
-                            if (row < getGrid().getRowCount() && modelColumn < getGrid().getColumnCount()
-                                    && row >= 0 && column >= 0) {
-                                tryPasteCell(row, modelColumn, change.getValue());
-                            }
-                        } while ((column = column + sourceColumnGap) <= targetRange.getRight());
+                    for (int sourceRow = clipboardGrid.getTop(); sourceRow < clipboardGrid.getTop() + sourceRowGap; ++sourceRow) {
+                        int row = getModelRow(sourceRow + offsetRow);
+                        for (int sourceColumn = clipboardGrid.getLeft(); sourceColumn < clipboardGrid.getLeft() + sourceColumnGap; ++sourceColumn) {
+                            final Object value = clipboardGrid.getValue(sourceRow, sourceColumn);
+                            int column = sourceColumn + offsetCol;
+                            do {
+                                int modelColumn = getModelColumn(column);
+                                if (row < rowCount && modelColumn < columnCount
+                                        && row >= 0 && column >= 0) {
+                                    operation.add(row, modelColumn, value);
+                                }
+                            } while ((column = column + sourceColumnGap) <= targetRange.getRight());
+                        }
                     }
                     //If the numbers of columns are the same and the targetRowGap is a multiple of sourceRowGap
                 } else if ((sourceColumnGap == targetColumnGap || targetColumnGap == 1) && (targetRowGap % sourceRowGap) == 0) {
-                    for (final ClipboardCell change : list) {
-
-                        int row = change.getRow() + offsetRow;
-                        int column = getModelColumn(change.getColumn() + offsetCol);
-                        do {
-                            int modelRow = getModelRow(row);
-                            if (modelRow < getGrid().getRowCount() && column < getGrid().getColumnCount()
-                                    && row >= 0 && column >= 0) {
-                                tryPasteCell(modelRow, column, change.getValue());
-                            }
-                        } while ((row = row + sourceRowGap) <= targetRange.getBottom());
+                    for (int sourceColumn = clipboardGrid.getLeft(); sourceColumn < clipboardGrid.getLeft() + sourceColumnGap; ++sourceColumn) {
+                        int column = getModelColumn(sourceColumn + offsetCol);
+                        for (int sourceRow = clipboardGrid.getTop(); sourceRow < clipboardGrid.getTop() + sourceRowGap; ++sourceRow) {
+                            final Object value = clipboardGrid.getValue(sourceRow, sourceColumn);
+                            int row = sourceRow + offsetRow;
+                            do {
+                                int modelRow = getModelRow(row);
+                                if (modelRow < rowCount && column < columnCount
+                                        && row >= 0 && column >= 0) {
+                                    operation.add(modelRow, column, value);
+                                }
+                            } while ((row = row + sourceRowGap) <= targetRange.getBottom());
+                        }
                     }
                 }
+                operation.start();
             }
         }
     }
@@ -2014,48 +2102,31 @@ public class SpreadsheetView extends Control{
     /**
      * If we have several source values to paste into one cell, we do it.
      *
-     * @param list
+     * @param clipboardGrid
      */
-    private void pasteSeveralValues(ArrayList<ClipboardCell> list) {
-        // TODO algorithm very bad
-        int minRow = getGrid().getRowCount();
-        int minCol = getGrid().getColumnCount();
-        int maxRow = 0;
-        int maxCol = 0;
-        for (final ClipboardCell p : list) {
-            final int tempcol = p.getColumn();
-            final int temprow = p.getRow();
-            if (tempcol < minCol) {
-                minCol = tempcol;
-            }
-            if (tempcol > maxCol) {
-                maxCol = tempcol;
-            }
-            if (temprow < minRow) {
-                minRow = temprow;
-            }
-            if (temprow > maxRow) {
-                maxRow = temprow;
-            }
-        }
-
+    private void pasteSeveralValues(ClipboardGrid clipboardGrid) {
         final TablePosition<?, ?> p = cellsView.getFocusModel().getFocusedCell();
 
-        final int offsetRow = p.getRow() - minRow;
-        final int offsetCol = p.getColumn() - minCol;
+        final int offsetRow = p.getRow() - clipboardGrid.getTop();
+        final int offsetCol = p.getColumn() - clipboardGrid.getLeft();
         final int rowCount = getGrid().getRowCount();
         final int columnCount = getGrid().getColumnCount();
-        int row;
-        int column;
-
-        for (final ClipboardCell change : list) {
-            row = getModelRow(change.getRow() + offsetRow);
-            column = getModelColumn(change.getColumn() + offsetCol);
-            if (row < rowCount && column < columnCount
-                    && row >= 0 && column >= 0) {
-                tryPasteCell(row, column, change.getValue());
+        final PasteOperation operation = new PasteOperation();
+
+        for (int sourceRow = clipboardGrid.getTop(); sourceRow < clipboardGrid.getTop() + clipboardGrid.getRowCount(); ++sourceRow) {
+            final int row = getModelRow(sourceRow + offsetRow);
+            if (row < 0 || row >= rowCount) {
+                continue;
+            }
+            for (int sourceColumn = clipboardGrid.getLeft(); sourceColumn < clipboardGrid.getLeft() + clipboardGrid.getColumnCount(); ++sourceColumn) {
+                final int column = getModelColumn(sourceColumn + offsetCol);
+                if (column < columnCount && column >= 0
+                        && clipboardGrid.contains(sourceRow, sourceColumn)) {
+                    operation.add(row, column, clipboardGrid.getValue(sourceRow, sourceColumn));
+                }
             }
         }
+        operation.start();
     }
     
     /**
@@ -2063,37 +2134,99 @@ public class SpreadsheetView extends Control{
      * current selection into the Grid. If the two contents are not matchable,
      * then it's not pasted. This can be overridden by developers for custom
      * behavior.
+     *
+     * If the clipboard does not come from a SpreadsheetView, its text is read
+     * as tab-separated values, like what spreadsheet applications provide.
      */
     public void pasteClipboard() {
         // FIXME Maybe move editableProperty to the model..
-        List<TablePosition> selectedCells = cellsView.getSelectionModel().getSelectedCells();
-        if (!isEditable() || selectedCells.isEmpty()) {
+        final List<GridRange> selectedRanges = getSelectionModel().getSelectedRanges();
+        if (!isEditable() || selectedRanges.isEmpty()) {
             return;
         }
 
         checkFormat();
         final Clipboard clipboard = Clipboard.getSystemClipboard();
-        if (clipboard.getContent(fmt) != null) {
-
+        final Object content = clipboard.getContent(fmt);
+        final ClipboardGrid clipboardGrid;
+        if (content instanceof ClipboardGrid) {
+            clipboardGrid = (ClipboardGrid) content;
+        } else if (content instanceof List) {
+            //Content copied by a previous version of the SpreadsheetView.
             @SuppressWarnings("unchecked")
-            final ArrayList<ClipboardCell> list = (ArrayList<ClipboardCell>) clipboard.getContent(fmt);
-            if (list.size() == 1) {
-                pasteOneValue(list.get(0));
-            } else if (selectedCells.size() > 1) {
-                pasteMixedValues(list);
-            } else {
-                pasteSeveralValues(list);
-            }
-            // To be improved
+            final List<ClipboardCell> list = (List<ClipboardCell>) content;
+            clipboardGrid = ClipboardGrid.fromClipboardCells(list);
         } else if (clipboard.hasString()) {
-            // final TablePosition<?,?> p =
-            // cellsView.getFocusModel().getFocusedCell();
-            //
-            // SpreadsheetCell stringCell =
-            // SpreadsheetCellType.STRING.createCell(0, 0, 1, 1,
-            // clipboard.getString());
-            // getGrid().getRows().get(p.getRow()).get(p.getColumn()).match(stringCell);
+            clipboardGrid = ClipboardGrid.fromText(clipboard.getString());
+        } else {
+            return;
+        }
+
+        if (clipboardGrid.getCellCount() == 0) {
+            return;
+        }
+        if (clipboardGrid.getCellCount() == 1) {
+            pasteOneValue(clipboardGrid.getValue(clipboardGrid.getTop(), clipboardGrid.getLeft()));
+        } else if (selectedRanges.size() > 1 || selectedRanges.get(0).getCellCount() > 1) {
+            pasteMixedValues(clipboardGrid);
+        } else {
+            pasteSeveralValues(clipboardGrid);
+        }
+    }
 
+    /**
+     * Holds the cells to paste into the Grid. Big pastes are applied by chunks
+     * on successive pulses so that the JavaFX thread is never blocked for too
+     * long. Each pasted cell fires its {@link GridChange}, so that existing
+     * handlers (undo, dirty tracking) see every change. Starting a new paste
+     * or changing the Grid cancels the previous one.
+     */
+    private class PasteOperation implements Runnable {
+
+        private int[] rows = new int[16];
+        private int[] columns = new int[16];
+        private Object[] values = new Object[16];
+        private int size;
+        private int index;
+        private Grid grid;
+
+        void add(int row, int column, Object value) {
+            if (size == rows.length) {
+                final int length = size * 2;
+                rows = Arrays.copyOf(rows, length);
+                columns = Arrays.copyOf(columns, length);
+                values = Arrays.copyOf(values, length);
+            }
+            rows[size] = row;
+            columns[size] = column;
+            values[size] = value;
+            ++size;
+        }
+
+        void start() {
+            grid = getGrid();
+            pasteOperation = this;
+            run();
+        }
+
+        @Override
+        public void run() {
+            if (pasteOperation != this || grid != getGrid()) {
+                return;
+            }
+            final int end = Math.min(size, index + PASTE_CHUNK_SIZE);
+            for (; index < end; ++index) {
+                //The Grid may have shrunk since the paste started.
+                if (rows[index] < grid.getRowCount() && columns[index] < grid.getColumnCount()) {
+                    tryPasteCell(rows[index], columns[index], values[index]);
+                }
+                values[index] = null;
+            }
+            if (index < size) {
+                Platform.runLater(this);
+            } else {
+                pasteOperation = null;
+            }
         }
     }
 
@@ -2185,8 +2318,14 @@ public class SpreadsheetView extends Control{
      * be overridden by developers for custom behavior.
      */
     public void deleteSelectedCells() {
-        for (TablePosition<ObservableList<SpreadsheetCell>, ?> position : getSelectionModel().getSelectedCells()) {
-            getGrid().setCellValue(getModelRow(position.getRow()), getModelColumn(position.getColumn()), null);
+        final Grid grid = getGrid();
+        for (GridRange range : getSelectionModel().getSelectedRanges()) {
+            for (int row = range.getTop(); row <= range.getBottom(); ++row) {
+                final int modelRow = getModelRow(row);
+                for (int column = range.getLeft(); column <= range.getRight(); ++column) {
+                    grid.setCellValue(modelRow, getModelColumn(column), null);
+                }
+            }
         }
     }
     
@@ -2325,6 +2464,15 @@ public class SpreadsheetView extends Control{
     }
     
     private void initRowFix(Grid grid) {
+        if (grid instanceof PagedGrid) {
+            //The spanned rows are given by the provider, no need to scan the rows.
+            final int rowCount = grid.getRowCount();
+            rowFix = new BitSet(rowCount);
+            rowFix.set(0, rowCount);
+            rowFix.andNot(((PagedGrid) grid).getSpannedRows());
+            identityMap = null;
+            return;
+        }
         ObservableList<ObservableList<SpreadsheetCell>> rows = grid.getRows();
         final int rowSize = rows.size();
         rowFix = new BitSet(rowSize);
@@ -2630,6 +2778,36 @@ public class SpreadsheetView extends Control{
         }
     }
     
+    /**
+     * This event is thrown on the SpreadsheetView when several rows have been
+     * resized at once, for example at the end of
+     * {@link #resizeRowsToFitContent() } or {@link #resizeRowsToMaximum() }.
+     * The rows concerned do not fire a {@link RowHeightEvent} individually.
+     */
+    public static class RowHeightBatchEvent extends Event {
+
+        /**
+         * This is the event used by {@link RowHeightBatchEvent}.
+         */
+        public static final EventType<RowHeightBatchEvent> ROW_HEIGHT_BATCH_CHANGE 
+                = new EventType<>(Event.ANY, "RowHeightBatchChange" + UUID.randomUUID().toString()); //$NON-NLS-1$
+
+        private final Map<Integer, Double> heights;
+
+        public RowHeightBatchEvent(Map<Integer, Double> heights) {
+            super(ROW_HEIGHT_BATCH_CHANGE);
+            this.heights = Collections.unmodifiableMap(heights);
+        }
+
+        /**
+         * Return the new height of each resized row, indexed by row.
+         * @return the new height of each resized row, indexed by row.
+         */
+        public Map<Integer, Double> getHeights() {
+            return heights;
+        }
+    }
+    
     /**
      * This event is thrown on the SpreadsheetView when the user resize a column
      * with its mouse.
@@ -118,12 +118,30 @@ public class SpreadsheetViewSelectionModel {
      * Returns a read-only {@code ObservableList} representing the currently selected cells in
      * this {@code SpreadsheetView}.
      *
+     * The selection is internally stored as ranges, so the
+     * {@code TablePosition} are only created when they are accessed. When
+     * lots of cells are selected, consider using {@link #getSelectedRanges() }
+     * instead.
+     *
      * @return a read-only ObservableList
      */
     public final ObservableList<TablePosition> getSelectedCells() {
         return selectionModel.getSelectedCells();
     }
 
+    /**
+     * Returns the currently selected cells as a list of disjoint
+     * {@link GridRange}. The rows and columns are expressed in view
+     * coordinates, like the {@code TablePosition} returned by
+     * {@link #getSelectedCells() }. The list is a snapshot and is not updated
+     * when the selection changes.
+     *
+     * @return an unmodifiable list of the selected ranges
+     */
+    public final List<GridRange> getSelectedRanges() {
+        return selectionModel.getSelectedRanges();
+    }
+
     /**
      * Selects all the possible cells.
      */
@@ -212,6 +230,24 @@ public class SpreadsheetViewSelectionModel {
         selectionModel.selectRange(spv.getFilteredRow(minRow), minColumn.column, spv.getFilteredRow(maxRow), maxColumn.column);
     }
 
+    /**
+     * Selects all the cells in the given range. The rows and columns are
+     * expressed in view coordinates, like the ranges returned by
+     * {@link #getSelectedRanges() }. The selection is stored as a range, so
+     * this method is efficient even for very large ranges.
+     *
+     * @param range the range to select
+     */
+    public void selectRange(GridRange range) {
+        final TableView<ObservableList<SpreadsheetCell>> tableView = selectionModel.getTableView();
+        final int columnCount = tableView.getVisibleLeafColumns().size();
+        if (columnCount == 0 || range.getLeft() >= columnCount) {
+            return;
+        }
+        selectionModel.selectRange(range.getTop(), tableView.getVisibleLeafColumn(range.getLeft()),
+                range.getBottom(), tableView.getVisibleLeafColumn(Math.min(range.getRight(), columnCount - 1)));
+    }
+
     /**
      * Clears the current selection and select the cell on the left of the
      * current focused cell. If the cell is the first one on a row, the last
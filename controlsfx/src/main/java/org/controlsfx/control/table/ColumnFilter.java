@@ -26,7 +26,6 @@
  */
 package org.controlsfx.control.table;
 
-import javafx.beans.Observable;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.beans.value.WeakChangeListener;
@@ -40,9 +39,8 @@ import javafx.scene.control.TableColumn;
 
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Objects;
-import java.util.Optional;
 import java.util.function.BiPredicate;
+import java.util.function.Consumer;
 
 public final class ColumnFilter<T,R> {
     private final TableFilter<T> tableFilter;
@@ -50,10 +48,18 @@ public final class ColumnFilter<T,R> {
 
     private final ObservableList<FilterValue<T,R>> filterValues;
 
-    private final DupeCounter<R> filterValuesDupeCounter = new DupeCounter<>(false);
+    /**
+     * Index of the distinct values of the backing list. Each FilterValue
+     * holds the items having its value and its position in filterValues.
+     */
+    private final HashMap<R,FilterValue<T,R>> filterValueIndex = new HashMap<>();
     private final DupeCounter<R> visibleValuesDupeCounter = new DupeCounter<>(false);
     private final HashSet<R> unselectedValues = new HashSet<>();
-    private final HashMap<CellIdentity<T>,ChangeListener<R>> trackedCells = new HashMap<>();
+    /**
+     * Values whose selection changed since the filter was last executed.
+     */
+    private final HashSet<R> toggledValues = new HashSet<>();
+    private final HashMap<CellIdentity<T>,TrackedCell> trackedCells = new HashMap<>();
     
     private boolean lastFilter = false;
     private boolean isDirty = false;
@@ -90,42 +96,11 @@ public final class ColumnFilter<T,R> {
         }
     };
 
-    private final ChangeListener<R> changeListener = (observable, oldValue, newValue) -> {
-        if (filterValuesDupeCounter.add(newValue) == 1) {
-            getFilterValues().add(new FilterValue<>(newValue,this));
-        }
-        removeValue(oldValue);
-    };
-
-    private final ListChangeListener<FilterValue<T, R>> filterValueListChangeListener = lc -> {
-        while (lc.next()) {
-            if (lc.wasRemoved()) {
-                lc.getRemoved().stream()
-                        .filter(v -> !v.selectedProperty().get())
-                        .forEach(unselectedValues::remove);
-            }
-            if (lc.wasUpdated()) {
-                int from = lc.getFrom();
-                int to = lc.getTo();
-                lc.getList().subList(from, to).forEach(v -> {
-                    isDirty = true;
-
-                    boolean value = v.selectedProperty().getValue();
-                    if (!value) {
-                        unselectedValues.add(v.getValue());
-                    } else {
-                        unselectedValues.remove(v.getValue());
-                    }
-                });
-            }
-        }
-    };
-
     ColumnFilter(TableFilter<T> tableFilter, TableColumn<T,R> tableColumn) {
         this.tableFilter = tableFilter;
         this.tableColumn = tableColumn;
 
-        this.filterValues = FXCollections.observableArrayList(cb -> new Observable[] { cb.selectedProperty()});
+        this.filterValues = FXCollections.observableArrayList();
         this.attachContextMenu();
     }
     void setFilterPanel(FilterPanel filterPanel) {
@@ -157,14 +132,20 @@ public final class ColumnFilter<T,R> {
      * Allows selecting a given value programmatically for this ColumnFilter
      */
     public void selectValue(Object value) {
-        filterPanel.selectValue(value);
+        FilterValue<T,R> filterValue = filterValueIndex.get(value);
+        if (filterValue != null) {
+            filterValue.selectedProperty().set(true);
+        }
     }
 
     /**
      * Allows unselecting a given value programmatically for this ColumnFilter
      */
     public void unselectValue(Object value) {
-        filterPanel.unSelectValue(value);
+        FilterValue<T,R> filterValue = filterValueIndex.get(value);
+        if (filterValue != null) {
+            filterValue.selectedProperty().set(false);
+        }
     }
 
     /**
@@ -257,10 +238,47 @@ public final class ColumnFilter<T,R> {
     }
 
     boolean evaluate(T item) {
-        ObservableValue<R> value = tableColumn.getCellObservableValue(item);
-
         return unselectedValues.size() == 0
-                || !unselectedValues.contains(value.getValue());
+                || !unselectedValues.contains(getCellValue(item));
+    }
+
+    /**
+     * Called by a FilterValue when its selection changes.
+     */
+    void selectionChanged(FilterValue<T,R> filterValue) {
+        isDirty = true;
+        if (filterValue.selectedProperty().get()) {
+            unselectedValues.remove(filterValue.getValue());
+        } else {
+            unselectedValues.add(filterValue.getValue());
+        }
+        toggledValues.add(filterValue.getValue());
+    }
+
+    boolean hasToggledValues() {
+        return toggledValues.size() != 0;
+    }
+
+    /**
+     * Gives to the action every item holding a value whose selection changed
+     * since the filter was last executed.
+     */
+    void forEachToggledItem(Consumer<? super T> action) {
+        for (R value : toggledValues) {
+            FilterValue<T,R> filterValue = filterValueIndex.get(value);
+            if (filterValue != null) {
+                filterValue.items.keySet().forEach(action);
+            }
+        }
+    }
+
+    void clearToggledValues() {
+        toggledValues.clear();
+    }
+
+    private R getCellValue(T item) {
+        ObservableValue<R> value = tableColumn.getCellObservableValue(item);
+        return value == null ? null : value.getValue();
     }
 
     private void initializeValues() {
@@ -275,37 +293,55 @@ public final class ColumnFilter<T,R> {
         if (cellValue == null) {
             return;
         }
-        if (filterValuesDupeCounter.add(cellValue.getValue()) == 1) {
-            filterValues.add(new FilterValue<>(cellValue.getValue(),this));
-        }
+        addValue(item, cellValue.getValue());
 
         //listen to cell value and track it
-        CellIdentity<T> trackedCellValue = new CellIdentity<>(item);
-
-		ChangeListener<R> cellListener = new WeakChangeListener(changeListener);
-        cellValue.addListener(cellListener);
-        trackedCells.put(trackedCellValue,cellListener);
+        TrackedCell trackedCell = new TrackedCell(item);
+        cellValue.addListener(trackedCell.weakListener);
+        trackedCells.put(new CellIdentity<>(item), trackedCell);
     }
     private void removeBackingItem(T item, ObservableValue<R> cellValue) {
         if (cellValue == null) {
             return;
         }
-        removeValue(cellValue.getValue());
+        removeValue(item, cellValue.getValue());
 
         //remove listener from cell
-        ChangeListener<R> listener = trackedCells.get(new CellIdentity<>(item));
-        cellValue.removeListener(listener);
-        trackedCells.remove(new CellIdentity<>(item));
-    }
-    private void removeValue(R value) {
-        boolean removedLastDuplicate = filterValuesDupeCounter.remove(value) == 0;
-        if (removedLastDuplicate) {
-            // Remove the FilterValue associated with the value
-            Optional<FilterValue<T,R>> existingFilterValue = getFilterValues().stream()
-                    .filter(fv -> Objects.equals(fv.getValue(), value)).findAny();
-
-            existingFilterValue.ifPresent(trFilterValue -> getFilterValues().remove(trFilterValue));
+        TrackedCell trackedCell = trackedCells.remove(new CellIdentity<>(item));
+        if (trackedCell != null) {
+            cellValue.removeListener(trackedCell.weakListener);
+        }
+    }
+    private void addValue(T item, R value) {
+        FilterValue<T,R> filterValue = filterValueIndex.get(value);
+        if (filterValue == null) {
+            filterValue = new FilterValue<>(value,this);
+            filterValue.index = filterValues.size();
+            filterValueIndex.put(value, filterValue);
+            filterValues.add(filterValue);
         }
+        filterValue.items.merge(item, 1, Integer::sum);
+    }
+    private void removeValue(T item, R value) {
+        FilterValue<T,R> filterValue = filterValueIndex.get(value);
+        if (filterValue == null) {
+            return;
+        }
+        filterValue.items.computeIfPresent(item, (t, n) -> n == 1 ? null : n - 1);
+        if (!filterValue.items.isEmpty()) {
+            return;
+        }
+        // Remove the FilterValue associated with the value, the order of
+        // filterValues does not matter so the last one takes its place.
+        filterValueIndex.remove(value);
+        unselectedValues.remove(value);
+        int last = filterValues.size() - 1;
+        if (filterValue.index != last) {
+            FilterValue<T,R> moved = filterValues.get(last);
+            moved.index = filterValue.index;
+            filterValues.set(filterValue.index, moved);
+        }
+        filterValues.remove(last);
     }
     private void addVisibleItem(ObservableValue<R>  cellValue) {
         if (cellValue != null) {
@@ -323,9 +359,6 @@ public final class ColumnFilter<T,R> {
 
         //listen to visible items and update visible values accordingly
         tableFilter.getTableView().getItems().addListener(new WeakListChangeListener<T>(itemsListener));
-
-        //listen to selections on filterValues
-        filterValues.addListener(new WeakListChangeListener<>(filterValueListChangeListener));
     }
 
     /**Leverages tableColumn's context menu to attach filter panel */
@@ -343,6 +376,26 @@ public final class ColumnFilter<T,R> {
         contextMenu.setOnShowing(ae -> initialize());
     }
 
+    /**
+     * Listens to the cell value of an item of the backing list. The cell value
+     * only holds it weakly, the ColumnFilter keeps it in trackedCells.
+     */
+    private final class TrackedCell implements ChangeListener<R> {
+        private final T item;
+        private final WeakChangeListener<R> weakListener = new WeakChangeListener<>(this);
+
+        TrackedCell(T item) {
+            this.item = item;
+        }
+
+        @Override
+        public void changed(ObservableValue<? extends R> observable, R oldValue, R newValue) {
+            addValue(item, newValue);
+            removeValue(item, oldValue);
+            tableFilter.cellValueChanged(item);
+        }
+    }
+
     private static final class CellIdentity<T> {
         private final T item;
 
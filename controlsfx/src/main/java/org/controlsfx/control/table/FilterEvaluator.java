@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.controlsfx.control.table;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.WeakListChangeListener;
+
+import java.util.IdentityHashMap;
+
+/**
+ * Evaluates the rows of a {@link TableFilter} against all its column filters,
+ * remembering the verdict of each row.
+ *
+ * When the selection of a column filter changes, only the rows holding one of
+ * the toggled values of that column lose their verdict and are tested again,
+ * found through the items kept by each {@link FilterValue}. A row reported as
+ * updated by the backing list, or whose cell value changed, loses its verdict
+ * too. A change of the columns drops every verdict.
+ */
+final class FilterEvaluator<T> {
+
+    private final TableFilter<T> tableFilter;
+    private final IdentityHashMap<T,Boolean> verdicts = new IdentityHashMap<>();
+
+    private final ListChangeListener<T> backingListListener = lc -> {
+        while (lc.next()) {
+            if (lc.wasUpdated()) {
+                for (int i = lc.getFrom(); i < lc.getTo(); ++i) {
+                    verdicts.remove(lc.getList().get(i));
+                }
+            }
+            if (lc.wasRemoved()) {
+                lc.getRemoved().forEach(verdicts::remove);
+            }
+        }
+    };
+
+    /**
+     * Must be created before the FilteredList of the TableFilter, so that an
+     * updated row loses its verdict before the FilteredList tests it again.
+     */
+    FilterEvaluator(TableFilter<T> tableFilter) {
+        this.tableFilter = tableFilter;
+        tableFilter.getBackingList().addListener(new WeakListChangeListener<>(backingListListener));
+        tableFilter.getColumnFilters().addListener((ListChangeListener<ColumnFilter<T,?>>) lc -> invalidateAll());
+    }
+
+    /**
+     * Returns true if the given item is accepted by every column filter.
+     */
+    boolean test(T item) {
+        Boolean verdict = verdicts.get(item);
+        if (verdict == null) {
+            verdict = evaluate(item);
+            verdicts.put(item, verdict);
+        }
+        return verdict;
+    }
+
+    /**
+     * Drops the verdict of the rows holding one of the values toggled since
+     * the last call.
+     */
+    void update() {
+        for (ColumnFilter<T,?> columnFilter : tableFilter.getColumnFilters()) {
+            if (columnFilter.hasToggledValues()) {
+                if (!verdicts.isEmpty()) {
+                    columnFilter.forEachToggledItem(verdicts::remove);
+                }
+                columnFilter.clearToggledValues();
+            }
+        }
+    }
+
+    /**
+     * Drops the verdict of the given row, it will be computed again when
+     * needed.
+     */
+    void invalidate(T item) {
+        verdicts.remove(item);
+    }
+
+    /**
+     * Drops every verdict, they will be computed again when needed.
+     */
+    void invalidateAll() {
+        verdicts.clear();
+        tableFilter.getColumnFilters().forEach(ColumnFilter::clearToggledValues);
+    }
+
+    private boolean evaluate(T item) {
+        for (ColumnFilter<T,?> columnFilter : tableFilter.getColumnFilters()) {
+            if (!columnFilter.evaluate(item)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
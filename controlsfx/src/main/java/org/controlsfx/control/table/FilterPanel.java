@@ -45,12 +45,12 @@ import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 import static impl.org.controlsfx.i18n.Localization.getString;
 
@@ -59,12 +59,12 @@ public final class FilterPanel<T,R> extends VBox {
 
     private final ColumnFilter<T,R> columnFilter;
 
-    private final FilteredList<FilterValue> filterList;
+    private final FilteredList<FilterValue<T,R>> filterList;
     private final TextField searchBox = new TextField();
     private boolean searchMode = false;
     private boolean bumpedWidth = false;
 
-    private final ListView<FilterValue> checkListView;
+    private final ListView<FilterValue<T,R>> checkListView;
 	
     // This collection will reference column header listeners. References must be kept locally because weak listeners are registered
     private final Collection<InvalidationListener> columnHeadersChangeListeners = new ArrayList();
@@ -96,19 +96,6 @@ public final class FilterPanel<T,R> extends VBox {
         checkListView.getItems()
                 .forEach(item -> item.selectedProperty().set(false));
     }
-    void selectValue(Object value) {
-        checkListView.getItems().stream().filter(item ->
-                (item.getValue() == null && value == null) ||
-                        (item.getValue() != null && value != null) && item.getValue().equals(value)
-                    )
-                .forEach(item -> item.selectedProperty().set(true));
-    }
-    void unSelectValue(Object value) {
-        checkListView.getItems().stream().filter(item ->
-                (item.getValue() == null && value == null) ||
-                        (item.getValue() != null && value != null) && item.getValue().equals(value)
-        ).forEach(item -> item.selectedProperty().set(false));
-    }
 
 
     FilterPanel(ColumnFilter<T,R> columnFilter, ContextMenu contextMenu) {
@@ -126,6 +113,7 @@ public final class FilterPanel<T,R> extends VBox {
 
         filterList = new FilteredList<>(new SortedList<>(columnFilter.getFilterValues()), t -> true);
         checkListView = new ListView<>();
+        checkListView.setCellFactory(listView -> new FilterValueCell<>());
         checkListView.setItems(new SortedList<>(filterList, FilterValue::compareTo));
 
         getChildren().add(checkListView);
@@ -217,18 +205,48 @@ public final class FilterPanel<T,R> extends VBox {
             filterList.setPredicate(val -> searchBox.getText().isEmpty() ||
                     columnFilter.getSearchStrategy().test(searchBox.getText(), Optional.ofNullable(val.getValue()).map(Object::toString).orElse("")));
 
-            //unselect items out of scope
-            columnFilter.getFilterValues().stream()
-                    .filter(s -> !columnFilter.getSearchStrategy().test(searchBox.getText(), Optional.ofNullable(s.getValue()).map(Object::toString).orElse("")))
-                    .collect(Collectors.toList()).forEach(s -> s.selectedProperty().set(false));
-
-            //select items in scope
-            columnFilter.getFilterValues().stream()
-                    .filter(s -> columnFilter.getSearchStrategy().test(searchBox.getText(), Optional.ofNullable(s.getValue()).map(Object::toString).orElse("")))
-                    .collect(Collectors.toList()).forEach(s -> s.selectedProperty().set(true));
+            //select items in scope and unselect items out of scope
+            for (FilterValue<T,R> s : columnFilter.getFilterValues()) {
+                s.selectedProperty().set(columnFilter.getSearchStrategy().test(searchBox.getText(), Optional.ofNullable(s.getValue()).map(Object::toString).orElse("")));
+            }
         });
     }
 
+    /**
+     * The cell displaying a FilterValue, only created for the values visible
+     * in the list.
+     */
+    private static final class FilterValueCell<T,R> extends ListCell<FilterValue<T,R>> {
+        private final CheckBox checkBox = new CheckBox();
+        private final InvalidationListener scopeListener = (Observable v) -> updateScope();
+        private FilterValue<T,R> boundValue;
+
+        @Override
+        protected void updateItem(FilterValue<T,R> item, boolean empty) {
+            super.updateItem(item, empty);
+            if (boundValue != null) {
+                checkBox.selectedProperty().unbindBidirectional(boundValue.selectedProperty());
+                boundValue.getInScopeProperty().removeListener(scopeListener);
+                boundValue = null;
+            }
+            if (empty || item == null) {
+                setText(null);
+                setGraphic(null);
+            } else {
+                boundValue = item;
+                checkBox.selectedProperty().bindBidirectional(item.selectedProperty());
+                item.getInScopeProperty().addListener(scopeListener);
+                setText(item.toString());
+                setGraphic(checkBox);
+                updateScope();
+            }
+        }
+
+        private void updateScope() {
+            setTextFill(boundValue == null || boundValue.getInScopeProperty().get() ? Color.BLACK : Color.LIGHTGRAY);
+        }
+    }
+
     /* Methods below helps will anchor the context menu under the column */
     private static void checkChangeContextMenu(TableViewSkin<?> skin, TableColumn<?, ?> column, FilterPanel filterPanel) {
         NestedTableColumnHeader header = skin.getTableHeaderRow().getRootHeader();
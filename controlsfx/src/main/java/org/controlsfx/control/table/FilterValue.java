@@ -1,37 +1,42 @@
 package org.controlsfx.control.table;
 
-import javafx.beans.InvalidationListener;
-import javafx.beans.Observable;
-import javafx.beans.WeakInvalidationListener;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
-import javafx.scene.control.CheckBox;
-import javafx.scene.control.Label;
-import javafx.scene.layout.HBox;
-import javafx.scene.paint.Color;
 
+import java.util.IdentityHashMap;
 import java.util.Optional;
 
-public final class FilterValue<T,R> extends HBox implements Comparable<FilterValue<T,R>> {
+/**
+ * A distinct value of a column, with its selection state in the
+ * {@link ColumnFilter}. This is a plain model object, the {@link FilterPanel}
+ * only creates nodes for the values its list actually displays.
+ */
+public final class FilterValue<T,R> implements Comparable<FilterValue<T,R>> {
 
     private final R value;
-    private final BooleanProperty isSelected = new SimpleBooleanProperty(true);
+    private final BooleanProperty isSelected = new SimpleBooleanProperty(true) {
+        @Override
+        protected void invalidated() {
+            columnFilter.selectionChanged(FilterValue.this);
+        }
+    };
     private final BooleanProperty inScope = new SimpleBooleanProperty(true);
     private final ColumnFilter<T,R> columnFilter;
-    private final InvalidationListener scopeListener;
 
+    /**
+     * The items of the backing list holding this value, with their number of
+     * occurrences, maintained by the ColumnFilter.
+     */
+    final IdentityHashMap<T,Integer> items = new IdentityHashMap<>();
+    /**
+     * Position of this FilterValue in {@link ColumnFilter#getFilterValues()},
+     * maintained by the ColumnFilter.
+     */
+    int index;
 
     FilterValue(R value, ColumnFilter<T,R> columnFilter) {
         this.value = value;
         this.columnFilter = columnFilter;
-
-        final CheckBox checkBox = new CheckBox();
-        final Label label = new Label();
-        label.setText(Optional.ofNullable(value).map(Object::toString).orElse(null));
-        scopeListener = (Observable v) -> label.textFillProperty().set(getInScopeProperty().get() ? Color.BLACK : Color.LIGHTGRAY);
-        inScope.addListener(new WeakInvalidationListener(scopeListener));
-        checkBox.selectedProperty().bindBidirectional(selectedProperty());
-        getChildren().addAll(checkBox,label);
     }
 
     /**
@@ -56,6 +56,7 @@ public final class TableFilter<T> {
     private final FilteredList<T> filteredList;
 
     private final ObservableList<ColumnFilter<T,?>> columnFilters = FXCollections.observableArrayList();
+    private final FilterEvaluator<T> filterEvaluator;
 
 
     /**
@@ -69,6 +70,7 @@ public final class TableFilter<T> {
     private TableFilter(TableView<T> tableView, boolean isLazy) {
         this.tableView = tableView;
         backingList = tableView.getItems();
+        filterEvaluator = new FilterEvaluator<>(this);
         filteredList = new FilteredList<>(new SortedList<>(backingList));
         SortedList<T> sortedControlList = new SortedList<>(this.filteredList);
 
@@ -171,18 +173,27 @@ public final class TableFilter<T> {
         columnFilters.stream().filter(c -> c.getTableColumn() == column)
                 .forEach(ColumnFilter::unSelectAllValues);
     }
+    /**
+     * Applies the current selections of every column filter. Only the rows
+     * holding a value whose selection changed since the last execution are
+     * tested again, the others keep their previous verdict.
+     */
     public void executeFilter() {
         if (columnFilters.stream().anyMatch(ColumnFilter::isFiltered)) {
-            filteredList.setPredicate(item -> columnFilters.stream()
-                    .allMatch(cf -> cf.evaluate(item)));
+            filterEvaluator.update();
+            filteredList.setPredicate(item -> filterEvaluator.test(item));
         }
         else {
             resetFilter();
         }
     }
     public void resetFilter() {
+        filterEvaluator.invalidateAll();
         filteredList.setPredicate(item -> true);
     }
+    void cellValueChanged(T item) {
+        filterEvaluator.invalidate(item);
+    }
     /** 
      * @treatAsPrivate
      */
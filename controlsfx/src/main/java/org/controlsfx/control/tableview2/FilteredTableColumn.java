@@ -75,7 +75,7 @@ public class FilteredTableColumn<S, T> extends TableColumn2<S, T> {
      * 
      **************************************************************************/
     
-    private final HashMap<CellIdentity<S>, ChangeListener<T>> trackedCells = new HashMap<>();
+    private final HashMap<CellIdentity<S>, CellTracker<T>> trackedCells = new HashMap<>();
     private final Button filterButton;
     
     private final ListChangeListener<S> backingListListener = lc -> {
@@ -92,9 +92,6 @@ public class FilteredTableColumn<S, T> extends TableColumn2<S, T> {
     };
     private final WeakListChangeListener<S> weakListChangeListener = new WeakListChangeListener<>(backingListListener);
     
-    private final ChangeListener<T> changeListener = (obs, ov, nv) -> 
-        Platform.runLater(() -> runOnFilteredTableView(FilteredTableView::filter));
-    
     private final ChangeListener<Predicate<?>> filterListener = (obs, ov, nv) -> updateButton(nv != null);
     private final WeakChangeListener<Predicate<?>> weakFilterListener = new WeakChangeListener<>(filterListener);
     
@@ -104,9 +101,6 @@ public class FilteredTableColumn<S, T> extends TableColumn2<S, T> {
     private InvalidationListener itemsPropertyListener;
     private WeakInvalidationListener weakItemsPropertyListener;
     
-    private InvalidationListener parentListener;
-    private WeakInvalidationListener weakParentListener;
-    
     /***************************************************************************
      * 
      * Constructor
@@ -194,33 +188,22 @@ public class FilteredTableColumn<S, T> extends TableColumn2<S, T> {
             };
             weakItemsPropertyListener = new WeakInvalidationListener(itemsPropertyListener);
             filteredTableView.itemsProperty().addListener(weakItemsPropertyListener);
-            
-            if (filteredTableView.getParent() != null) {
-                updateFilterButton(filteredTableView);
-            } else {
-                parentListener = (Observable o) -> {
-                    if (filteredTableView.getParent() != null) {
-                        updateFilterButton(filteredTableView);
-                        filteredTableView.parentProperty().removeListener(weakParentListener);
-                    }
-                };
-                weakParentListener = new WeakInvalidationListener(parentListener);
-                filteredTableView.parentProperty().addListener(weakParentListener);
-            }
         });
         
+        // as row header, the button shows the filter of the table
+        TableView2<?> parentTableView = RowHeader.getParentTableView(getTableView());
+        if (parentTableView instanceof FilteredTableView) {
+            updateFilterButton((FilteredTableView<?>) parentTableView);
+        }
     }
        
     private void updateButton(boolean value) {
         filterButton.pseudoClassStateChanged(FILTER_ON, value);
     }
     
-    private void updateFilterButton(TableView<S> tableView) {
-        if (tableView.getParent() instanceof RowHeader) {
-            FilteredTableView<S> parentTableView = (FilteredTableView<S>) ((RowHeader) tableView.getParent()).getParentTableView();
-            updateButton(parentTableView.getPredicate() != null);
-            parentTableView.predicateProperty().addListener(weakFilterListener);
-        }
+    private void updateFilterButton(FilteredTableView<?> parentTableView) {
+        updateButton(parentTableView.getPredicate() != null);
+        parentTableView.predicateProperty().addListener(weakFilterListener);
     }
     
     private void addBackingItem(S item, ObservableValue<T> cellValue) {
@@ -230,9 +213,13 @@ public class FilteredTableColumn<S, T> extends TableColumn2<S, T> {
         //listen to cell value and track it
         CellIdentity<S> trackedCellValue = new CellIdentity<>(item);
 
-        ChangeListener<T> cellListener = new WeakChangeListener(changeListener);
-        cellValue.addListener(cellListener);
-        trackedCells.put(trackedCellValue, cellListener);
+        CellTracker<T> cellTracker = new CellTracker<>((obs, ov, nv) -> {
+            // only the result of this row for this column is outdated
+            getFilteredTableView().ifPresent(table -> table.invalidateFilterResult(item, this));
+            Platform.runLater(() -> runOnFilteredTableView(FilteredTableView::filterChangedCells));
+        });
+        cellValue.addListener(cellTracker.weakListener);
+        trackedCells.put(trackedCellValue, cellTracker);
     }
     
     private void removeBackingItem(S item, ObservableValue<T> cellValue) {
@@ -240,8 +227,10 @@ public class FilteredTableColumn<S, T> extends TableColumn2<S, T> {
             return;
         }
         //remove listener from cell
-        ChangeListener<T> listener = trackedCells.remove(new CellIdentity<>(item));
-        cellValue.removeListener(listener);
+        CellTracker<T> cellTracker = trackedCells.remove(new CellIdentity<>(item));
+        if (cellTracker != null) {
+            cellValue.removeListener(cellTracker.weakListener);
+        }
     }
     
     private void runOnFilteredTableView(Consumer<FilteredTableView> consumer) {
@@ -256,6 +245,20 @@ public class FilteredTableColumn<S, T> extends TableColumn2<S, T> {
         return Optional.empty();
     }
     
+    /**
+     * The listener of a cell value, which is weakly referenced by the cell
+     * value and strongly by the column.
+     */
+    private static final class CellTracker<T> {
+        private final ChangeListener<T> listener;
+        private final WeakChangeListener<T> weakListener;
+
+        CellTracker(ChangeListener<T> listener) {
+            this.listener = listener;
+            this.weakListener = new WeakChangeListener<>(listener);
+        }
+    }
+    
     private static final class CellIdentity<S> {
         private final S item;
 
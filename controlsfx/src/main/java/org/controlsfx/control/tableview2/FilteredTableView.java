@@ -26,11 +26,13 @@
  */
 package org.controlsfx.control.tableview2;
 
+import impl.org.controlsfx.tableview2.FilterResults;
 import impl.org.controlsfx.tableview2.FilteredColumnPredicate;
 import java.util.Objects;
 import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javafx.application.Platform;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ObjectPropertyBase;
 import javafx.beans.property.ReadOnlyObjectProperty;
@@ -41,6 +43,7 @@ import javafx.collections.transformation.FilteredList;
 import javafx.collections.transformation.SortedList;
 import javafx.event.EventHandler;
 import javafx.event.EventType;
+import javafx.scene.control.TableColumnBase;
 import javafx.scene.control.TableView;
 import javafx.util.Callback;
 import org.controlsfx.control.tableview2.event.FilterEvent;
@@ -174,6 +177,15 @@ public class FilteredTableView<S> extends TableView2<S> {
      */
     private ObservableList<S> backingList;
     
+    /**
+     * The results of the rows of the backing list for each filtered column,
+     * so that changing the predicate of one column only tests that column 
+     * again.
+     */
+    private FilterResults<S> filterResults;
+    private boolean filteringChangedCells;
+    private boolean filterChangedCellsScheduled;
+    
     /**
      * The default {@link #filterPolicyProperty() filter policy} that this FilteredTableView
      * will use if no other policy is specified. The filter policy is a simple
@@ -423,7 +435,15 @@ public class FilteredTableView<S> extends TableView2<S> {
                 .noneMatch(f -> f.getPredicate() != null);
         
         // update the Predicate property
-        setPredicate(filterExists ? null : new FilteredColumnPredicate(getVisibleLeafColumns()));
+        FilterResults<S> results = getFilterResults();
+        int resetCount = results == null ? 0 : results.getResetCount();
+        Predicate<S> predicate = filterExists ? null : new FilteredColumnPredicate(getVisibleLeafColumns(), results);
+        if (results != null && ! filteringChangedCells && results.getResetCount() == resetCount) {
+            // neither a predicate nor a tracked cell changed, the kept results
+            // may be outdated by something they do not know about
+            results.clear();
+        }
+        setPredicate(predicate);
 
         // fire the onFilter event and check if it is consumed, if so, don't run the filtering
         FilterEvent<TableView<S>> filterEvent = new FilterEvent<>(FilteredTableView.this, FilteredTableView.this);
@@ -458,6 +478,49 @@ public class FilteredTableView<S> extends TableView2<S> {
         return backingList;
     }
     
+    /**
+     * Runs the filter after the value of some cells changed, their results 
+     * having already been forgotten with {@link #invalidateFilterResult}.
+     */
+    void filterChangedCells() {
+        filteringChangedCells = true;
+        try {
+            filter();
+        } finally {
+            filteringChangedCells = false;
+        }
+    }
+    
+    private void scheduleFilterChangedCells() {
+        if (! filterChangedCellsScheduled) {
+            filterChangedCellsScheduled = true;
+            Platform.runLater(() -> {
+                filterChangedCellsScheduled = false;
+                filterChangedCells();
+            });
+        }
+    }
+    
+    /**
+     * Forgets the result of the row for the given column, after the value 
+     * of its cell changed.
+     */
+    void invalidateFilterResult(S item, TableColumnBase<S, ?> column) {
+        if (filterResults != null) {
+            filterResults.invalidate(item, column);
+        }
+    }
+    
+    private FilterResults<S> getFilterResults() {
+        if (backingList == null) {
+            return null;
+        }
+        if (filterResults == null || filterResults.getBackingList() != backingList) {
+            filterResults = new FilterResults<>(backingList, this::scheduleFilterChangedCells);
+        }
+        return filterResults;
+    }
+    
     private void resetColumnsFilter() {
         getVisibleLeafColumns().stream()
                 .filter(FilteredTableColumn.class::isInstance)
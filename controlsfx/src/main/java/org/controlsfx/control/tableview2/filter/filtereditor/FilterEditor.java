@@ -26,29 +26,30 @@
  */
 package org.controlsfx.control.tableview2.filter.filtereditor;
 
-import javafx.application.Platform;
+import impl.org.controlsfx.tableview2.ColumnValues;
 import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.WeakChangeListener;
 import javafx.collections.FXCollections;
-import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
-import javafx.collections.WeakListChangeListener;
 import javafx.css.PseudoClass;
 import javafx.scene.control.ComboBox;
+import javafx.scene.control.ComboBoxBase;
 import javafx.scene.control.Tooltip;
 import org.controlsfx.control.tableview2.FilteredTableColumn;
 import org.controlsfx.control.tableview2.filter.filtermenubutton.FilterMenuButton;
 
 import java.util.function.Predicate;
 import javafx.beans.WeakInvalidationListener;
-import javafx.scene.control.TableView;
 
 /**
  * The FilterEditor allows filtering the column by adding text to its editor or
  * by selecting an item from the popup list.
  * 
+ * The popup list holds the distinct values of the column, which are collected 
+ * when the popup is first shown and then updated as the table items change.
+ * 
  * @param <S> Type of the objects contained within the 
  *      {@link org.controlsfx.control.tableview2.FilteredTableView} items list.
  * @param <T> Type of the content to be filtered,
@@ -62,40 +63,16 @@ public class FilterEditor<S, T> extends ComboBox<T> {
     private final FilteredTableColumn<S, T> tableColumn;
     private final ObservableList<T> filterValues;
 
-    private final ListChangeListener<S> itemsListener = lc -> loadItems();
-    private final WeakListChangeListener<S> weakListChangeListener = new WeakListChangeListener<>(itemsListener);
-    
     private final ChangeListener<String> editorListener = (obs, ov, nv) -> {
         if (getTableColumn() == null || getTableColumn().getTableView() == null) {
             return;
         }
-        ObservableList<S> items = getTableColumn().getTableView().getItems();
-        if (items != null) {
-            items.removeListener(weakListChangeListener);
-        } 
         updatePredicate(nv);
-        if (items != null) {
-            items.addListener(weakListChangeListener);
-        }
     };
     private final WeakChangeListener<String> weakEditorListener = new WeakChangeListener<>(editorListener);
     
-    private final ChangeListener<ObservableList<S>> itemsPropertyListener = (obs, ov, nv) -> {
-            if (ov != null) {
-                ov.removeListener(weakListChangeListener);
-            }
-            if (nv != null) {
-                nv.addListener(weakListChangeListener);
-            } 
-            Platform.runLater(() -> loadItems());
-        };
-    private final WeakChangeListener<ObservableList<S>> weakItemsPropertyListener = new WeakChangeListener<>(itemsPropertyListener);
-    
     private InvalidationListener parentListener;
     private WeakInvalidationListener weakParentListener;
-
-    private InvalidationListener tableListener;
-    private WeakInvalidationListener weakTableListener;
     
     private FilterMenuButton menuButton;
     private final ChangeListener<Boolean> menuButtonListener = (obs, ov, nv) -> {
@@ -122,18 +99,8 @@ public class FilterEditor<S, T> extends ComboBox<T> {
         }
         getStyleClass().add("filter-editor");
         
-        if (tableColumn.getTableView() != null) {
-            addItemsListeners();
-        } else {
-            tableListener = (Observable o) -> {
-                if (tableColumn.getTableView() != null) {
-                    addItemsListeners();
-                    this.tableColumn.tableViewProperty().removeListener(weakTableListener);
-                }
-            };
-            weakTableListener = new WeakInvalidationListener(tableListener);
-            this.tableColumn.tableViewProperty().addListener(weakTableListener);
-        }
+        // the values are only needed once the popup is shown
+        addEventHandler(ComboBoxBase.ON_SHOWING, e -> loadItems());
         
         setItems(filterValues);
         setEditable(true);
@@ -148,26 +115,14 @@ public class FilterEditor<S, T> extends ComboBox<T> {
         menuButton.showingProperty().addListener(weakMenuButtonListener);
     }
     
-    private void addItemsListeners() {
-        final TableView<S> tableView = tableColumn.getTableView();
-        
-        tableView.itemsProperty().addListener(weakItemsPropertyListener);
-        tableView.getItems().addListener(weakListChangeListener);
-        loadItems();
-    }
-    
     private void loadItems() {
         T selection = getValue();
-        filterValues.clear();
         if (tableColumn != null && tableColumn.getTableView() != null && 
                 tableColumn.getTableView().getItems() != null) {
-            tableColumn.getTableView().getItems().stream()
-                    .filter((s) -> tableColumn.getCellData(s) != null)
-                    .map(tableColumn::getCellData)
-                    .distinct()
-                    .forEach(filterValues::add);
+            filterValues.setAll(ColumnValues.of(tableColumn).getValues());
             setValue(selection);
         } else {
+            filterValues.clear();
             setValue(null);
         }
     }
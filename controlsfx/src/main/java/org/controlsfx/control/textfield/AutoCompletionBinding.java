@@ -32,7 +32,8 @@ import impl.org.controlsfx.skin.AutoCompletePopupSkin;
 import javafx.application.Platform;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ObjectPropertyBase;
-import javafx.concurrent.Task;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.event.*;
 import javafx.scene.Node;
 import javafx.scene.control.ListView;
@@ -40,8 +41,15 @@ import javafx.scene.control.Skin;
 import javafx.util.Callback;
 import javafx.util.StringConverter;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.IntegerProperty;
 
@@ -53,6 +61,15 @@ import javafx.beans.property.IntegerProperty;
  *
  * The popup size can be modified through its {@link #setVisibleRowCount(int) }
  * for the height and all the usual methods for the width.
+ *
+ * <p>The suggestions are fetched in the background once the user has stopped
+ * typing for {@link #setDelay(long) delay} milliseconds. By default, every
+ * binding shares a single daemon worker thread, another {@link Executor} can
+ * be given with {@link #setExecutor(Executor)}. A request is cancelled as soon
+ * as the user input changes again: a suggestion provider performing a long
+ * search should check {@link ISuggestionRequest#isCancelled()} regularly.
+ * The timings of the last request are available through
+ * {@link #lastQueryMetricsProperty()}.
  * 
  * @param <T> Model-Type of the suggestions
  * @see TextFields
@@ -60,6 +77,32 @@ import javafx.beans.property.IntegerProperty;
 public abstract class AutoCompletionBinding<T> implements EventTarget {
 
 
+    /***************************************************************************
+     *                                                                         *
+     * Static fields                                                           *
+     *                                                                         *
+     **************************************************************************/
+
+    /**
+     * The timer shared by all the bindings. It only waits for the delays, so
+     * that a slow suggestion provider never holds back the other requests.
+     */
+    private static final ScheduledExecutorService SHARED_TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "AutoCompletionBinding timer"); //$NON-NLS-1$
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The worker shared by all the bindings without an executor of their own.
+     * It fetches the suggestions.
+     */
+    private static final ExecutorService SHARED_WORKER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "AutoCompletionBinding worker"); //$NON-NLS-1$
+        thread.setDaemon(true);
+        return thread;
+    });
+
     /***************************************************************************
      *                                                                         *
      * Private fields                                                          *
@@ -68,11 +111,13 @@ public abstract class AutoCompletionBinding<T> implements EventTarget {
     private final Node completionTarget;
     private final AutoCompletePopup<T> autoCompletionPopup;
     private final Object suggestionsTaskLock = new Object();
+    private final ReadOnlyObjectWrapper<QueryMetrics> lastQueryMetrics = new ReadOnlyObjectWrapper<>(this, "lastQueryMetrics"); //$NON-NLS-1$
 
-    private FetchSuggestionsTask suggestionsTask = null;
+    private SuggestionRequest suggestionRequest = null;
     private Callback<ISuggestionRequest, Collection<T>> suggestionProvider = null;
     private boolean ignoreInputChanges = false;
-    private long delay = 250;
+    private volatile long delay = 250;
+    private volatile Executor executor = null;
 
     /***************************************************************************
      *                                                                         *
@@ -145,6 +190,47 @@ public abstract class AutoCompletionBinding<T> implements EventTarget {
         this.delay = delay;
     }
 
+    /**
+     * Sets the executor used to fetch the suggestions. If {@code null}, which
+     * is the default, the suggestions are fetched on a single daemon thread
+     * shared by all the bindings.
+     *
+     * @param executor
+     */
+    public final void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Returns the executor used to fetch the suggestions, or {@code null} if
+     * the shared worker thread is used.
+     *
+     * @return the executor used to fetch the suggestions.
+     */
+    public final Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Returns the timings of the last suggestion request whose result has been
+     * displayed. This property is updated on the JavaFX Application Thread.
+     *
+     * @return the timings of the last suggestion request.
+     */
+    public final ReadOnlyObjectProperty<QueryMetrics> lastQueryMetricsProperty() {
+        return lastQueryMetrics.getReadOnlyProperty();
+    }
+
+    /**
+     * Returns the timings of the last suggestion request whose result has been
+     * displayed, or {@code null} if no request has completed yet.
+     *
+     * @return the timings of the last suggestion request.
+     */
+    public final QueryMetrics getLastQueryMetrics() {
+        return lastQueryMetrics.get();
+    }
+
     /**
      * Gets the target node for auto completion
      * @return the target node for auto completion
@@ -302,6 +388,19 @@ public abstract class AutoCompletionBinding<T> implements EventTarget {
         Event.fireEvent(this, new AutoCompletionEvent<>(completion));
     }
 
+    /**
+     * Cancels the suggestion request in progress, if any. Sub-classes should
+     * call it when they are disposed.
+     */
+    protected final void cancelSuggestionRequest(){
+        synchronized (suggestionsTaskLock) {
+            if(suggestionRequest != null){
+                suggestionRequest.cancel();
+                suggestionRequest = null;
+            }
+        }
+    }
+
 
     /***************************************************************************
      *                                                                         *
@@ -330,13 +429,13 @@ public abstract class AutoCompletionBinding<T> implements EventTarget {
      */
     private final void onUserInputChanged(final String userText){
         synchronized (suggestionsTaskLock) {
-            if(suggestionsTask != null && suggestionsTask.isRunning()){
-                // cancel the current running task
-                suggestionsTask.cancel(); 
+            if(suggestionRequest != null){
+                // cancel the pending or running request
+                suggestionRequest.cancel();
             }
-            // create a new fetcher task
-            suggestionsTask = new FetchSuggestionsTask(userText, delay);
-            new Thread(suggestionsTask).start();
+            // schedule a new request once the delay has elapsed
+            suggestionRequest = new SuggestionRequest(userText);
+            suggestionRequest.schedule(delay);
         }
     }
 
@@ -386,45 +485,135 @@ public abstract class AutoCompletionBinding<T> implements EventTarget {
 
 
     /**
-     * This task is responsible to fetch suggestions asynchronous
-     * by using the current defined suggestionProvider
-     *
+     * Timings of a suggestion request.
      */
-    private class FetchSuggestionsTask extends Task<Void> implements ISuggestionRequest {
+    public static final class QueryMetrics {
         private final String userText;
-        private final long delay;
+        private final Duration queueWaitTime;
+        private final Duration providerTime;
+        private final Duration renderTime;
 
-        public FetchSuggestionsTask(String userText, long delay){
+        QueryMetrics(String userText, long queueWaitNanos, long providerNanos, long renderNanos) {
             this.userText = userText;
-            this.delay = delay;
+            this.queueWaitTime = Duration.ofNanos(queueWaitNanos);
+            this.providerTime = Duration.ofNanos(providerNanos);
+            this.renderTime = Duration.ofNanos(renderNanos);
+        }
+
+        /**
+         * Get the user text of the request
+         * @return the user text of the request
+         */
+        public String getUserText() {
+            return userText;
+        }
+
+        /**
+         * Get the time spent waiting for the executor, once the delay had
+         * elapsed
+         * @return the time spent waiting for the executor
+         */
+        public Duration getQueueWaitTime() {
+            return queueWaitTime;
+        }
+
+        /**
+         * Get the time spent in the suggestion provider
+         * @return the time spent in the suggestion provider
+         */
+        public Duration getProviderTime() {
+            return providerTime;
+        }
+
+        /**
+         * Get the time between the end of the suggestion provider and the
+         * display of the suggestions, including the wait for the JavaFX
+         * Application Thread
+         * @return the time spent displaying the suggestions
+         */
+        public Duration getRenderTime() {
+            return renderTime;
+        }
+
+        @Override
+        public String toString() {
+            return "QueryMetrics[userText=" + userText + ", queueWait=" + queueWaitTime //$NON-NLS-1$ //$NON-NLS-2$
+                    + ", provider=" + providerTime + ", render=" + renderTime + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        }
+    }
+
+    /**
+     * This request is responsible to fetch suggestions asynchronous
+     * by using the current defined suggestionProvider. It is scheduled on the
+     * shared timer, then run on the executor once the delay has elapsed.
+     */
+    private class SuggestionRequest implements ISuggestionRequest, Runnable {
+        private final String userText;
+        private volatile boolean cancelled = false;
+        private volatile Future<?> scheduled;
+        private volatile long readyTime;
+
+        SuggestionRequest(String userText){
+            this.userText = userText;
+        }
+
+        void schedule(long delay) {
+            scheduled = SHARED_TIMER.schedule(this::submit, delay, TimeUnit.MILLISECONDS);
+        }
+
+        void cancel() {
+            cancelled = true;
+            Future<?> future = scheduled;
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+
+        private void submit() {
+            if (cancelled) {
+                return;
+            }
+            readyTime = System.nanoTime();
+            Executor customExecutor = executor;
+            (customExecutor == null ? SHARED_WORKER : customExecutor).execute(this);
         }
 
         @Override
-        protected Void call() throws Exception {
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+            long startTime = System.nanoTime();
             Callback<ISuggestionRequest, Collection<T>> provider = suggestionProvider;
-            if(provider != null){
-                long startTime = System.currentTimeMillis();
-                long sleepTime = startTime + delay - System.currentTimeMillis();
-                if (sleepTime > 0 && !isCancelled()) {
-                    Thread.sleep(sleepTime);
-                }
-                if(!isCancelled()){
-                    final Collection<T> fetchedSuggestions = provider.call(this);
-                    Platform.runLater(() -> {
-                        if(fetchedSuggestions != null && !fetchedSuggestions.isEmpty()){
-                            autoCompletionPopup.getSuggestions().setAll(fetchedSuggestions);
-                            showPopup();
-                        }else{
-                            // No suggestions found, so hide the popup
-                            hidePopup();
-                        }
-                    });
-                }
-            }else {
-                // No suggestion provider
+            final Collection<T> fetchedSuggestions = provider == null ? null : provider.call(this);
+            long fetchedTime = System.nanoTime();
+            if (!cancelled) {
+                Platform.runLater(() -> deliver(fetchedSuggestions, startTime - readyTime,
+                        fetchedTime - startTime, fetchedTime));
+            }
+        }
+
+        /**
+         * Displays all the suggestions at once on the JavaFX Application
+         * Thread, unless the request has been cancelled meanwhile.
+         */
+        private void deliver(Collection<T> fetchedSuggestions, long queueWait, long providerTime, long fetchedTime) {
+            if (cancelled) {
+                return;
+            }
+            if(fetchedSuggestions != null && !fetchedSuggestions.isEmpty()){
+                autoCompletionPopup.getSuggestions().setAll(fetchedSuggestions);
+                showPopup();
+            }else{
+                // No suggestions found, so hide the popup
                 hidePopup();
             }
-            return null;
+            lastQueryMetrics.set(new QueryMetrics(userText, queueWait, providerTime, System.nanoTime() - fetchedTime));
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
         }
 
         @Override
@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.controlsfx.property;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * What is known about a bean class: its property descriptors, and the
+ * accessors of its properties as {@link MethodHandle}s. It is computed once
+ * per class and stored through a {@link ClassValue}, so it does not keep the
+ * class, nor its class loader, from being collected.
+ */
+// not public API
+final class BeanMetadata {
+
+    private static final ClassValue<BeanMetadata> METADATA = new ClassValue<BeanMetadata>() {
+        @Override protected BeanMetadata computeValue(Class<?> type) {
+            return new BeanMetadata(type);
+        }
+    };
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * A handle of type (Method,Object,Object[])Object invoking the method
+     * reflectively, when it cannot be unreflected.
+     */
+    private static final MethodHandle REFLECTIVE_INVOKER;
+
+    static {
+        try {
+            REFLECTIVE_INVOKER = MethodHandles.lookup().findStatic(BeanMetadata.class, "invokeReflectively", //$NON-NLS-1$
+                    MethodType.methodType(Object.class, Method.class, Object.class, Object[].class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Returns the metadata of the given bean class.
+     */
+    static BeanMetadata of(Class<?> beanClass) {
+        return METADATA.get(beanClass);
+    }
+
+    private final Class<?> beanClass;
+    private final PropertyDescriptor[] propertyDescriptors;
+    private final Map<Method, MethodHandle> accessors = new ConcurrentHashMap<>();
+    private final Map<String, Optional<MethodHandle>> observableAccessors = new ConcurrentHashMap<>();
+
+    private BeanMetadata(Class<?> beanClass) {
+        this.beanClass = beanClass;
+        PropertyDescriptor[] descriptors = new PropertyDescriptor[0];
+        try {
+            // only the BeanInfo of a class without stop class is cached by the Introspector
+            BeanInfo beanInfo = Introspector.getBeanInfo(beanClass, Object.class);
+            descriptors = beanInfo.getPropertyDescriptors();
+        } catch (IntrospectionException e) {
+            e.printStackTrace();
+        }
+        this.propertyDescriptors = descriptors;
+    }
+
+    /**
+     * Returns the property descriptors of the class. The array is a copy, but
+     * the descriptors themselves are shared by all the callers, so they must
+     * not be modified.
+     */
+    PropertyDescriptor[] getPropertyDescriptors() {
+        return propertyDescriptors.clone();
+    }
+
+    /**
+     * Returns a handle of type (Object)Object invoking the given read method.
+     */
+    MethodHandle getGetter(Method readMethod) {
+        return accessors.computeIfAbsent(readMethod, m -> unreflect(m, GETTER_TYPE));
+    }
+
+    /**
+     * Returns a handle of type (Object,Object)void invoking the given write
+     * method.
+     */
+    MethodHandle getSetter(Method writeMethod) {
+        return accessors.computeIfAbsent(writeMethod, m -> unreflect(m, SETTER_TYPE));
+    }
+
+    /**
+     * Returns a handle of type (Object)Object invoking the public
+     * {@code <name>Property()} method of the class, if there is one.
+     */
+    Optional<MethodHandle> getObservableAccessor(String propertyName) {
+        return observableAccessors.computeIfAbsent(propertyName, name -> {
+            try {
+                Method m = beanClass.getMethod(name + "Property"); //$NON-NLS-1$
+                return Optional.of(unreflect(m, GETTER_TYPE));
+            } catch (NoSuchMethodException | SecurityException e) {
+                return Optional.empty();
+            }
+        });
+    }
+
+    private static MethodHandle unreflect(Method method, MethodType type) {
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.publicLookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            try {
+                // e.g. a public method declared in a class that is not public
+                method.setAccessible(true);
+                handle = MethodHandles.lookup().unreflect(method);
+            } catch (IllegalAccessException | RuntimeException ex) {
+                // e.g. a class in a module not open to this one, the method
+                // is then invoked reflectively, and fails only when invoked
+                handle = MethodHandles.insertArguments(REFLECTIVE_INVOKER, 0, method)
+                        .asCollector(Object[].class, type.parameterCount() - 1);
+            }
+        }
+        // boxes primitives and, for setters returning something, drops the result
+        return handle.asType(type);
+    }
+
+    private static Object invokeReflectively(Method method, Object bean, Object[] args) throws Throwable {
+        try {
+            return method.invoke(bean, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -29,7 +29,7 @@ package org.controlsfx.property;
 import java.beans.FeatureDescriptor;
 import java.beans.PropertyDescriptor;
 import java.beans.PropertyVetoException;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 import java.util.Optional;
 
@@ -73,15 +73,22 @@ public class BeanProperty implements PropertySheet.Item {
 
     private final Object bean;
     private final PropertyDescriptor beanPropertyDescriptor;
-    private final Method readMethod;
+    private final BeanMetadata metadata;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
     private boolean editable = true;
+    private String category;
     private Optional<ObservableValue<? extends Object>> observableValue = Optional.empty();
 
     public BeanProperty(final Object bean, final PropertyDescriptor propertyDescriptor) {
         this.bean = bean;
         this.beanPropertyDescriptor = propertyDescriptor;
-        this.readMethod = propertyDescriptor.getReadMethod();
-        if (this.beanPropertyDescriptor.getWriteMethod() == null) {
+        this.metadata = BeanMetadata.of(bean.getClass());
+        final Method readMethod = propertyDescriptor.getReadMethod();
+        final Method writeMethod = propertyDescriptor.getWriteMethod();
+        this.getter = readMethod == null ? null : this.metadata.getGetter(readMethod);
+        this.setter = writeMethod == null ? null : this.metadata.getSetter(writeMethod);
+        if (writeMethod == null) {
             this.setEditable(false);
         }
 
@@ -105,9 +112,14 @@ public class BeanProperty implements PropertySheet.Item {
 
     /** {@inheritDoc} */
     @Override public Object getValue() {
+        if (this.getter == null) {
+            return null;
+        }
         try {
-            return this.readMethod.invoke(this.bean);
-        } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+            return (Object) this.getter.invokeExact(this.bean);
+        } catch (final Error e) {
+            throw e;
+        } catch (final Throwable e) {
             e.printStackTrace();
             return null;
         }
@@ -115,36 +127,37 @@ public class BeanProperty implements PropertySheet.Item {
 
     /** {@inheritDoc} */
     @Override public void setValue(final Object value) {
-        final Method writeMethod = this.beanPropertyDescriptor.getWriteMethod();
-        if ( writeMethod != null ) {
+        if ( this.setter != null ) {
             try {
-                writeMethod.invoke(this.bean, value);
-            } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-                e.printStackTrace();
+                this.setter.invokeExact(this.bean, value);
+            } catch (final PropertyVetoException e) {
+                final Alert alert = new Alert(Alert.AlertType.ERROR);
+                alert.setTitle(Localization.localize(Localization.asKey("bean.property.change.error.title")));//$NON-NLS-1$
+                alert.setHeaderText(Localization.localize(Localization.asKey("bean.property.change.error.masthead")));//$NON-NLS-1$
+                alert.setContentText(e.getLocalizedMessage());
+                alert.showAndWait();
+            } catch (final Error e) {
+                throw e;
             } catch (final Throwable e) {
-                if (e instanceof PropertyVetoException) {
-                    final Alert alert = new Alert(Alert.AlertType.ERROR);
-                    alert.setTitle(Localization.localize(Localization.asKey("bean.property.change.error.title")));//$NON-NLS-1$
-                    alert.setHeaderText(Localization.localize(Localization.asKey("bean.property.change.error.masthead")));//$NON-NLS-1$
-                    alert.setContentText(e.getLocalizedMessage());
-                    alert.showAndWait();
-                } else {
-                    throw e;
-                }
+                // a value of the wrong type, or an exception of the setter itself
+                e.printStackTrace();
             }
         }
     }
 
     /** {@inheritDoc} */
     @Override public String getCategory() {
-        String category = (String) this.beanPropertyDescriptor.getValue(BeanProperty.CATEGORY_LABEL_KEY);
+        if (this.category == null) {
+            String category = (String) this.beanPropertyDescriptor.getValue(BeanProperty.CATEGORY_LABEL_KEY);
 
-        // fall back to default behavior if there is no category provided.
-        if (category == null) {
-            category = Localization.localize(Localization.asKey(this.beanPropertyDescriptor.isExpert()
-                    ? "bean.property.category.expert" : "bean.property.category.basic")); //$NON-NLS-1$ //$NON-NLS-2$
+            // fall back to default behavior if there is no category provided.
+            if (category == null) {
+                category = Localization.localize(Localization.asKey(this.beanPropertyDescriptor.isExpert()
+                        ? "bean.property.category.expert" : "bean.property.category.basic")); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            this.category = category;
         }
-        return category;
+        return this.category;
     }
 
     /**
@@ -193,16 +206,19 @@ public class BeanProperty implements PropertySheet.Item {
     }
 
     private void findObservableValue() {
-        try {
-            final String propName = this.beanPropertyDescriptor.getName() + "Property";
-            final Method m = this.getBean().getClass().getMethod(propName);
-            final Object val = m.invoke(this.getBean());
-            if ((val != null) && (val instanceof ObservableValue)) {
-                this.observableValue = Optional.of((ObservableValue<?>) val);
+        final Optional<MethodHandle> accessor = this.metadata.getObservableAccessor(this.beanPropertyDescriptor.getName());
+        if (accessor.isPresent()) {
+            try {
+                final Object val = (Object) accessor.get().invokeExact(this.getBean());
+                if ((val != null) && (val instanceof ObservableValue)) {
+                    this.observableValue = Optional.of((ObservableValue<?>) val);
+                }
+            } catch (final Error e) {
+                throw e;
+            } catch (final Throwable ex) {
+                //Logger.getLogger(BeanProperty.class.getName()).log(Level.SEVERE, null, ex);
+                // ignore it...
             }
-        } catch (NoSuchMethodException | SecurityException | IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
-            //Logger.getLogger(BeanProperty.class.getName()).log(Level.SEVERE, null, ex);
-            // ignore it...
         }
     }
 }
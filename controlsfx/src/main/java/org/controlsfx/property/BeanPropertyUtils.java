@@ -26,9 +26,6 @@
  */
 package org.controlsfx.property;
 
-import java.beans.BeanInfo;
-import java.beans.IntrospectionException;
-import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
 import java.util.function.Predicate;
 
@@ -69,6 +66,13 @@ public final class BeanPropertyUtils {
      * Given a JavaBean, this method will return a list of {@link Item} intances,
      * which may be directly placed inside a {@link PropertySheet} (via its
      * {@link PropertySheet#getItems() items list}.
+     * <p>
+     * The class of the bean is only introspected the first time one of its 
+     * instances is given, the {@link PropertyDescriptor}s are then shared by
+     * all the items created for that class. They must therefore not be
+     * modified, by the predicate or through
+     * {@link BeanProperty#getPropertyDescriptor() }: a change would show in
+     * every later sheet of the class.
      * 
      * @param bean The JavaBean that should be introspected and be editable via
      *      a {@link PropertySheet}.
@@ -79,15 +83,10 @@ public final class BeanPropertyUtils {
      */
     public static ObservableList<Item> getProperties(final Object bean, Predicate<PropertyDescriptor> test) {
         ObservableList<Item> list = FXCollections.observableArrayList();
-        try {
-            BeanInfo beanInfo = Introspector.getBeanInfo(bean.getClass(), Object.class);
-            for (PropertyDescriptor p : beanInfo.getPropertyDescriptors()) {
-                if (test.test(p)) {
-                    list.add(new BeanProperty(bean, p));
-                }
+        for (PropertyDescriptor p : BeanMetadata.of(bean.getClass()).getPropertyDescriptors()) {
+            if (test.test(p)) {
+                list.add(new BeanProperty(bean, p));
             }
-        } catch (IntrospectionException e) {
-            e.printStackTrace();
         }
 
         return list;
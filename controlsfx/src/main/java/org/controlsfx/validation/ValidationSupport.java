@@ -26,15 +26,24 @@
  */
 package org.controlsfx.validation;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 import javafx.application.Platform;
+import javafx.beans.binding.ObjectBinding;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyBooleanProperty;
@@ -81,6 +90,11 @@ import org.controlsfx.validation.decoration.ValidationDecoration;
  *     ValueExtractor.addObservableValueExtractor( c -&gt; c instanceof TextInputControl, c -&gt; ((TextInputControl)c).textProperty());
  *     ValueExtractor.addObservableValueExtractor( c -&gt; c instanceof ComboBox,         c -&gt; ((ComboBox&lt;?&gt;)c).getValue());
  *  </pre>
+ *  
+ *  Value changes are validated once per pulse: only the controls whose value changed since the last pulse are validated 
+ *  again, and only the controls whose highest message changed are redecorated. Expensive validators can be run off the 
+ *  JavaFX Application Thread by setting a {@link #validationExecutorProperty() validation executor}, in which case the 
+ *  result of a validation is dropped if the value changed again in the meantime.
  *   
  */
 public class ValidationSupport {
@@ -114,22 +128,34 @@ public class ValidationSupport {
     
     private AtomicBoolean dataChanged = new AtomicBoolean(false);
     
+    /**
+     * True once the validation decorations have been applied to every
+     * control, which happens the first time their data changes.
+     */
+    private boolean validationDecorated = false;
+    
+    private final Map<Control, ValidatedControl> validatedControls = new HashMap<>();
+    
+    /**
+     * Controls whose value changed since the last pulse.
+     */
+    private final Set<Control> pendingControls = new LinkedHashSet<>();
+    
+    /**
+     * Results computed by the validation executor, waiting for the next pulse.
+     */
+    private final Map<Control, CompletedValidation> completedValidations = new ConcurrentHashMap<>();
+    
+    private final AtomicBoolean pulseScheduled = new AtomicBoolean(false);
+    
+    private int errorCount = 0;
+    private int warningCount = 0;
+    
     /**
      * Creates validation support instance. <br>
      * If initial decoration is desired invoke {@link #initInitialDecoration()}.
      */
     public ValidationSupport() {
-
-        validationResultProperty().addListener( (o, oldValue, validationResult) -> {
-            invalidProperty.set(!validationResult.getErrors().isEmpty());
-            redecorate();
-        });
-    	
-        // notify validation result observers
-        validationResults.addListener( (MapChangeListener.Change<? extends Control, ? extends ValidationResult> change) ->
-        	validationResultProperty.set(ValidationResult.fromResults(validationResults.values()))
-        );
-
     }
     
     /**
@@ -145,20 +171,23 @@ public class ValidationSupport {
      * Redecorates all known components
      * Only decorations related to validation are affected
      */
-    // TODO needs optimization
     public void redecorate() {
-        Optional<ValidationDecoration> odecorator = Optional.ofNullable(getValidationDecorator());
+        validationDecorated = dataChanged.get();
         for (Control target : getRegisteredControls()) {
-            odecorator.ifPresent( decorator -> {
-            	decorator.removeDecorations(target);
-                decorator.applyRequiredDecoration(target);
-                if ( dataChanged.get() && isErrorDecorationEnabled()) {
-                	getHighestMessage(target).ifPresent(msg -> decorator.applyValidationDecoration(msg));
-                }
-            });
+            redecorate(target);
         }
     }
     
+    private void redecorate(Control target) {
+        Optional.ofNullable(getValidationDecorator()).ifPresent( decorator -> {
+            decorator.removeDecorations(target);
+            decorator.applyRequiredDecoration(target);
+            if ( dataChanged.get() && isErrorDecorationEnabled()) {
+                getHighestMessage(target).ifPresent(msg -> decorator.applyValidationDecoration(msg));
+            }
+        });
+    }
+    
     private BooleanProperty errorDecorationEnabledProperty = new SimpleBooleanProperty(true) {
     	protected void invalidated() {
     		redecorate();
@@ -181,6 +210,20 @@ public class ValidationSupport {
 
     private ReadOnlyObjectWrapper<ValidationResult> validationResultProperty = 
             new ReadOnlyObjectWrapper<>();
+    
+    /**
+     * The results of all the controls combined. It is only rebuilt when read,
+     * and not at all while every control is valid. The validationResultProperty
+     * is bound to it on the first pulse, so that it stays null until then.
+     */
+    private final ObjectBinding<ValidationResult> combinedResult = new ObjectBinding<ValidationResult>() {
+        @Override protected ValidationResult computeValue() {
+            if (errorCount == 0 && warningCount == 0) {
+                return new ValidationResult();
+            }
+            return ValidationResult.fromResults(validationResults.values());
+        }
+    };
 
 
     /**
@@ -248,6 +291,36 @@ public class ValidationSupport {
     public void setValidationDecorator( ValidationDecoration decorator ) {
         validationDecoratorProperty.set(decorator);
     }
+    
+    
+    private ObjectProperty<Executor> validationExecutorProperty =
+            new SimpleObjectProperty<>(this, "validationExecutor"); //$NON-NLS-1$
+    
+    /**
+     * The executor running the validators. When null, which is the default, validators run on the
+     * JavaFX Application Thread. Otherwise they run on this executor and their results are applied on the 
+     * next pulse, unless the value of the control changed in the meantime.
+     * @return The validation executor property
+     */
+    public ObjectProperty<Executor> validationExecutorProperty() {
+        return validationExecutorProperty;
+    }
+    
+    /**
+     * Returns current validation executor
+     * @return current validation executor or null if validators run on the JavaFX Application Thread
+     */
+    public Executor getValidationExecutor() {
+        return validationExecutorProperty.get();
+    }
+    
+    /**
+     * Sets new validation executor
+     * @param executor new validation executor. Null value makes validators run on the JavaFX Application Thread
+     */
+    public void setValidationExecutor( Executor executor ) {
+        validationExecutorProperty.set(executor);
+    }
 
 
     /**
@@ -268,7 +341,7 @@ public class ValidationSupport {
 						javafx.collections.MapChangeListener.Change<? extends Object, ? extends Object> change) {
 					
 					if ( CTRL_REQUIRED_FLAG.equals(change.getKey())) {
-						redecorate();
+						redecorate(ctrl);
 					}
 				}
 
@@ -281,9 +354,8 @@ public class ValidationSupport {
 
             ObservableValue<T> observable = (ObservableValue<T>) e.call(c);
 
-            Consumer<T> updateResults = value -> { 
-                Platform.runLater(() -> validationResults.put(c, validator.apply(c, value)));
-            };
+            validatedControls.put(c, new ValidatedControl((Validator<Object>) validator));
+            Consumer<T> updateResults = value -> requestValidation(c, value);
 
             controls.add(c);
 
@@ -326,4 +398,141 @@ public class ValidationSupport {
     	   result.getMessages().stream().max(ValidationMessage.COMPARATOR)   
     	);
     }
+    
+    
+    /**************************************************************************
+     * 
+     * Incremental validation
+     * 
+     **************************************************************************/
+    
+    /**
+     * Records the new value of a control, to be validated on the next pulse.
+     */
+    private void requestValidation(Control c, Object value) {
+        if (! Platform.isFxApplicationThread()) {
+            Platform.runLater(() -> requestValidation(c, value));
+            return;
+        }
+        ValidatedControl validatedControl = validatedControls.get(c);
+        validatedControl.value = value;
+        validatedControl.generation++;
+        pendingControls.add(c);
+        schedulePulse();
+    }
+    
+    private void schedulePulse() {
+        if (pulseScheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::pulse);
+        }
+    }
+    
+    /**
+     * Validates the controls changed since the last pulse, applies the results
+     * received from the validation executor, then publishes the aggregated
+     * result and redecorates the controls whose highest message changed.
+     */
+    private void pulse() {
+        pulseScheduled.set(false);
+        
+        boolean resultsChanged = false;
+        List<Control> changedControls = new ArrayList<>();
+        Executor executor = getValidationExecutor();
+        List<Control> controlsToValidate = new ArrayList<>(pendingControls);
+        pendingControls.clear();
+        for (Control c : controlsToValidate) {
+            ValidatedControl validatedControl = validatedControls.get(c);
+            if (executor == null) {
+                applyResult(c, validatedControl.validator.apply(c, validatedControl.value), changedControls);
+                resultsChanged = true;
+            } else {
+                validateLater(executor, c, validatedControl);
+            }
+        }
+        
+        for (Control c : new ArrayList<>(completedValidations.keySet())) {
+            CompletedValidation completed = completedValidations.remove(c);
+            // a result computed for an older value is of no use
+            if (completed.generation == validatedControls.get(c).generation) {
+                applyResult(c, completed.result, changedControls);
+                resultsChanged = true;
+            }
+        }
+        
+        if (! resultsChanged) {
+            return;
+        }
+        invalidProperty.set(errorCount > 0);
+        if (validationResultProperty.isBound()) {
+            combinedResult.invalidate();
+        } else {
+            validationResultProperty.bind(combinedResult);
+        }
+        
+        if (dataChanged.get() && ! validationDecorated) {
+            redecorate();
+        } else {
+            changedControls.forEach(this::redecorate);
+        }
+    }
+    
+    private void validateLater(Executor executor, Control c, ValidatedControl validatedControl) {
+        final int generation = validatedControl.generation;
+        final Object value = validatedControl.value;
+        executor.execute(() -> {
+            // the value changed again before this validation could start
+            if (generation != validatedControl.generation) {
+                return;
+            }
+            ValidationResult result = validatedControl.validator.apply(c, value);
+            completedValidations.put(c, new CompletedValidation(generation, result));
+            schedulePulse();
+        });
+    }
+    
+    /**
+     * Stores the result of a control, keeping the message counts up to date, and
+     * adds the control to the given list if it has never been decorated or if
+     * its highest message changed.
+     */
+    private void applyResult(Control c, ValidationResult result, List<Control> changedControls) {
+        ValidatedControl validatedControl = validatedControls.get(c);
+        Optional<ValidationMessage> oldMessage = getHighestMessage(c);
+        ValidationResult oldResult = validationResults.put(c, result);
+        errorCount += errorCount(result) - errorCount(oldResult);
+        warningCount += warningCount(result) - warningCount(oldResult);
+        if (! validatedControl.decorated || ! Objects.equals(oldMessage, getHighestMessage(c))) {
+            validatedControl.decorated = true;
+            changedControls.add(c);
+        }
+    }
+    
+    private static int errorCount(ValidationResult result) {
+        return result == null ? 0 : result.getErrors().size();
+    }
+    
+    private static int warningCount(ValidationResult result) {
+        return result == null ? 0 : result.getWarnings().size();
+    }
+    
+    private static final class ValidatedControl {
+        private final Validator<Object> validator;
+        private Object value;
+        private volatile int generation;
+        private boolean decorated;
+        
+        ValidatedControl(Validator<Object> validator) {
+            this.validator = validator;
+        }
+    }
+    
+    private static final class CompletedValidation {
+        private final int generation;
+        private final ValidationResult result;
+        
+        CompletedValidation(int generation, ValidationResult result) {
+            this.generation = generation;
+            this.result = result;
+        }
+    }
 }
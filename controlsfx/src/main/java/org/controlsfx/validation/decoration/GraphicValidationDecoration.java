@@ -72,6 +72,12 @@ public class GraphicValidationDecoration extends AbstractValidationDecoration {
     private static final String WARNING_TOOLTIP_EFFECT = POPUP_SHADOW_EFFECT + TOOLTIP_COMMON_EFFECTS
             + "-fx-background-color: FFFFCC; -fx-text-fill: CC9900; -fx-border-color: CC9900;"; //$NON-NLS-1$
 
+    // the last decorations created for each control, reused as long as they
+    // are still relevant so that redecorating a control does not rebuild its nodes.
+    // They are kept in the properties of the control, which they reference,
+    // under a key specific to this instance.
+    private final Object decorationsKey = new Object();
+
     /**
      * Creates default instance
      */
@@ -112,7 +118,12 @@ public class GraphicValidationDecoration extends AbstractValidationDecoration {
      */
     @Override
 	protected Collection<Decoration> createValidationDecorations(ValidationMessage message) {
-    	return Arrays.asList(new GraphicDecoration(createDecorationNode(message),Pos.BOTTOM_LEFT));
+    	CachedDecorations cached = getCachedDecorations(message.getTarget());
+    	if (cached.validation == null || !message.equals(cached.message)) {
+    		cached.validation = Arrays.asList(new GraphicDecoration(createDecorationNode(message),Pos.BOTTOM_LEFT));
+    		cached.message = message;
+    	}
+    	return cached.validation;
 	}
     
     /**
@@ -120,8 +131,21 @@ public class GraphicValidationDecoration extends AbstractValidationDecoration {
      */
     @Override
 	protected Collection<Decoration> createRequiredDecorations(Control target) {
-    	return Arrays.asList(new GraphicDecoration(new ImageView(REQUIRED_IMAGE),Pos.TOP_LEFT, REQUIRED_IMAGE.getWidth()/2, REQUIRED_IMAGE.getHeight()/2));
+    	CachedDecorations cached = getCachedDecorations(target);
+    	if (cached.required == null) {
+    		cached.required = Arrays.asList(new GraphicDecoration(new ImageView(REQUIRED_IMAGE),Pos.TOP_LEFT, REQUIRED_IMAGE.getWidth()/2, REQUIRED_IMAGE.getHeight()/2));
+    	}
+    	return cached.required;
 	}
     
+    private CachedDecorations getCachedDecorations(Control target) {
+    	return (CachedDecorations) target.getProperties().computeIfAbsent(decorationsKey, key -> new CachedDecorations());
+    }
+    
+    private static final class CachedDecorations {
+    	private Collection<Decoration> required;
+    	private ValidationMessage message;
+    	private Collection<Decoration> validation;
+    }
     
 }
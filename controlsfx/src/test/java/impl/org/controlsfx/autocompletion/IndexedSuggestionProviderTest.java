@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package impl.org.controlsfx.autocompletion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import org.controlsfx.control.textfield.AutoCompletionBinding.ISuggestionRequest;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class IndexedSuggestionProviderTest {
+
+    private static final String ALPHABET = "abcAB c";
+
+    /**
+     * The indexed provider must answer exactly like the default provider on
+     * random suggestions and user texts, shorter and longer than an n-gram.
+     */
+    @Test public void testSameAsDefaultProvider() {
+        Random random = new Random(42);
+        List<String> suggestions = randomStrings(random, 2000, 8);
+        IndexedSuggestionProvider<String> indexed = new IndexedSuggestionProvider<>();
+        indexed.addPossibleSuggestions(suggestions);
+        SuggestionProvider<String> reference = SuggestionProvider.create(suggestions);
+
+        for (String userText : randomStrings(random, 300, 5)) {
+            assertEquals(userText, call(reference, userText), call(indexed, userText));
+        }
+    }
+
+    @Test public void testMaximumSuggestions() {
+        Random random = new Random(7);
+        List<String> suggestions = randomStrings(random, 2000, 8);
+        IndexedSuggestionProvider<String> indexed = new IndexedSuggestionProvider<>();
+        indexed.addPossibleSuggestions(suggestions);
+        indexed.setMaximumSuggestions(10);
+        SuggestionProvider<String> reference = SuggestionProvider.create(suggestions);
+
+        for (String userText : randomStrings(random, 300, 4)) {
+            List<String> expected = call(reference, userText);
+            assertEquals(userText, expected.subList(0, Math.min(10, expected.size())), call(indexed, userText));
+        }
+    }
+
+    /**
+     * With an empty user text, the first suggestions in order are returned,
+     * not the first ones added.
+     */
+    @Test public void testShowAllIfEmpty() {
+        IndexedSuggestionProvider<String> indexed = new IndexedSuggestionProvider<>();
+        indexed.addPossibleSuggestions(Arrays.asList("d", "b", "e", "a", "c"));
+        assertTrue(call(indexed, "").isEmpty());
+
+        indexed.setShowAllIfEmpty(true);
+        assertEquals(Arrays.asList("a", "b", "c", "d", "e"), call(indexed, ""));
+
+        indexed.setMaximumSuggestions(2);
+        assertEquals(Arrays.asList("a", "b"), call(indexed, ""));
+    }
+
+    @Test public void testRemovePossibleSuggestions() {
+        Random random = new Random(3);
+        List<String> suggestions = randomStrings(random, 3000, 6);
+        IndexedSuggestionProvider<String> indexed = new IndexedSuggestionProvider<>();
+        indexed.addPossibleSuggestions(suggestions);
+
+        // Enough removals to compact the index.
+        List<String> removed = new ArrayList<>(suggestions.subList(0, 2000));
+        indexed.removePossibleSuggestions(removed);
+        List<String> remaining = new ArrayList<>(suggestions);
+        for (String suggestion : removed) {
+            remaining.remove(suggestion);
+        }
+        SuggestionProvider<String> reference = SuggestionProvider.create(remaining);
+
+        for (String userText : randomStrings(random, 200, 4)) {
+            assertEquals(userText, call(reference, userText), call(indexed, userText));
+        }
+    }
+
+    @Test public void testCancelledRequest() {
+        IndexedSuggestionProvider<String> indexed = new IndexedSuggestionProvider<>();
+        indexed.addPossibleSuggestions(Arrays.asList("abc", "abd"));
+        Collection<String> result = indexed.call(new Request("ab", true));
+        assertTrue(result.isEmpty());
+    }
+
+    private static List<String> call(SuggestionProvider<String> provider, String userText) {
+        return new ArrayList<>(provider.call(new Request(userText, false)));
+    }
+
+    private static List<String> randomStrings(Random random, int count, int maxLength) {
+        List<String> strings = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            int length = 1 + random.nextInt(maxLength);
+            StringBuilder builder = new StringBuilder(length);
+            for (int j = 0; j < length; ++j) {
+                builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            strings.add(builder.toString());
+        }
+        return strings;
+    }
+
+    private static final class Request implements ISuggestionRequest {
+        private final String userText;
+        private final boolean cancelled;
+
+        Request(String userText, boolean cancelled) {
+            this.userText = userText;
+            this.cancelled = cancelled;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public String getUserText() {
+            return userText;
+        }
+    }
+}
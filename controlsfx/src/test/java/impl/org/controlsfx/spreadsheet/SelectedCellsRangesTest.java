@@ -0,0 +1,198 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package impl.org.controlsfx.spreadsheet;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.controlsfx.control.spreadsheet.GridRange;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SelectedCellsRangesTest {
+
+    private SelectedCellsRanges<Long> selection;
+
+    @Before
+    public void setUp() {
+        selection = new SelectedCellsRanges<>(RectangleSelection.SelectionRange::key);
+    }
+
+    @Test public void testAddRange() {
+        assertTrue(selection.isEmpty());
+        assertTrue(selection.add(new GridRange(2, 4, 1, 3)));
+        assertEquals(9, selection.size());
+        assertTrue(selection.isSelected(2, 1));
+        assertTrue(selection.isSelected(4, 3));
+        assertFalse(selection.isSelected(5, 3));
+        assertFalse(selection.isSelected(3, 0));
+        assertTrue(selection.isSelected(3, -1));
+        assertFalse(selection.isSelected(1, -1));
+
+        //A range already covered does not change the selection.
+        assertFalse(selection.add(new GridRange(3, 3, 2, 3)));
+        assertFalse(selection.add(3, 2));
+        assertEquals(1, selection.getRanges().size());
+    }
+
+    @Test public void testOverlappingRangesStayDisjoint() {
+        selection.add(new GridRange(0, 3, 0, 3));
+        selection.add(new GridRange(2, 5, 2, 5));
+        assertEquals(16 + 16 - 4, selection.size());
+        assertDisjoint(selection.getRanges());
+
+        selection.add(new GridRange(0, 5, 0, 5));
+        assertEquals(36, selection.size());
+        assertEquals(1, selection.getRanges().size());
+    }
+
+    @Test public void testRemoveSplitsRange() {
+        selection.add(new GridRange(0, 4, 0, 4));
+        assertTrue(selection.remove(new GridRange(2, 2, 2, 2)));
+        assertEquals(24, selection.size());
+        assertFalse(selection.isSelected(2, 2));
+        assertTrue(selection.isSelected(2, 1));
+        assertTrue(selection.isSelected(1, 2));
+        assertTrue(selection.isSelected(3, 2));
+        assertTrue(selection.isSelected(2, 3));
+        assertEquals(4, selection.getRanges().size());
+        assertDisjoint(selection.getRanges());
+
+        assertFalse(selection.remove(new GridRange(10, 12, 10, 12)));
+        selection.clear();
+        assertTrue(selection.isEmpty());
+        assertEquals(0, selection.size());
+    }
+
+    @Test public void testSetAllCoalescesCells() {
+        List<Long> keys = new ArrayList<>();
+        for (int row = 5; row < 8; ++row) {
+            for (int column = 2; column < 6; ++column) {
+                keys.add(RectangleSelection.SelectionRange.key(row, column));
+            }
+        }
+        //A separate block, and a duplicate key.
+        keys.add(RectangleSelection.SelectionRange.key(10, 0));
+        keys.add(RectangleSelection.SelectionRange.key(5, 2));
+        selection.setAll(toArray(keys));
+
+        assertEquals(13, selection.size());
+        assertEquals(2, selection.getRanges().size());
+        assertTrue(selection.getRanges().contains(new GridRange(5, 7, 2, 5)));
+        assertTrue(selection.getRanges().contains(new GridRange(10, 10, 0, 0)));
+    }
+
+    @Test public void testPositionsMatchIndexes() {
+        selection.add(new GridRange(0, 1, 0, 2));
+        selection.add(new GridRange(1, 3, 1, 4));
+        selection.add(7, 7);
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < selection.size(); ++i) {
+            Long key = selection.get(i);
+            assertTrue(seen.add(key));
+            int row = (int) (key >> 32);
+            int column = (int) (long) key;
+            assertTrue(selection.isSelected(row, column));
+            assertEquals(i, selection.indexOf(row, column));
+        }
+        assertEquals(-1, selection.indexOf(7, 6));
+        assertNull(selection.get(-1));
+    }
+
+    @Test public void testSnapshotIsKept() {
+        selection.add(new GridRange(0, 0, 0, 1));
+        List<GridRange> snapshot = selection.getRanges();
+        selection.add(new GridRange(5, 5, 0, 9));
+
+        List<Long> previous = selection.asList(snapshot);
+        assertEquals(2, previous.size());
+        assertEquals(RectangleSelection.SelectionRange.key(0, 0), previous.get(0));
+        assertEquals(RectangleSelection.SelectionRange.key(0, 1), previous.get(1));
+        assertEquals(12, selection.size());
+    }
+
+    /**
+     * Random additions and removals checked against a plain set of cells.
+     */
+    @Test public void testAgainstCellSet() {
+        Random random = new Random(42);
+        Set<Long> expected = new HashSet<>();
+        for (int step = 0; step < 300; ++step) {
+            int top = random.nextInt(20);
+            int left = random.nextInt(20);
+            GridRange range = new GridRange(top, top + random.nextInt(5), left, left + random.nextInt(5));
+            boolean add = random.nextInt(3) > 0;
+            for (int row = range.getTop(); row <= range.getBottom(); ++row) {
+                for (int column = range.getLeft(); column <= range.getRight(); ++column) {
+                    if (add) {
+                        expected.add(RectangleSelection.SelectionRange.key(row, column));
+                    } else {
+                        expected.remove(RectangleSelection.SelectionRange.key(row, column));
+                    }
+                }
+            }
+            if (add) {
+                selection.add(range);
+            } else {
+                selection.remove(range);
+            }
+
+            assertEquals(expected.size(), selection.size());
+            assertDisjoint(selection.getRanges());
+            for (int row = 0; row < 26; ++row) {
+                for (int column = 0; column < 26; ++column) {
+                    assertEquals(expected.contains(RectangleSelection.SelectionRange.key(row, column)), selection.isSelected(row, column));
+                }
+            }
+        }
+        assertEquals(expected, new HashSet<>(selection.asList(selection.getRanges())));
+
+        selection.setAll(toArray(new ArrayList<>(expected)));
+        assertEquals(expected.size(), selection.size());
+        assertDisjoint(selection.getRanges());
+        assertEquals(expected, new HashSet<>(selection.asList(selection.getRanges())));
+    }
+
+    private static void assertDisjoint(List<GridRange> ranges) {
+        for (int i = 0; i < ranges.size(); ++i) {
+            for (int j = i + 1; j < ranges.size(); ++j) {
+                assertFalse(ranges.get(i) + " / " + ranges.get(j), ranges.get(i).intersects(ranges.get(j)));
+            }
+        }
+    }
+
+    private static long[] toArray(List<Long> keys) {
+        long[] array = new long[keys.size()];
+        for (int i = 0; i < array.length; ++i) {
+            array[i] = keys.get(i);
+        }
+        return array;
+    }
+}
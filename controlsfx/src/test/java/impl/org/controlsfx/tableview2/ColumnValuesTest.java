@@ -0,0 +1,195 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package impl.org.controlsfx.tableview2;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import javafx.beans.Observable;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import org.controlsfx.control.spreadsheet.JavaFXThreadingRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ColumnValuesTest {
+    @Rule public JavaFXThreadingRule javafxRule = new JavaFXThreadingRule();
+
+    private static final class Row {
+        final StringProperty value;
+
+        Row(String value) {
+            this.value = new SimpleStringProperty(value);
+        }
+    }
+
+    private TableView<Row> table;
+    private TableColumn<Row, String> column;
+    private ObservableList<Row> items;
+    private ColumnValues<Row, String> columnValues;
+    // the number of cell values read
+    private int reads;
+
+    @Before
+    public void setUp() {
+        column = new TableColumn<>("Value");
+        column.setCellValueFactory(p -> {
+            reads++;
+            return p.getValue().value;
+        });
+        items = rows("b", "a", "b", null, "c");
+        table = new TableView<>(items);
+        table.getColumns().add(column);
+        columnValues = ColumnValues.of(column);
+    }
+
+    @Test public void testDistinctValues() {
+        assertEquals(Arrays.asList("b", "a", "c"), columnValues.getValues());
+        assertEquals(items.size(), reads);
+        assertSame(columnValues, ColumnValues.of(column));
+        assertSame(columnValues.getValues(), columnValues.getValues());
+    }
+
+    @Test public void testAdd() {
+        columnValues.getValues();
+        reads = 0;
+
+        items.add(new Row("d"));
+        assertEquals(Arrays.asList("b", "a", "c", "d"), columnValues.getValues());
+        items.add(0, new Row("e"));
+        assertEquals(Arrays.asList("e", "b", "a", "c", "d"), columnValues.getValues());
+        items.add(new Row("a"));
+        assertEquals(Arrays.asList("e", "b", "a", "c", "d"), columnValues.getValues());
+        assertEquals(3, reads);
+    }
+
+    @Test public void testRemove() {
+        columnValues.getValues();
+        reads = 0;
+
+        items.remove(1);
+        assertEquals(Arrays.asList("b", "c"), columnValues.getValues());
+        // one of the two rows with this value
+        items.remove(0);
+        assertEquals(Arrays.asList("b", "c"), columnValues.getValues());
+        items.remove(0);
+        assertEquals(Collections.singletonList("c"), columnValues.getValues());
+        assertEquals(0, reads);
+    }
+
+    @Test public void testUpdate() {
+        columnValues.getValues();
+        reads = 0;
+
+        items.get(1).value.set("z");
+        assertEquals(Arrays.asList("b", "z", "c"), columnValues.getValues());
+        items.get(3).value.set("q");
+        assertEquals(Arrays.asList("b", "z", "q", "c"), columnValues.getValues());
+        items.get(0).value.set(null);
+        assertEquals(Arrays.asList("z", "b", "q", "c"), columnValues.getValues());
+        assertEquals(3, reads);
+    }
+
+    @Test public void testRowTwice() {
+        Row row = new Row("x");
+        items.setAll(row, new Row("y"), row);
+        assertEquals(Arrays.asList("x", "y"), columnValues.getValues());
+
+        row.value.set("w");
+        assertEquals(Arrays.asList("w", "y"), columnValues.getValues());
+
+        items.remove(0);
+        assertEquals(Arrays.asList("y", "w"), columnValues.getValues());
+        items.add(0, row);
+        assertEquals(Arrays.asList("w", "y"), columnValues.getValues());
+        items.remove(2);
+        assertEquals(Arrays.asList("w", "y"), columnValues.getValues());
+        items.remove(0);
+        assertEquals(Collections.singletonList("y"), columnValues.getValues());
+    }
+
+    @Test public void testPermutation() {
+        columnValues.getValues();
+        reads = 0;
+
+        Comparator<Row> byValue = Comparator.comparing((Row row) -> row.value.get(),
+                Comparator.nullsLast(Comparator.naturalOrder()));
+        FXCollections.sort(items, byValue);
+        assertEquals(Arrays.asList("a", "b", "c"), columnValues.getValues());
+        FXCollections.sort(items, byValue.reversed());
+        assertEquals(Arrays.asList("c", "b", "a"), columnValues.getValues());
+        assertEquals(0, reads);
+    }
+
+    @Test public void testItemsReplaced() {
+        columnValues.getValues();
+        ObservableList<Row> oldItems = items;
+
+        items = rows("m", "n", "m");
+        table.setItems(items);
+        assertEquals(Arrays.asList("m", "n"), columnValues.getValues());
+
+        // the old list is no longer followed
+        oldItems.add(new Row("old"));
+        assertEquals(Arrays.asList("m", "n"), columnValues.getValues());
+        items.add(new Row("o"));
+        assertEquals(Arrays.asList("m", "n", "o"), columnValues.getValues());
+    }
+
+    @Test public void testOrderAfterValueRemovedAndAddedAgain() {
+        items.setAll(rows("a", "b", "c"));
+        assertEquals(Arrays.asList("a", "b", "c"), columnValues.getValues());
+
+        Row a = items.remove(0);
+        assertEquals(Arrays.asList("b", "c"), columnValues.getValues());
+        items.add(0, a);
+        assertEquals(Arrays.asList("a", "b", "c"), columnValues.getValues());
+
+        // removed and added again before the values are requested
+        items.remove(1);
+        items.add(1, new Row("b"));
+        assertEquals(Arrays.asList("a", "b", "c"), columnValues.getValues());
+
+        items.remove(0);
+        items.add(new Row("a"));
+        assertEquals(Arrays.asList("b", "c", "a"), columnValues.getValues());
+    }
+
+    private static ObservableList<Row> rows(String... values) {
+        ObservableList<Row> rows = FXCollections.observableArrayList(row -> new Observable[] { row.value });
+        for (String value : values) {
+            rows.add(new Row(value));
+        }
+        return rows;
+    }
+}
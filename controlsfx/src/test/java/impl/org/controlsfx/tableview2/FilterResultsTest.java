@@ -0,0 +1,174 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package impl.org.controlsfx.tableview2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+import javafx.beans.Observable;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.control.TableColumn;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class FilterResultsTest {
+
+    private static final Predicate<Integer> POSITIVE = value -> value > 0;
+    private static final Predicate<Integer> EVEN = value -> value % 2 == 0;
+
+    private ObservableList<IntegerProperty> rows;
+    private FilterResults<IntegerProperty> results;
+    private int rowsUpdated;
+
+    @Before
+    public void setUp() {
+        rows = FXCollections.observableArrayList(row -> new Observable[] { row });
+        for (int i = 0; i < 10; i++) {
+            rows.add(new SimpleIntegerProperty(i));
+        }
+        results = new FilterResults<>(rows, () -> rowsUpdated++);
+    }
+
+    @Test public void testSlotKeptForSamePredicate() {
+        TableColumn<IntegerProperty, Integer> column = new TableColumn<>();
+        List<TableColumn<IntegerProperty, Integer>> inUse = Collections.singletonList(column);
+        int slot = results.assignSlot(column, POSITIVE, inUse);
+        int generation = results.getGeneration(slot);
+        int resetCount = results.getResetCount();
+        record(rows.get(1), slot, true);
+
+        assertEquals(slot, results.assignSlot(column, POSITIVE, inUse));
+        assertEquals(generation, results.getGeneration(slot));
+        assertEquals(resetCount, results.getResetCount());
+        assertArrayEquals(new long[] { 1L << slot, 1L << slot }, results.getResults(rows.get(1)));
+    }
+
+    @Test public void testNewPredicateClearsOnlyItsSlot() {
+        TableColumn<IntegerProperty, Integer> first = new TableColumn<>();
+        TableColumn<IntegerProperty, Integer> second = new TableColumn<>();
+        List<TableColumn<IntegerProperty, Integer>> inUse = Arrays.asList(first, second);
+        int firstSlot = results.assignSlot(first, POSITIVE, inUse);
+        int secondSlot = results.assignSlot(second, POSITIVE, inUse);
+        assertNotEquals(firstSlot, secondSlot);
+        record(rows.get(2), firstSlot, true);
+        record(rows.get(2), secondSlot, false);
+        int generation = results.getGeneration(firstSlot);
+        int resetCount = results.getResetCount();
+
+        assertEquals(firstSlot, results.assignSlot(first, EVEN, inUse));
+        assertEquals(generation + 1, results.getGeneration(firstSlot));
+        assertEquals(resetCount + 1, results.getResetCount());
+        // the result of the other column is kept
+        assertArrayEquals(new long[] { 1L << secondSlot, 0 }, results.getResults(rows.get(2)));
+    }
+
+    @Test public void testSlotsReusedBeyond64Columns() {
+        List<TableColumn<IntegerProperty, Integer>> columns = new ArrayList<>();
+        for (int i = 0; i < Long.SIZE + 1; i++) {
+            columns.add(new TableColumn<>());
+        }
+        for (int i = 0; i < Long.SIZE; i++) {
+            assertEquals(i, results.assignSlot(columns.get(i), POSITIVE, columns));
+            record(rows.get(0), i, true);
+        }
+        List<TableColumn<IntegerProperty, Integer>> slotColumns = new ArrayList<>(columns);
+        TableColumn<IntegerProperty, Integer> extra = columns.get(Long.SIZE);
+        // every slot is taken by a column still filtered
+        assertEquals(-1, results.assignSlot(extra, POSITIVE, columns));
+
+        // a column which is no longer filtered gives its slot away
+        TableColumn<IntegerProperty, Integer> unfiltered = slotColumns.get(10);
+        columns.remove(unfiltered);
+        int generation = results.getGeneration(10);
+        assertEquals(10, results.assignSlot(extra, POSITIVE, columns));
+        assertEquals(generation + 1, results.getGeneration(10));
+        long[] rowResults = results.getResults(rows.get(0));
+        assertEquals(-1L & ~(1L << 10), rowResults[0]);
+        assertEquals(-1L & ~(1L << 10), rowResults[1]);
+
+        // coming back, the column gets the slot of another unfiltered one
+        columns.remove(slotColumns.get(20));
+        columns.add(unfiltered);
+        assertEquals(20, results.assignSlot(unfiltered, POSITIVE, columns));
+        assertEquals(10, results.assignSlot(extra, POSITIVE, columns));
+    }
+
+    @Test public void testUpdatedRowResultsDropped() {
+        TableColumn<IntegerProperty, Integer> column = new TableColumn<>();
+        int slot = results.assignSlot(column, POSITIVE, Collections.singletonList(column));
+        record(rows.get(3), slot, true);
+        record(rows.get(4), slot, false);
+
+        rows.get(3).set(-3);
+        assertEquals(1, rowsUpdated);
+        assertArrayEquals(new long[2], results.getResults(rows.get(3)));
+        assertArrayEquals(new long[] { 1L << slot, 0 }, results.getResults(rows.get(4)));
+    }
+
+    @Test public void testRemovedRowResultsDropped() {
+        TableColumn<IntegerProperty, Integer> column = new TableColumn<>();
+        int slot = results.assignSlot(column, POSITIVE, Collections.singletonList(column));
+        IntegerProperty removed = rows.get(5);
+        record(removed, slot, true);
+
+        rows.remove(removed);
+        assertTrue(results.isEmpty());
+        assertEquals(0, rowsUpdated);
+    }
+
+    @Test public void testInvalidate() {
+        TableColumn<IntegerProperty, Integer> first = new TableColumn<>();
+        TableColumn<IntegerProperty, Integer> second = new TableColumn<>();
+        List<TableColumn<IntegerProperty, Integer>> inUse = Arrays.asList(first, second);
+        int firstSlot = results.assignSlot(first, POSITIVE, inUse);
+        int secondSlot = results.assignSlot(second, POSITIVE, inUse);
+        record(rows.get(6), firstSlot, true);
+        record(rows.get(6), secondSlot, true);
+
+        results.invalidate(rows.get(6), first);
+        assertArrayEquals(new long[] { 1L << secondSlot, 1L << secondSlot }, results.getResults(rows.get(6)));
+
+        // no result is created for a row without any
+        results.invalidate(rows.get(7), first);
+        results.clear();
+        assertTrue(results.isEmpty());
+    }
+
+    private void record(IntegerProperty row, int slot, boolean passed) {
+        long[] rowResults = results.getResults(row);
+        rowResults[0] |= 1L << slot;
+        if (passed) {
+            rowResults[1] |= 1L << slot;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package impl.org.controlsfx.tableview2.filter.parser;
+
+import impl.org.controlsfx.tableview2.filter.parser.string.StringParser;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import javafx.util.StringConverter;
+import org.junit.Test;
+import static impl.org.controlsfx.i18n.Localization.asKey;
+import static impl.org.controlsfx.i18n.Localization.localize;
+import static org.junit.Assert.*;
+
+public class FilterCompilerTest {
+
+    /**
+     * A compiler where a condition matches the strings containing it, without
+     * its quotes, and where the condition {@code bad} is not valid.
+     */
+    private static class ContainsCompiler extends FilterCompiler<String> {
+
+        private final List<String> conditions = new ArrayList<>();
+
+        @Override
+        protected Predicate<String> compileCondition(String text, int position) throws CompileException {
+            conditions.add(text);
+            if (text.equals("bad")) {
+                throw new CompileException(localize(asKey("parser.text.error.start.operator")), position);
+            }
+            String operand = text.replace("\"", "");
+            return s -> s.contains(operand);
+        }
+    }
+
+    private final ContainsCompiler compiler = new ContainsCompiler();
+
+    @Test public void testAndBeforeOr() {
+        Predicate<String> predicate = compiler.compile("a OR b AND c").getPredicate();
+        assertTrue(predicate.test("a"));
+        assertTrue(predicate.test("bc"));
+        assertFalse(predicate.test("b"));
+        assertFalse(predicate.test("c"));
+
+        predicate = compiler.compile("a AND b OR c").getPredicate();
+        assertTrue(predicate.test("ab"));
+        assertTrue(predicate.test("c"));
+        assertFalse(predicate.test("a"));
+    }
+
+    @Test public void testParentheses() {
+        Predicate<String> predicate = compiler.compile("(a OR b) AND c").getPredicate();
+        assertTrue(predicate.test("ac"));
+        assertTrue(predicate.test("bc"));
+        assertFalse(predicate.test("a"));
+    }
+
+    @Test public void testNestedParentheses() {
+        FilterCompiler.Result<String> result = compiler.compile("((a OR (b AND c)) AND (d OR e))");
+        assertTrue(result.isValid());
+        Predicate<String> predicate = result.getPredicate();
+        assertTrue(predicate.test("ad"));
+        assertTrue(predicate.test("bce"));
+        assertFalse(predicate.test("bd"));
+        assertFalse(predicate.test("a"));
+    }
+
+    @Test public void testQuotedAggregators() {
+        Predicate<String> predicate = compiler.compile("\"x AND (y\" OR \"z OR w)\"").getPredicate();
+        assertEquals(2, compiler.conditions.size());
+        assertTrue(predicate.test("x AND (y"));
+        assertTrue(predicate.test("z OR w)"));
+        assertFalse(predicate.test("x"));
+    }
+
+    @Test public void testUnbalancedParenthesisPosition() {
+        FilterCompiler.Result<String> result = compiler.compile("a AND (b OR c");
+        assertFalse(result.isValid());
+        assertNull(result.getPredicate());
+        assertEquals(error("parser.text.error.parenthesis", 6), result.getErrorMessage());
+    }
+
+    @Test public void testLeadingOperatorPosition() {
+        assertEquals(error("parser.text.error.start.operator", 0), compiler.compile(" AND a").getErrorMessage());
+    }
+
+    @Test public void testTrailingOperatorPosition() {
+        assertEquals(error("parser.text.error.start.operator", 4), compiler.compile("a OR").getErrorMessage());
+    }
+
+    @Test public void testConditionErrorPosition() {
+        assertEquals(error("parser.text.error.start.operator", 7), compiler.compile("a AND (bad)").getErrorMessage());
+    }
+
+    @Test public void testCompiledOnce() {
+        FilterCompiler.Result<String> result = compiler.compile("a AND b");
+        assertSame(result, compiler.compile("a AND b"));
+        assertEquals(2, compiler.conditions.size());
+
+        compiler.clearCache();
+        assertNotSame(result, compiler.compile("a AND b"));
+        assertEquals(4, compiler.conditions.size());
+    }
+
+    @Test public void testSetCaseSensitiveClearsCache() {
+        StringParser<String> parser = new StringParser<>(false);
+        String text = beginsWith("a");
+        assertTrue(parser.parse(text).test("Abc"));
+
+        parser.setCaseSensitive(true);
+        assertFalse(parser.parse(text).test("Abc"));
+
+        parser.setCaseSensitive(false);
+        assertTrue(parser.parse(text).test("Abc"));
+    }
+
+    @Test public void testSetConverterClearsCache() {
+        StringParser<String> parser = new StringParser<>(true);
+        String text = beginsWith("x");
+        assertFalse(parser.parse(text).test("abc"));
+
+        parser.setConverter(new StringConverter<String>() {
+            @Override public String toString(String object) {
+                return "x" + object;
+            }
+
+            @Override public String fromString(String string) {
+                return string.substring(1);
+            }
+        });
+        assertTrue(parser.parse(text).test("abc"));
+
+        parser.setConverter(null);
+        assertFalse(parser.parse(text).test("abc"));
+    }
+
+    private static String beginsWith(String operand) {
+        return localize(asKey("parser.text.operator.text.beginswith")) + " \"" + operand + "\"";
+    }
+
+    private static String error(String key, int position) {
+        return MessageFormat.format(localize(asKey("parser.text.error.position")), localize(asKey(key)), position + 1);
+    }
+}
@@ -0,0 +1,200 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package impl.org.controlsfx.tools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Random;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.util.StringConverter;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PrefixIndexTest {
+
+    /**
+     * Shows the texts by index, so that the position of the item found is
+     * known even when several items have the same text.
+     */
+    private static final class IndexConverter extends StringConverter<Integer> {
+        private final List<String> texts;
+
+        IndexConverter(List<String> texts) {
+            this.texts = texts;
+        }
+
+        @Override public String toString(Integer index) {
+            return texts.get(index);
+        }
+
+        @Override public Integer fromString(String text) {
+            return texts.indexOf(text);
+        }
+    }
+
+    private static PrefixIndex<Integer> indexOf(ObservableList<Integer> items, String... texts) {
+        return new PrefixIndex<>(items, new IndexConverter(Arrays.asList(texts)));
+    }
+
+    private static ObservableList<Integer> positions(int count) {
+        ObservableList<Integer> items = FXCollections.observableArrayList();
+        for (int i = 0; i < count; i++) {
+            items.add(i);
+        }
+        return items;
+    }
+
+    @Test public void testDuplicateTexts() {
+        PrefixIndex<Integer> index = indexOf(positions(6), "b", "a", "B", "a", "A", "b");
+        assertEquals(Optional.of(1), index.lookup("a"));
+        assertEquals(Optional.of(1), index.lookup("A"));
+        assertEquals(Optional.of(0), index.lookup("b"));
+        assertEquals(Optional.empty(), index.lookup("c"));
+    }
+
+    @Test public void testPrefixEqualToKey() {
+        PrefixIndex<Integer> index = indexOf(positions(3), "abc", "ab", "a");
+        assertEquals(Optional.of(0), index.lookup("a"));
+        assertEquals(Optional.of(0), index.lookup("ab"));
+        assertEquals(Optional.of(0), index.lookup("ABC"));
+        assertEquals(Optional.empty(), index.lookup("abcd"));
+
+        index = indexOf(positions(3), "a", "ab", "abc");
+        assertEquals(Optional.of(0), index.lookup("a"));
+        assertEquals(Optional.of(1), index.lookup("ab"));
+        assertEquals(Optional.of(2), index.lookup("abc"));
+    }
+
+    @Test public void testPrefixAtBoundsOfKeys() {
+        PrefixIndex<Integer> index = indexOf(positions(5), "mango", "zebra", "apple", "kiwi", "zed");
+        // the first sorted key
+        assertEquals(Optional.of(2), index.lookup("ap"));
+        assertEquals(Optional.of(2), index.lookup("apple"));
+        // the last sorted keys
+        assertEquals(Optional.of(1), index.lookup("z"));
+        assertEquals(Optional.of(4), index.lookup("zed"));
+        // before and after every key
+        assertEquals(Optional.empty(), index.lookup("0"));
+        assertEquals(Optional.empty(), index.lookup("aa"));
+        assertEquals(Optional.empty(), index.lookup("zz"));
+        assertEquals(Optional.empty(), index.lookup("zebras"));
+    }
+
+    @Test public void testNoPrefix() {
+        PrefixIndex<Integer> index = indexOf(positions(2), "a", "b");
+        assertEquals(Optional.empty(), index.lookup(null));
+        assertEquals(Optional.empty(), index.lookup(""));
+    }
+
+    @Test public void testNullAndEmptyTextsSkipped() {
+        ObservableList<String> items = FXCollections.observableArrayList("", null, "x");
+        PrefixIndex<String> index = new PrefixIndex<>(items, null);
+        assertEquals(Optional.of("x"), index.lookup("x"));
+        assertEquals(Optional.empty(), index.lookup("n"));
+    }
+
+    /**
+     * The matching entries are spread over the sorted keys, so the first one
+     * in list order has to be combined from several nodes of the tree.
+     */
+    @Test public void testFirstInListOrder() {
+        String[] texts = {"cat", "ab", "car", "ca", "bb", "cab", "c", "cz", "d"};
+        PrefixIndex<Integer> index = indexOf(positions(texts.length), texts);
+        assertEquals(Optional.of(0), index.lookup("c"));
+        assertEquals(Optional.of(0), index.lookup("ca"));
+        assertEquals(Optional.of(2), index.lookup("car"));
+        assertEquals(Optional.of(5), index.lookup("cab"));
+        assertEquals(Optional.of(7), index.lookup("cz"));
+        assertEquals(Optional.of(8), index.lookup("d"));
+    }
+
+    @Test public void testFirstInListOrderRandom() {
+        Random random = new Random(7);
+        for (int round = 0; round < 50; round++) {
+            int count = 1 + random.nextInt(200);
+            List<String> texts = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                texts.add(randomText(random));
+            }
+            PrefixIndex<Integer> index = new PrefixIndex<>(positions(count), new IndexConverter(texts));
+            for (int i = 0; i < 30; i++) {
+                String prefix = randomText(random);
+                assertEquals(prefix, scan(texts, prefix), index.lookup(prefix));
+            }
+        }
+    }
+
+    @Test public void testRebuiltAfterListChange() {
+        ObservableList<String> items = FXCollections.observableArrayList("beta", "alpha");
+        PrefixIndex<String> index = new PrefixIndex<>(items, null);
+        assertEquals(Optional.of("alpha"), index.lookup("a"));
+
+        items.add(0, "apple");
+        assertEquals(Optional.of("apple"), index.lookup("a"));
+
+        items.remove("apple");
+        assertEquals(Optional.of("alpha"), index.lookup("a"));
+
+        items.set(1, "gamma");
+        assertEquals(Optional.empty(), index.lookup("a"));
+        assertEquals(Optional.of("gamma"), index.lookup("g"));
+
+        items.clear();
+        assertEquals(Optional.empty(), index.lookup("b"));
+    }
+
+    @Test public void testIsFor() {
+        ObservableList<String> items = FXCollections.observableArrayList("a");
+        PrefixIndex<String> index = new PrefixIndex<>(items, null);
+        assertTrue(index.isFor(items, null));
+        assertFalse(index.isFor(FXCollections.observableArrayList("a"), null));
+    }
+
+    private static String randomText(Random random) {
+        StringBuilder text = new StringBuilder();
+        int length = 1 + random.nextInt(3);
+        for (int i = 0; i < length; i++) {
+            char c = (char) ('a' + random.nextInt(3));
+            text.append(random.nextBoolean() ? Character.toUpperCase(c) : c);
+        }
+        return text.toString();
+    }
+
+    private static Optional<Integer> scan(List<String> texts, String prefix) {
+        String key = prefix.toUpperCase(Locale.ROOT);
+        for (int i = 0; i < texts.size(); i++) {
+            if (texts.get(i).toUpperCase(Locale.ROOT).startsWith(key)) {
+                return Optional.of(i);
+            }
+        }
+        return Optional.empty();
+    }
+}
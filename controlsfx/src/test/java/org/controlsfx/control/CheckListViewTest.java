@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.controlsfx.control;
+
+import java.util.Arrays;
+import java.util.Collections;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.controlsfx.control.spreadsheet.JavaFXThreadingRule;
+import org.junit.Rule;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class CheckListViewTest {
+    @Rule public JavaFXThreadingRule javafxRule = new JavaFXThreadingRule();
+
+    // two items equal to each other, but not the same instance
+    private final String first = new String("Jonathan");
+    private final String second = new String("Jonathan");
+    private final String other = "Eugene";
+
+    private ObservableList<String> items() {
+        return FXCollections.observableArrayList(first, other, second);
+    }
+
+    /**
+     * By default the items are looked up with their equals method, so the
+     * second item is found at the index of the first one.
+     */
+    @Test public void testCheckByEquality() {
+        CheckListView<String> control = new CheckListView<>(items());
+        assertFalse(control.isCheckByIdentity());
+
+        control.getCheckModel().check(second);
+        assertTrue(control.getCheckModel().isChecked(first));
+        assertEquals(Collections.singletonList(0), control.getCheckModel().getCheckedIndices());
+        assertSame(control.getItemBooleanProperty(first), control.getItemBooleanProperty(second));
+
+        control.getCheckModel().toggleCheckState(first);
+        assertTrue(control.getCheckModel().getCheckedIndices().isEmpty());
+    }
+
+    /**
+     * Looked up by identity, equal items are checked independently.
+     */
+    @Test public void testCheckByIdentity() {
+        CheckListView<String> control = new CheckListView<>(items(), true);
+        assertTrue(control.isCheckByIdentity());
+
+        control.getCheckModel().check(second);
+        assertFalse(control.getCheckModel().isChecked(first));
+        assertTrue(control.getCheckModel().isChecked(second));
+        assertEquals(Collections.singletonList(2), control.getCheckModel().getCheckedIndices());
+        assertNotSame(control.getItemBooleanProperty(first), control.getItemBooleanProperty(second));
+
+        control.getCheckModel().check(first);
+        assertEquals(Arrays.asList(0, 2), control.getCheckModel().getCheckedIndices());
+
+        //An equal instance which is not in the items is not found.
+        control.getCheckModel().clearCheck(new String("Jonathan"));
+        assertEquals(Arrays.asList(0, 2), control.getCheckModel().getCheckedIndices());
+        control.getCheckModel().clearCheck(second);
+        assertEquals(Collections.singletonList(first), control.getCheckModel().getCheckedItems());
+    }
+}
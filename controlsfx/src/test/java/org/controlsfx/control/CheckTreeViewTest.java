@@ -27,13 +27,17 @@
 
 package org.controlsfx.control;
 
+import java.util.List;
+import javafx.collections.ListChangeListener;
 import javafx.scene.control.CheckBoxTreeItem;
 import javafx.scene.control.SelectionMode;
+import javafx.scene.control.TreeItem;
 import org.controlsfx.control.spreadsheet.JavaFXThreadingRule;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import static org.junit.Assert.*;
 
 public class CheckTreeViewTest {
     @Rule public JavaFXThreadingRule javafxRule = new JavaFXThreadingRule();
@@ -79,4 +83,87 @@ public class CheckTreeViewTest {
        checkTreeView.getCheckModel().checkAll();
        checkTreeView.getCheckModel().clearChecks();
     }
+
+    /**
+     * Checking a whole subtree must notify the listeners of the checked items
+     * only once.
+     */
+    @Test
+    public void testSubtreeCheckFiresOneChange() {
+        CheckBoxTreeItem<String> root = (CheckBoxTreeItem<String>) checkTreeView.getRoot();
+        int[] changes = new int[1];
+        checkTreeView.getCheckModel().getCheckedItems().addListener((ListChangeListener<TreeItem<String>>) c -> changes[0]++);
+
+        checkTreeView.getCheckModel().check(root);
+        assertEquals(1, changes[0]);
+        assertEquals(5, checkTreeView.getCheckModel().getCheckedItems().size());
+
+        checkTreeView.getCheckModel().clearChecks();
+        assertEquals(2, changes[0]);
+        assertTrue(checkTreeView.getCheckModel().getCheckedItems().isEmpty());
+
+        // A click cascades through the subtree, the change is published when
+        // the checked items are read.
+        root.setSelected(true);
+        assertEquals(5, checkTreeView.getCheckModel().getCheckedItems().size());
+        assertEquals(3, changes[0]);
+    }
+
+    /**
+     * A listener checking an item while the checked items are published must
+     * not corrupt them.
+     */
+    @Test
+    public void testListenerCheckingItems() {
+        checkTreeView.getCheckModel().getCheckedItems().addListener((ListChangeListener<TreeItem<String>>) c -> {
+            if (! checkTreeView.getCheckModel().isChecked(treeItem_Samir)) {
+                checkTreeView.getCheckModel().check(treeItem_Samir);
+            }
+        });
+        checkTreeView.getCheckModel().check(treeItem_Henry);
+        assertEquals(3, checkTreeView.getCheckModel().getCheckedItems().size());
+        assertTrue(checkTreeView.getCheckModel().getCheckedItems().contains(treeItem_Samir));
+    }
+
+    /**
+     * Tree items which are equal are still checked and unchecked one by one.
+     */
+    @Test
+    public void testEqualItemsCheckedSeparately() {
+        CheckBoxTreeItem<String> first = new EqualTreeItem("Twin");
+        CheckBoxTreeItem<String> second = new EqualTreeItem("Twin");
+        CheckBoxTreeItem<String> root = (CheckBoxTreeItem<String>) checkTreeView.getRoot();
+        root.getChildren().addAll(first, second);
+
+        checkTreeView.getCheckModel().check(root);
+        List<TreeItem<String>> checkedItems = checkTreeView.getCheckModel().getCheckedItems();
+        assertEquals(7, checkedItems.size());
+        assertEquals(1, checkedItems.stream().filter(item -> item == first).count());
+        assertEquals(1, checkedItems.stream().filter(item -> item == second).count());
+
+        checkTreeView.getCheckModel().clearCheck(first);
+        assertFalse(checkTreeView.getCheckModel().isChecked(first));
+        assertTrue(checkTreeView.getCheckModel().isChecked(second));
+        assertEquals(0, checkedItems.stream().filter(item -> item == first).count());
+        assertEquals(1, checkedItems.stream().filter(item -> item == second).count());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testCheckedItemsReadOnly() {
+        checkTreeView.getCheckModel().getCheckedItems().add(treeItem_Henry);
+    }
+
+    private static final class EqualTreeItem extends CheckBoxTreeItem<String> {
+        EqualTreeItem(String value) {
+            super(value);
+        }
+
+        @Override public boolean equals(Object obj) {
+            return obj instanceof EqualTreeItem && getValue().equals(((EqualTreeItem) obj).getValue());
+        }
+
+        @Override public int hashCode() {
+            return getValue().hashCode();
+        }
+    }
 }
@@ -0,0 +1,222 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.controlsfx.control;
+
+import impl.org.controlsfx.i18n.Localization;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+import org.controlsfx.control.Notifications.NotificationPopupHandler;
+import org.controlsfx.control.Notifications.NotificationPopupHandler.NotificationLayer;
+import org.controlsfx.control.Notifications.NotificationPopupHandler.PooledNotificationBar;
+import org.controlsfx.control.action.Action;
+import org.controlsfx.control.spreadsheet.JavaFXThreadingRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.text.MessageFormat;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class NotificationsTest {
+    @Rule public JavaFXThreadingRule javafxRule = new JavaFXThreadingRule();
+
+    private final NotificationPopupHandler handler = NotificationPopupHandler.getInstance();
+    private Stage stage;
+
+    @Before
+    public void setUp() {
+        stage = new Stage();
+        stage.setScene(new Scene(new StackPane(), 400, 300));
+        stage.show();
+    }
+
+    @After
+    public void tearDown() {
+        stage.hide();
+    }
+
+    /**
+     * Showing a notification creates its notification bar, which must not
+     * fail while it is not attached to a notification yet.
+     */
+    @Test
+    public void testShow() {
+        Notifications.create()
+                .owner(stage)
+                .title("Title")
+                .text("Text")
+                .hideAfter(Duration.millis(1))
+                .show();
+
+        NotificationLayer layer = handler.getLayer(stage, Pos.BOTTOM_RIGHT);
+        assertNotNull(layer);
+        assertEquals(1, layer.getBars().size());
+        PooledNotificationBar bar = layer.getBars().get(0);
+        assertEquals("Title", bar.getTitle());
+        assertEquals("Text", bar.getText());
+        assertTrue(bar.isShowing());
+        assertTrue(layer.getPopup().isShowing());
+    }
+
+    @Test
+    public void testShowWithActions() {
+        Action action = new Action("Action", e -> {});
+        Notifications.create()
+                .owner(stage)
+                .text("Text")
+                .action(action)
+                .showWarning();
+
+        PooledNotificationBar bar = handler.getLayer(stage, Pos.BOTTOM_RIGHT).getBars().get(0);
+        assertEquals(1, bar.getActions().size());
+        assertSame(action, bar.getActions().get(0));
+        assertNotNull(bar.getGraphic());
+    }
+
+    /**
+     * More notifications than the bars kept for reuse, shown at once.
+     */
+    @Test
+    public void testShowMany() {
+        for (int i = 0; i < 40; i++) {
+            Notifications.create()
+                    .owner(stage)
+                    .text("Text " + i)
+                    .showInformation();
+        }
+
+        NotificationLayer layer = handler.getLayer(stage, Pos.BOTTOM_RIGHT);
+        assertEquals(1, layer.getBars().size());
+        assertEquals("Text 0", layer.getBars().get(0).getText());
+        assertEquals(NotificationPopupHandler.MAX_QUEUED, layer.getQueuedCount());
+    }
+
+    @Test
+    public void testOnePopupPerOwnerAndPosition() {
+        Notifications.create().owner(stage).text("A").show();
+        Notifications.create().owner(stage).text("B").show();
+        Notifications.create().owner(stage).text("C").position(Pos.TOP_LEFT).show();
+
+        NotificationLayer bottomRight = handler.getLayer(stage, Pos.BOTTOM_RIGHT);
+        NotificationLayer topLeft = handler.getLayer(stage, Pos.TOP_LEFT);
+        assertNotNull(bottomRight);
+        assertNotNull(topLeft);
+        assertNotSame(bottomRight, topLeft);
+        assertNotSame(bottomRight.getPopup(), topLeft.getPopup());
+
+        // the second notification waits for the show interval
+        assertEquals(1, bottomRight.getQueuedCount());
+        bottomRight.showNext();
+        assertEquals(0, bottomRight.getQueuedCount());
+
+        assertEquals(2, bottomRight.getBars().size());
+        assertEquals(1, topLeft.getBars().size());
+        for (PooledNotificationBar bar : bottomRight.getBars()) {
+            assertSame(bottomRight.getPopup(), bar.getScene().getWindow());
+        }
+        assertSame(topLeft.getPopup(), topLeft.getBars().get(0).getScene().getWindow());
+        assertEquals("C", topLeft.getBars().get(0).getText());
+    }
+
+    @Test
+    public void testBarReusedAfterHiding() {
+        Notifications.create().owner(stage).text("First").show();
+        NotificationLayer layer = handler.getLayer(stage, Pos.BOTTOM_RIGHT);
+        PooledNotificationBar bar = layer.getBars().get(0);
+
+        // what the hide animation does once it is over
+        int pooledBars = handler.getPooledBarCount();
+        layer.remove(bar);
+        assertTrue(layer.getBars().isEmpty());
+        assertEquals(pooledBars + 1, handler.getPooledBarCount());
+        assertFalse(bar.isShowing());
+        assertNull(bar.getText());
+        assertNull(bar.getParent());
+        assertFalse(layer.getPopup().isShowing());
+
+        Notifications.create().owner(stage).text("Second").show();
+        layer.showNext();
+        assertEquals(1, layer.getBars().size());
+        assertSame(bar, layer.getBars().get(0));
+        assertEquals("Second", bar.getText());
+        assertTrue(bar.isShowing());
+        assertEquals(pooledBars, handler.getPooledBarCount());
+    }
+
+    @Test
+    public void testBurstCollapsedIntoSummary() {
+        int extra = 5;
+        int count = 1 + NotificationPopupHandler.MAX_QUEUED + extra;
+        for (int i = 0; i < count; i++) {
+            Notifications.create().owner(stage).text("Text " + i).show();
+        }
+        NotificationLayer layer = handler.getLayer(stage, Pos.BOTTOM_RIGHT);
+        assertEquals(1, layer.getBars().size());
+        assertEquals(NotificationPopupHandler.MAX_QUEUED, layer.getQueuedCount());
+
+        // the oldest queued notifications are summed up in a single one
+        layer.showNext();
+        assertEquals(2, layer.getBars().size());
+        assertEquals(MessageFormat.format(Localization.getString("notifications.threshold.text"), extra),
+                layer.getBars().get(1).getText());
+        assertEquals(NotificationPopupHandler.MAX_QUEUED, layer.getQueuedCount());
+
+        // then the remaining ones follow in order
+        layer.showNext();
+        assertEquals("Text " + (1 + extra), layer.getBars().get(2).getText());
+        assertEquals(NotificationPopupHandler.MAX_QUEUED - 1, layer.getQueuedCount());
+    }
+
+    @Test
+    public void testThresholdReplacesShownNotifications() {
+        Notifications collapsed = Notifications.create().title("Collapsed").text("Too many");
+        for (int i = 0; i < 4; i++) {
+            Notifications.create().owner(stage).text("Text " + i).threshold(3, collapsed).show();
+        }
+        NotificationLayer layer = handler.getLayer(stage, Pos.BOTTOM_RIGHT);
+        layer.showNext();
+        layer.showNext();
+        assertEquals(3, layer.getBars().size());
+        List<PooledNotificationBar> shownBars = layer.getBars().stream().collect(Collectors.toList());
+
+        // the fourth one reaches the threshold
+        layer.showNext();
+        assertEquals(1, layer.getBars().size());
+        PooledNotificationBar bar = layer.getBars().get(0);
+        assertEquals("Collapsed", bar.getTitle());
+        assertEquals("Too many", bar.getText());
+        // drawn from the bars that were just released
+        assertTrue(shownBars.contains(bar));
+    }
+}
@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.controlsfx.control;
+
+import java.util.BitSet;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class RankSelectBitSetTest {
+
+    @Test public void testEmpty() {
+        RankSelectBitSet bits = new RankSelectBitSet();
+        assertTrue(bits.isEmpty());
+        assertEquals(0, bits.rank(0));
+        assertEquals(0, bits.rank(1000));
+        assertEquals(-1, bits.select(0));
+        assertEquals(-1, bits.nextSetBit(0));
+        assertFalse(bits.get(-1));
+        assertFalse(bits.clear(5));
+    }
+
+    /**
+     * Bits on both sides of each 64 bits word boundary, including the words
+     * added when the bit set grows.
+     */
+    @Test public void testWordBoundaries() {
+        RankSelectBitSet bits = new RankSelectBitSet();
+        int[] indices = {0, 63, 64, 127, 128, 191, 192, 255, 256, 1023, 1024};
+        for (int index : indices) {
+            assertTrue(bits.set(index));
+            assertFalse(bits.set(index));
+        }
+        assertEquals(indices.length, bits.cardinality());
+        for (int k = 0; k < indices.length; ++k) {
+            assertEquals(indices[k], bits.select(k));
+            assertEquals(k, bits.rank(indices[k]));
+            assertEquals(k + 1, bits.rank(indices[k] + 1));
+            assertEquals(indices[k], bits.nextSetBit(indices[k]));
+        }
+        assertEquals(-1, bits.select(indices.length));
+        assertEquals(1, bits.rank(63));
+        assertEquals(2, bits.rank(64));
+        assertEquals(63, bits.nextSetBit(1));
+        assertEquals(127, bits.nextSetBit(65));
+        assertEquals(1023, bits.nextSetBit(257));
+        assertEquals(-1, bits.nextSetBit(1025));
+        assertEquals(indices.length, bits.rank(100_000));
+
+        assertTrue(bits.clear(64));
+        assertEquals(127, bits.select(2));
+        assertEquals(2, bits.rank(127));
+        assertEquals(127, bits.nextSetBit(64));
+    }
+
+    @Test public void testFullWords() {
+        RankSelectBitSet bits = new RankSelectBitSet();
+        for (int index = 0; index < 320; ++index) {
+            bits.set(index);
+        }
+        for (int index = 0; index < 320; ++index) {
+            assertEquals(index, bits.rank(index));
+            assertEquals(index, bits.select(index));
+        }
+        bits.clear();
+        assertTrue(bits.isEmpty());
+        assertEquals(0, bits.rank(200));
+        assertEquals(-1, bits.nextSetBit(0));
+    }
+
+    @Test public void testCopy() {
+        RankSelectBitSet bits = new RankSelectBitSet();
+        bits.set(3);
+        bits.set(70);
+        RankSelectBitSet copy = bits.copy();
+        bits.clear();
+        bits.set(200);
+        assertEquals(2, copy.cardinality());
+        assertEquals(70, copy.select(1));
+        assertFalse(copy.get(200));
+    }
+
+    /**
+     * Random operations compared with a {@link BitSet}.
+     */
+    @Test public void testSameAsBitSet() {
+        Random random = new Random(11);
+        RankSelectBitSet bits = new RankSelectBitSet();
+        BitSet reference = new BitSet();
+        for (int i = 0; i < 5000; ++i) {
+            int index = random.nextInt(1500);
+            if (random.nextInt(3) == 0) {
+                assertEquals(reference.get(index), bits.clear(index));
+                reference.clear(index);
+            } else {
+                assertEquals(!reference.get(index), bits.set(index));
+                reference.set(index);
+            }
+        }
+        assertEquals(reference.cardinality(), bits.cardinality());
+        int k = 0;
+        for (int index = 0; index < 1600; ++index) {
+            assertEquals(reference.get(index), bits.get(index));
+            assertEquals(reference.get(0, index).cardinality(), bits.rank(index));
+            assertEquals(reference.nextSetBit(index), bits.nextSetBit(index));
+            if (reference.get(index)) {
+                assertEquals(index, bits.select(k++));
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.controlsfx.control.spreadsheet;
+
+import java.util.Arrays;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ClipboardGridTest {
+
+    @Test public void testFromText() {
+        ClipboardGrid grid = ClipboardGrid.fromText("a\tb\tc\r\nd\te\n");
+        assertEquals(2, grid.getRowCount());
+        assertEquals(3, grid.getColumnCount());
+        assertEquals("a", grid.getValue(0, 0));
+        assertEquals("c", grid.getValue(0, 2));
+        assertEquals("e", grid.getValue(1, 1));
+        //The second row is shorter, its last cell is missing.
+        assertFalse(grid.contains(1, 2));
+        assertFalse(grid.isRectangle());
+        assertEquals(5, grid.getCellCount());
+    }
+
+    @Test public void testFromTextWithoutLastLineBreak() {
+        ClipboardGrid grid = ClipboardGrid.fromText("a\tb\nc\td");
+        assertEquals(2, grid.getRowCount());
+        assertTrue(grid.isRectangle());
+        assertEquals("d", grid.getValue(1, 1));
+    }
+
+    @Test public void testFromTextEmptyCells() {
+        ClipboardGrid grid = ClipboardGrid.fromText("\tb\n\t\n");
+        assertEquals(2, grid.getRowCount());
+        assertEquals(2, grid.getColumnCount());
+        assertTrue(grid.isRectangle());
+        assertEquals("", grid.getValue(0, 0));
+        assertEquals("", grid.getValue(1, 1));
+
+        assertEquals(0, ClipboardGrid.fromText("").getRowCount());
+    }
+
+    @Test public void testFromTextQuoted() {
+        ClipboardGrid grid = ClipboardGrid.fromText("\"a\tb\"\t\"line\nbreak\"\t\"say \"\"hi\"\"\"\nx\"y\t2\n");
+        assertEquals(2, grid.getRowCount());
+        assertEquals(3, grid.getColumnCount());
+        assertEquals("a\tb", grid.getValue(0, 0));
+        assertEquals("line\nbreak", grid.getValue(0, 1));
+        assertEquals("say \"hi\"", grid.getValue(0, 2));
+        //A quote inside a cell is kept as is.
+        assertEquals("x\"y", grid.getValue(1, 0));
+    }
+
+    /**
+     * The text written with appendText must be read back identically.
+     */
+    @Test public void testTextRoundTrip() {
+        String[][] values = {
+            {"plain", "", "with\ttab"},
+            {"\"quoted\"", "multi\nline", "cr\r\nlf"},
+            {"in\"side", "trailing\"", " spaces "}
+        };
+        StringBuilder text = new StringBuilder();
+        for (String[] row : values) {
+            for (int column = 0; column < row.length; ++column) {
+                if (column != 0) {
+                    text.append('\t');
+                }
+                ClipboardGrid.appendText(text, row[column]);
+            }
+            text.append('\n');
+        }
+
+        ClipboardGrid grid = ClipboardGrid.fromText(text.toString());
+        assertEquals(values.length, grid.getRowCount());
+        assertEquals(3, grid.getColumnCount());
+        for (int row = 0; row < values.length; ++row) {
+            for (int column = 0; column < 3; ++column) {
+                assertEquals(values[row][column], grid.getValue(row, column));
+            }
+        }
+    }
+
+    @Test public void testFromClipboardCells() {
+        ClipboardGrid grid = ClipboardGrid.fromClipboardCells(Arrays.asList(
+                new ClipboardCell(4, 2, 1.5),
+                new ClipboardCell(5, 3, null)));
+        assertEquals(4, grid.getTop());
+        assertEquals(2, grid.getLeft());
+        assertEquals(2, grid.getRowCount());
+        assertEquals(2, grid.getColumnCount());
+        assertEquals(1.5, grid.getValue(4, 2));
+        assertTrue(grid.contains(5, 3));
+        assertNull(grid.getValue(5, 3));
+        assertFalse(grid.contains(4, 3));
+        assertFalse(grid.contains(0, 0));
+        assertEquals(2, grid.getCellCount());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSetValueOutside() {
+        new ClipboardGrid(0, 0, 2, 2).setValue(2, 0, "a");
+    }
+}
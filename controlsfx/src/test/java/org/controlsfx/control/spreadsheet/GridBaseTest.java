@@ -26,6 +26,8 @@
  */
 package org.controlsfx.control.spreadsheet;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -75,6 +77,128 @@ public class GridBaseTest {
         assertEquals(value, grid.getRows().get(0).get(0).getItem());
     }
 
+    /**
+     * Test of setCellValues method, of class GridBase. Only one
+     * GridChangeBatch must be fired, and no GridChange.
+     */
+    @Test public void testSetCellValues() {
+        List<GridChange> changes = new ArrayList<>();
+        List<GridChangeBatch> batches = new ArrayList<>();
+        grid.addEventHandler(GridChange.GRID_CHANGE_EVENT, changes::add);
+        grid.addGridChangeBatchHandler(batches::add);
+
+        grid.setCellValues(new GridRange(1, 2, 3, 4), new Object[][]{{"a", "b"}, {"c", "d"}});
+        assertEquals("a", grid.getRows().get(1).get(3).getItem());
+        assertEquals("d", grid.getRows().get(2).get(4).getItem());
+
+        assertTrue(changes.isEmpty());
+        assertEquals(1, batches.size());
+        assertEquals(4, batches.get(0).getChangeCount());
+        assertEquals("", batches.get(0).getChanges().get(0).getOldValue());
+        assertEquals("a", batches.get(0).getChanges().get(0).getNewValue());
+        assertEquals(1, batches.get(0).getRanges().size());
+        assertEquals(new GridRange(1, 2, 3, 4), batches.get(0).getRanges().get(0));
+    }
+
+    /**
+     * Test of setCellValue method outside of a bulk update, of class
+     * GridBase. Only the GridChange must be fired, the value being gathered
+     * into a batch only when a batch handler is registered.
+     */
+    @Test public void testSetCellValueFiresOneChange() {
+        List<GridChange> changes = new ArrayList<>();
+        grid.addEventHandler(GridChange.GRID_CHANGE_EVENT, changes::add);
+
+        grid.setCellValue(1, 1, "a");
+        grid.setCellValue(1, 2, "b");
+        assertEquals(2, changes.size());
+        assertEquals("b", changes.get(1).getNewValue());
+
+        //The values changed before the update are not part of its batch.
+        List<GridChangeBatch> batches = new ArrayList<>();
+        grid.addGridChangeBatchHandler(batches::add);
+        grid.beginUpdate();
+        grid.setCellValue(1, 3, "c");
+        grid.endUpdate();
+        assertEquals(2, changes.size());
+        assertEquals(1, batches.size());
+        assertEquals(1, batches.get(0).getChangeCount());
+
+        grid.removeGridChangeBatchHandler(batches::add);
+    }
+
+    /**
+     * Test of getCellDisplaySelectionOverrides method, of class GridBase.
+     */
+    @Test public void testCellDisplaySelectionOverrides() {
+        assertTrue(grid.getCellDisplaySelectionOverrides().isEmpty());
+
+        grid.setCellDisplaySelection(2, 3, false);
+        grid.setCellDisplaySelection(4, 5, true);
+        assertEquals(Arrays.asList(new GridRange(2, 2, 3, 3)), new ArrayList<>(grid.getCellDisplaySelectionOverrides()));
+
+        grid.setDisplaySelection(false);
+        assertEquals(Arrays.asList(new GridRange(4, 4, 5, 5)), new ArrayList<>(grid.getCellDisplaySelectionOverrides()));
+    }
+
+    /**
+     * The cells overriding the display of the selection are merged into
+     * disjoint ranges.
+     */
+    @Test public void testCellDisplaySelectionOverridesMerged() {
+        for (int row = 1; row <= 2; ++row) {
+            for (int column = 1; column <= 3; ++column) {
+                grid.setCellDisplaySelection(row, column, false);
+            }
+        }
+        grid.setCellDisplaySelection(3, 2, false);
+        grid.setCellDisplaySelection(5, 0, false);
+        // same columns, but not adjacent rows
+        grid.setCellDisplaySelection(7, 1, false);
+        grid.setCellDisplaySelection(7, 2, false);
+        grid.setCellDisplaySelection(9, 1, false);
+        grid.setCellDisplaySelection(9, 2, false);
+        // back to the display of the grid
+        grid.setCellDisplaySelection(5, 1, false);
+        grid.setCellDisplaySelection(5, 1, true);
+
+        assertEquals(Arrays.asList(
+                new GridRange(1, 2, 1, 3),
+                new GridRange(3, 3, 2, 2),
+                new GridRange(5, 5, 0, 0),
+                new GridRange(7, 7, 1, 2),
+                new GridRange(9, 9, 1, 2)),
+                new ArrayList<>(grid.getCellDisplaySelectionOverrides()));
+    }
+
+    /**
+     * Test of createCompactGrid method, of class GridBase.
+     */
+    @Test public void testCompactGrid() {
+        GridBase compactGrid = GridBase.createCompactGrid(10, Arrays.asList(SpreadsheetCellType.STRING, SpreadsheetCellType.DOUBLE));
+        assertEquals(10, compactGrid.getRowCount());
+        assertEquals(2, compactGrid.getColumnCount());
+
+        SpreadsheetCell cell = compactGrid.getRows().get(3).get(1);
+        assertNull(cell.getItem());
+        assertEquals("", cell.getText());
+        assertTrue(cell.getStyleClass().contains("spreadsheet-cell"));
+
+        compactGrid.setCellValue(3, 1, 4.5);
+        assertEquals(4.5, cell.getItem());
+        assertNull(compactGrid.getRows().get(4).get(1).getItem());
+
+        cell.itemProperty().set(2.0);
+        assertEquals(2.0, cell.getItem());
+        assertEquals(cell.getCellType().toString(2.0), cell.textProperty().get());
+
+        //A value not fitting in the column storage must still be kept.
+        compactGrid.setCellValue(5, 1, 1.0);
+        cell.setItem("not a double");
+        assertEquals("not a double", cell.getItem());
+        assertEquals(1.0, compactGrid.getRows().get(5).get(1).getItem());
+    }
+
     /**
      * Test of getRowCount method, of class GridBase.
      */
@@ -398,4 +398,52 @@ public class SpreadsheetViewTest {
         assertEquals(type, spv.getSpanType(grid.getRowCount(), grid.getColumnCount()));
         
     }
+
+    /**
+     * A PagedGrid must only fetch the requested rows, and must not be
+     * entirely scanned when given to the SpreadsheetView.
+     */
+    @Test public void testPagedGrid() {
+        final List<Integer> fetchedRows = new ArrayList<>();
+        PagedGrid grid = new PagedGrid(new PagedGrid.PageProvider() {
+            @Override
+            public int getRowCount() {
+                return 10000000;
+            }
+
+            @Override
+            public int getColumnCount() {
+                return 3;
+            }
+
+            @Override
+            public List<ObservableList<SpreadsheetCell>> fetchRows(int start, int count) {
+                List<ObservableList<SpreadsheetCell>> rows = new ArrayList<>();
+                for (int row = start; row < start + count; ++row) {
+                    ObservableList<SpreadsheetCell> currentRow = FXCollections.observableArrayList();
+                    for (int column = 0; column < 3; ++column) {
+                        currentRow.add(SpreadsheetCellType.INTEGER.createCell(row, column, 1, 1, row));
+                    }
+                    rows.add(currentRow);
+                }
+                synchronized (fetchedRows) {
+                    fetchedRows.add(count);
+                }
+                return rows;
+            }
+        }, 100, 10);
+        spv.setGrid(grid);
+
+        assertEquals(10000000, spv.getItems().size());
+        assertEquals(5000000, spv.getItems().get(5000000).get(1).getItem());
+        assertEquals(5000000, spv.getModelRow(5000000));
+
+        int fetched = 0;
+        synchronized (fetchedRows) {
+            for (Integer count : fetchedRows) {
+                fetched += count;
+            }
+        }
+        assertTrue(fetched < 10000);
+    }
 }
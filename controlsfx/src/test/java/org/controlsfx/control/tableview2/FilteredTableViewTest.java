@@ -0,0 +1,190 @@
+/**
+ * Copyright (c) 2018 ControlsFX
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of ControlsFX, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL CONTROLSFX BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.controlsfx.control.tableview2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.controlsfx.control.spreadsheet.JavaFXThreadingRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Checks that the filter results kept by the table avoid testing rows again.
+ */
+public class FilteredTableViewTest {
+    @Rule public JavaFXThreadingRule javafxRule = new JavaFXThreadingRule();
+
+    private static final int ROWS = 20;
+
+    private static final class Row {
+        final IntegerProperty first;
+        final IntegerProperty second;
+
+        Row(int index) {
+            first = new SimpleIntegerProperty(index);
+            second = new SimpleIntegerProperty(100 + index);
+        }
+    }
+
+    /**
+     * Records the values it is given. The values of a column are all
+     * different, so that none is skipped as already tested.
+     */
+    private static final class CountingPredicate implements Predicate<Integer> {
+        private final Predicate<Integer> predicate;
+        private final List<Integer> tested = new ArrayList<>();
+
+        CountingPredicate(Predicate<Integer> predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override public boolean test(Integer value) {
+            tested.add(value);
+            return predicate.test(value);
+        }
+    }
+
+    private ObservableList<Row> rows;
+    private FilteredTableView<Row> table;
+    private FilteredTableColumn<Row, Integer> firstColumn;
+    private FilteredTableColumn<Row, Integer> secondColumn;
+
+    @Before
+    public void setUp() {
+        rows = FXCollections.observableArrayList();
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Row(i));
+        }
+        table = new FilteredTableView<>();
+        firstColumn = new FilteredTableColumn<>("First");
+        firstColumn.setCellValueFactory(p -> p.getValue().first.asObject());
+        secondColumn = new FilteredTableColumn<>("Second");
+        secondColumn.setCellValueFactory(p -> p.getValue().second.asObject());
+        table.getColumns().addAll(firstColumn, secondColumn);
+        FilteredTableView.configureForFiltering(table, rows);
+    }
+
+    /**
+     * A filter added to a column only tests the rows which are visible.
+     */
+    @Test public void testNarrowingTestsVisibleRows() {
+        CountingPredicate first = new CountingPredicate(value -> value < 10);
+        firstColumn.setPredicate(first);
+        assertEquals(10, table.getItems().size());
+        assertEquals(ROWS, first.tested.size());
+
+        first.tested.clear();
+        CountingPredicate second = new CountingPredicate(value -> value % 2 == 0);
+        secondColumn.setPredicate(second);
+        assertEquals(range(100, 110), second.tested);
+        assertTrue(first.tested.isEmpty());
+        assertEquals(range(0, 10, 2), firstValues());
+    }
+
+    /**
+     * A new predicate of a column only tests the rows passing the other
+     * columns: the visible ones and the ones hidden by this column alone.
+     */
+    @Test public void testWideningTestsRowsFailingThisColumn() {
+        CountingPredicate first = new CountingPredicate(value -> value < 10);
+        firstColumn.setPredicate(first);
+        secondColumn.setPredicate(value -> value % 2 == 0);
+        assertEquals(range(0, 10, 2), firstValues());
+
+        first.tested.clear();
+        CountingPredicate second = new CountingPredicate(value -> value % 2 == 0 || value % 3 == 0);
+        secondColumn.setPredicate(second);
+        // the rows failing the first column are not tested again
+        assertEquals(range(100, 110), second.tested);
+        assertTrue(first.tested.isEmpty());
+        assertEquals(IntStream.range(0, 10).filter(i -> (100 + i) % 2 == 0 || (100 + i) % 3 == 0)
+                .boxed().collect(Collectors.toList()), firstValues());
+    }
+
+    /**
+     * Removing the filter of a column shows the rows it hid without testing
+     * any row again.
+     */
+    @Test public void testRemovedFilterTestsNoRow() {
+        CountingPredicate first = new CountingPredicate(value -> value < 10);
+        firstColumn.setPredicate(first);
+        secondColumn.setPredicate(value -> value % 2 == 0);
+
+        first.tested.clear();
+        secondColumn.setPredicate(null);
+        assertTrue(first.tested.isEmpty());
+        assertEquals(range(0, 10), firstValues());
+    }
+
+    @Test public void testConsumedFilterEventRestoresPredicate() {
+        firstColumn.setPredicate(value -> value < 10);
+        Predicate<Row> predicate = table.getPredicate();
+        assertNotNull(predicate);
+
+        table.setOnFilter(e -> e.consume());
+        secondColumn.setPredicate(value -> value % 2 == 0);
+        assertSame(predicate, table.getPredicate());
+        assertEquals(range(0, 10), firstValues());
+
+        // the results kept meanwhile do not outdate the next filtering
+        table.setOnFilter(null);
+        table.filter();
+        assertNotSame(predicate, table.getPredicate());
+        assertEquals(range(0, 10, 2), firstValues());
+
+        secondColumn.setPredicate(value -> value % 2 == 1);
+        assertEquals(range(1, 10, 2), firstValues());
+    }
+
+    private List<Integer> firstValues() {
+        return table.getItems().stream()
+                .map(row -> row.first.get())
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private static List<Integer> range(int from, int to) {
+        return range(from, to, 1);
+    }
+
+    private static List<Integer> range(int from, int to, int step) {
+        List<Integer> values = new ArrayList<>();
+        for (int value = from; value < to; value += step) {
+            values.add(value);
+        }
+        return values;
+    }
+}